@@ -16,12 +16,18 @@ import com.fluxtion.runtime.annotations.runtime.ServiceRegistered;
 import com.fluxtion.runtime.audit.LogRecordListener;
 import com.fluxtion.runtime.service.Service;
 import com.fluxtion.runtime.service.ServiceRegistryNode;
+import com.fluxtion.server.config.ExecutionMode;
 import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ThreadPoolConfig;
 import com.fluxtion.server.dispatch.EventFlowManager;
+import com.fluxtion.server.dutycycle.AdaptiveIdleStrategy;
 import com.fluxtion.server.dutycycle.ComposingEventProcessorAgent;
 import com.fluxtion.server.dutycycle.ComposingServiceAgent;
 import com.fluxtion.server.dutycycle.NamedEventProcessor;
 import com.fluxtion.server.dutycycle.ServiceAgent;
+import com.fluxtion.server.dutycycle.SharedAgentPool;
+import com.fluxtion.server.dutycycle.WakeOnPublishIdleStrategy;
+import com.fluxtion.server.internal.AgentThreads;
 import com.fluxtion.server.internal.ComposingEventProcessorAgentRunner;
 import com.fluxtion.server.internal.ComposingWorkerServiceAgentRunner;
 import com.fluxtion.server.internal.LifecycleManager;
@@ -31,7 +37,11 @@ import com.fluxtion.server.service.EventFlowService;
 import com.fluxtion.server.service.EventSource;
 import com.fluxtion.server.service.EventToInvokeStrategy;
 import com.fluxtion.server.service.admin.AdminCommandRegistry;
+import com.fluxtion.server.service.metrics.WorkAccounting;
 import com.fluxtion.server.service.scheduler.DeadWheelScheduler;
+import com.fluxtion.server.service.scheduler.HierarchicalWheelScheduler;
+import com.fluxtion.server.service.scheduler.SchedulerAgent;
+import com.fluxtion.server.service.scheduler.TimerWheelType;
 import com.fluxtion.server.service.servercontrol.MongooseServerController;
 import lombok.SneakyThrows;
 import lombok.extern.java.Log;
@@ -43,7 +53,9 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -82,7 +94,8 @@ import java.util.function.Supplier;
  *       with the resolved idle strategies, then starts services and marks the server as running.</li>
  *   <li>{@link #stop()} stops all agent groups and services and releases resources.</li>
  *   <li>At runtime you can query and control components (e.g., {@link #registeredProcessors()},
- *       {@link #stopProcessor(String, String)}, {@link #startService(String)}, {@link #stopService(String)}).</li>
+ *       {@link #stopProcessor(String, String)}, {@link #migrateProcessor(String, String, String)},
+ *       {@link #startService(String)}, {@link #stopService(String)}).</li>
  * </ul>
  * <p>
  * Configuration and bootstrapping:
@@ -119,6 +132,7 @@ public class MongooseServer implements MongooseServerController {
     private final EventFlowManager flowManager = new EventFlowManager();
     private final ConcurrentHashMap<String, ComposingEventProcessorAgentRunner> composingEventProcessorAgents = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, ComposingWorkerServiceAgentRunner> composingServiceAgents = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SharedAgentPool> sharedThreadPools = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Service<?>> registeredServices = new ConcurrentHashMap<>();
     private final Set<Service<?>> registeredAgentServices = ConcurrentHashMap.newKeySet();
     private ErrorHandler errorHandler = m -> log.severe(m.getMessage());
@@ -428,7 +442,7 @@ public class MongooseServer implements MongooseServerController {
                 agentGroup,
                 ket -> {
                     //build a subscriber group
-                    ComposingServiceAgent group = new ComposingServiceAgent(agentGroup, flowManager, this, new DeadWheelScheduler());
+                    ComposingServiceAgent group = new ComposingServiceAgent(agentGroup, flowManager, this, newScheduler(agentGroup));
                     //threading to be configured by file
                     AtomicCounter errorCounter = new AtomicCounter(new UnsafeBuffer(new byte[4096]), 0);
                     //run subscriber group
@@ -437,7 +451,9 @@ public class MongooseServer implements MongooseServerController {
                             errorHandler,
                             errorCounter,
                             group);
-                    return new ComposingWorkerServiceAgentRunner(group, groupRunner);
+                    com.fluxtion.server.config.ThreadConfig threadConfig = threadConfig(agentGroup);
+                    return new ComposingWorkerServiceAgentRunner(
+                            group, groupRunner, AgentThreads.threadFactory(agentGroup, executionMode(threadConfig)), threadPool(threadConfig), priority(threadConfig));
                 });
 
         composingAgentRunner.group().registerServer(service);
@@ -467,21 +483,30 @@ public class MongooseServer implements MongooseServerController {
             String groupName,
             IdleStrategy idleStrategy,
             Supplier<StaticEventProcessor> feedConsumer) throws IllegalArgumentException {
-        IdleStrategy idleStrategyOverride = mongooseServerConfig.getIdleStrategyOrDefault(groupName, idleStrategy);
         ComposingEventProcessorAgentRunner composingEventProcessorAgentRunner = composingEventProcessorAgents.computeIfAbsent(
                 groupName,
                 ket -> {
                     //build a subscriber group
-                    ComposingEventProcessorAgent group = new ComposingEventProcessorAgent(groupName, flowManager, this, new DeadWheelScheduler(), registeredServices);
+                    ComposingEventProcessorAgent group = new ComposingEventProcessorAgent(groupName, flowManager, this, newScheduler(groupName), registeredServices);
+                    com.fluxtion.server.config.ThreadConfig threadConfig = threadConfig(groupName);
+                    group.workAccounting().setEnabled(threadConfig != null && threadConfig.isWorkAccounting());
+                    ExecutionMode executionMode = executionMode(threadConfig);
+                    IdleStrategy delegateIdleStrategy = groupIdleStrategy(groupName, idleStrategy);
+                    //a virtual group parks while idle, publishers must wake it, a pooled group has no thread to wake
+                    IdleStrategy groupIdleStrategy = threadConfig != null && threadPool(threadConfig) == null
+                            && (threadConfig.isWakeOnPublish() || executionMode == ExecutionMode.VIRTUAL)
+                            ? new WakeOnPublishIdleStrategy(delegateIdleStrategy, group.enableWakeOnPublish(), threadConfig.getWakeOnPublishIdleCycles())
+                            : delegateIdleStrategy;
                     //threading to be configured by file
                     AtomicCounter errorCounter = new AtomicCounter(new UnsafeBuffer(new byte[4096]), 0);
                     //run subscriber group
                     AgentRunner groupRunner = new AgentRunner(
-                            idleStrategyOverride,
+                            groupIdleStrategy,
                             errorHandler,
                             errorCounter,
                             group);
-                    return new ComposingEventProcessorAgentRunner(group, groupRunner);
+                    return new ComposingEventProcessorAgentRunner(
+                            group, groupRunner, AgentThreads.threadFactory(groupName, executionMode), threadPool(threadConfig), priority(threadConfig));
                 });
 
         if (composingEventProcessorAgentRunner.group().isProcessorRegistered(processorName)) {
@@ -498,12 +523,28 @@ public class MongooseServer implements MongooseServerController {
             return new NamedEventProcessor(processorName, eventProcessor);
         });
 
-        if (started && composingEventProcessorAgentRunner.groupRunner().thread() == null) {
+        if (started && !composingEventProcessorAgentRunner.isStarted()) {
             log.info("staring event processor group:'" + groupName + "' for running server");
-            AgentRunner.startOnThread(composingEventProcessorAgentRunner.groupRunner());
+            composingEventProcessorAgentRunner.start();
         }
     }
 
+    /**
+     * Idle strategy of a processor group before any wake on publish wrapping, the configured
+     * strategy of the group if there is one. Otherwise a virtual group parks with an
+     * {@link AdaptiveIdleStrategy} to release its carrier, as the global default only yields, and
+     * other groups use the global default.
+     */
+    IdleStrategy groupIdleStrategy(String groupName, IdleStrategy idleStrategy) {
+        IdleStrategy configured = mongooseServerConfig.getIdleStrategyOrDefault(groupName, idleStrategy);
+        if (configured != null) {
+            return configured;
+        }
+        return executionMode(threadConfig(groupName)) == ExecutionMode.VIRTUAL
+                ? new AdaptiveIdleStrategy()
+                : mongooseServerConfig.getIdleStrategy();
+    }
+
     /**
      * Get a snapshot of registered event processors grouped by processor group name.
      *
@@ -533,6 +574,45 @@ public class MongooseServer implements MongooseServerController {
         }
     }
 
+    /**
+     * Move a running event processor to another processor group, for example to rebalance load
+     * away from a busy group. Events published before and after the move are each delivered once
+     * and in order. Timers pending at the hand over are moved with the processor and expire on the
+     * target group.
+     *
+     * @param groupName       the processor group containing the processor
+     * @param processorName   the unique name of the processor to move
+     * @param targetGroupName the processor group to move the processor to
+     * @throws IllegalArgumentException if either group or the processor is unknown
+     */
+    @Override
+    public void migrateProcessor(String groupName, String processorName, String targetGroupName) {
+        log.info("migrateProcessor:" + processorName + " from group:" + groupName + " to group:" + targetGroupName);
+        var sourceAgent = composingEventProcessorAgents.get(groupName);
+        var targetAgent = composingEventProcessorAgents.get(targetGroupName);
+        if (sourceAgent == null || !sourceAgent.group().isProcessorRegistered(processorName)) {
+            throw new IllegalArgumentException("no processor " + processorName + " in group " + groupName);
+        }
+        if (targetAgent == null) {
+            throw new IllegalArgumentException("no processor group " + targetGroupName);
+        }
+        sourceAgent.group().migrateEventProcessor(processorName, targetAgent.group());
+    }
+
+    /**
+     * Get the work accounting of each processor group, keyed by group name. Accounting is enabled
+     * per group with {@link com.fluxtion.server.config.ThreadConfig#setWorkAccounting(boolean)} or
+     * at runtime through {@link WorkAccounting#setEnabled(boolean)}.
+     *
+     * @return map of group name to the work accounting of that group
+     */
+    @Override
+    public Map<String, WorkAccounting> workAccounting() {
+        HashMap<String, WorkAccounting> result = new HashMap<>();
+        composingEventProcessorAgents.forEach((name, runner) -> result.put(name, runner.group().workAccounting()));
+        return result;
+    }
+
     /**
      * Start a previously registered service by name.
      * <p>
@@ -593,36 +673,7 @@ public class MongooseServer implements MongooseServerController {
      */
     @SneakyThrows
     public void start() {
-        ConcurrentHashMap<String, LifecycleManager.GroupRunner> serviceGroups = new ConcurrentHashMap<>();
-        composingServiceAgents.forEach((k, v) -> serviceGroups.put(k, new LifecycleManager.GroupRunner() {
-            @Override
-            public AgentRunner getGroupRunner() {
-                return v.groupRunner();
-            }
-
-            @Override
-            public DynamicCompositeAgent getGroup() {
-                return v.group();
-            }
-
-            @Override
-            public void startCompleteIfSupported() {
-                v.group().startComplete();
-            }
-        }));
-        ConcurrentHashMap<String, LifecycleManager.GroupRunner> processorGroups = new ConcurrentHashMap<>();
-        composingEventProcessorAgents.forEach((k, v) -> processorGroups.put(k, new LifecycleManager.GroupRunner() {
-            @Override
-            public AgentRunner getGroupRunner() {
-                return v.groupRunner();
-            }
-
-            @Override
-            public DynamicCompositeAgent getGroup() {
-                return v.group();
-            }
-        }));
-        lifecycleManager.start(registeredServices, serviceGroups, processorGroups, flowManager, registeredAgentServices);
+        lifecycleManager.start(registeredServices, toGroupRunnerMap(composingServiceAgents), toGroupRunnerMap(composingEventProcessorAgents), flowManager, registeredAgentServices);
         started = true;
     }
 
@@ -637,25 +688,103 @@ public class MongooseServer implements MongooseServerController {
 
     /**
      * Resolve the configured CPU core id for a given agent group name, if any.
-     * Returns null when no core pinning is configured for the agent.
+     * Returns null when no core pinning is configured for the agent, or the agent runs on a shared
+     * thread pool.
      */
     public Integer resolveCoreIdForAgentName(String agentName) {
         if (mongooseServerConfig ==null || mongooseServerConfig.getAgentThreads() == null) return null;
         return mongooseServerConfig.getAgentThreads().stream()
                 .filter(t -> agentName != null && agentName.equals(t.getAgentName()))
+                .filter(t -> t.getThreadPool() == null)
                 .map(com.fluxtion.server.config.ThreadConfig::getCoreId)
-                .filter(java.util.Objects::nonNull)
+                .filter(Objects::nonNull)
                 .findFirst()
                 .orElse(null);
     }
 
+    /**
+     * Resolve the scheduler timer resolution for an agent group from thread configuration.
+     *
+     * @param agentName the agent group name
+     * @return the configured resolution, or MILLISECONDS when not configured
+     */
+    public TimeUnit resolveTimerResolutionForAgentName(String agentName) {
+        if (mongooseServerConfig == null || mongooseServerConfig.getAgentThreads() == null) return TimeUnit.MILLISECONDS;
+        return mongooseServerConfig.getAgentThreads().stream()
+                .filter(t -> agentName != null && agentName.equals(t.getAgentName()))
+                .map(com.fluxtion.server.config.ThreadConfig::getTimerResolution)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(TimeUnit.MILLISECONDS);
+    }
+
+    private com.fluxtion.server.config.ThreadConfig threadConfig(String agentName) {
+        if (mongooseServerConfig == null || mongooseServerConfig.getAgentThreads() == null) return null;
+        return mongooseServerConfig.getAgentThreads().stream()
+                .filter(t -> agentName != null && agentName.equals(t.getAgentName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * The shared thread pool an agent group is assigned to, created on first use, or null.
+     */
+    private SharedAgentPool threadPool(com.fluxtion.server.config.ThreadConfig threadConfig) {
+        String poolName = threadConfig == null ? null : threadConfig.getThreadPool();
+        if (poolName == null) {
+            return null;
+        }
+        return sharedThreadPools.computeIfAbsent(poolName, name -> {
+            ThreadPoolConfig poolConfig = mongooseServerConfig.getThreadPools() == null ? null : mongooseServerConfig.getThreadPools().stream()
+                    .filter(p -> name.equals(p.getName()))
+                    .findFirst()
+                    .orElse(null);
+            if (poolConfig == null) {
+                throw new IllegalArgumentException("agent '" + threadConfig.getAgentName() + "' assigned to undeclared thread pool:" + name);
+            }
+            return new SharedAgentPool(
+                    name,
+                    poolConfig.getThreads(),
+                    TimeUnit.MICROSECONDS.toNanos(poolConfig.getTimeSliceMicros()),
+                    TimeUnit.MICROSECONDS.toNanos(poolConfig.getMaxParkPeriodMicros()),
+                    errorHandler);
+        });
+    }
+
+    private static int priority(com.fluxtion.server.config.ThreadConfig threadConfig) {
+        return threadConfig == null ? 1 : threadConfig.getPriority();
+    }
+
+    private static ExecutionMode executionMode(com.fluxtion.server.config.ThreadConfig threadConfig) {
+        return threadConfig == null || threadConfig.getExecutionMode() == null ? ExecutionMode.PLATFORM : threadConfig.getExecutionMode();
+    }
+
+    private SchedulerAgent newScheduler(String agentName) {
+        com.fluxtion.server.config.ThreadConfig threadConfig = threadConfig(agentName);
+        TimeUnit resolution = resolveTimerResolutionForAgentName(agentName);
+        SchedulerAgent scheduler = threadConfig != null && threadConfig.getTimerWheel() == TimerWheelType.HIERARCHICAL
+                ? new HierarchicalWheelScheduler(resolution)
+                : new DeadWheelScheduler(resolution);
+        if (threadConfig != null) {
+            scheduler.setExpiryBudget(threadConfig.getTimerExpiryBudget());
+            scheduler.setTimeBudgetNanos(TimeUnit.MICROSECONDS.toNanos(threadConfig.getTimerTimeBudgetMicros()));
+        }
+        return scheduler;
+    }
+
     /**
      * Stops the server and all its components.
      * This method stops all event processor agents, agent hosted services, the flowManager, and all registered services.
      * It should be called when the server is no longer needed to free up resources.
+     * <p>
+     * When {@link MongooseServerConfig#getShutdownDrainTimeoutMillis()} is positive the stop is graceful,
+     * agent hosted event sources stop first and processor groups drain their queued events up to the
+     * timeout before closing, then services and finally event sources are stopped.
      */
     public void stop() {
-        lifecycleManager.stop(started, toGroupRunnerMap(composingEventProcessorAgents), toGroupRunnerMap(composingServiceAgents), registeredServices);
+        long drainTimeoutMillis = mongooseServerConfig == null ? 0 : mongooseServerConfig.getShutdownDrainTimeoutMillis();
+        lifecycleManager.stop(started, toGroupRunnerMap(composingEventProcessorAgents), toGroupRunnerMap(composingServiceAgents), registeredServices, flowManager, drainTimeoutMillis);
+        sharedThreadPools.values().forEach(SharedAgentPool::close);
         started = false;
     }
 
@@ -673,6 +802,26 @@ public class MongooseServer implements MongooseServerController {
                     public DynamicCompositeAgent getGroup() {
                         return cep.group();
                     }
+
+                    @Override
+                    public void startRunner() {
+                        cep.start();
+                    }
+
+                    @Override
+                    public void stopRunner() {
+                        cep.close();
+                    }
+
+                    @Override
+                    public CompletableFuture<Void> whenActive() {
+                        return cep.group().whenActive();
+                    }
+
+                    @Override
+                    public CompletableFuture<Void> drain() {
+                        return cep.isStarted() ? cep.group().drain() : CompletableFuture.completedFuture(null);
+                    }
                 });
             } else if (v instanceof ComposingWorkerServiceAgentRunner cws) {
                 map.put(k, new LifecycleManager.GroupRunner() {
@@ -686,10 +835,30 @@ public class MongooseServer implements MongooseServerController {
                         return cws.group();
                     }
 
+                    @Override
+                    public void startRunner() {
+                        cws.start();
+                    }
+
+                    @Override
+                    public void stopRunner() {
+                        cws.close();
+                    }
+
+                    @Override
+                    public CompletableFuture<Void> whenActive() {
+                        return cws.group().whenActive();
+                    }
+
                     @Override
                     public void startCompleteIfSupported() {
                         cws.group().startComplete();
                     }
+
+                    @Override
+                    public boolean hostsEventSource() {
+                        return cws.group().hostsEventSource();
+                    }
                 });
             }
         });
@@ -10,6 +10,15 @@ import lombok.Data;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * A batch of events published as one item, costing one queue operation per batch rather than per
+ * event. Use {@link PooledBatchDto} to recycle batches without allocation.
+ * <p>
+ * The reading agent unwraps the batch and dispatches each item to the registered processors, a
+ * {@link BatchEventProcessor} receives the whole batch instead. Receivers must not retain the batch
+ * beyond the event cycle, items themselves are not reference counted by the batch. Readers iterate
+ * with {@link #size()} and {@link #get(int)} so subclasses can keep items in other storage.
+ */
 @Data
 public class BatchDto {
     protected final List<Object> batchData = new ArrayList<>();
@@ -17,4 +26,27 @@ public class BatchDto {
     public <T> void addBatchItem(T batchItem) {
         batchData.add(batchItem);
     }
+
+    public int size() {
+        return batchData.size();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * The item at an index, iterate with an indexed loop to avoid allocating an iterator.
+     */
+    public Object get(int index) {
+        return batchData.get(index);
+    }
+
+    /**
+     * Remove all items. Suitable as a pool reset hook.
+     */
+    public BatchDto clear() {
+        batchData.clear();
+        return this;
+    }
 }
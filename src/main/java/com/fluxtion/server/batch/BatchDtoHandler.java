@@ -5,17 +5,23 @@
 
 package com.fluxtion.server.batch;
 
+import com.fluxtion.runtime.StaticEventProcessor;
 import com.fluxtion.runtime.annotations.OnEventHandler;
 import com.fluxtion.runtime.node.BaseNode;
 
+/**
+ * Re-dispatches the items of a batch that reaches the graph as a single event, for example when
+ * published directly to the processor. Batches read from a subscriber queue are unwrapped by the
+ * reading agent and never reach this handler.
+ */
 public class BatchDtoHandler extends BaseNode {
 
     @OnEventHandler
     public boolean processBatch(BatchDto batchEvent) {
-        auditLog.debug("redispatchBatch", batchEvent);
-        for (Object eventDto : batchEvent.getBatchData()) {
-            auditLog.debug("redispatchEvent", eventDto);
-            context.getStaticEventProcessor().onEvent(eventDto);
+        auditLog.debug("redispatchBatch", batchEvent.size());
+        StaticEventProcessor eventProcessor = context.getStaticEventProcessor();
+        for (int i = 0, size = batchEvent.size(); i < size; i++) {
+            eventProcessor.onEvent(batchEvent.get(i));
         }
         return false;
     }
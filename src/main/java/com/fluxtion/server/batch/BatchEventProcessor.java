@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.batch;
+
+import com.fluxtion.runtime.StaticEventProcessor;
+
+/**
+ * Marks an event processor that receives a {@link BatchDto} as a single event, so it can process
+ * the items together, rather than one dispatch per item. The batch is delivered through
+ * {@link StaticEventProcessor#onEvent(Object)}, in a generated processor a node handling
+ * {@code BatchDto} sees the whole batch.
+ * <p>
+ * The subscription filter of the processor is applied to the items, a filtered processor receives
+ * a batch of the items it accepts and no batch if it accepts none. Only the onEvent invocation
+ * strategy delivers whole batches, a strategy mapping events to another callback dispatches each
+ * item through its mapping.
+ */
+public interface BatchEventProcessor extends StaticEventProcessor {
+}
@@ -0,0 +1,146 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.batch;
+
+import com.fluxtion.server.service.pool.PoolAware;
+import com.fluxtion.server.service.pool.impl.PoolTracker;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A {@link BatchDto} managed by an object pool. Items are held in a growable array that is retained
+ * across pool cycles, so a batch publishes without allocation in steady state:
+ * <pre>{@code
+ * ObjectPool<PooledBatchDto> pool = registry.getOrCreate(PooledBatchDto.class, PooledBatchDto::new, PooledBatchDto::clear);
+ * PooledBatchDto batch = pool.acquire();
+ * batch.addBatchItem(price1);
+ * batch.addBatchItem(price2);
+ * output.publish(batch);
+ * }</pre>
+ * The batch is returned to the pool once every subscriber queue has dispatched it.
+ * {@link #getBatchData()} is a mutable view of the array, the inherited list is unused.
+ */
+public class PooledBatchDto extends BatchDto implements PoolAware {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private final PoolTracker<PooledBatchDto> tracker = new PoolTracker<>();
+    private final List<Object> itemView = new ItemView();
+    private Object[] items;
+    private int size;
+
+    public PooledBatchDto() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PooledBatchDto(int initialCapacity) {
+        items = new Object[Math.max(1, initialCapacity)];
+    }
+
+    @Override
+    public <T> void addBatchItem(T batchItem) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size << 1);
+        }
+        items[size++] = batchItem;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Object get(int index) {
+        Objects.checkIndex(index, size);
+        return items[index];
+    }
+
+    /**
+     * Remove all items retaining the backing array.
+     */
+    @Override
+    public PooledBatchDto clear() {
+        Arrays.fill(items, 0, size, null);
+        size = 0;
+        return this;
+    }
+
+    /**
+     * A mutable list view of the items backed by the batch array.
+     */
+    @Override
+    public List<Object> getBatchData() {
+        return itemView;
+    }
+
+    /**
+     * Return pooled items to their pools then clear the batch. A reset hook for batches that own
+     * their items, such as the batches of a micro-batching publisher, items must hold no references.
+     */
+    public PooledBatchDto recycle() {
+        for (int i = 0; i < size; i++) {
+            if (items[i] instanceof PoolAware poolAware) {
+                poolAware.getPoolTracker().returnToPool();
+            }
+        }
+        clear();
+        return this;
+    }
+
+    @Override
+    public PoolTracker<PooledBatchDto> getPoolTracker() {
+        return tracker;
+    }
+
+    private final class ItemView extends AbstractList<Object> {
+
+        @Override
+        public Object get(int index) {
+            return PooledBatchDto.this.get(index);
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            Objects.checkIndex(index, size);
+            Object previous = items[index];
+            items[index] = element;
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            Objects.checkIndex(index, size + 1);
+            addBatchItem(null);
+            System.arraycopy(items, index, items, index + 1, size - index - 1);
+            items[index] = element;
+            modCount++;
+        }
+
+        @Override
+        public Object remove(int index) {
+            Objects.checkIndex(index, size);
+            Object removed = items[index];
+            System.arraycopy(items, index + 1, items, index, size - index - 1);
+            items[--size] = null;
+            modCount++;
+            return removed;
+        }
+
+        @Override
+        public void clear() {
+            PooledBatchDto.this.clear();
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
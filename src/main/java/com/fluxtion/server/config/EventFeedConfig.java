@@ -10,6 +10,7 @@ import com.fluxtion.agrona.concurrent.IdleStrategy;
 import com.fluxtion.runtime.annotations.feature.Experimental;
 import com.fluxtion.runtime.input.NamedFeed;
 import com.fluxtion.runtime.service.Service;
+import com.fluxtion.server.dutycycle.BatchFlushingAgent;
 import com.fluxtion.server.dutycycle.ServiceAgent;
 import com.fluxtion.server.service.EventSource;
 import lombok.AllArgsConstructor;
@@ -17,6 +18,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.SneakyThrows;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -67,6 +69,28 @@ public class EventFeedConfig<IN> {
      */
     private Function<IN, ?> valueMapper = Function.identity();
 
+    /**
+     * Whether pooled events are stamped with sequence and latency timings recorded per feed
+     */
+    private boolean latencyStamping = false;
+
+    /**
+     * Key extractor partitioning events across subscriber groups, each event is delivered to one
+     * subscriber group chosen by the hash of its key. Null delivers every event to every subscriber
+     */
+    private Function<?, ?> partitionKey;
+
+    /**
+     * Maximum events published per batch, below 2 publishes every event individually
+     */
+    private int microBatchSize;
+
+    /**
+     * Maximum age of the oldest event in an open batch before it is published, checked on the duty
+     * cycle of the feed agent
+     */
+    private long microBatchLatencyNanos;
+
     /**
      * Name of the agent if using agent-based execution
      */
@@ -93,6 +117,9 @@ public class EventFeedConfig<IN> {
      */
     @SneakyThrows
     public Service<NamedFeed> toService() {
+        if (microBatchSize > 1 && !isAgent()) {
+            throw new IllegalArgumentException("micro-batching feed '" + name + "' must run on an agent to flush its batches");
+        }
         if (instance instanceof EventSource<?> eventSource) {
             if (wrapWithNamedEvent & broadcast) {
                 eventWrapStrategy = EventSource.EventWrapStrategy.BROADCAST_NAMED_EVENT;
@@ -107,6 +134,9 @@ public class EventFeedConfig<IN> {
             eventSource_t.setEventWrapStrategy(eventWrapStrategy);
             eventSource_t.setSlowConsumerStrategy(slowConsumerStrategy);
             eventSource_t.setDataMapper(valueMapper);
+            eventSource_t.setLatencyStamping(latencyStamping);
+            eventSource_t.setPartitionKey(partitionKey);
+            eventSource_t.setMicroBatching(microBatchSize, microBatchLatencyNanos);
         }
         Service<NamedFeed> svc = new Service<>((NamedFeed) instance, NamedFeed.class, name);
         return svc;
@@ -124,7 +154,10 @@ public class EventFeedConfig<IN> {
         if (!(instance instanceof Agent a)) {
             throw new IllegalArgumentException("Configured instance is not an Agent: " + instance);
         }
-        return new ServiceAgent<>(agentName, idleStrategy, svc, a);
+        Agent agent = microBatchSize > 1 && instance instanceof EventSource<?> eventSource
+                ? new BatchFlushingAgent(a, eventSource)
+                : a;
+        return new ServiceAgent<>(agentName, idleStrategy, svc, agent);
     }
 
     // -------- Builder API --------
@@ -151,6 +184,10 @@ public class EventFeedConfig<IN> {
         private boolean wrapWithNamedEvent;
         private EventSource.SlowConsumerStrategy slowConsumerStrategy;
         private Function<IN, ?> valueMapper;
+        private boolean latencyStamping;
+        private Function<?, ?> partitionKey;
+        private int microBatchSize;
+        private long microBatchLatencyNanos;
         private String agentName;
         private IdleStrategy idleStrategy;
 
@@ -205,6 +242,33 @@ public class EventFeedConfig<IN> {
             return this;
         }
 
+        /**
+         * Sets whether pooled events are stamped and latency recorded for this feed
+         */
+        public Builder<IN> latencyStamping(boolean latencyStamping) {
+            this.latencyStamping = latencyStamping;
+            return this;
+        }
+
+        /**
+         * Partitions events across subscriber groups by the key extracted from each mapped event
+         */
+        public <T> Builder<IN> partitionKey(Function<T, ?> partitionKey) {
+            this.partitionKey = partitionKey;
+            return this;
+        }
+
+        /**
+         * Publishes events in batches of up to maxBatchSize, a batch is published once its oldest
+         * event reaches maxLatency. The batch size adapts to the arrival rate. The latency bound is
+         * checked by the feed agent, a micro-batching feed must be configured with an agent
+         */
+        public Builder<IN> microBatch(int maxBatchSize, long maxLatency, TimeUnit unit) {
+            this.microBatchSize = maxBatchSize;
+            this.microBatchLatencyNanos = unit.toNanos(maxLatency);
+            return this;
+        }
+
         /**
          * Configures agent-based execution
          */
@@ -225,6 +289,10 @@ public class EventFeedConfig<IN> {
             cfg.setWrapWithNamedEvent(wrapWithNamedEvent);
             if (slowConsumerStrategy != null) cfg.setSlowConsumerStrategy(slowConsumerStrategy);
             if (valueMapper != null) cfg.setValueMapper(valueMapper);
+            cfg.setLatencyStamping(latencyStamping);
+            cfg.setPartitionKey(partitionKey);
+            cfg.setMicroBatchSize(microBatchSize);
+            cfg.setMicroBatchLatencyNanos(microBatchLatencyNanos);
             cfg.setAgentName(agentName);
             cfg.setIdleStrategy(idleStrategy);
             return cfg;
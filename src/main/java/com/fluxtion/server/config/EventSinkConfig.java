@@ -10,6 +10,7 @@ import com.fluxtion.agrona.concurrent.IdleStrategy;
 import com.fluxtion.runtime.annotations.feature.Experimental;
 import com.fluxtion.runtime.output.MessageSink;
 import com.fluxtion.runtime.service.Service;
+import com.fluxtion.server.dispatch.AsyncMessageSink;
 import com.fluxtion.server.dutycycle.ServiceAgent;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -21,7 +22,8 @@ import java.util.function.Function;
 /**
  * Configuration class for message sinks in the server.
  * Supports configuration of value mapping and optional agent-based execution
- * for message output handling.
+ * for message output handling. With the {@link SinkTransport#ASYNC} transport processors hand
+ * messages to the sink agent through a queue, the agent defaults to {@code <name>-sink}.
  *
  * @param <S> The type of MessageSink being configured
  */
@@ -46,6 +48,21 @@ public class EventSinkConfig<S extends MessageSink<?>> {
      */
     private Function<Object, ?> valueMapper = Function.identity();
 
+    /**
+     * How processors hand messages to the sink
+     */
+    private SinkTransport transport = SinkTransport.DIRECT;
+
+    /**
+     * Capacity of the hand-off queue for the async transport
+     */
+    private int queueCapacity = AsyncMessageSink.DEFAULT_QUEUE_CAPACITY;
+
+    /**
+     * Maximum messages written per duty cycle of the sink agent for the async transport
+     */
+    private int drainLimit = AsyncMessageSink.DEFAULT_DRAIN_LIMIT;
+
     /**
      * Name of the agent if using agent-based execution
      */
@@ -62,7 +79,7 @@ public class EventSinkConfig<S extends MessageSink<?>> {
      * @return true if agent execution is configured
      */
     public boolean isAgent() {
-        return agentName != null;
+        return agentName != null || transport == SinkTransport.ASYNC;
     }
 
     /**
@@ -74,7 +91,10 @@ public class EventSinkConfig<S extends MessageSink<?>> {
     @SuppressWarnings({"unchecked", "all"})
     public Service<S> toService() {
         ((MessageSink<Object>) instance).setValueMapper(valueMapper);
-        Service svc = new Service(instance, MessageSink.class, name);
+        Object sink = transport == SinkTransport.ASYNC
+                ? new AsyncMessageSink<>((MessageSink<Object>) instance, name, queueCapacity, drainLimit)
+                : instance;
+        Service svc = new Service(sink, MessageSink.class, name);
         return svc;
     }
 
@@ -88,6 +108,10 @@ public class EventSinkConfig<S extends MessageSink<?>> {
     @SuppressWarnings({"unchecked", "all"})
     public <A extends Agent> ServiceAgent<A> toServiceAgent() {
         Service svc = toService();
+        if (transport == SinkTransport.ASYNC) {
+            String agentGroup = agentName == null ? name + "-sink" : agentName;
+            return new ServiceAgent<>(agentGroup, idleStrategy, svc, (A) svc.instance());
+        }
         return new ServiceAgent<>(agentName, idleStrategy, svc, (A) instance);
     }
 
@@ -114,6 +138,9 @@ public class EventSinkConfig<S extends MessageSink<?>> {
          * Function to transform values before processing
          */
         private Function<Object, ?> valueMapper;
+        private SinkTransport transport;
+        private int queueCapacity = AsyncMessageSink.DEFAULT_QUEUE_CAPACITY;
+        private int drainLimit = AsyncMessageSink.DEFAULT_DRAIN_LIMIT;
         /**
          * Optional agent name for agent-based execution
          */
@@ -150,6 +177,25 @@ public class EventSinkConfig<S extends MessageSink<?>> {
             return this;
         }
 
+        /**
+         * Sets how processors hand messages to the sink
+         */
+        public Builder<S> transport(SinkTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Hand messages to the sink agent through a queue of queueCapacity, the agent writes up to
+         * drainLimit messages per duty cycle
+         */
+        public Builder<S> async(int queueCapacity, int drainLimit) {
+            this.transport = SinkTransport.ASYNC;
+            this.queueCapacity = queueCapacity;
+            this.drainLimit = drainLimit;
+            return this;
+        }
+
         /**
          * Configures agent-based execution
          */
@@ -164,6 +210,9 @@ public class EventSinkConfig<S extends MessageSink<?>> {
             cfg.setInstance(instance);
             cfg.setName(name);
             if (valueMapper != null) cfg.setValueMapper(valueMapper);
+            if (transport != null) cfg.setTransport(transport);
+            cfg.setQueueCapacity(queueCapacity);
+            cfg.setDrainLimit(drainLimit);
             cfg.setAgentName(agentName);
             cfg.setIdleStrategy(idleStrategy);
             return cfg;
@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.config;
+
+/**
+ * Defines the kind of thread an agent group runs on.
+ */
+public enum ExecutionMode {
+    /**
+     * A dedicated platform thread per agent group, can be pinned to a core. The default.
+     */
+    PLATFORM,
+    /**
+     * A virtual thread per agent group for low rate groups, a parked group releases its carrier
+     * thread. Publishers wake the group on each event. Falls back to a platform thread on JVMs
+     * without virtual threads.
+     */
+    VIRTUAL
+}
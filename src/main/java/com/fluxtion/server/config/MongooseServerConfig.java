@@ -30,6 +30,8 @@ import java.util.function.Supplier;
  *   <li>Event sinks</li>
  *   <li>Registered services (standard and agent-backed)</li>
  *   <li>Agent thread settings (per-group idle strategies, names, etc.)</li>
+ *   <li>Shared worker thread pools multiplexing many agent groups</li>
+ *   <li>Object pool sizing and prewarming</li>
  * </ul>
  * <p>
  * Key capabilities:
@@ -81,6 +83,23 @@ public class MongooseServerConfig {
      */
     private List<ThreadConfig> agentThreads;
 
+    /**
+     * Shared worker thread pools, agent groups assigned to a pool are multiplexed onto its threads.
+     */
+    private List<ThreadPoolConfig> threadPools;
+
+    /**
+     * Per-type object pool configuration, applied before services are registered so pools
+     * are sized and prewarmed at boot.
+     */
+    private List<PoolConfig> pools;
+
+    /**
+     * Milliseconds processor groups may spend draining queued events when the server stops, 0 stops
+     * immediately and drops queued events.
+     */
+    private long shutdownDrainTimeoutMillis = 0;
+
     /**
      * Global fallback idle strategy used when no per-agent override is supplied.
      */
@@ -409,7 +428,10 @@ public class MongooseServerConfig {
         private final List<EventSinkConfig<?>> eventSinks = new ArrayList<>();
         private final List<ServiceConfig<?>> services = new ArrayList<>();
         private final List<ThreadConfig> agentThreads = new ArrayList<>();
+        private final List<ThreadPoolConfig> threadPools = new ArrayList<>();
+        private final List<PoolConfig> pools = new ArrayList<>();
         private IdleStrategy idleStrategy;
+        private Long shutdownDrainTimeoutMillis;
         private final Map<CallBackType, Supplier<EventToInvokeStrategy>> eventInvokeStrategies = new HashMap<>();
 
         private Builder() {
@@ -481,6 +503,39 @@ public class MongooseServerConfig {
             return this;
         }
 
+        /**
+         * Drain queued events for up to the supplied milliseconds when the server stops.
+         *
+         * @param shutdownDrainTimeoutMillis drain deadline, 0 stops immediately
+         * @return this builder
+         */
+        public Builder shutdownDrainTimeoutMillis(long shutdownDrainTimeoutMillis) {
+            this.shutdownDrainTimeoutMillis = shutdownDrainTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Add a shared worker thread pool configuration entry.
+         *
+         * @param threadPool thread pool configuration to add
+         * @return this builder
+         */
+        public Builder addThreadPool(ThreadPoolConfig threadPool) {
+            this.threadPools.add(threadPool);
+            return this;
+        }
+
+        /**
+         * Add an object pool configuration entry.
+         *
+         * @param pool pool configuration to add
+         * @return this builder
+         */
+        public Builder addPool(PoolConfig pool) {
+            this.pools.add(pool);
+            return this;
+        }
+
         /**
          * Register an EventToInvokeStrategy factory for a specific callback type.
          *
@@ -517,7 +572,10 @@ public class MongooseServerConfig {
             if (!eventSinks.isEmpty()) cfg.setEventSinks(new ArrayList<>(eventSinks));
             if (!services.isEmpty()) cfg.setServices(new ArrayList<>(services));
             if (!agentThreads.isEmpty()) cfg.setAgentThreads(new ArrayList<>(agentThreads));
+            if (!threadPools.isEmpty()) cfg.setThreadPools(new ArrayList<>(threadPools));
+            if (!pools.isEmpty()) cfg.setPools(new ArrayList<>(pools));
             if (idleStrategy != null) cfg.setIdleStrategy(idleStrategy);
+            if (shutdownDrainTimeoutMillis != null) cfg.setShutdownDrainTimeoutMillis(shutdownDrainTimeoutMillis);
             if (!eventInvokeStrategies.isEmpty()) cfg.setEventInvokeStrategies(new HashMap<>(eventInvokeStrategies));
             return cfg;
         }
@@ -0,0 +1,134 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.config;
+
+import com.fluxtion.server.exception.ConfigurationException;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.ObjectPoolsRegistry;
+import com.fluxtion.server.service.pool.PoolAware;
+import lombok.Data;
+
+/**
+ * Configuration for a per-type object pool, declared in the {@code pools:} section of the server config.
+ * <p>
+ * Values declared here override the capacity and partitions passed by the first caller of
+ * {@link ObjectPoolsRegistry#getOrCreate}. Prewarmed instances are created at boot so the first
+ * burst of events after start does not construct objects on the hot path.
+ * <p>
+ * Example YAML:
+ * <pre>
+ * pools:
+ *   - type: com.acme.PriceUpdate
+ *     capacity: 4096
+ *     partitions: 4
+ *     prewarm: 4096
+ *     exhaustionPolicy: ALLOCATE
+ * </pre>
+ */
+@Data
+public class PoolConfig {
+    /**
+     * Fully qualified (binary) class name of the pooled {@link PoolAware} type
+     */
+    private String type;
+    /**
+     * Maximum number of pooled instances, values {@code <= 0} use the caller supplied capacity
+     */
+    private int capacity;
+    /**
+     * Number of free-list partitions, values {@code <= 0} use the caller supplied partitions
+     */
+    private int partitions;
+    /**
+     * Number of instances to create eagerly at boot
+     */
+    private int prewarm;
+    /**
+     * Behaviour of acquire when the pool is exhausted. Defaults to waiting for a released instance
+     */
+    private ObjectPool.ExhaustionPolicy exhaustionPolicy = ObjectPool.ExhaustionPolicy.WAIT;
+
+    /**
+     * Apply this configuration to the supplied registry.
+     *
+     * @param registry the pool registry to configure
+     * @throws ConfigurationException if the type cannot be loaded or is not {@link PoolAware}
+     */
+    @SuppressWarnings("unchecked")
+    public void applyTo(ObjectPoolsRegistry registry) {
+        if (type == null || type.isBlank()) {
+            throw new ConfigurationException("pool configuration requires a type");
+        }
+        Class<?> clazz;
+        try {
+            clazz = Class.forName(type.trim());
+        } catch (ClassNotFoundException e) {
+            throw new ConfigurationException("unable to load pooled type:" + type, e);
+        }
+        if (!PoolAware.class.isAssignableFrom(clazz)) {
+            throw new ConfigurationException("pooled type must implement PoolAware:" + type);
+        }
+        registry.configure((Class<? extends PoolAware>) clazz, capacity, partitions, prewarm, exhaustionPolicy);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for creating PoolConfig instances with a fluent API.
+     */
+    public static final class Builder {
+        private String type;
+        private int capacity;
+        private int partitions;
+        private int prewarm;
+        private ObjectPool.ExhaustionPolicy exhaustionPolicy;
+
+        private Builder() {
+        }
+
+        public Builder type(Class<? extends PoolAware> type) {
+            this.type = type == null ? null : type.getName();
+            return this;
+        }
+
+        public Builder typeName(String typeName) {
+            this.type = typeName;
+            return this;
+        }
+
+        public Builder capacity(int capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        public Builder partitions(int partitions) {
+            this.partitions = partitions;
+            return this;
+        }
+
+        public Builder prewarm(int prewarm) {
+            this.prewarm = prewarm;
+            return this;
+        }
+
+        public Builder exhaustionPolicy(ObjectPool.ExhaustionPolicy exhaustionPolicy) {
+            this.exhaustionPolicy = exhaustionPolicy;
+            return this;
+        }
+
+        public PoolConfig build() {
+            PoolConfig cfg = new PoolConfig();
+            cfg.setType(type);
+            cfg.setCapacity(capacity);
+            cfg.setPartitions(partitions);
+            cfg.setPrewarm(prewarm);
+            if (exhaustionPolicy != null) cfg.setExhaustionPolicy(exhaustionPolicy);
+            return cfg;
+        }
+    }
+}
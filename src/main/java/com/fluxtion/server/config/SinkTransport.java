@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.config;
+
+/**
+ * Defines how processors hand messages to a message sink.
+ */
+public enum SinkTransport {
+    /**
+     * The processor calls the sink on its own thread, for cheap sinks such as in memory capture.
+     * The default.
+     */
+    DIRECT,
+    /**
+     * The processor offers the message to a queue drained in batches by the sink agent, for slow
+     * sinks such as file or network output. Processors never wait on sink I/O.
+     */
+    ASYNC
+}
@@ -6,9 +6,12 @@
 package com.fluxtion.server.config;
 
 import com.fluxtion.agrona.concurrent.IdleStrategy;
-import com.fluxtion.agrona.concurrent.YieldingIdleStrategy;
+import com.fluxtion.server.dutycycle.WakeOnPublishIdleStrategy;
+import com.fluxtion.server.service.scheduler.TimerWheelType;
 import lombok.Data;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuration for an agent thread in the Fluxtion server.
  * This class encapsulates settings that control how agent threads behave, including:
@@ -16,6 +19,10 @@ import lombok.Data;
  *   <li>Thread naming for identification and monitoring</li>
  *   <li>Idle strategy for managing thread behavior during quiet periods</li>
  *   <li>CPU core affinity for optimizing performance</li>
+ *   <li>Timer wheel type, resolution and per duty cycle expiry budgets of the scheduler service for the agent group</li>
+ *   <li>Per agent and per processor work accounting for the agent group</li>
+ *   <li>Waking an idle processor group when an event is published to it</li>
+ *   <li>Running the agent group on a dedicated platform thread, a virtual thread or a shared thread pool</li>
  * </ul>
  */
 @Data
@@ -25,13 +32,54 @@ public class ThreadConfig {
      */
     private String agentName;
     /**
-     * Strategy determining thread behavior when no work is available. Defaults to yielding
+     * Strategy determining thread behavior when no work is available. Null uses the global idle strategy of the
+     * server, or an {@link com.fluxtion.server.dutycycle.AdaptiveIdleStrategy} for a VIRTUAL processor group
      */
-    private IdleStrategy idleStrategy = new YieldingIdleStrategy();
+    private IdleStrategy idleStrategy;
     /**
      * Optional zero-based CPU core index to pin the agent thread to for improved performance
      */
     private Integer coreId;
+    /**
+     * Timer wheel backing the scheduler service, DEADLINE (default) or HIERARCHICAL for long horizon schedules
+     */
+    private TimerWheelType timerWheel = TimerWheelType.DEADLINE;
+    /**
+     * Resolution of the scheduler timer wheel for this agent group, MILLISECONDS (default) or MICROSECONDS
+     */
+    private TimeUnit timerResolution = TimeUnit.MILLISECONDS;
+    /**
+     * Maximum number of timers the scheduler expires in one duty cycle, due timers over budget carry over
+     */
+    private int timerExpiryBudget = 100;
+    /**
+     * Maximum microseconds the scheduler spends running expiry actions in one duty cycle, 0 is unbounded
+     */
+    private long timerTimeBudgetMicros = 0;
+    /**
+     * Record work count, busy time and cycle time histograms per agent and processor of the group, disabled by default
+     */
+    private boolean workAccounting = false;
+    /**
+     * Publishers wake the idle processor group thread when parked, use with a parking idle strategy
+     */
+    private boolean wakeOnPublish = false;
+    /**
+     * Consecutive idle cycles before the group can be woken by a publisher, match the cycles the idle strategy spins and yields
+     */
+    private int wakeOnPublishIdleCycles = WakeOnPublishIdleStrategy.DEFAULT_ARM_AFTER_IDLE_CYCLES;
+    /**
+     * Thread kind the agent group runs on, PLATFORM (default) or VIRTUAL for low rate groups
+     */
+    private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+    /**
+     * Optional name of a shared thread pool to run the agent group on, overrides the execution mode
+     */
+    private String threadPool;
+    /**
+     * Time slice multiplier of the agent group on a shared thread pool
+     */
+    private int priority = 1;
 
     public static Builder builder() {
         return new Builder();
@@ -45,6 +93,16 @@ public class ThreadConfig {
         private String agentName;
         private IdleStrategy idleStrategy;
         private Integer coreId;
+        private TimeUnit timerResolution;
+        private TimerWheelType timerWheel;
+        private Integer timerExpiryBudget;
+        private Long timerTimeBudgetMicros;
+        private Boolean workAccounting;
+        private Boolean wakeOnPublish;
+        private Integer wakeOnPublishIdleCycles;
+        private ExecutionMode executionMode;
+        private String threadPool;
+        private Integer priority;
 
         private Builder() {
         }
@@ -67,11 +125,101 @@ public class ThreadConfig {
             return this;
         }
 
+        /**
+         * Select the timer wheel backing the scheduler service of the agent group.
+         */
+        public Builder timerWheel(TimerWheelType timerWheel) {
+            this.timerWheel = timerWheel;
+            return this;
+        }
+
+        /**
+         * Set the scheduler timer wheel resolution, MICROSECONDS for sub-millisecond timers.
+         */
+        public Builder timerResolution(TimeUnit timerResolution) {
+            this.timerResolution = timerResolution;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of timers expired per duty cycle.
+         */
+        public Builder timerExpiryBudget(int timerExpiryBudget) {
+            this.timerExpiryBudget = timerExpiryBudget;
+            return this;
+        }
+
+        /**
+         * Set the maximum microseconds spent running expiry actions per duty cycle, 0 is unbounded.
+         */
+        public Builder timerTimeBudgetMicros(long timerTimeBudgetMicros) {
+            this.timerTimeBudgetMicros = timerTimeBudgetMicros;
+            return this;
+        }
+
+        /**
+         * Enable work accounting for the agent group at startup.
+         */
+        public Builder workAccounting(boolean workAccounting) {
+            this.workAccounting = workAccounting;
+            return this;
+        }
+
+        /**
+         * Wake the idle processor group when an event is published to it.
+         */
+        public Builder wakeOnPublish(boolean wakeOnPublish) {
+            this.wakeOnPublish = wakeOnPublish;
+            return this;
+        }
+
+        /**
+         * Set the consecutive idle cycles before a publisher can wake the group.
+         */
+        public Builder wakeOnPublishIdleCycles(int wakeOnPublishIdleCycles) {
+            this.wakeOnPublishIdleCycles = wakeOnPublishIdleCycles;
+            return this;
+        }
+
+        /**
+         * Run the agent group on a dedicated platform thread or a virtual thread.
+         */
+        public Builder executionMode(ExecutionMode executionMode) {
+            this.executionMode = executionMode;
+            return this;
+        }
+
+        /**
+         * Run the agent group on a shared thread pool declared in the server config.
+         */
+        public Builder threadPool(String threadPool) {
+            this.threadPool = threadPool;
+            return this;
+        }
+
+        /**
+         * Set the time slice multiplier of the agent group on a shared thread pool.
+         */
+        public Builder priority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
         public ThreadConfig build() {
             ThreadConfig cfg = new ThreadConfig();
             cfg.setAgentName(agentName);
             if (idleStrategy != null) cfg.setIdleStrategy(idleStrategy);
             if (coreId != null) cfg.setCoreId(coreId);
+            if (timerResolution != null) cfg.setTimerResolution(timerResolution);
+            if (timerWheel != null) cfg.setTimerWheel(timerWheel);
+            if (timerExpiryBudget != null) cfg.setTimerExpiryBudget(timerExpiryBudget);
+            if (timerTimeBudgetMicros != null) cfg.setTimerTimeBudgetMicros(timerTimeBudgetMicros);
+            if (workAccounting != null) cfg.setWorkAccounting(workAccounting);
+            if (wakeOnPublish != null) cfg.setWakeOnPublish(wakeOnPublish);
+            if (wakeOnPublishIdleCycles != null) cfg.setWakeOnPublishIdleCycles(wakeOnPublishIdleCycles);
+            if (executionMode != null) cfg.setExecutionMode(executionMode);
+            if (threadPool != null) cfg.setThreadPool(threadPool);
+            if (priority != null) cfg.setPriority(priority);
             return cfg;
         }
     }
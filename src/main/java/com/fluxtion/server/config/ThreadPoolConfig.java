@@ -0,0 +1,94 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.config;
+
+import com.fluxtion.server.dutycycle.SharedAgentPool;
+import lombok.Data;
+
+/**
+ * Configuration for a shared pool of worker threads, declared in the {@code threadPools:} section of
+ * the server config. Agent groups are assigned to a pool with {@link ThreadConfig#getThreadPool()}
+ * and multiplexed onto its threads by a {@link SharedAgentPool}.
+ * <p>
+ * Example YAML:
+ * <pre>
+ * threadPools:
+ *   - name: background
+ *     threads: 2
+ *     timeSliceMicros: 200
+ * agentThreads:
+ *   - agentName: reference-data
+ *     threadPool: background
+ *   - agentName: admin
+ *     threadPool: background
+ *     priority: 2
+ * </pre>
+ */
+@Data
+public class ThreadPoolConfig {
+    /**
+     * Name of the pool, referenced by {@link ThreadConfig#getThreadPool()}
+     */
+    private String name;
+    /**
+     * Number of worker threads in the pool
+     */
+    private int threads = 1;
+    /**
+     * Time a group with priority 1 runs before yielding its worker while it has work
+     */
+    private long timeSliceMicros = 100;
+    /**
+     * Longest park of an idle worker, bounds the wake up latency of pooled groups
+     */
+    private long maxParkPeriodMicros = 1_000;
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder class for creating ThreadPoolConfig instances with a fluent API.
+     */
+    public static final class Builder {
+        private String name;
+        private Integer threads;
+        private Long timeSliceMicros;
+        private Long maxParkPeriodMicros;
+
+        private Builder() {
+        }
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Builder timeSliceMicros(long timeSliceMicros) {
+            this.timeSliceMicros = timeSliceMicros;
+            return this;
+        }
+
+        public Builder maxParkPeriodMicros(long maxParkPeriodMicros) {
+            this.maxParkPeriodMicros = maxParkPeriodMicros;
+            return this;
+        }
+
+        public ThreadPoolConfig build() {
+            ThreadPoolConfig cfg = new ThreadPoolConfig();
+            cfg.setName(name);
+            if (threads != null) cfg.setThreads(threads);
+            if (timeSliceMicros != null) cfg.setTimeSliceMicros(timeSliceMicros);
+            if (maxParkPeriodMicros != null) cfg.setMaxParkPeriodMicros(maxParkPeriodMicros);
+            return cfg;
+        }
+    }
+}
@@ -6,10 +6,15 @@
 package com.fluxtion.server.connector.file;
 
 import com.fluxtion.agrona.IoUtil;
+import com.fluxtion.runtime.annotations.runtime.ServiceRegistered;
 import com.fluxtion.runtime.event.NamedFeedEvent;
 import com.fluxtion.server.config.ReadStrategy;
 import com.fluxtion.server.dispatch.EventToQueuePublisher;
 import com.fluxtion.server.service.extension.AbstractAgentHostedEventSourceService;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.ObjectPoolsRegistry;
+import com.fluxtion.server.service.pool.impl.PooledText;
+import com.fluxtion.server.service.pool.impl.Pools;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.java.Log;
@@ -41,6 +46,15 @@ public class FileEventSource extends AbstractAgentHostedEventSourceService {
     @Getter
     @Setter
     private ReadStrategy readStrategy = ReadStrategy.COMMITED;
+    /**
+     * Publish each line as a pooled {@link PooledText} instead of a new String, the instance is
+     * returned to the pool by the framework at the end of the consuming event cycle
+     */
+    @Getter
+    @Setter
+    private boolean pooledText = false;
+    private ObjectPoolsRegistry poolsRegistry = Pools.SHARED;
+    private ObjectPool<PooledText> textPool;
     private boolean tail = true;
     private boolean commitRead = true;
     private boolean latestRead = false;
@@ -73,10 +87,18 @@ public class FileEventSource extends AbstractAgentHostedEventSourceService {
         severeEnabled = log.isLoggable(Level.SEVERE);
     }
 
+    @ServiceRegistered
+    public void objectPools(ObjectPoolsRegistry poolsRegistry) {
+        this.poolsRegistry = poolsRegistry;
+    }
+
     @Override
     public void start() {
         if (infoEnabled) {
-            log.log(Level.INFO, "start FileEventSource " + serviceName + " file:" + filename);
+            log.log(Level.INFO, "start FileEventSource " + serviceName + " file:" + filename + " pooledText:" + pooledText);
+        }
+        if (pooledText) {
+            textPool = poolsRegistry.getOrCreate(PooledText.class, PooledText::new, PooledText::clear);
         }
         tail = readStrategy == ReadStrategy.COMMITED | readStrategy == ReadStrategy.EARLIEST | readStrategy == ReadStrategy.LATEST;
         once = !tail;
@@ -179,7 +201,8 @@ public class FileEventSource extends AbstractAgentHostedEventSourceService {
             if (fineEnabled) {
                 log.log(Level.FINE, "doWork FileEventFeed");
             }
-            String lastReadLine = null;
+            CharSequence lastReadLine = null;
+            boolean latestPending = false;
             int readCount = 0;
             int nread;
 
@@ -192,7 +215,7 @@ public class FileEventSource extends AbstractAgentHostedEventSourceService {
 
                 if (nread > 0) {
                     offset += nread;
-                    String line;
+                    CharSequence line;
                     do {
                         line = extractLine();
                         if (line != null) {
@@ -201,19 +224,26 @@ public class FileEventSource extends AbstractAgentHostedEventSourceService {
                                 log.log(Level.FINEST, "Read a line from " + getFilename() + " count:" + readCount + " line:" + line);
                             }
                             if (latestRead) {
+                                if (latestPending) {
+                                    recycle(lastReadLine);
+                                }
                                 lastReadLine = line;
+                                latestPending = true;
                             } else {
                                 publish(line);
                             }
                         }
                     } while (line != null);
 
-                    if (latestRead & lastReadLine != null & !once) {
+                    if (latestPending & !once) {
                         if (finestEnabled) {
                             log.log(Level.FINEST, "publish latest:" + lastReadLine);
                         }
                         publish(lastReadLine);
+                    } else if (latestPending) {
+                        recycle(lastReadLine);
                     }
+                    latestPending = false;
 
                     if (lastReadLine == null && offset == buffer.length) {
                         char[] newbuf = new char[buffer.length * 2];
@@ -315,7 +345,7 @@ public class FileEventSource extends AbstractAgentHostedEventSourceService {
         return reader;
     }
 
-    private void publish(String line) {
+    private void publish(CharSequence line) {
         if (publishToQueue) {
             if (fineEnabled) {
                 log.log(Level.FINE, "publish record:" + line);
@@ -332,7 +362,7 @@ public class FileEventSource extends AbstractAgentHostedEventSourceService {
         }
     }
 
-    private String extractLine() {
+    private CharSequence extractLine() {
         int until = -1, newStart = -1;
         for (int i = 0; i < offset; i++) {
             if (buffer[i] == '\n') {
@@ -351,7 +381,9 @@ public class FileEventSource extends AbstractAgentHostedEventSourceService {
         }
 
         if (until != -1) {
-            String result = new String(buffer, 0, until);
+            CharSequence result = textPool == null
+                    ? new String(buffer, 0, until)
+                    : textPool.acquire().append(buffer, 0, until);
             System.arraycopy(buffer, newStart, buffer, 0, buffer.length - newStart);
             offset = offset - newStart;
             streamOffset += newStart;
@@ -364,6 +396,13 @@ public class FileEventSource extends AbstractAgentHostedEventSourceService {
         }
     }
 
+    private void recycle(CharSequence line) {
+        if (line instanceof PooledText text) {
+            text.getPoolTracker().releaseReference();
+            text.getPoolTracker().returnToPool();
+        }
+    }
+
     //for testing
     void setOutput(EventToQueuePublisher<?> output) {
         this.output = output;
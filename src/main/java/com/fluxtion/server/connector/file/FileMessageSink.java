@@ -7,12 +7,15 @@ package com.fluxtion.server.connector.file;
 
 import com.fluxtion.runtime.lifecycle.Lifecycle;
 import com.fluxtion.runtime.output.AbstractMessageSink;
+import com.fluxtion.server.service.pool.impl.PooledText;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.SneakyThrows;
 import lombok.extern.java.Log;
 
+import java.io.Flushable;
 import java.io.PrintStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -21,7 +24,7 @@ import java.nio.file.StandardOpenOption;
 
 @Log
 public class FileMessageSink extends AbstractMessageSink<Object>
-        implements Lifecycle {
+        implements Lifecycle, Flushable {
 
     @Getter
     @Setter
@@ -47,7 +50,24 @@ public class FileMessageSink extends AbstractMessageSink<Object>
     @Override
     protected void sendToSink(Object value) {
         log.finer(() -> "sink publish:" + value);
-        printStream.println(value);
+        if (value instanceof PooledText text) {
+            // write the encoded bytes directly, no intermediate String for pooled text
+            ByteBuffer bytes = text.byteBuffer();
+            printStream.write(bytes.array(), 0, bytes.limit());
+            printStream.println();
+        } else {
+            printStream.println(value);
+        }
+    }
+
+    /**
+     * Flush buffered output, called by an async transport once per drained batch.
+     */
+    @Override
+    public void flush() {
+        if (printStream != null) {
+            printStream.flush();
+        }
     }
 
     @Override
@@ -6,6 +6,7 @@
 package com.fluxtion.server.connector.memory;
 
 import com.fluxtion.runtime.output.AbstractMessageSink;
+import com.fluxtion.server.service.pool.PoolAware;
 import lombok.Getter;
 import lombok.extern.java.Log;
 
@@ -17,6 +18,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
 /**
  * A simple in-memory message sink that collects all published messages into a list.
  * Useful for testing and local deployments that do not require IO.
+ * <p>
+ * Pooled text payloads are returned to their pool at the end of the event cycle, so a detached
+ * String copy is captured for any {@link PoolAware} {@link CharSequence}.
  */
 @Log
 public class InMemoryMessageSink extends AbstractMessageSink<Object> {
@@ -28,7 +32,7 @@ public class InMemoryMessageSink extends AbstractMessageSink<Object> {
         if (value == null) {
             return;
         }
-        messages.add(value);
+        messages.add(value instanceof PoolAware && value instanceof CharSequence ? value.toString() : value);
     }
 
     /**
@@ -7,9 +7,15 @@ package com.fluxtion.server.dispatch;
 
 import com.fluxtion.runtime.StaticEventProcessor;
 import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.runtime.event.NamedFeedEvent;
+import com.fluxtion.server.batch.BatchDto;
+import com.fluxtion.server.batch.BatchEventProcessor;
 import com.fluxtion.server.service.EventToInvokeStrategy;
+import com.fluxtion.server.service.SubscriptionFilter;
+import com.fluxtion.server.service.metrics.WorkAccounting;
 import lombok.extern.java.Log;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -34,7 +40,11 @@ public abstract class AbstractEventToInvocationStrategy implements EventToInvoke
     protected final List<StaticEventProcessor> eventProcessorSinks = new CopyOnWriteArrayList<>();
     /**
      * Per-processor synthetic clocks used to supply a custom time source to processors when dispatching with an explicit time.
+     *
+     * @deprecated no longer populated, replay clocks are held per registered processor and installed
+     * once. Kept for source compatibility of subclasses, will be removed in a future release.
      */
+    @Deprecated(forRemoval = true)
     protected static final Map<StaticEventProcessor, AtomicLong> syntheticClocks = new ConcurrentHashMap<>();
     /**
      * Monotonic id generator for instances of this strategy, also used for logging context.
@@ -48,6 +58,31 @@ public abstract class AbstractEventToInvocationStrategy implements EventToInvoke
      * Cached flag indicating whether FINE logging is enabled to avoid recomputing per event.
      */
     private final boolean fineLogEnabled;
+    /**
+     * Accounting of the hosting agent group, dispatch time per processor is recorded while enabled.
+     */
+    private WorkAccounting workAccounting;
+    /**
+     * Subscription filters of registered processors, only filtered processors have an entry.
+     */
+    private final Map<StaticEventProcessor, SubscriptionFilter> processorFilters = new ConcurrentHashMap<>();
+    /**
+     * Cached flag indicating whether any registered processor is filtered.
+     */
+    private volatile boolean filtered;
+    /**
+     * Items of a batch accepted by the filter of a batch processor, reused for every filtered batch.
+     */
+    private final BatchDto filteredBatch = new BatchDto();
+    /**
+     * Replay clocks of registered processors, copied on registration so replay reads a stable snapshot.
+     */
+    private volatile ReplayClock[] replayClocks = new ReplayClock[0];
+    /**
+     * Replay clock of each processor registered with any strategy, shared so a processor replaying
+     * several feeds reads one clock. Only touched on registration, removed with the last registration.
+     */
+    private static final Map<StaticEventProcessor, ReplayClock> REPLAY_CLOCKS = new ConcurrentHashMap<>();
 
     /**
      * Create a new invocation strategy instance, assigning a unique id and caching log level state.
@@ -65,26 +100,140 @@ public abstract class AbstractEventToInvocationStrategy implements EventToInvoke
         if (fineLogEnabled) {
             log.fine(() -> "invokerId: " + id + " processEvent: " + event + " to " + eventProcessorSinks.size() + " processors");
         }
+        boolean contextSet = false;
         for (int i = 0, targetQueuesSize = eventProcessorSinks.size(); i < targetQueuesSize; i++) {
             StaticEventProcessor eventProcessor = eventProcessorSinks.get(i);
+            if (filtered && !accepts(eventProcessor, event)) {
+                continue;
+            }
             if (fineLogEnabled) {
                 log.fine(() -> "invokerId: " + id + " dispatchEvent to " + eventProcessor);
             }
             ProcessorContext.setCurrentProcessor(eventProcessor);
-            dispatchEvent(event, eventProcessor);
+            contextSet = true;
+            WorkAccounting accounting = workAccounting;
+            if (accounting != null && accounting.isEnabled()) {
+                long start = System.nanoTime();
+                dispatchEvent(event, eventProcessor);
+                accounting.recordProcessor(eventProcessor, System.nanoTime() - start);
+            } else {
+                dispatchEvent(event, eventProcessor);
+            }
+        }
+        // the context is overwritten per processor, clear it once after the last dispatch
+        if (contextSet) {
             ProcessorContext.removeCurrentProcessor();
         }
     }
 
+    /**
+     * Dispatch the items of a batch processor by processor, each processor receives every item it
+     * accepts before the next processor is invoked. When the strategy
+     * {@link #dispatchesBatchAsEvent() dispatches batches as one event} a {@link BatchEventProcessor}
+     * receives the batch of the items it accepts as one event.
+     */
     @Override
-    public void processEvent(Object event, long time) {
+    public void processBatch(BatchDto batch) {
+        if (fineLogEnabled) {
+            log.fine(() -> "invokerId: " + id + " processBatch size: " + batch.size() + " to " + eventProcessorSinks.size() + " processors");
+        }
+        boolean contextSet = false;
         for (int i = 0, targetQueuesSize = eventProcessorSinks.size(); i < targetQueuesSize; i++) {
             StaticEventProcessor eventProcessor = eventProcessorSinks.get(i);
-            syntheticClocks.computeIfAbsent(eventProcessor, k -> {
-                AtomicLong atomicLong = new AtomicLong();
-                eventProcessor.setClockStrategy(atomicLong::get);
-                return atomicLong;
-            }).set(time);
+            ProcessorContext.setCurrentProcessor(eventProcessor);
+            contextSet = true;
+            WorkAccounting accounting = workAccounting;
+            if (accounting != null && accounting.isEnabled()) {
+                long start = System.nanoTime();
+                dispatchBatch(batch, eventProcessor);
+                accounting.recordProcessor(eventProcessor, System.nanoTime() - start);
+            } else {
+                dispatchBatch(batch, eventProcessor);
+            }
+        }
+        if (contextSet) {
+            ProcessorContext.removeCurrentProcessor();
+        }
+    }
+
+    private void dispatchBatch(BatchDto batch, StaticEventProcessor eventProcessor) {
+        if (eventProcessor instanceof BatchEventProcessor && dispatchesBatchAsEvent()) {
+            dispatchWholeBatch(batch, eventProcessor);
+            return;
+        }
+        boolean checkFilter = filtered;
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            Object item = batch.get(i);
+            if (!checkFilter || accepts(eventProcessor, item)) {
+                dispatchEvent(item, eventProcessor);
+            }
+        }
+    }
+
+    /**
+     * A filtered batch processor receives a batch of the items it accepts, nothing if it accepts none.
+     */
+    private void dispatchWholeBatch(BatchDto batch, StaticEventProcessor eventProcessor) {
+        if (!filtered || !processorFilters.containsKey(eventProcessor)) {
+            eventProcessor.onEvent(batch);
+            return;
+        }
+        BatchDto accepted = filteredBatch;
+        try {
+            for (int i = 0, size = batch.size(); i < size; i++) {
+                Object item = batch.get(i);
+                if (accepts(eventProcessor, item)) {
+                    accepted.addBatchItem(item);
+                }
+            }
+            if (!accepted.isEmpty()) {
+                eventProcessor.onEvent(accepted);
+            }
+        } finally {
+            accepted.clear();
+        }
+    }
+
+    /**
+     * True if a {@link BatchEventProcessor} receives a batch as one event through
+     * {@link StaticEventProcessor#onEvent(Object)}, only valid for a strategy whose
+     * {@link #dispatchEvent(Object, StaticEventProcessor)} calls onEvent. Otherwise each item is
+     * mapped by dispatchEvent as for any processor. False by default.
+     */
+    protected boolean dispatchesBatchAsEvent() {
+        return false;
+    }
+
+    @Override
+    public void workAccounting(WorkAccounting workAccounting) {
+        this.workAccounting = workAccounting;
+    }
+
+    /**
+     * Accounting of the hosting agent group if enabled, otherwise null.
+     */
+    WorkAccounting enabledWorkAccounting() {
+        WorkAccounting accounting = workAccounting;
+        return accounting != null && accounting.isEnabled() ? accounting : null;
+    }
+
+    /**
+     * True if any registered processor is filtered.
+     */
+    boolean isFiltered() {
+        return filtered;
+    }
+
+    /**
+     * Dispatch an event with an explicit time, each registered processor reads the time from a
+     * synthetic clock installed on its first replayed event. Setting the time is a plain write, the
+     * clock is only read by the processor on the dispatching thread.
+     */
+    @Override
+    public void processEvent(Object event, long time) {
+        ReplayClock[] clocks = replayClocks;
+        for (ReplayClock clock : clocks) {
+            clock.time(time);
         }
 
         processEvent(event);
@@ -102,12 +251,35 @@ public abstract class AbstractEventToInvocationStrategy implements EventToInvoke
     public void registerProcessor(StaticEventProcessor eventProcessor) {
         if (isValidTarget(eventProcessor) && !eventProcessorSinks.contains(eventProcessor)) {
             eventProcessorSinks.add(eventProcessor);
+            addReplayClock(eventProcessor);
             log.fine(() -> "invokerId: " + id + " registerProcessor: " + eventProcessor + " added to " + eventProcessorSinks.size() + " processors");
         } else {
             log.warning("invokerId: " + id + " registerProcessor: " + eventProcessor + " is not a valid target");
         }
     }
 
+    @Override
+    public void registerProcessor(StaticEventProcessor eventProcessor, SubscriptionFilter filter) {
+        if (filter == null) {
+            processorFilters.remove(eventProcessor);
+        } else {
+            processorFilters.put(eventProcessor, filter);
+        }
+        filtered = !processorFilters.isEmpty();
+        registerProcessor(eventProcessor);
+    }
+
+    /**
+     * Filters see the published item, named feed events are unwrapped to their data.
+     */
+    boolean accepts(StaticEventProcessor eventProcessor, Object event) {
+        SubscriptionFilter filter = processorFilters.get(eventProcessor);
+        if (filter == null) {
+            return true;
+        }
+        return filter.accept(event instanceof NamedFeedEvent<?> namedFeedEvent ? namedFeedEvent.data() : event);
+    }
+
     /**
      * Return true if the eventProcessor is a valid target for receiving callbacks from this invocation strategy.
      *
@@ -119,10 +291,64 @@ public abstract class AbstractEventToInvocationStrategy implements EventToInvoke
     @Override
     public void deregisterProcessor(StaticEventProcessor eventProcessor) {
         eventProcessorSinks.remove(eventProcessor);
+        removeReplayClock(eventProcessor);
+        processorFilters.remove(eventProcessor);
+        filtered = !processorFilters.isEmpty();
     }
 
     @Override
     public int listenerCount() {
         return eventProcessorSinks.size();
     }
+
+    /**
+     * True if a replay clock is held for the processor, while it is registered with any strategy.
+     */
+    static boolean hasReplayClock(StaticEventProcessor eventProcessor) {
+        return REPLAY_CLOCKS.containsKey(eventProcessor);
+    }
+
+    private synchronized void addReplayClock(StaticEventProcessor eventProcessor) {
+        ReplayClock replayClock = REPLAY_CLOCKS.compute(eventProcessor, (p, clock) -> {
+            ReplayClock registered = clock == null ? new ReplayClock(p) : clock;
+            registered.registrations++;
+            return registered;
+        });
+        ReplayClock[] clocks = Arrays.copyOf(replayClocks, replayClocks.length + 1);
+        clocks[clocks.length - 1] = replayClock;
+        replayClocks = clocks;
+    }
+
+    private synchronized void removeReplayClock(StaticEventProcessor eventProcessor) {
+        ReplayClock[] clocks = Arrays.stream(replayClocks)
+                .filter(clock -> clock.eventProcessor != eventProcessor)
+                .toArray(ReplayClock[]::new);
+        if (clocks.length < replayClocks.length) {
+            REPLAY_CLOCKS.computeIfPresent(eventProcessor, (p, clock) -> --clock.registrations == 0 ? null : clock);
+        }
+        replayClocks = clocks;
+    }
+
+    /**
+     * Synthetic time source of one processor, installed as its clock strategy on first use. Time
+     * is written and read on the thread of the processor.
+     */
+    private static final class ReplayClock {
+        private final StaticEventProcessor eventProcessor;
+        private int registrations;
+        private boolean installed;
+        private long time;
+
+        private ReplayClock(StaticEventProcessor eventProcessor) {
+            this.eventProcessor = eventProcessor;
+        }
+
+        private void time(long time) {
+            this.time = time;
+            if (!installed) {
+                installed = true;
+                eventProcessor.setClockStrategy(() -> this.time);
+            }
+        }
+    }
 }
@@ -0,0 +1,232 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.agrona.concurrent.ManyToOneConcurrentArrayQueue;
+import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.runtime.lifecycle.Lifecycle;
+import com.fluxtion.runtime.output.MessageSink;
+import com.fluxtion.server.service.pool.PoolAware;
+import com.fluxtion.server.service.pool.impl.PoolTracker;
+import lombok.extern.java.Log;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Hands messages from processor threads to a sink running on its own agent.
+ * <p>
+ * {@link #accept(Object)} offers the message to a many to one queue and returns, the sink agent
+ * drains up to {@code drainLimit} messages per duty cycle into the delegate sink, then flushes a
+ * {@link Flushable} delegate once per drained batch. The value mapper of the delegate runs on the
+ * sink agent. A pooled message holds a reference while queued and is returned to its pool once
+ * written.
+ * <p>
+ * A full queue is retried for a bounded spin, then the message is dropped and counted, processors
+ * never wait on sink I/O. Closing the agent waits for in flight offers, writes every queued message
+ * then closes the delegate. Messages accepted after close are dropped and counted, a pooled message
+ * is returned to its pool. Lifecycle calls are forwarded to the delegate, services are injected into
+ * this wrapper rather than the delegate.
+ *
+ * @param <T> the message type of the sink
+ */
+@Experimental
+@Log
+public class AsyncMessageSink<T> implements MessageSink<T>, Agent, Lifecycle {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int DEFAULT_DRAIN_LIMIT = 64;
+    private static final long MAX_SPIN_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private final MessageSink<T> delegate;
+    private final String name;
+    private final ManyToOneConcurrentArrayQueue<T> queue;
+    private final int drainLimit;
+    private final Consumer<T> writer = this::write;
+    private final AtomicLong droppedCount = new AtomicLong();
+    //offers that passed the closed check and may still write to the queue
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean closed;
+
+    public AsyncMessageSink(MessageSink<T> delegate, String name) {
+        this(delegate, name, DEFAULT_QUEUE_CAPACITY, DEFAULT_DRAIN_LIMIT);
+    }
+
+    public AsyncMessageSink(MessageSink<T> delegate, String name, int queueCapacity, int drainLimit) {
+        this.delegate = delegate;
+        this.name = name;
+        this.queue = new ManyToOneConcurrentArrayQueue<>(queueCapacity);
+        this.drainLimit = Math.max(1, drainLimit);
+    }
+
+    public MessageSink<T> delegate() {
+        return delegate;
+    }
+
+    /**
+     * Messages dropped because the queue stayed full or the sink was closed.
+     */
+    public long droppedCount() {
+        return droppedCount.get();
+    }
+
+    public int queueSize() {
+        return queue.size();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void accept(T message) {
+        if (message == null) {
+            return;
+        }
+        PoolTracker<?> tracker = message instanceof PoolAware poolAware ? poolAware.getPoolTracker() : null;
+        if (tracker != null) {
+            tracker.acquireReference();
+        }
+        inFlight.incrementAndGet();
+        try {
+            if (closed) {
+                discard(tracker);
+                log.warning("dropping message to closed sink: " + name);
+                return;
+            }
+            if (queue.offer(message)) {
+                return;
+            }
+            long start = System.nanoTime();
+            while (!queue.offer(message)) {
+                if (System.nanoTime() - start > MAX_SPIN_NANOS) {
+                    discard(tracker);
+                    log.warning("dropping message to slow sink: " + name + " queueSize:" + queue.size());
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void setValueMapper(Function<? super T, ?> valueMapper) {
+        delegate.setValueMapper(valueMapper);
+    }
+
+    @Override
+    public void onStart() {
+        if (delegate instanceof Agent agent) {
+            agent.onStart();
+        }
+    }
+
+    @Override
+    public int doWork() throws Exception {
+        int workCount = delegate instanceof Agent agent ? agent.doWork() : 0;
+        int drained = queue.drain(writer, drainLimit);
+        if (drained > 0) {
+            flush();
+        }
+        return workCount + drained;
+    }
+
+    @Override
+    public void onClose() {
+        closed = true;
+        // an offer that passed the closed check completes or drops within its bounded spin
+        while (queue.drain(writer, drainLimit) > 0 || inFlight.get() > 0) {
+            flush();
+        }
+        if (delegate instanceof Agent agent) {
+            agent.onClose();
+        }
+    }
+
+    @Override
+    public String roleName() {
+        return name;
+    }
+
+    @Override
+    public void init() {
+        if (delegate instanceof Lifecycle lifecycle) {
+            lifecycle.init();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (delegate instanceof Lifecycle lifecycle) {
+            lifecycle.start();
+        }
+    }
+
+    @Override
+    public void startComplete() {
+        if (delegate instanceof Lifecycle lifecycle) {
+            lifecycle.startComplete();
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (delegate instanceof Lifecycle lifecycle) {
+            lifecycle.stop();
+        }
+    }
+
+    @Override
+    public void tearDown() {
+        if (delegate instanceof Lifecycle lifecycle) {
+            lifecycle.tearDown();
+        }
+    }
+
+    private void write(T message) {
+        try {
+            delegate.accept(message);
+        } catch (Throwable t) {
+            log.severe("sink write failed: sink=" + name + ", message=" + message + ", error=" + t);
+            com.fluxtion.server.service.error.ErrorReporting.report(
+                    "AsyncMessageSink:" + name,
+                    "sink write failed: message=" + message,
+                    t,
+                    com.fluxtion.server.service.error.ErrorEvent.Severity.ERROR);
+        } finally {
+            if (message instanceof PoolAware poolAware) {
+                PoolTracker<?> tracker = poolAware.getPoolTracker();
+                tracker.releaseReference();
+                tracker.returnToPool();
+            }
+        }
+    }
+
+    private void discard(PoolTracker<?> tracker) {
+        droppedCount.incrementAndGet();
+        if (tracker != null) {
+            tracker.releaseReference();
+            tracker.returnToPool();
+        }
+    }
+
+    private void flush() {
+        if (delegate instanceof Flushable flushable) {
+            try {
+                flushable.flush();
+            } catch (IOException e) {
+                log.warning("sink flush failed: sink=" + name + ", error=" + e);
+            }
+        }
+    }
+}
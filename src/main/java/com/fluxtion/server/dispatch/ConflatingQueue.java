@@ -0,0 +1,161 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.runtime.event.NamedFeedEvent;
+import com.fluxtion.runtime.event.ReplayRecord;
+import com.fluxtion.server.service.pool.PoolAware;
+import com.fluxtion.server.service.pool.impl.PoolTracker;
+import lombok.extern.java.Log;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Last value wins subscriber queue, keeps at most one pending item per key.
+ * <p>
+ * An offered item whose key already has a pending item replaces it in place and keeps its queue
+ * position, the superseded item is dropped and a pooled instance is released back to its
+ * {@link PoolTracker}. A lagging reader so catches up in bounded time, it sees the latest value of
+ * each key instead of every intermediate update. Items with a null key, such as markers or events
+ * of other types, are queued unconflated in publish order.
+ * <p>
+ * The key function sees the published data, named feed events and replay records are unwrapped.
+ * One slot is retained per key ever seen, suited to bounded key sets such as instruments. Single
+ * producer and single consumer, as {@link OneToOneConcurrentArrayQueue}.
+ */
+@Experimental
+@Log
+public class ConflatingQueue extends OneToOneConcurrentArrayQueue<Object> {
+
+    private final Function<Object, ?> keyFunction;
+    private final Map<Object, Slot> slots = new ConcurrentHashMap<>();
+    private long conflatedCount;
+
+    public ConflatingQueue(int requestedCapacity, Function<Object, ?> keyFunction) {
+        super(requestedCapacity);
+        this.keyFunction = keyFunction;
+    }
+
+    @Override
+    public boolean offer(Object item) {
+        Object key = keyOf(item);
+        if (key == null) {
+            return super.offer(item);
+        }
+        Slot slot = slots.computeIfAbsent(key, Slot::new);
+        Object superseded = slot.getAndSet(item);
+        if (superseded != null) {
+            conflatedCount++;
+            release(superseded);
+            return true;
+        }
+        if (super.offer(slot)) {
+            return true;
+        }
+        // the slot is not queued so the reader cannot have taken the item
+        slot.set(null);
+        return false;
+    }
+
+    @Override
+    public Object poll() {
+        Object item = super.poll();
+        return item instanceof Slot slot ? slot.getAndSet(null) : item;
+    }
+
+    @Override
+    public Object peek() {
+        Object item = super.peek();
+        return item instanceof Slot slot ? slot.get() : item;
+    }
+
+    @Override
+    public int drain(Consumer<Object> elementHandler) {
+        return drain(elementHandler, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drain(Consumer<Object> elementHandler, int limit) {
+        int count = 0;
+        Object item;
+        while (count < limit && (item = poll()) != null) {
+            elementHandler.accept(item);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int drainTo(Collection<? super Object> target, int limit) {
+        return drain(target::add, limit);
+    }
+
+    /**
+     * Number of pending items replaced by a later item with the same key, read on the publishing
+     * thread.
+     */
+    public long conflatedCount() {
+        return conflatedCount;
+    }
+
+    /**
+     * The key function pending items are conflated by.
+     */
+    Function<Object, ?> keyFunction() {
+        return keyFunction;
+    }
+
+    private Object keyOf(Object item) {
+        Object data = item;
+        if (data instanceof ReplayRecord replayRecord) {
+            data = replayRecord.getEvent();
+        }
+        if (data instanceof NamedFeedEvent<?> namedFeedEvent) {
+            data = namedFeedEvent.data();
+        }
+        try {
+            return data == null ? null : keyFunction.apply(data);
+        } catch (Throwable t) {
+            log.warning("conflation key failed, queueing unconflated item:" + item + " error:" + t);
+            return null;
+        }
+    }
+
+    /**
+     * Drop the queue reference the publisher acquired for a superseded pooled item.
+     */
+    private static void release(Object superseded) {
+        Object data = superseded instanceof NamedFeedEvent<?> namedFeedEvent ? namedFeedEvent.data() : superseded;
+        if (data instanceof PoolAware poolAware) {
+            PoolTracker<?> tracker = poolAware.getPoolTracker();
+            tracker.releaseReference();
+            tracker.returnToPool();
+        }
+    }
+
+    /**
+     * Queue position of a key, holds the pending item while queued.
+     */
+    private static final class Slot extends AtomicReference<Object> {
+        private final Object key;
+
+        private Slot(Object key) {
+            this.key = key;
+        }
+
+        @Override
+        public String toString() {
+            return "Slot{key=" + key + '}';
+        }
+    }
+}
@@ -10,11 +10,15 @@ import com.fluxtion.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import com.fluxtion.server.dutycycle.EventQueueToEventProcessor;
 import com.fluxtion.server.dutycycle.EventQueueToEventProcessorAgent;
+import com.fluxtion.server.dutycycle.QueueDoorbell;
 import com.fluxtion.server.service.*;
+import com.fluxtion.server.service.metrics.FeedLatencyStats;
+import lombok.extern.java.Log;
 
 import java.io.IOException;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 
@@ -44,6 +48,7 @@ import java.util.function.Supplier;
  * - Mapping agents: Creates mapping agents that manage the processing of events from sources to subscribers.
  * - Queue diagnostics: Appends configurations of event queues for debugging and tracing.
  */
+@Log
 public class EventFlowManager {
 
     private final ConcurrentHashMap<EventSourceKey<?>, EventSource_QueuePublisher<?>> eventSourceToQueueMap = new ConcurrentHashMap<>();
@@ -63,6 +68,29 @@ public class EventFlowManager {
         forEachLifeCycleEventSource(LifeCycleEventSource::start);
     }
 
+    /**
+     * Stop every registered event source publishing to its subscriber queues, events offered later
+     * are dropped. Sources stay open, {@link #stop()} commits their read positions once the queued
+     * events have been processed.
+     */
+    public void stopPublication() {
+        eventSourceToQueueMap.values().forEach(publisher -> publisher.queuePublisher().stopPublication());
+    }
+
+    /**
+     * Stop the registered lifecycle event sources, persisting any read positions they commit.
+     */
+    public void stop() {
+        forEachLifeCycleEventSource(LifeCycleEventSource::stop);
+    }
+
+    /**
+     * Queue for a sink reader, no component drains it.
+     *
+     * @deprecated message sinks are called directly or through an {@link AsyncMessageSink}, selected
+     * by the {@link com.fluxtion.server.config.SinkTransport} of the sink configuration
+     */
+    @Deprecated
     @SuppressWarnings("unchecked")
     public <T> ManyToOneConcurrentArrayQueue<T> registerEventSink(EventSourceKey<T> sinkKey, Object sinkReader) {
         Objects.requireNonNull(sinkKey, "sinkKey must be non-null");
@@ -117,7 +145,32 @@ public class EventFlowManager {
         registerEventMapperFactory(eventMapper, CallBackType.forClass(type));
     }
 
+    /**
+     * Register a {@link GeneratedEventToInvokeStrategy} for a callback interface, subscriptions
+     * with the callback type of the interface invoke its single callback method directly.
+     *
+     * @throws IllegalArgumentException if the interface does not declare exactly one single
+     *                                  argument abstract method
+     */
+    public void registerGeneratedInvoker(Class<?> callbackClass) {
+        Objects.requireNonNull(callbackClass, "callbackClass must be non-null");
+        registerEventMapperFactory(GeneratedEventToInvokeStrategy.factory(callbackClass), callbackClass);
+    }
+
     public <T> com.fluxtion.server.dutycycle.EventQueueToEventProcessor getMappingAgent(EventSourceKey<T> eventSourceKey, CallBackType type, Agent subscriber) {
+        return getMappingAgent(eventSourceKey, type, subscriber, null);
+    }
+
+    /**
+     * Create a reader of the subscriber queue for an event source, a conflation key makes a newly
+     * created queue a {@link ConflatingQueue}. An existing queue of the subscriber is re-used as is,
+     * a warning is logged if it conflates differently.
+     */
+    public <T> com.fluxtion.server.dutycycle.EventQueueToEventProcessor getMappingAgent(
+            EventSourceKey<T> eventSourceKey,
+            CallBackType type,
+            Agent subscriber,
+            Function<Object, ?> conflationKey) {
         Objects.requireNonNull(eventSourceKey, "eventSourceKey must be non-null");
         Objects.requireNonNull(type, "type must be non-null");
         Objects.requireNonNull(subscriber, "subscriber must be non-null");
@@ -129,20 +182,82 @@ public class EventFlowManager {
 
         // create or re-use a target queue
         EventSourceKey_Subscriber<T> keySubscriber = new EventSourceKey_Subscriber<>(eventSourceKey, subscriber);
-        OneToOneConcurrentArrayQueue<Object> eventQueue = getOrCreateSubscriberQueue(keySubscriber);
+        OneToOneConcurrentArrayQueue<Object> eventQueue = getOrCreateSubscriberQueue(keySubscriber, conflationKey);
 
         // add as a target to the source
         String name = buildSubscriptionName(subscriber, eventSourceKey, type);
-        sourcePublisher.queuePublisher().addTargetQueue(eventQueue, name);
+        QueueDoorbell doorbell = new QueueDoorbell();
+        QueueFilter filter = new QueueFilter();
+        sourcePublisher.queuePublisher().addTargetQueue(eventQueue, name, doorbell, filter);
 
         Runnable unsubscribe = createUnsubscribeAction(sourcePublisher, name, keySubscriber);
 
         return new EventQueueToEventProcessorAgent(eventQueue, eventMapperSupplier.get(), name)
-                .withUnsubscribeAction(unsubscribe);
+                .withUnsubscribeAction(unsubscribe)
+                .withQueueDoorbell(doorbell)
+                .withQueueFilter(filter);
     }
 
     public <T> EventQueueToEventProcessor getMappingAgent(EventSubscriptionKey<T> subscriptionKey, Agent subscriber) {
-        return getMappingAgent(subscriptionKey.eventSourceKey(), subscriptionKey.callBackType(), subscriber);
+        return getMappingAgent(subscriptionKey.eventSourceKey(), subscriptionKey.callBackType(), subscriber, subscriptionKey.conflationKey());
+    }
+
+    /**
+     * Split a dedicated subscriber queue from the shared queue of a subscriber agent, used to move
+     * one processor off a shared queue without losing or repeating events. The publisher writes
+     * cutMarker into the shared queue and starts writing to the dedicated queue in one step, the
+     * processor reads events before the marker from the shared queue and events after it from the
+     * returned reader. The dedicated queue is filtered and conflated as the subscription key.
+     * A subscription to a {@link #isPartitioned(EventSourceKey) partitioned} feed cannot be split,
+     * an extra queue would change the partition of every key.
+     *
+     * @param subscriptionKey   the subscription to split
+     * @param currentSubscriber the agent reading the shared queue
+     * @param dedicatedOwner    unique owner name of the dedicated queue
+     * @param cutMarker         marker written to the shared queue at the cut
+     * @return an unstarted reader of the dedicated queue with no registered processors
+     * @throws IllegalStateException if the feed is partitioned
+     */
+    public <T> EventQueueToEventProcessorAgent splitSubscription(
+            EventSubscriptionKey<T> subscriptionKey,
+            Agent currentSubscriber,
+            String dedicatedOwner,
+            Object cutMarker) {
+        Objects.requireNonNull(subscriptionKey, "subscriptionKey must be non-null");
+        Objects.requireNonNull(currentSubscriber, "currentSubscriber must be non-null");
+        Objects.requireNonNull(dedicatedOwner, "dedicatedOwner must be non-null");
+        EventSourceKey<T> eventSourceKey = subscriptionKey.eventSourceKey();
+        CallBackType type = subscriptionKey.callBackType();
+
+        Supplier<EventToInvokeStrategy> eventMapperSupplier = eventToInvokerFactoryMap.get(type);
+        Objects.requireNonNull(eventMapperSupplier, "no EventMapper registered for type:" + type);
+        EventSource_QueuePublisher<T> sourcePublisher = getEventSourceQueuePublisherOrThrow(eventSourceKey);
+        if (sourcePublisher.queuePublisher().isPartitioned()) {
+            throw new IllegalStateException("cannot split subscription to partitioned feed:" + eventSourceKey.sourceName());
+        }
+        OneToOneConcurrentArrayQueue<Object> sharedQueue = subscriberKeyToQueueMap.get(new EventSourceKey_Subscriber<>(eventSourceKey, currentSubscriber));
+        Objects.requireNonNull(sharedQueue, "no subscriber queue for:" + currentSubscriber.roleName() + " subscriptionKey:" + subscriptionKey);
+
+        EventSourceKey_Subscriber<T> keySubscriber = new EventSourceKey_Subscriber<>(eventSourceKey, dedicatedOwner);
+        OneToOneConcurrentArrayQueue<Object> dedicatedQueue = getOrCreateSubscriberQueue(keySubscriber, subscriptionKey.conflationKey());
+        String name = dedicatedOwner + "/" + eventSourceKey.sourceName() + "/" + type.name();
+        QueueDoorbell doorbell = new QueueDoorbell();
+        QueueFilter filter = new QueueFilter();
+        filter.update(subscriptionKey.filter());
+        sourcePublisher.queuePublisher().addTargetQueueAtMarker(sharedQueue, cutMarker, dedicatedQueue, name, doorbell, filter);
+
+        return new EventQueueToEventProcessorAgent(dedicatedQueue, eventMapperSupplier.get(), name)
+                .withUnsubscribeAction(createUnsubscribeAction(sourcePublisher, name, keySubscriber))
+                .withQueueDoorbell(doorbell)
+                .withQueueFilter(filter);
+    }
+
+    /**
+     * Is the feed partitioned across its subscriber queues, each event delivered to one queue.
+     */
+    public boolean isPartitioned(EventSourceKey<?> eventSourceKey) {
+        EventSource_QueuePublisher<?> publisher = eventSourceToQueueMap.get(eventSourceKey);
+        return publisher != null && publisher.queuePublisher().isPartitioned();
     }
 
     public void appendQueueInformation(Appendable appendable) {
@@ -153,6 +268,55 @@ public class EventFlowManager {
         eventSourceToQueueMap.forEach((key, value) -> appendQueueDetails(appendable, key.sourceName(), value.queuePublisher()));
     }
 
+    /**
+     * Append latency summaries for every feed with latency stamping enabled.
+     */
+    public void appendLatencyInformation(Appendable appendable) {
+        boolean[] found = {false};
+        eventSourceToQueueMap.forEach((key, value) -> {
+            FeedLatencyStats stats = value.queuePublisher().getLatencyStats();
+            if (stats != null) {
+                found[0] = true;
+                try {
+                    stats.appendSummary(appendable);
+                } catch (IOException ex) {
+                    System.err.println("problem logging feed latency, exception:" + ex);
+                }
+            }
+        });
+        if (!found[0]) {
+            safeAppend(appendable, "No feeds with latency stamping enabled");
+        }
+    }
+
+    /**
+     * Enable or disable latency stamping for a named feed, or all feeds if the name is {@code *}.
+     *
+     * @return the number of feeds updated
+     */
+    public int setLatencyStamping(String sourceName, boolean latencyStamping) {
+        int[] count = {0};
+        eventSourceToQueueMap.forEach((key, value) -> {
+            if ("*".equals(sourceName) || key.sourceName().equals(sourceName)) {
+                value.queuePublisher().setLatencyStamping(latencyStamping);
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * Reset latency histograms for all feeds.
+     */
+    public void resetLatencyStats() {
+        eventSourceToQueueMap.values().forEach(value -> {
+            FeedLatencyStats stats = value.queuePublisher().getLatencyStats();
+            if (stats != null) {
+                stats.reset();
+            }
+        });
+    }
+
     private void forEachLifeCycleEventSource(java.util.function.Consumer<LifeCycleEventSource> action) {
         eventSourceToQueueMap.values().stream()
                 .map(EventSource_QueuePublisher::eventSource)
@@ -167,8 +331,27 @@ public class EventFlowManager {
         return Objects.requireNonNull(publisher, "no EventSource registered for EventSourceKey:" + eventSourceKey);
     }
 
-    private <T> OneToOneConcurrentArrayQueue<Object> getOrCreateSubscriberQueue(EventSourceKey_Subscriber<T> keySubscriber) {
-        return subscriberKeyToQueueMap.computeIfAbsent(keySubscriber, key -> new OneToOneConcurrentArrayQueue<>(1024));
+    /**
+     * The queue of a subscriber to a source, created on first subscription and conflated by its
+     * conflation key. A later subscription sharing the queue cannot change how it conflates, a
+     * different conflation key is logged as a warning and ignored. Key functions are compared by
+     * identity, share one key instance across subscriptions of a subscriber.
+     */
+    private <T> OneToOneConcurrentArrayQueue<Object> getOrCreateSubscriberQueue(EventSourceKey_Subscriber<T> keySubscriber, Function<Object, ?> conflationKey) {
+        OneToOneConcurrentArrayQueue<Object> queue = subscriberKeyToQueueMap.computeIfAbsent(keySubscriber, key -> conflationKey == null
+                ? new OneToOneConcurrentArrayQueue<>(1024)
+                : new ConflatingQueue(1024, conflationKey));
+        Function<Object, ?> queueConflationKey = queue instanceof ConflatingQueue conflatingQueue ? conflatingQueue.keyFunction() : null;
+        if (queueConflationKey != conflationKey) {
+            Object subscriber = keySubscriber.subscriber();
+            log.warning("conflation key mismatch, queue of subscriber:"
+                    + (subscriber instanceof Agent agent ? agent.roleName() : subscriber)
+                    + " to source:" + keySubscriber.eventSourceKey().sourceName()
+                    + (queueConflationKey == null ? " is not conflated, the conflation key of the new subscription is ignored"
+                    : conflationKey == null ? " is conflated, events of the unconflated subscription may be dropped"
+                    : " conflates by the key of its first subscription, the new key is ignored"));
+        }
+        return queue;
     }
 
     private static String buildSubscriptionName(Agent subscriber, EventSourceKey<?> eventSourceKey, CallBackType type) {
@@ -33,4 +33,12 @@ public class EventToOnEventInvokeStrategy extends AbstractEventToInvocationStrat
     protected boolean isValidTarget(StaticEventProcessor eventProcessor) {
         return true;
     }
+
+    /**
+     * A {@link com.fluxtion.server.batch.BatchEventProcessor} receives each batch through onEvent.
+     */
+    @Override
+    protected boolean dispatchesBatchAsEvent() {
+        return true;
+    }
 }
@@ -9,9 +9,13 @@ import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import com.fluxtion.runtime.event.NamedFeedEvent;
 import com.fluxtion.runtime.event.NamedFeedEventImpl;
 import com.fluxtion.runtime.event.ReplayRecord;
+import com.fluxtion.server.batch.PooledBatchDto;
+import com.fluxtion.server.dutycycle.QueueDoorbell;
 import com.fluxtion.server.service.EventSource;
 import com.fluxtion.server.service.pool.PoolAware;
+import com.fluxtion.server.service.metrics.FeedLatencyStats;
 import com.fluxtion.server.service.pool.impl.PoolTracker;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -21,7 +25,10 @@ import lombok.extern.java.Log;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.logging.Level;
 
@@ -49,25 +56,100 @@ public class EventToQueuePublisher<T> {
     @Setter
     private Function<T, ?> dataMapper = Function.identity();
     private int cacheReadPointer = 0;
+    private Function<Object, ?> partitionKey;
+    private FeedLatencyStats latencyStats;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private MicroBatcher microBatcher;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final Queue<BooleanSupplier> publisherTasks = new ConcurrentLinkedQueue<>();
+    @Getter(AccessLevel.NONE)
+    private volatile boolean publisherTasksPending;
+    @Getter(AccessLevel.NONE)
+    private boolean publicationStopped;
     private final boolean logWarning = log.isLoggable(Level.WARNING);
     private final boolean logInfo = log.isLoggable(Level.INFO);
     private final boolean logFine = log.isLoggable(Level.FINE);
 
     public void addTargetQueue(OneToOneConcurrentArrayQueue<Object> targetQueue, String name) {
-        NamedQueue namedQueue = new NamedQueue(name, targetQueue);
+        addTargetQueue(targetQueue, name, null);
+    }
+
+    /**
+     * Add a target queue, the doorbell is rung after each write so an idle reader of the queue can
+     * be woken. Re-adding a queue under the same name replaces its doorbell.
+     */
+    public void addTargetQueue(OneToOneConcurrentArrayQueue<Object> targetQueue, String name, QueueDoorbell doorbell) {
+        addTargetQueue(targetQueue, name, doorbell, null);
+    }
+
+    /**
+     * Add a target queue with a subscription filter, only items the filter accepts are written to
+     * the queue. Re-adding a queue under the same name replaces its doorbell and filter.
+     */
+    public void addTargetQueue(OneToOneConcurrentArrayQueue<Object> targetQueue, String name, QueueDoorbell doorbell, QueueFilter filter) {
+        NamedQueue namedQueue = new NamedQueue(name, targetQueue, doorbell, filter);
         if (log.isLoggable(Level.FINE)) {
             log.fine("adding a publisher queue:" + namedQueue);
         }
-        if (!targetQueues.contains(namedQueue)) {
-            targetQueues.add(namedQueue);
+        for (int i = 0; i < targetQueues.size(); i++) {
+            NamedQueue existing = targetQueues.get(i);
+            if (existing.name().equals(name) && existing.targetQueue() == targetQueue) {
+                if (existing.doorbell() != doorbell || existing.filter() != filter) {
+                    targetQueues.set(i, namedQueue);
+                }
+                return;
+            }
         }
+        targetQueues.add(namedQueue);
+    }
+
+    /**
+     * Start writing to a new target queue at an exact position in the event stream. On the
+     * publishing thread, before the next item is dispatched, the marker is written to the marked
+     * queue and the target queue is added. Every item published before the marker is only in the
+     * marked queue, every item after it is in both, so a consumer can hand over between the two
+     * queues without losing or repeating an item. If the marked queue is full the hand over is
+     * retried on the following publish.
+     */
+    public void addTargetQueueAtMarker(
+            OneToOneConcurrentArrayQueue<Object> markedQueue,
+            Object marker,
+            OneToOneConcurrentArrayQueue<Object> targetQueue,
+            String name,
+            QueueDoorbell doorbell,
+            QueueFilter filter) {
+        publisherTasks.add(() -> {
+            if (!markedQueue.offer(marker)) {
+                return false;
+            }
+            for (int i = 0, size = targetQueues.size(); i < size; i++) {
+                NamedQueue marked = targetQueues.get(i);
+                if (marked.targetQueue() == markedQueue && marked.doorbell() != null) {
+                    marked.doorbell().ring();
+                }
+            }
+            addTargetQueue(targetQueue, name, doorbell, filter);
+            return true;
+        });
+        publisherTasksPending = true;
     }
 
     public void publish(T itemToPublish) {
+        if (publisherTasksPending) {
+            // queue changes apply after items already published
+            flushBatch();
+            runPublisherTasks();
+        }
         if (itemToPublish == null) {
             log.info("itemToPublish is null");
             return;
         }
+        if (publicationStopped) {
+            dropItem(itemToPublish);
+            return;
+        }
 
         Object mappedItem = mapItemSafely(itemToPublish, "publish");
         if (mappedItem == null) {
@@ -100,14 +182,137 @@ public class EventToQueuePublisher<T> {
         }
 
         cacheReadPointer++;
-        dispatch(mappedItem);
+        if (latencyStats != null) {
+            PoolTracker<?> tracker = trackerOf(mappedItem);
+            if (tracker != null) {
+                tracker.stamps().stampPublish(latencyStats, sequenceNumber, System.nanoTime());
+            }
+        }
+        MicroBatcher batcher = microBatcher;
+        if (batcher != null && isBatchable()) {
+            long now = System.nanoTime();
+            if (batcher.arrival(now)) {
+                if (batcher.add(mappedItem, now)) {
+                    flushBatch();
+                }
+                return;
+            }
+        }
+        int written = dispatch(mappedItem);
+        if (!cacheEventLog && written == 0) {
+            // no subscribers hold a reference, recycle pooled items immediately
+            PoolTracker<?> tracker = trackerOf(mappedItem);
+            if (tracker != null) {
+                tracker.returnToPool();
+            }
+        }
+    }
+
+    /**
+     * Enable sequence and latency stamping of pooled events published by this feed, consumers
+     * record the stamps into {@link #getLatencyStats()}.
+     */
+    public void setLatencyStamping(boolean latencyStamping) {
+        if (latencyStamping && latencyStats == null) {
+            latencyStats = new FeedLatencyStats(name);
+        } else if (!latencyStamping) {
+            latencyStats = null;
+        }
+    }
+
+    public boolean isLatencyStamping() {
+        return latencyStats != null;
+    }
+
+    /**
+     * Partition the feed across its subscriber queues, each item is written to exactly one queue
+     * chosen by the hash of its key. Items with equal keys reach the same subscriber in publish
+     * order while the set of subscriber queues is unchanged, a subscriber joining or leaving moves
+     * key ownership. The key function is applied to the item after data mapping, null disables
+     * partitioning and every subscriber receives every item.
+     */
+    @SuppressWarnings("unchecked")
+    public void setPartitionKey(Function<?, ?> partitionKey) {
+        this.partitionKey = (Function<Object, ?>) partitionKey;
+    }
+
+    public boolean isPartitioned() {
+        return partitionKey != null;
+    }
+
+    /**
+     * Publish items in batches of up to {@code maxBatchSize}, a batch is published when it reaches
+     * the target size or from {@link #flushIfDue()} once its oldest item is {@code maxLatencyNanos}
+     * old. The target size adapts to the arrival rate, a feed publishing less than one item per
+     * latency period publishes each item directly. Applies to unwrapped, unpartitioned feeds, a
+     * {@code maxBatchSize} below 2 disables batching.
+     */
+    public void setMicroBatching(int maxBatchSize, long maxLatencyNanos) {
+        flushBatch();
+        microBatcher = maxBatchSize > 1 ? new MicroBatcher(maxBatchSize, Math.max(1, maxLatencyNanos)) : null;
+    }
+
+    public boolean isMicroBatching() {
+        return microBatcher != null;
+    }
+
+    /**
+     * Publish the open batch if its oldest item has reached the latency bound, called from the duty
+     * cycle of the publishing agent.
+     *
+     * @return the number of items published
+     */
+    public int flushIfDue() {
+        MicroBatcher batcher = microBatcher;
+        if (batcher == null || !batcher.isDue(System.nanoTime())) {
+            return 0;
+        }
+        return flushBatch();
+    }
+
+    /**
+     * Publish the open batch now.
+     *
+     * @return the number of items published
+     */
+    public int flushBatch() {
+        MicroBatcher batcher = microBatcher;
+        PooledBatchDto batch = batcher == null ? null : batcher.take();
+        if (batch == null) {
+            return 0;
+        }
+        int size = batch.size();
+        PoolTracker<?> tracker = batch.getPoolTracker();
+        if (latencyStats != null) {
+            tracker.stamps().stampPublish(latencyStats, sequenceNumber, batcher.firstArrivalNanos());
+        }
+        int written = dispatch(batch);
+        tracker.releaseReference();
+        if (written == 0) {
+            tracker.returnToPool();
+        }
+        return size;
+    }
+
+    private boolean isBatchable() {
+        return partitionKey == null
+                && (eventWrapStrategy == EventSource.EventWrapStrategy.SUBSCRIPTION_NOWRAP
+                || eventWrapStrategy == EventSource.EventWrapStrategy.BROADCAST_NOWRAP);
     }
 
     public void cache(T itemToCache) {
+        if (microBatcher != null) {
+            // cached items are sequenced after the items already batched
+            flushBatch();
+        }
         if (itemToCache == null) {
             log.fine("itemToCache is null");
             return;
         }
+        if (publicationStopped) {
+            dropItem(itemToCache);
+            return;
+        }
 
         Object mappedItem = mapItemSafely(itemToCache, "cache");
         if (mappedItem == null) {
@@ -132,24 +337,58 @@ public class EventToQueuePublisher<T> {
     }
 
     public void publishReplay(ReplayRecord record) {
+        if (microBatcher != null) {
+            // replay records must not overtake live items waiting in the open batch
+            flushBatch();
+        }
+        if (publisherTasksPending) {
+            runPublisherTasks();
+        }
         if (record == null) {
             log.fine("itemToPublish is null");
             return;
         }
+        if (publicationStopped) {
+            log.fine("publication stopped, dropping replay record");
+            return;
+        }
         if (log.isLoggable(Level.FINE)) {
             log.fine("listenerCount:" + targetQueues.size() + " publish:" + record);
         }
 
-        for (int i = 0, targetQueuesSize = targetQueues.size(); i < targetQueuesSize; i++) {
+        int targetQueuesSize = targetQueues.size();
+        int partition = partitionKey != null && targetQueuesSize > 0 ? partitionOf(record.getEvent(), targetQueuesSize) : -1;
+        for (int i = 0; i < targetQueuesSize; i++) {
             NamedQueue namedQueue = targetQueues.get(i);
+            QueueFilter filter = namedQueue.filter();
+            if (partition >= 0 && i != partition || filter != null && !filter.accept(record.getEvent())) {
+                continue;
+            }
             OneToOneConcurrentArrayQueue<Object> targetQueue = namedQueue.targetQueue();
             targetQueue.offer(record);
+            QueueDoorbell doorbell = namedQueue.doorbell();
+            if (doorbell != null) {
+                doorbell.ring();
+            }
             if (log.isLoggable(Level.FINE)) {
                 log.fine("queue:" + namedQueue.name() + " size:" + targetQueue.size());
             }
         }
     }
 
+    /**
+     * Stop publishing to the target queues from the next publish, later items are dropped and
+     * pooled items recycled. The server stops publication of every feed before the processors drain
+     * their queues, the source itself stays open until it is stopped.
+     */
+    public void stopPublication() {
+        publisherTasks.add(() -> {
+            publicationStopped = true;
+            return true;
+        });
+        publisherTasksPending = true;
+    }
+
     public void dispatchCachedEventLog() {
         if (cacheReadPointer < eventLog.size()) {
             if (log.isLoggable(Level.FINE)) {
@@ -174,6 +413,28 @@ public class EventToQueuePublisher<T> {
         return Collections.unmodifiableList(new ArrayList<>(eventLog));
     }
 
+    private void dropItem(Object item) {
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("publication stopped, dropping:" + item);
+        }
+        PoolTracker<?> tracker = trackerOf(item);
+        if (tracker != null) {
+            tracker.releaseReference();
+            tracker.returnToPool();
+        }
+    }
+
+    private void runPublisherTasks() {
+        publisherTasksPending = false;
+        for (int i = 0, count = publisherTasks.size(); i < count; i++) {
+            BooleanSupplier task = publisherTasks.poll();
+            if (task != null && !task.getAsBoolean()) {
+                publisherTasks.add(task);
+                publisherTasksPending = true;
+            }
+        }
+    }
+
     private Object mapItemSafely(T item, String context) {
         try {
             Object mapped = dataMapper.apply(item);
@@ -195,25 +456,73 @@ public class EventToQueuePublisher<T> {
         }
     }
 
-    private void dispatch(Object mappedItem) {
+    /**
+     * Write the item to every target queue whose filter accepts it, or for a partitioned feed to
+     * the one queue owning the partition key of the item.
+     *
+     * @return the number of queues accepting the item
+     */
+    private int dispatch(Object mappedItem) {
         // no-op here; writeToQueue will handle PoolAware reference acquisition per queue
-        for (int i = 0, targetQueuesSize = targetQueues.size(); i < targetQueuesSize; i++) {
-            NamedQueue namedQueue = targetQueues.get(i);
-            OneToOneConcurrentArrayQueue<Object> targetQueue = namedQueue.targetQueue();
-            switch (eventWrapStrategy) {
-                case SUBSCRIPTION_NOWRAP, BROADCAST_NOWRAP -> writeToQueue(namedQueue, mappedItem);
-                case SUBSCRIPTION_NAMED_EVENT, BROADCAST_NAMED_EVENT -> {
-                    //TODO reduce memory pressure by using copy or a recyclable wrapper if needed
-                    NamedFeedEventImpl<Object> namedFeedEvent = new NamedFeedEventImpl<>(name)
-                            .data(mappedItem)
-                            .sequenceNumber(sequenceNumber);
-                    writeToQueue(namedQueue, namedFeedEvent);
-                }
+        int targetQueuesSize = targetQueues.size();
+        if (partitionKey != null && targetQueuesSize > 0) {
+            return dispatchToQueue(targetQueues.get(partitionOf(mappedItem, targetQueuesSize)), mappedItem) ? 1 : 0;
+        }
+        int written = 0;
+        for (int i = 0; i < targetQueuesSize; i++) {
+            if (dispatchToQueue(targetQueues.get(i), mappedItem)) {
+                written++;
             }
-            if (log.isLoggable(Level.FINE)) {
-                log.fine("queue:" + namedQueue.name() + " size:" + targetQueue.size());
+        }
+        return written;
+    }
+
+    private boolean dispatchToQueue(NamedQueue namedQueue, Object mappedItem) {
+        QueueFilter filter = namedQueue.filter();
+        if (filter != null && !filter.accept(mappedItem)) {
+            return false;
+        }
+        OneToOneConcurrentArrayQueue<Object> targetQueue = namedQueue.targetQueue();
+        switch (eventWrapStrategy) {
+            case SUBSCRIPTION_NOWRAP, BROADCAST_NOWRAP -> writeToQueue(namedQueue, mappedItem);
+            case SUBSCRIPTION_NAMED_EVENT, BROADCAST_NAMED_EVENT -> {
+                //TODO reduce memory pressure by using copy or a recyclable wrapper if needed
+                NamedFeedEventImpl<Object> namedFeedEvent = new NamedFeedEventImpl<>(name)
+                        .data(mappedItem)
+                        .sequenceNumber(sequenceNumber);
+                writeToQueue(namedQueue, namedFeedEvent);
             }
         }
+        if (log.isLoggable(Level.FINE)) {
+            log.fine("queue:" + namedQueue.name() + " size:" + targetQueue.size());
+        }
+        return true;
+    }
+
+    /**
+     * Index of the target queue owning the partition key of an item, items with equal keys always
+     * map to the same queue while the set of target queues is unchanged. Items whose key cannot be
+     * extracted go to the first queue.
+     */
+    private int partitionOf(Object item, int partitions) {
+        Object key;
+        try {
+            key = partitionKey.apply(item);
+        } catch (Throwable t) {
+            log.severe("partition key failed: publisher=" + name + ", seq=" + sequenceNumber + ", item=" + item + ", error=" + t);
+            com.fluxtion.server.service.error.ErrorReporting.report(
+                    "EventToQueuePublisher:" + name,
+                    "partition key failed: seq=" + sequenceNumber + ", item=" + item,
+                    t,
+                    com.fluxtion.server.service.error.ErrorEvent.Severity.ERROR);
+            return 0;
+        }
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        // spread the high bits, keys often differ only there
+        return Math.floorMod(hash ^ (hash >>> 16), partitions);
     }
 
     private void writeToQueue(NamedQueue namedQueue, Object itemToPublish) {
@@ -261,6 +570,10 @@ public class EventToQueuePublisher<T> {
                     com.fluxtion.server.service.error.ErrorEvent.Severity.CRITICAL);
             throw new com.fluxtion.server.exception.QueuePublishException("Failed to write to queue '" + namedQueue.name() + "' for publisher '" + name + "'", t);
         }
+        QueueDoorbell doorbell = namedQueue.doorbell();
+        if (doorbell != null) {
+            doorbell.ring();
+        }
         if (logFine && startNs > 1) {
             long delta = System.nanoTime() - startNs;
             log.fine("spin wait took " + (delta / 1_000_000) + "ms queue:" + namedQueue.name() + " size:" + targetQueue.size());
@@ -280,7 +593,15 @@ public class EventToQueuePublisher<T> {
         return null;
     }
 
-    public record NamedQueue(String name, OneToOneConcurrentArrayQueue<Object> targetQueue) {
+    public record NamedQueue(String name, OneToOneConcurrentArrayQueue<Object> targetQueue, QueueDoorbell doorbell, QueueFilter filter) {
+
+        public NamedQueue(String name, OneToOneConcurrentArrayQueue<Object> targetQueue) {
+            this(name, targetQueue, null, null);
+        }
+
+        public NamedQueue(String name, OneToOneConcurrentArrayQueue<Object> targetQueue, QueueDoorbell doorbell) {
+            this(name, targetQueue, doorbell, null);
+        }
     }
 
     public void removeTargetQueueByName(String queueName) {
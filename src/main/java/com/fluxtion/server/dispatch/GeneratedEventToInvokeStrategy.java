@@ -0,0 +1,174 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.runtime.event.NamedFeedEvent;
+import com.fluxtion.server.batch.BatchDto;
+import com.fluxtion.server.batch.BatchEventProcessor;
+import com.fluxtion.server.service.CallBackType;
+import com.fluxtion.server.service.EventToInvokeStrategy;
+import com.fluxtion.server.service.metrics.WorkAccounting;
+
+import java.util.function.Supplier;
+
+/**
+ * Invocation strategy for a typed callback interface, a {@link CallBackType.CallBackTypeByClass},
+ * without hand writing a strategy.
+ * <p>
+ * The callback interface declares a single abstract method with one parameter. A direct
+ * {@link Invoker} for the method is spun once per interface with
+ * {@link java.lang.invoke.LambdaMetafactory}, it casts and calls the interface method with no
+ * reflection or boxing of reference types. Processors implementing the interface are valid targets,
+ * events assignable to the parameter type are delivered and other events are ignored. Named feed
+ * events are unwrapped to their data.
+ * <p>
+ * Strategies created through {@link #factory(Class)} are instances of a hidden class defined per
+ * callback interface from this class, so the dispatch loop and its invoker call site only ever see
+ * one callback type and are inlined by the JIT. Events are delivered to the typed callback without
+ * passing through {@link #dispatchEvent(Object, StaticEventProcessor)} or
+ * {@link StaticEventProcessor#onEvent(Object)}, the processor context is set once per processor for
+ * an event or a whole batch.
+ * <pre>
+ * eventFlowManager.registerGeneratedInvoker(PriceListener.class);
+ * </pre>
+ */
+@Experimental
+public class GeneratedEventToInvokeStrategy extends AbstractEventToInvocationStrategy {
+
+    private final Class<?> callbackClass;
+    private final Class<?> eventType;
+    private final Invoker invoker;
+
+    /**
+     * A strategy sharing its dispatch loop with every callback type, use {@link #factory(Class)} for
+     * a strategy specialised to the callback type.
+     */
+    public GeneratedEventToInvokeStrategy(Class<?> callbackClass) {
+        this(callbackClass, GeneratedInvokers.invoker(callbackClass));
+    }
+
+    GeneratedEventToInvokeStrategy(Class<?> callbackClass, Invoker invoker) {
+        this.callbackClass = callbackClass;
+        this.eventType = GeneratedInvokers.eventType(callbackClass);
+        this.invoker = invoker;
+    }
+
+    /**
+     * Strategy factory for a callback interface, each strategy is an instance of the class generated
+     * for the interface. The generated class is a copy of this class, not a subclass, its instances
+     * are {@link AbstractEventToInvocationStrategy}s. The invoker and class are generated eagerly so
+     * an unsuitable interface fails at registration.
+     */
+    public static Supplier<EventToInvokeStrategy> factory(Class<?> callbackClass) {
+        return GeneratedInvokers.strategyFactory(callbackClass);
+    }
+
+    /**
+     * The generated invoker for a callback interface.
+     */
+    public static Invoker invoker(Class<?> callbackClass) {
+        return GeneratedInvokers.invoker(callbackClass);
+    }
+
+    @Override
+    public void processEvent(Object event) {
+        Object item = eventType.isInstance(event) ? event : typedData(event);
+        if (item == null) {
+            return;
+        }
+        boolean checkFilter = isFiltered();
+        WorkAccounting accounting = enabledWorkAccounting();
+        boolean contextSet = false;
+        for (int i = 0, size = eventProcessorSinks.size(); i < size; i++) {
+            StaticEventProcessor eventProcessor = eventProcessorSinks.get(i);
+            if (checkFilter && !accepts(eventProcessor, event)) {
+                continue;
+            }
+            ProcessorContext.setCurrentProcessor(eventProcessor);
+            contextSet = true;
+            if (accounting == null) {
+                invoker.invoke(eventProcessor, item);
+            } else {
+                long start = System.nanoTime();
+                invoker.invoke(eventProcessor, item);
+                accounting.recordProcessor(eventProcessor, System.nanoTime() - start);
+            }
+        }
+        if (contextSet) {
+            ProcessorContext.removeCurrentProcessor();
+        }
+    }
+
+    /**
+     * Each processor receives every typed item it accepts through its callback, the processor
+     * context is set once for the whole batch. A {@link BatchEventProcessor} receives the items
+     * through its callback as well, batches are only delivered whole by onEvent dispatch.
+     */
+    @Override
+    public void processBatch(BatchDto batch) {
+        boolean checkFilter = isFiltered();
+        WorkAccounting accounting = enabledWorkAccounting();
+        boolean contextSet = false;
+        for (int i = 0, size = eventProcessorSinks.size(); i < size; i++) {
+            StaticEventProcessor eventProcessor = eventProcessorSinks.get(i);
+            ProcessorContext.setCurrentProcessor(eventProcessor);
+            contextSet = true;
+            long start = accounting == null ? 0 : System.nanoTime();
+            invokeBatch(batch, eventProcessor, checkFilter);
+            if (accounting != null) {
+                accounting.recordProcessor(eventProcessor, System.nanoTime() - start);
+            }
+        }
+        if (contextSet) {
+            ProcessorContext.removeCurrentProcessor();
+        }
+    }
+
+    @Override
+    protected void dispatchEvent(Object event, StaticEventProcessor eventProcessor) {
+        Object item = eventType.isInstance(event) ? event : typedData(event);
+        if (item != null) {
+            invoker.invoke(eventProcessor, item);
+        }
+    }
+
+    @Override
+    protected boolean isValidTarget(StaticEventProcessor eventProcessor) {
+        return callbackClass.isInstance(eventProcessor);
+    }
+
+    private void invokeBatch(BatchDto batch, StaticEventProcessor eventProcessor, boolean checkFilter) {
+        Class<?> eventType = this.eventType;
+        Invoker invoker = this.invoker;
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            Object event = batch.get(i);
+            Object item = eventType.isInstance(event) ? event : typedData(event);
+            if (item != null && (!checkFilter || accepts(eventProcessor, event))) {
+                invoker.invoke(eventProcessor, item);
+            }
+        }
+    }
+
+    /**
+     * The data of a named feed event if it is of the callback type, otherwise null.
+     */
+    private Object typedData(Object event) {
+        if (event instanceof NamedFeedEvent<?> namedFeedEvent && eventType.isInstance(namedFeedEvent.data())) {
+            return namedFeedEvent.data();
+        }
+        return null;
+    }
+
+    /**
+     * Calls the callback method of a target with an event.
+     */
+    @FunctionalInterface
+    public interface Invoker {
+        void invoke(Object target, Object event);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.server.service.EventToInvokeStrategy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Generates and caches, per callback interface, the direct {@link GeneratedEventToInvokeStrategy.Invoker}
+ * and the strategy class used by {@link GeneratedEventToInvokeStrategy}.
+ * <p>
+ * The strategy class is a hidden class defined from the bytes of
+ * {@link GeneratedEventToInvokeStrategy}. Each hidden class has its own copy of the dispatch loop,
+ * so the JIT profiles the invoker call site separately per callback interface and it stays
+ * monomorphic however many callback types the server registers.
+ */
+final class GeneratedInvokers {
+
+    private static final MethodType STRATEGY_CONSTRUCTOR = MethodType.methodType(
+            void.class, Class.class, GeneratedEventToInvokeStrategy.Invoker.class);
+
+    private static final ClassValue<GeneratedEventToInvokeStrategy.Invoker> INVOKERS = new ClassValue<>() {
+        @Override
+        protected GeneratedEventToInvokeStrategy.Invoker computeValue(Class<?> callbackClass) {
+            return generateInvoker(callbackClass);
+        }
+    };
+
+    private static final ClassValue<MethodHandle> STRATEGIES = new ClassValue<>() {
+        @Override
+        protected MethodHandle computeValue(Class<?> callbackClass) {
+            return defineStrategy(callbackClass);
+        }
+    };
+
+    private static volatile byte[] strategyTemplate;
+
+    private GeneratedInvokers() {
+    }
+
+    static GeneratedEventToInvokeStrategy.Invoker invoker(Class<?> callbackClass) {
+        return INVOKERS.get(callbackClass);
+    }
+
+    static Class<?> eventType(Class<?> callbackClass) {
+        Class<?> type = callbackMethod(callbackClass).getParameterTypes()[0];
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    static Supplier<EventToInvokeStrategy> strategyFactory(Class<?> callbackClass) {
+        GeneratedEventToInvokeStrategy.Invoker invoker = INVOKERS.get(callbackClass);
+        MethodHandle constructor = STRATEGIES.get(callbackClass);
+        return () -> {
+            try {
+                return (EventToInvokeStrategy) constructor.invoke(callbackClass, invoker);
+            } catch (Throwable e) {
+                throw new IllegalStateException("unable to create strategy for callback:" + callbackClass.getName(), e);
+            }
+        };
+    }
+
+    private static GeneratedEventToInvokeStrategy.Invoker generateInvoker(Class<?> callbackClass) {
+        Method method = callbackMethod(callbackClass);
+        try {
+            // define the invoker in the package of the callback so non-public interfaces are callable
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(callbackClass, MethodHandles.lookup());
+            MethodHandle target = lookup.unreflect(method);
+            CallSite callSite = LambdaMetafactory.metafactory(
+                    lookup,
+                    "invoke",
+                    MethodType.methodType(GeneratedEventToInvokeStrategy.Invoker.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    target,
+                    MethodType.methodType(void.class, callbackClass, eventType(callbackClass)));
+            return (GeneratedEventToInvokeStrategy.Invoker) callSite.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("unable to generate invoker for callback:" + callbackClass.getName(), e);
+        }
+    }
+
+    private static MethodHandle defineStrategy(Class<?> callbackClass) {
+        try {
+            MethodHandles.Lookup strategyLookup = MethodHandles.lookup().defineHiddenClass(strategyTemplate(), true);
+            return strategyLookup.findConstructor(strategyLookup.lookupClass(), STRATEGY_CONSTRUCTOR);
+        } catch (ReflectiveOperationException | IOException e) {
+            throw new IllegalStateException("unable to define strategy class for callback:" + callbackClass.getName(), e);
+        }
+    }
+
+    private static byte[] strategyTemplate() throws IOException {
+        byte[] template = strategyTemplate;
+        if (template == null) {
+            String resource = GeneratedEventToInvokeStrategy.class.getSimpleName() + ".class";
+            try (InputStream in = GeneratedEventToInvokeStrategy.class.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IOException("class file not found:" + resource);
+                }
+                template = in.readAllBytes();
+            }
+            strategyTemplate = template;
+        }
+        return template;
+    }
+
+    private static Method callbackMethod(Class<?> callbackClass) {
+        if (!callbackClass.isInterface()) {
+            throw new IllegalArgumentException("callback type must be an interface:" + callbackClass.getName());
+        }
+        List<Method> methods = Arrays.stream(callbackClass.getMethods())
+                .filter(m -> Modifier.isAbstract(m.getModifiers()) && m.getParameterCount() == 1)
+                .toList();
+        if (methods.size() != 1) {
+            throw new IllegalArgumentException("callback interface must declare exactly one abstract single argument method:"
+                    + callbackClass.getName() + " found:" + methods);
+        }
+        return methods.get(0);
+    }
+}
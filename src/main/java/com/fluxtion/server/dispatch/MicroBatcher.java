@@ -0,0 +1,109 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.server.batch.PooledBatchDto;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.impl.Pools;
+
+/**
+ * Accumulates the items of a publisher into batches bounded by size and by the age of the oldest
+ * item, only used on the publishing thread.
+ * <p>
+ * The target batch size follows the arrival rate, it is the number of items expected within the
+ * latency bound given the smoothed gap between arrivals, limited to {@code maxBatchSize}. When
+ * items arrive further apart than the latency bound the target is one and items are published
+ * directly, batching adds no latency to a quiet feed.
+ */
+final class MicroBatcher {
+
+    private static final int GAP_SMOOTHING_SHIFT = 3;
+    private final int maxBatchSize;
+    private final long maxLatencyNanos;
+    private final ObjectPool<Batch> pool;
+    private Batch batch;
+    private long firstArrivalNanos;
+    private long lastArrivalNanos;
+    private long averageGapNanos;
+    private int targetSize = 1;
+
+    MicroBatcher(int maxBatchSize, long maxLatencyNanos) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatencyNanos = maxLatencyNanos;
+        this.pool = Pools.SHARED.getOrCreate(Batch.class, Batch::new, Batch::recycle);
+        this.averageGapNanos = maxLatencyNanos;
+    }
+
+    int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    long maxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    int targetSize() {
+        return targetSize;
+    }
+
+    /**
+     * Record an arrival and update the target size.
+     *
+     * @return true if the item should be batched, false to publish it directly
+     */
+    boolean arrival(long nowNanos) {
+        if (lastArrivalNanos != 0) {
+            long gap = Math.min(nowNanos - lastArrivalNanos, maxLatencyNanos);
+            averageGapNanos += (gap - averageGapNanos) >> GAP_SMOOTHING_SHIFT;
+            long expected = maxLatencyNanos / Math.max(1, averageGapNanos);
+            targetSize = (int) Math.max(1, Math.min(expected, maxBatchSize));
+        }
+        lastArrivalNanos = nowNanos;
+        return batch != null || targetSize > 1;
+    }
+
+    /**
+     * Add an item to the open batch, opening one if required.
+     *
+     * @return true if the batch has reached the target size
+     */
+    boolean add(Object item, long nowNanos) {
+        if (batch == null) {
+            batch = pool.acquire();
+            firstArrivalNanos = nowNanos;
+        }
+        batch.addBatchItem(item);
+        return batch.size() >= targetSize;
+    }
+
+    boolean isDue(long nowNanos) {
+        return batch != null && nowNanos - firstArrivalNanos >= maxLatencyNanos;
+    }
+
+    boolean hasBatch() {
+        return batch != null;
+    }
+
+    long firstArrivalNanos() {
+        return firstArrivalNanos;
+    }
+
+    /**
+     * Remove the open batch for publishing, null if none is open.
+     */
+    PooledBatchDto take() {
+        PooledBatchDto taken = batch;
+        batch = null;
+        return taken;
+    }
+
+    /**
+     * Batch type of the shared pool of publisher batches, a batch owns its items and recycling it
+     * returns pooled items to their pools.
+     */
+    static final class Batch extends PooledBatchDto {
+    }
+}
@@ -7,42 +7,47 @@ package com.fluxtion.server.dispatch;
 
 import com.fluxtion.runtime.StaticEventProcessor;
 
-import java.util.concurrent.atomic.AtomicReference;
-
 /**
  * Holds per-thread reference to the current StaticEventProcessor being invoked.
  * <p>
  * This class exists to reduce coupling between components that previously
  * depended on EventFlowManager for accessing a thread-local current processor.
  * Use this instead of EventFlowManager's static current-processor methods.
+ * <p>
+ * Agent threads are {@link ProcessorContextThread}s, the current processor is a plain field of the
+ * thread and setting it is a field write with no thread local lookup or volatile write. Other
+ * threads, including virtual threads, fall back to a thread local holder.
  */
 public final class ProcessorContext {
 
-    private static final ThreadLocal<AtomicReference<StaticEventProcessor>> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Holder> CURRENT = ThreadLocal.withInitial(Holder::new);
 
     private ProcessorContext() {
     }
 
     public static void setCurrentProcessor(StaticEventProcessor eventProcessor) {
-        AtomicReference<StaticEventProcessor> ref = CURRENT.get();
-        if (ref == null) {
-            ref = new AtomicReference<>(eventProcessor);
-            CURRENT.set(ref);
+        if (Thread.currentThread() instanceof ProcessorContextThread contextThread) {
+            contextThread.currentProcessor = eventProcessor;
         } else {
-            ref.set(eventProcessor);
+            CURRENT.get().processor = eventProcessor;
         }
     }
 
     public static void removeCurrentProcessor() {
-        AtomicReference<StaticEventProcessor> ref = CURRENT.get();
-        if (ref != null) {
-            ref.set(null);
-        }
+        setCurrentProcessor(null);
     }
 
     public static StaticEventProcessor currentProcessor() {
-        AtomicReference<StaticEventProcessor> ref = CURRENT.get();
-        return ref == null ? null : ref.get();
+        if (Thread.currentThread() instanceof ProcessorContextThread contextThread) {
+            return contextThread.currentProcessor;
+        }
+        return CURRENT.get().processor;
+    }
 
+    /**
+     * Current processor of a thread without a context field, only read and written by its thread.
+     */
+    private static final class Holder {
+        private StaticEventProcessor processor;
     }
 }
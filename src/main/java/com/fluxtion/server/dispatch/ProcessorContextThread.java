@@ -0,0 +1,28 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.runtime.StaticEventProcessor;
+
+/**
+ * Platform thread carrying the {@link ProcessorContext} of the agent it runs as a plain field. Agent
+ * groups run on these threads so the current processor is set per dispatch with a field write.
+ */
+public class ProcessorContextThread extends Thread {
+
+    /**
+     * Only read and written by this thread.
+     */
+    StaticEventProcessor currentProcessor;
+
+    public ProcessorContextThread(Runnable task) {
+        super(task);
+    }
+
+    public ProcessorContextThread(Runnable task, String name) {
+        super(task, name);
+    }
+}
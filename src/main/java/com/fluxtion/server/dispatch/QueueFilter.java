@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.server.batch.BatchDto;
+import com.fluxtion.server.service.SubscriptionFilter;
+
+/**
+ * The {@link SubscriptionFilter} of a subscriber queue, shared by the publisher writing the queue
+ * and the reader draining it. The reader updates the filter to the union of the filters of its
+ * registered processors, the publisher only writes items the filter accepts. Unset, every item is
+ * accepted after a null check. A {@link BatchDto} is written if the filter accepts any of its items.
+ */
+@Experimental
+public final class QueueFilter {
+
+    private volatile SubscriptionFilter filter;
+
+    public void update(SubscriptionFilter filter) {
+        this.filter = filter;
+    }
+
+    public SubscriptionFilter filter() {
+        return filter;
+    }
+
+    public boolean accept(Object item) {
+        SubscriptionFilter current = filter;
+        if (current == null) {
+            return true;
+        }
+        if (item instanceof BatchDto batch) {
+            for (int i = 0, size = batch.size(); i < size; i++) {
+                if (current.accept(batch.get(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return current.accept(item);
+    }
+}
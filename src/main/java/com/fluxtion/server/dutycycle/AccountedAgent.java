@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.server.service.metrics.WorkAccounting;
+import com.fluxtion.server.service.metrics.WorkStats;
+
+/**
+ * Records the duty cycle of a delegate sub-agent into the work accounting of its group while
+ * accounting is enabled.
+ */
+final class AccountedAgent implements Agent {
+
+    private final Agent delegate;
+    private final WorkAccounting workAccounting;
+    private final WorkStats workStats;
+
+    AccountedAgent(Agent delegate, WorkAccounting workAccounting) {
+        this.delegate = delegate;
+        this.workAccounting = workAccounting;
+        this.workStats = workAccounting.agentStats(delegate.roleName());
+    }
+
+    @Override
+    public void onStart() {
+        delegate.onStart();
+    }
+
+    @Override
+    public int doWork() throws Exception {
+        if (!workAccounting.isEnabled()) {
+            return delegate.doWork();
+        }
+        long start = System.nanoTime();
+        int workCount = delegate.doWork();
+        workStats.record(workCount, System.nanoTime() - start);
+        return workCount;
+    }
+
+    @Override
+    public void onClose() {
+        delegate.onClose();
+    }
+
+    @Override
+    public String roleName() {
+        return delegate.roleName();
+    }
+}
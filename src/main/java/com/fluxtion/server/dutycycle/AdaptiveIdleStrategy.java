@@ -0,0 +1,169 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.agrona.concurrent.IdleStrategy;
+import com.fluxtion.runtime.annotations.feature.Experimental;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Idle strategy that spins while the agent is busy, degrades to yielding and then parking as the
+ * agent goes quiet, and snaps back to spinning on the first duty cycle that does work.
+ * <p>
+ * The spin phase adapts to the observed load. The strategy keeps a smoothed average of the idle
+ * gap, measured in idle cycles, between busy cycles. If work typically resumes within
+ * {@code maxSpins} idle cycles the agent spins for twice the average gap, long enough to catch the
+ * next event without yielding the core. If gaps are longer spinning will not pay off and the agent
+ * spins only {@code minSpins} cycles before yielding. After {@code maxYields} further idle cycles
+ * the agent parks, doubling the park period from {@code minParkPeriodNs} to
+ * {@code maxParkPeriodNs}.
+ * <p>
+ * {@code gapSmoothingShift} sets the hysteresis, a new gap contributes 1/2^shift to the average so
+ * a larger shift needs a longer change in load before the spin phase grows or shrinks.
+ * <p>
+ * Configurable as a bean from YAML, for example:
+ * <pre>
+ * agentThreads:
+ *   - agentName: processor-agent
+ *     idleStrategy: !!com.fluxtion.server.dutycycle.AdaptiveIdleStrategy { maxSpins: 50000, maxParkPeriodNs: 500000 }
+ * </pre>
+ * Instances hold per thread state and must not be shared between agent groups.
+ */
+@Experimental
+public class AdaptiveIdleStrategy implements IdleStrategy {
+
+    public static final String ALIAS = "adaptive";
+    public static final long DEFAULT_MIN_SPINS = 100;
+    public static final long DEFAULT_MAX_SPINS = 20_000;
+    public static final long DEFAULT_MAX_YIELDS = 100;
+    public static final long DEFAULT_MIN_PARK_PERIOD_NS = 1_000;
+    public static final long DEFAULT_MAX_PARK_PERIOD_NS = 1_000_000;
+    public static final int DEFAULT_GAP_SMOOTHING_SHIFT = 3;
+
+    /**
+     * Phase of an idle period.
+     */
+    public enum State {
+        SPINNING, YIELDING, PARKING
+    }
+
+    @Getter
+    private long minSpins = DEFAULT_MIN_SPINS;
+    @Getter
+    @Setter
+    private long maxSpins = DEFAULT_MAX_SPINS;
+    @Getter
+    @Setter
+    private long maxYields = DEFAULT_MAX_YIELDS;
+    @Getter
+    private long minParkPeriodNs = DEFAULT_MIN_PARK_PERIOD_NS;
+    @Getter
+    @Setter
+    private long maxParkPeriodNs = DEFAULT_MAX_PARK_PERIOD_NS;
+    @Getter
+    @Setter
+    private int gapSmoothingShift = DEFAULT_GAP_SMOOTHING_SHIFT;
+
+    @Getter
+    private State state = State.SPINNING;
+    private long idleCycles;
+    private long spinLimit = DEFAULT_MIN_SPINS;
+    private long parkPeriodNs = DEFAULT_MIN_PARK_PERIOD_NS;
+    private long averageGap;
+
+    public AdaptiveIdleStrategy() {
+    }
+
+    public AdaptiveIdleStrategy(long minSpins, long maxSpins, long maxYields, long minParkPeriodNs, long maxParkPeriodNs) {
+        this.minSpins = minSpins;
+        this.maxSpins = maxSpins;
+        this.maxYields = maxYields;
+        this.minParkPeriodNs = minParkPeriodNs;
+        this.maxParkPeriodNs = maxParkPeriodNs;
+        reset();
+    }
+
+    public void setMinSpins(long minSpins) {
+        this.minSpins = minSpins;
+        reset();
+    }
+
+    public void setMinParkPeriodNs(long minParkPeriodNs) {
+        this.minParkPeriodNs = minParkPeriodNs;
+        reset();
+    }
+
+    @Override
+    public void idle(int workCount) {
+        if (workCount > 0) {
+            if (idleCycles > 0) {
+                // a gap that reached parking is longer than any spin can cover
+                long gap = state == State.PARKING ? 2 * maxSpins : idleCycles;
+                averageGap += (gap - averageGap) >> gapSmoothingShift;
+                long adaptiveSpins = 2 * averageGap;
+                spinLimit = adaptiveSpins <= maxSpins ? Math.max(minSpins, adaptiveSpins) : minSpins;
+            }
+            state = State.SPINNING;
+            idleCycles = 0;
+            parkPeriodNs = minParkPeriodNs;
+        } else {
+            idle();
+        }
+    }
+
+    @Override
+    public void idle() {
+        idleCycles++;
+        if (idleCycles <= spinLimit) {
+            state = State.SPINNING;
+            Thread.onSpinWait();
+        } else if (idleCycles <= spinLimit + maxYields) {
+            state = State.YIELDING;
+            Thread.yield();
+        } else {
+            state = State.PARKING;
+            LockSupport.parkNanos(parkPeriodNs);
+            parkPeriodNs = Math.min(parkPeriodNs << 1, maxParkPeriodNs);
+        }
+    }
+
+    @Override
+    public void reset() {
+        state = State.SPINNING;
+        idleCycles = 0;
+        spinLimit = minSpins;
+        parkPeriodNs = minParkPeriodNs;
+        averageGap = 0;
+    }
+
+    /**
+     * Idle cycles currently spent spinning before yielding.
+     */
+    public long spinLimit() {
+        return spinLimit;
+    }
+
+    @Override
+    public String alias() {
+        return ALIAS;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveIdleStrategy{" +
+                "alias=" + ALIAS +
+                ", minSpins=" + minSpins +
+                ", maxSpins=" + maxSpins +
+                ", maxYields=" + maxYields +
+                ", minParkPeriodNs=" + minParkPeriodNs +
+                ", maxParkPeriodNs=" + maxParkPeriodNs +
+                ", gapSmoothingShift=" + gapSmoothingShift +
+                '}';
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.server.service.EventSource;
+
+/**
+ * Runs the duty cycle of an agent hosted event source then publishes its open micro-batch once
+ * the batch reaches its latency bound. The bound is checked once per duty cycle, so its resolution
+ * is the duty cycle period of the hosting agent including idle time. The open batch is published
+ * when the agent closes, before the source is closed.
+ */
+public final class BatchFlushingAgent implements Agent {
+
+    private final Agent delegate;
+    private final EventSource<?> eventSource;
+
+    public BatchFlushingAgent(Agent delegate, EventSource<?> eventSource) {
+        this.delegate = delegate;
+        this.eventSource = eventSource;
+    }
+
+    @Override
+    public void onStart() {
+        delegate.onStart();
+    }
+
+    @Override
+    public int doWork() throws Exception {
+        return delegate.doWork() + eventSource.flushIfDue();
+    }
+
+    @Override
+    public void onClose() {
+        try {
+            eventSource.flushBatch();
+        } finally {
+            delegate.onClose();
+        }
+    }
+
+    @Override
+    public String roleName() {
+        return delegate.roleName();
+    }
+}
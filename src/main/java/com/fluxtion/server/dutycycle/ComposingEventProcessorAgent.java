@@ -6,6 +6,7 @@
 package com.fluxtion.server.dutycycle;
 
 import com.fluxtion.agrona.concurrent.DynamicCompositeAgent;
+import com.fluxtion.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import com.fluxtion.runtime.StaticEventProcessor;
 import com.fluxtion.runtime.annotations.feature.Experimental;
@@ -14,15 +15,28 @@ import com.fluxtion.runtime.lifecycle.Lifecycle;
 import com.fluxtion.runtime.service.Service;
 import com.fluxtion.server.MongooseServer;
 import com.fluxtion.server.dispatch.EventFlowManager;
+import com.fluxtion.server.internal.AgentThreads;
+import com.fluxtion.server.service.DispatchLane;
 import com.fluxtion.server.service.EventSubscriptionKey;
-import com.fluxtion.server.service.scheduler.DeadWheelScheduler;
+import com.fluxtion.server.service.arena.EventCycleArena;
+import com.fluxtion.server.service.arena.SlabEventCycleArena;
+import com.fluxtion.server.service.metrics.TimerLagStats;
+import com.fluxtion.server.service.metrics.WorkAccounting;
+import com.fluxtion.server.service.pool.impl.PoolAffinity;
+import com.fluxtion.server.service.scheduler.SchedulerAgent;
 import com.fluxtion.server.service.scheduler.SchedulerService;
 import lombok.extern.java.Log;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
@@ -33,8 +47,14 @@ import java.util.function.Supplier;
  * <ul>
  *   <li>Accepts registrations/removals of named event processors</li>
  *   <li>Wires processors to event queues via the EventFlowManager on first subscription</li>
- *   <li>Registers shared services and a SchedulerService into each processor</li>
+ *   <li>Registers shared services, a SchedulerService and an EventCycleArena into each processor</li>
  *   <li>Adds/removes queue reader agents dynamically as subscriptions change</li>
+ *   <li>Schedules queue readers by the {@link DispatchLane} of their subscription, higher priority
+ *   queues preempt lower priority queues and budgets weight the round robin</li>
+ *   <li>Moves live processors to another group without losing or reordering events</li>
+ *   <li>Optionally accounts the work of the group, each sub-agent and each processor</li>
+ *   <li>Optionally wakes the idle group thread when an event is published to one of its queues</li>
+ *   <li>Signals when it is active and, on request at shutdown, when its queues are drained</li>
  * </ul>
  */
 @Experimental
@@ -48,21 +68,46 @@ public class ComposingEventProcessorAgent extends DynamicCompositeAgent implemen
     private final OneToOneConcurrentArrayQueue<Supplier<NamedEventProcessor>> toStartList = new OneToOneConcurrentArrayQueue<>(128);
     private final OneToOneConcurrentArrayQueue<String> toStopList = new OneToOneConcurrentArrayQueue<>(128);
     private final List<EventQueueToEventProcessor> queueReadersToAdd = new ArrayList<>();
+    private final OneToOneConcurrentArrayQueue<ProcessorMigration> toMigrateList = new OneToOneConcurrentArrayQueue<>(128);
+    private final ManyToOneConcurrentArrayQueue<ProcessorMigration> migratedInList = new ManyToOneConcurrentArrayQueue<>(128);
+    private final List<ProcessorMigration> activeMigrations = new ArrayList<>();
+    //subscriptions read through the shared queues of this group, per processor
+    private final Map<StaticEventProcessor, Set<EventSubscriptionKey<?>>> processorSubscriptions = new HashMap<>();
+    //subscriptions read through a queue dedicated to one processor, created when a processor migrates
+    private final Map<StaticEventProcessor, Map<EventSubscriptionKey<?>, EventQueueToEventProcessor>> dedicatedReaders = new HashMap<>();
+    //timers of each processor, scheduled on the scheduler of this group and moved when the processor migrates
+    private final Map<StaticEventProcessor, ProcessorScheduler> processorSchedulers = new HashMap<>();
+    //readers scheduled by this group, used to tell each reader which lanes preempt it
+    private final List<EventQueueToEventProcessorAgent> laneReaders = new ArrayList<>();
     private final MongooseServer mongooseServer;
-    private final DeadWheelScheduler scheduler;
-    private final Service<com.fluxtion.server.service.scheduler.SchedulerService> schedulerService;
+    private final SchedulerAgent scheduler;
+    private final SlabEventCycleArena arena = new SlabEventCycleArena();
+    private final Service<EventCycleArena> arenaService = new Service<>(arena, EventCycleArena.class);
+    private final WorkAccounting workAccounting;
+    private Doorbell doorbell;
+    private final CompletableFuture<Void> active = new CompletableFuture<>();
+    private volatile CompletableFuture<Void> drained;
 
     public ComposingEventProcessorAgent(String roleName,
                                         EventFlowManager eventFlowManager,
                                         MongooseServer mongooseServer,
-                                        DeadWheelScheduler scheduler,
+                                        SchedulerAgent scheduler,
                                         ConcurrentHashMap<String, Service<?>> registeredServices) {
-        super(roleName, scheduler);
+        this(roleName, eventFlowManager, mongooseServer, scheduler, registeredServices, new WorkAccounting(roleName, scheduler.timerLagStats()));
+    }
+
+    private ComposingEventProcessorAgent(String roleName,
+                                         EventFlowManager eventFlowManager,
+                                         MongooseServer mongooseServer,
+                                         SchedulerAgent scheduler,
+                                         ConcurrentHashMap<String, Service<?>> registeredServices,
+                                         WorkAccounting workAccounting) {
+        super(roleName, new AccountedAgent(scheduler, workAccounting));
+        this.workAccounting = workAccounting;
         this.eventFlowManager = eventFlowManager;
         this.mongooseServer = mongooseServer;
         this.scheduler = scheduler;
         this.registeredServices = registeredServices;
-        this.schedulerService = new Service<>(scheduler, SchedulerService.class);
     }
 
     public void addNamedEventProcessor(Supplier<NamedEventProcessor> initFunction) {
@@ -73,31 +118,77 @@ public class ComposingEventProcessorAgent extends DynamicCompositeAgent implemen
         toStopList.add(name);
     }
 
+    /**
+     * Move a running event processor to another group. The processor keeps processing on this group
+     * until every feed it subscribes to has published the event that marks the hand over, it then
+     * continues on the target group with no events lost or repeated. Timers the processor has pending
+     * at the hand over are cancelled on this group and rescheduled on the target group.
+     *
+     * @param name   the registered name of the processor
+     * @param target the group to run the processor on
+     */
+    public void migrateEventProcessor(String name, ComposingEventProcessorAgent target) {
+        Objects.requireNonNull(name, "name is null");
+        Objects.requireNonNull(target, "target is null");
+        if (target == this) {
+            throw new IllegalArgumentException("processor " + name + " is already in group " + roleName());
+        }
+        if (!toMigrateList.offer(new ProcessorMigration(name, this, target))) {
+            throw new IllegalStateException("migration queue full for group " + roleName());
+        }
+    }
+
     @Override
     public void onStart() {
-        // Best-effort core pinning if configured for this agent group (guard for null during unit tests)
-        if (mongooseServer != null) {
-            Integer coreId = mongooseServer.resolveCoreIdForAgentName(roleName());
-            if (coreId != null) {
+        try {
+            // Best-effort core pinning if configured for this agent group (guard for null during unit tests)
+            Integer coreId = mongooseServer == null ? null : mongooseServer.resolveCoreIdForAgentName(roleName());
+            if (coreId != null && AgentThreads.isVirtual(Thread.currentThread())) {
+                log.info("core pinning ignored for virtual thread agent " + roleName());
+            } else if (coreId != null) {
                 com.fluxtion.server.internal.CoreAffinity.pinCurrentThreadToCore(coreId);
             }
+            // recycle pooled instances published and consumed by this agent through a dedicated lane
+            PoolAffinity.bindCurrentThread(roleName(), coreId);
+            if (doorbell != null) {
+                doorbell.owner(Thread.currentThread());
+            }
+            log.info("onStart " + roleName());
+            checkForAdded();
+            super.onStart();
+        } catch (RuntimeException | Error e) {
+            // fail the server start rather than leave it waiting for the group
+            active.completeExceptionally(e);
+            throw e;
         }
-        log.info("onStart " + roleName());
-        checkForAdded();
-        super.onStart();
+        active.complete(null);
     }
 
     @Override
     public int doWork() throws Exception {
+        boolean accounting = workAccounting.isEnabled();
+        long start = accounting ? System.nanoTime() : 0;
         checkForStopped();
         checkForAdded();
-        return super.doWork();
+        checkForMigrations();
+        int workCount = super.doWork();
+        // reclaim temporaries from scheduler callbacks and processor start that ran outside a queue reader
+        arena.reset();
+        CompletableFuture<Void> drainRequest = drained;
+        if (drainRequest != null && workCount == 0 && !drainRequest.isDone() && queuesEmpty()) {
+            drainRequest.complete(null);
+        }
+        if (accounting) {
+            workAccounting.groupStats().record(workCount, System.nanoTime() - start);
+        }
+        return workCount;
     }
 
     @Override
     public void onClose() {
         log.info("onClose " + roleName());
         super.onClose();
+        PoolAffinity.unbindCurrentThread();
     }
 
     @Override
@@ -111,26 +202,53 @@ public class ComposingEventProcessorAgent extends DynamicCompositeAgent implemen
         Objects.requireNonNull(subscriptionKey, "subscriptionKey is null");
         log.info("subscribe subscriptionKey:" + subscriptionKey + " subscriber:" + subscriber);
 
+        Map<EventSubscriptionKey<?>, EventQueueToEventProcessor> dedicated = dedicatedReaders.get(subscriber);
+        if (dedicated != null && dedicated.containsKey(subscriptionKey)) {
+            log.info("subscriptionKey:" + subscriptionKey + " already read by dedicated queue for subscriber:" + subscriber);
+            return;
+        }
+
         EventQueueToEventProcessor eventQueueToEventProcessor = queueProcessorMap.get(subscriptionKey);
 
         if (eventQueueToEventProcessor == null) {
             eventQueueToEventProcessor = eventFlowManager.getMappingAgent(subscriptionKey, this);
+            if (eventQueueToEventProcessor instanceof EventQueueToEventProcessorAgent queueAgent) {
+                queueAgent.withLane(subscriptionKey.laneOrDefault());
+            }
+            bindReader(eventQueueToEventProcessor);
             queueProcessorMap.put(subscriptionKey, eventQueueToEventProcessor);
             queueReadersToAdd.add(eventQueueToEventProcessor);
             log.info("added new subscribe subscriptionKey:" + subscriptionKey + " subscriber:" + subscriber);
         }
 
-        eventQueueToEventProcessor.registerProcessor(subscriber);
+        eventQueueToEventProcessor.registerProcessor(subscriber, subscriptionKey.filter());
+        //keys are equal whatever their filter, keep the latest filter of the subscriber
+        Set<EventSubscriptionKey<?>> subscriptions = processorSubscriptions.computeIfAbsent(subscriber, p -> new HashSet<>());
+        subscriptions.remove(subscriptionKey);
+        subscriptions.add(subscriptionKey);
         eventFlowManager.subscribe(subscriptionKey);
     }
 
     @Override
     public void unSubscribe(StaticEventProcessor subscriber, EventSubscriptionKey<?> subscriptionKey) {
+        Map<EventSubscriptionKey<?>, EventQueueToEventProcessor> dedicated = dedicatedReaders.get(subscriber);
+        EventQueueToEventProcessor dedicatedReader = dedicated == null ? null : dedicated.remove(subscriptionKey);
+        if (dedicatedReader != null) {
+            dedicatedReader.deregisterProcessor(subscriber);
+            leaveLane(dedicatedReader);
+            eventFlowManager.unSubscribe(subscriptionKey);
+            return;
+        }
+        Set<EventSubscriptionKey<?>> subscriptions = processorSubscriptions.get(subscriber);
+        if (subscriptions != null) {
+            subscriptions.remove(subscriptionKey);
+        }
         if (queueProcessorMap.containsKey(subscriptionKey)) {
             EventQueueToEventProcessor eventQueueToEventProcessor = queueProcessorMap.get(subscriptionKey);
             if (eventQueueToEventProcessor.deregisterProcessor(subscriber) == 0) {
                 log.info("EventQueueToEventProcessor listener count = 0, removing subscription:" + subscriptionKey);
                 queueProcessorMap.remove(subscriptionKey);
+                leaveLane(eventQueueToEventProcessor);
                 eventFlowManager.unSubscribe(subscriptionKey);
             }
         }
@@ -140,6 +258,11 @@ public class ComposingEventProcessorAgent extends DynamicCompositeAgent implemen
     public void removeAllSubscriptions(StaticEventProcessor subscriber) {
         log.info("removing all subscriptions for:" + subscriber + " " + roleName());
         queueProcessorMap.values().forEach(q -> q.deregisterProcessor(subscriber));
+        processorSubscriptions.remove(subscriber);
+        Map<EventSubscriptionKey<?>, EventQueueToEventProcessor> dedicated = dedicatedReaders.remove(subscriber);
+        if (dedicated != null) {
+            dedicated.values().forEach(q -> q.deregisterProcessor(subscriber));
+        }
     }
 
     public Collection<NamedEventProcessor> registeredEventProcessors() {
@@ -152,8 +275,12 @@ public class ComposingEventProcessorAgent extends DynamicCompositeAgent implemen
                 NamedEventProcessor namedEventProcessor = init.get();
                 StaticEventProcessor eventProcessor = namedEventProcessor.eventProcessor();
                 registeredEventProcessors.put(namedEventProcessor.name(), namedEventProcessor);
+                workAccounting.registerProcessor(namedEventProcessor.name(), eventProcessor);
                 com.fluxtion.server.dispatch.ProcessorContext.setCurrentProcessor(eventProcessor);
-                eventProcessor.registerService(schedulerService);
+                ProcessorScheduler processorScheduler = new ProcessorScheduler(scheduler);
+                processorSchedulers.put(eventProcessor, processorScheduler);
+                eventProcessor.registerService(new Service<>(processorScheduler, SchedulerService.class));
+                eventProcessor.registerService(arenaService);
                 registeredServices.values().forEach(eventProcessor::registerService);
                 eventProcessor.addEventFeed(this);
                 if (eventProcessor instanceof Lifecycle) {
@@ -171,6 +298,222 @@ public class ComposingEventProcessorAgent extends DynamicCompositeAgent implemen
         }
     }
 
+    private void checkForMigrations() {
+        if (!toMigrateList.isEmpty()) {
+            toMigrateList.drain(this::startMigration);
+        }
+        if (!migratedInList.isEmpty()) {
+            migratedInList.drain(this::adoptProcessor);
+        }
+        if (!activeMigrations.isEmpty()) {
+            for (Iterator<ProcessorMigration> iterator = activeMigrations.iterator(); iterator.hasNext(); ) {
+                ProcessorMigration migration = iterator.next();
+                if (migration.cutsComplete() && detachReaders(migration)) {
+                    iterator.remove();
+                    handOver(migration);
+                }
+            }
+        }
+    }
+
+    private void startMigration(ProcessorMigration migration) {
+        String name = migration.processorName();
+        NamedEventProcessor namedEventProcessor = registeredEventProcessors.get(name);
+        if (namedEventProcessor == null) {
+            log.warning("cannot migrate processor:" + name + " not registered in group:" + roleName());
+            return;
+        }
+        if (migration.target().isProcessorRegistered(name)) {
+            log.warning("cannot migrate processor:" + name + " already registered in group:" + migration.target().roleName());
+            return;
+        }
+        for (ProcessorMigration active : activeMigrations) {
+            if (active.processorName().equals(name)) {
+                log.warning("cannot migrate processor:" + name + " migration already in progress");
+                return;
+            }
+        }
+        StaticEventProcessor eventProcessor = namedEventProcessor.eventProcessor();
+        //a dedicated queue on a partitioned feed would move key ownership for every subscriber
+        for (EventSubscriptionKey<?> subscriptionKey : processorSubscriptions.getOrDefault(eventProcessor, Set.of())) {
+            if (eventFlowManager.isPartitioned(subscriptionKey.eventSourceKey())) {
+                log.warning("cannot migrate processor:" + name + " subscribed to partitioned feed:"
+                        + subscriptionKey.eventSourceKey().sourceName());
+                return;
+            }
+        }
+        log.info("migrating processor:" + name + " from:" + roleName() + " to:" + migration.target().roleName());
+        migration.processor(namedEventProcessor);
+        //dedicated queues from an earlier migration move as they are
+        Map<EventSubscriptionKey<?>, EventQueueToEventProcessor> dedicated = dedicatedReaders.remove(eventProcessor);
+        if (dedicated != null) {
+            dedicated.forEach(migration::addReader);
+        }
+        //split a dedicated queue from each shared queue, the switch is completed by subscriptionCut
+        String dedicatedOwner = roleName() + "/" + name;
+        for (EventSubscriptionKey<?> subscriptionKey : processorSubscriptions.getOrDefault(eventProcessor, Set.of())) {
+            EventQueueToEventProcessor sharedReader = queueProcessorMap.get(subscriptionKey);
+            if (sharedReader != null) {
+                EventQueueToEventProcessorAgent dedicatedReader = eventFlowManager.splitSubscription(
+                        subscriptionKey, this, dedicatedOwner, migration.newCut(subscriptionKey));
+                if (sharedReader instanceof EventQueueToEventProcessorAgent sharedAgent) {
+                    dedicatedReader.withLane(sharedAgent.lane());
+                }
+                bindReader(dedicatedReader);
+                dedicatedReader.registerProcessor(eventProcessor, subscriptionKey.filter());
+                migration.readers().put(subscriptionKey, dedicatedReader);
+            }
+        }
+        activeMigrations.add(migration);
+    }
+
+    /**
+     * Called by a shared queue reader when it reads the cut marker of a migrating processor, all
+     * later events for the processor are in its dedicated queue.
+     */
+    void subscriptionCut(ProcessorMigration.CutMarker cutMarker, EventQueueToEventProcessor sharedReader) {
+        ProcessorMigration migration = cutMarker.migration();
+        EventSubscriptionKey<?> subscriptionKey = cutMarker.subscriptionKey();
+        StaticEventProcessor eventProcessor = migration.processor().eventProcessor();
+        if (sharedReader.deregisterProcessor(eventProcessor) == 0) {
+            queueProcessorMap.remove(subscriptionKey, sharedReader);
+            leaveLane(sharedReader);
+        }
+        Set<EventSubscriptionKey<?>> subscriptions = processorSubscriptions.get(eventProcessor);
+        if (subscriptions != null) {
+            subscriptions.remove(subscriptionKey);
+        }
+        //drain the dedicated queue here until the processor is handed over
+        EventQueueToEventProcessor dedicatedReader = migration.readers().get(subscriptionKey);
+        migration.toDetach().add(dedicatedReader);
+        queueReadersToAdd.add(dedicatedReader);
+        migration.cutComplete();
+    }
+
+    /**
+     * Remove the readers of a migrating processor from this group, one composite removal per duty
+     * cycle.
+     *
+     * @return true when all readers are detached
+     */
+    private boolean detachReaders(ProcessorMigration migration) {
+        List<EventQueueToEventProcessor> toDetach = migration.toDetach();
+        EventQueueToEventProcessor removing = migration.removing();
+        if (removing != null) {
+            if (!hasRemoveAgentCompleted()) {
+                return false;
+            }
+            toDetach.remove(removing);
+            migration.removing(null);
+        }
+        for (Iterator<EventQueueToEventProcessor> iterator = toDetach.iterator(); iterator.hasNext(); ) {
+            EventQueueToEventProcessor reader = iterator.next();
+            if (queueReadersToAdd.remove(reader)) {
+                iterator.remove();
+                leaveLane(reader);
+            }
+        }
+        if (toDetach.isEmpty()) {
+            return true;
+        }
+        if (status() == Status.ACTIVE && tryRemove(toDetach.get(0))) {
+            migration.removing(toDetach.get(0));
+            leaveLane(toDetach.get(0));
+        }
+        return false;
+    }
+
+    private void handOver(ProcessorMigration migration) {
+        StaticEventProcessor eventProcessor = migration.processor().eventProcessor();
+        registeredEventProcessors.remove(migration.processorName());
+        processorSubscriptions.remove(eventProcessor);
+        workAccounting.deregisterProcessor(eventProcessor);
+        ProcessorScheduler processorScheduler = processorSchedulers.remove(eventProcessor);
+        if (processorScheduler != null) {
+            processorScheduler.suspend();
+            migration.scheduler(processorScheduler);
+        }
+        log.info("handing over processor:" + migration.processorName() + " to:" + migration.target().roleName());
+        migration.target().acceptMigration(migration);
+    }
+
+    private void acceptMigration(ProcessorMigration migration) {
+        while (!migratedInList.offer(migration)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private void adoptProcessor(ProcessorMigration migration) {
+        NamedEventProcessor namedEventProcessor = migration.processor();
+        StaticEventProcessor eventProcessor = namedEventProcessor.eventProcessor();
+        registeredEventProcessors.put(namedEventProcessor.name(), namedEventProcessor);
+        workAccounting.registerProcessor(namedEventProcessor.name(), eventProcessor);
+        Map<EventSubscriptionKey<?>, EventQueueToEventProcessor> dedicated = dedicatedReaders.computeIfAbsent(eventProcessor, p -> new HashMap<>());
+        migration.readers().forEach((subscriptionKey, reader) -> {
+            bindReader(reader);
+            dedicated.put(subscriptionKey, reader);
+            queueReadersToAdd.add(reader);
+        });
+        ProcessorScheduler processorScheduler = migration.scheduler() == null ? new ProcessorScheduler(scheduler) : migration.scheduler();
+        processorSchedulers.put(eventProcessor, processorScheduler);
+        com.fluxtion.server.dispatch.ProcessorContext.setCurrentProcessor(eventProcessor);
+        processorScheduler.resume(scheduler);
+        eventProcessor.registerService(new Service<>(processorScheduler, SchedulerService.class));
+        eventProcessor.registerService(arenaService);
+        try {
+            eventProcessor.removeEventFeed(migration.source());
+        } catch (UnsupportedOperationException e) {
+            log.fine("processor does not support removing event feeds:" + namedEventProcessor.name());
+        }
+        eventProcessor.addEventFeed(this);
+        com.fluxtion.server.dispatch.ProcessorContext.removeCurrentProcessor();
+        log.info("adopted processor:" + namedEventProcessor.name() + " from:" + migration.source().roleName());
+    }
+
+    /**
+     * Bind a queue reader to the arena, work accounting, doorbell and lanes of this group.
+     */
+    private void bindReader(EventQueueToEventProcessor reader) {
+        if (reader instanceof EventQueueToEventProcessorAgent queueAgent) {
+            queueAgent.withArena(arena)
+                    .withWorkAccounting(workAccounting)
+                    .wakeOnPublish(doorbell);
+            if (!laneReaders.contains(queueAgent)) {
+                laneReaders.add(queueAgent);
+                updateLanes();
+            }
+        }
+    }
+
+    /**
+     * Stop scheduling a reader against the other lanes, when it leaves this group or loses its last
+     * listener.
+     */
+    private void leaveLane(EventQueueToEventProcessor reader) {
+        if (reader instanceof EventQueueToEventProcessorAgent queueAgent && laneReaders.remove(queueAgent)) {
+            queueAgent.preemptedBy(null);
+            updateLanes();
+        }
+    }
+
+    /**
+     * Give every reader the readers of higher priority it yields to, readers sharing the highest
+     * priority, the common case of a single lane, yield to none.
+     */
+    private void updateLanes() {
+        List<EventQueueToEventProcessor> higher = new ArrayList<>();
+        for (EventQueueToEventProcessorAgent reader : laneReaders) {
+            higher.clear();
+            int priority = reader.lane().priority();
+            for (EventQueueToEventProcessorAgent other : laneReaders) {
+                if (other.lane().priority() > priority) {
+                    higher.add(other);
+                }
+            }
+            reader.preemptedBy(higher.toArray(new EventQueueToEventProcessor[0]));
+        }
+    }
+
     private void checkForStopped() {
         if (toStopList.isEmpty()) {
             return;
@@ -178,6 +521,11 @@ public class ComposingEventProcessorAgent extends DynamicCompositeAgent implemen
         toStopList.drain(name -> {
             if (registeredEventProcessors.containsKey(name)) {
                 var eventProcessor = registeredEventProcessors.remove(name).eventProcessor();
+                workAccounting.deregisterProcessor(eventProcessor);
+                ProcessorScheduler processorScheduler = processorSchedulers.remove(eventProcessor);
+                if (processorScheduler != null) {
+                    processorScheduler.suspend();
+                }
                 if (eventProcessor instanceof Lifecycle) {
                     ((Lifecycle) eventProcessor).stop();
                     ((Lifecycle) eventProcessor).tearDown();
@@ -186,6 +534,79 @@ public class ComposingEventProcessorAgent extends DynamicCompositeAgent implemen
         });
     }
 
+    /**
+     * The event cycle arena shared by processors in this group.
+     */
+    public EventCycleArena eventCycleArena() {
+        return arena;
+    }
+
+    /**
+     * Completes once the group has started on its thread and is active, exceptionally if its start fails.
+     */
+    public CompletableFuture<Void> whenActive() {
+        return active;
+    }
+
+    /**
+     * Request the group to drain its subscriber queues. The returned future completes on the group
+     * thread after a duty cycle with no work once every queue read by the group is empty. Sources
+     * should be stopped first, otherwise a busy feed can keep the group from draining.
+     */
+    public CompletableFuture<Void> drain() {
+        CompletableFuture<Void> drainRequest = drained;
+        if (drainRequest == null) {
+            drainRequest = new CompletableFuture<>();
+            drained = drainRequest;
+        }
+        if (doorbell != null) {
+            doorbell.ring();
+        }
+        return drainRequest;
+    }
+
+    private boolean queuesEmpty() {
+        for (EventQueueToEventProcessor reader : queueProcessorMap.values()) {
+            if (reader.queueSize() > 0) {
+                return false;
+            }
+        }
+        for (Map<EventSubscriptionKey<?>, EventQueueToEventProcessor> readers : dedicatedReaders.values()) {
+            for (EventQueueToEventProcessor reader : readers.values()) {
+                if (reader.queueSize() > 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Let publishers wake this group when it is idle, must be called before the group starts. The
+     * returned doorbell is armed by a {@link WakeOnPublishIdleStrategy} wrapping the idle strategy
+     * of the group.
+     */
+    public Doorbell enableWakeOnPublish() {
+        if (doorbell == null) {
+            doorbell = new Doorbell(roleName());
+        }
+        return doorbell;
+    }
+
+    /**
+     * Work accounting of this group, disabled by default.
+     */
+    public WorkAccounting workAccounting() {
+        return workAccounting;
+    }
+
+    /**
+     * Expiry statistics of the scheduler driving this group.
+     */
+    public TimerLagStats timerLagStats() {
+        return scheduler.timerLagStats();
+    }
+
     public boolean isProcessorRegistered(String processorName) {
         return registeredEventProcessors.containsKey(processorName);
     }
@@ -12,11 +12,15 @@ import com.fluxtion.runtime.service.Service;
 import com.fluxtion.runtime.service.ServiceRegistryNode;
 import com.fluxtion.server.MongooseServer;
 import com.fluxtion.server.dispatch.EventFlowManager;
+import com.fluxtion.server.internal.AgentThreads;
 import com.fluxtion.server.internal.ServiceInjector;
-import com.fluxtion.server.service.scheduler.DeadWheelScheduler;
+import com.fluxtion.server.service.EventSource;
+import com.fluxtion.server.service.pool.impl.PoolAffinity;
+import com.fluxtion.server.service.scheduler.SchedulerAgent;
 import com.fluxtion.server.service.scheduler.SchedulerService;
 import lombok.extern.java.Log;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 
@@ -37,18 +41,20 @@ public class ComposingServiceAgent extends DynamicCompositeAgent {
 
     private final EventFlowManager eventFlowManager;
     private final MongooseServer mongooseServer;
-    private final DeadWheelScheduler scheduler;
+    private final SchedulerAgent scheduler;
     private final Service<SchedulerService> schedulerService;
     private final OneToOneConcurrentArrayQueue<ServiceAgent<?>> toStartList = new OneToOneConcurrentArrayQueue<>(128);
     private final OneToOneConcurrentArrayQueue<ServiceAgent<?>> toAddList = new OneToOneConcurrentArrayQueue<>(128);
     private final OneToOneConcurrentArrayQueue<ServiceAgent<?>> toCallStartupCompleteList = new OneToOneConcurrentArrayQueue<>(128);
     private final ServiceRegistryNode serviceRegistry = new ServiceRegistryNode();
     private final AtomicBoolean startUpComplete = new AtomicBoolean(false);
+    private final CompletableFuture<Void> active = new CompletableFuture<>();
+    private volatile boolean hostsEventSource;
 
     public ComposingServiceAgent(String roleName,
                                  EventFlowManager eventFlowManager,
                                  MongooseServer mongooseServer,
-                                 DeadWheelScheduler scheduler) {
+                                 SchedulerAgent scheduler) {
         super(roleName, scheduler);
         this.eventFlowManager = eventFlowManager;
         this.mongooseServer = mongooseServer;
@@ -58,22 +64,39 @@ public class ComposingServiceAgent extends DynamicCompositeAgent {
 
     public <T> void registerServer(ServiceAgent<T> server) {
         toStartList.add(server);
+        hostsEventSource |= server.exportedService().instance() instanceof EventSource;
         toCallStartupCompleteList.add(server);
         log.info("registerServer toCallStartupCompleteList size:" + toCallStartupCompleteList.size());
     }
 
     @Override
     public void onStart() {
-        // Best-effort core pinning if configured for this agent group (guard for null during unit tests)
-        if (mongooseServer != null) {
-            Integer coreId = mongooseServer.resolveCoreIdForAgentName(roleName());
-            if (coreId != null) {
+        try {
+            // Best-effort core pinning if configured for this agent group (guard for null during unit tests)
+            Integer coreId = mongooseServer == null ? null : mongooseServer.resolveCoreIdForAgentName(roleName());
+            if (coreId != null && AgentThreads.isVirtual(Thread.currentThread())) {
+                log.info("core pinning ignored for virtual thread agent " + roleName());
+            } else if (coreId != null) {
                 com.fluxtion.server.internal.CoreAffinity.pinCurrentThreadToCore(coreId);
             }
+            // recycle pooled instances published and consumed by this agent through a dedicated lane
+            PoolAffinity.bindCurrentThread(roleName(), coreId);
+            log.info("onStart toStartList size:" + toStartList.size());
+            checkForAdded();
+            super.onStart();
+        } catch (RuntimeException | Error e) {
+            // fail the server start rather than leave it waiting for the group
+            active.completeExceptionally(e);
+            throw e;
         }
-        log.info("onStart toStartList size:" + toStartList.size());
-        checkForAdded();
-        super.onStart();
+        active.complete(null);
+    }
+
+    /**
+     * Completes once the group has started on its thread and is active, exceptionally if its start fails.
+     */
+    public CompletableFuture<Void> whenActive() {
+        return active;
     }
 
     @Override
@@ -82,6 +105,14 @@ public class ComposingServiceAgent extends DynamicCompositeAgent {
         return super.doWork();
     }
 
+    /**
+     * True if an event source is registered with this group, a graceful stop closes these groups
+     * before draining the processor groups.
+     */
+    public boolean hostsEventSource() {
+        return hostsEventSource;
+    }
+
     public void startComplete() {
         log.info("startComplete toCallStartupCompleteList size:" + toCallStartupCompleteList.size());
         startUpComplete.set(true);
@@ -91,6 +122,7 @@ public class ComposingServiceAgent extends DynamicCompositeAgent {
     public void onClose() {
         log.info("onClose");
         super.onClose();
+        PoolAffinity.unbindCurrentThread();
     }
 
     private void checkForAdded() {
@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.runtime.annotations.feature.Experimental;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wakes the thread of an idle agent group when an event is published to one of its queues.
+ * <p>
+ * The group thread arms the doorbell when its idle strategy is about to park and disarms it on the
+ * next busy cycle. A publisher rings the doorbell after writing to a queue, ringing is a single
+ * volatile read unless the group is armed, in which case the publisher disarms it and unparks the
+ * group thread. An unpark that arrives before the group parks is kept as a permit by
+ * {@link LockSupport}, so the following park returns immediately.
+ */
+@Experimental
+public final class Doorbell {
+
+    private final String name;
+    private volatile Thread owner;
+    private volatile boolean armed;
+
+    public Doorbell(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Bind the thread to wake, called on the agent group thread at start.
+     */
+    public void owner(Thread owner) {
+        this.owner = owner;
+    }
+
+    public boolean isArmed() {
+        return armed;
+    }
+
+    public void arm() {
+        if (!armed) {
+            armed = true;
+        }
+    }
+
+    public void disarm() {
+        if (armed) {
+            armed = false;
+        }
+    }
+
+    /**
+     * Wake the owning thread if it is idle.
+     */
+    public void ring() {
+        if (armed) {
+            armed = false;
+            Thread thread = owner;
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Doorbell{name='" + name + "', armed=" + armed + '}';
+    }
+}
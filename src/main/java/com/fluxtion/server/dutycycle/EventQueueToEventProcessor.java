@@ -9,6 +9,7 @@ package com.fluxtion.server.dutycycle;
 import com.fluxtion.agrona.concurrent.Agent;
 import com.fluxtion.runtime.StaticEventProcessor;
 import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.server.service.SubscriptionFilter;
 
 /**
  * Reads from an event queue and invokes callbacks on registered {@link StaticEventProcessor}'s. Acts as a multiplexer
@@ -19,7 +20,23 @@ public interface EventQueueToEventProcessor extends Agent {
 
     int registerProcessor(StaticEventProcessor eventProcessor);
 
+    /**
+     * Register a processor that only receives events accepted by the filter, a null filter
+     * accepts every event. Readers that do not support filtering register the processor
+     * unfiltered.
+     */
+    default int registerProcessor(StaticEventProcessor eventProcessor, SubscriptionFilter filter) {
+        return registerProcessor(eventProcessor);
+    }
+
     int deregisterProcessor(StaticEventProcessor eventProcessor);
 
     int listenerCount();
+
+    /**
+     * Number of events waiting to be read, used to detect a drained group at shutdown.
+     */
+    default int queueSize() {
+        return 0;
+    }
 }
@@ -11,11 +11,22 @@ import com.fluxtion.runtime.annotations.feature.Experimental;
 import com.fluxtion.runtime.event.BroadcastEvent;
 import com.fluxtion.runtime.event.NamedFeedEvent;
 import com.fluxtion.runtime.event.ReplayRecord;
+import com.fluxtion.server.batch.BatchDto;
+import com.fluxtion.server.dispatch.QueueFilter;
+import com.fluxtion.server.service.DispatchLane;
 import com.fluxtion.server.service.EventToInvokeStrategy;
+import com.fluxtion.server.service.SubscriptionFilter;
+import com.fluxtion.server.service.arena.EventCycleArena;
+import com.fluxtion.server.service.metrics.EventStamps;
+import com.fluxtion.server.service.metrics.FeedLatencyStats;
+import com.fluxtion.server.service.metrics.WorkAccounting;
+import com.fluxtion.server.service.metrics.WorkStats;
 import com.fluxtion.server.service.pool.PoolAware;
 import com.fluxtion.server.service.pool.impl.PoolTracker;
 import lombok.extern.java.Log;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 
@@ -23,12 +34,24 @@ import java.util.logging.Logger;
 @Log
 public class EventQueueToEventProcessorAgent implements EventQueueToEventProcessor {
 
+    private static final SubscriptionFilter ACCEPT_ALL = item -> true;
+    private static final EventQueueToEventProcessor[] NO_LANES = new EventQueueToEventProcessor[0];
+
     private final OneToOneConcurrentArrayQueue<?> inputQueue;
     private final EventToInvokeStrategy eventToInvokeStrategy;
     private final String name;
     private final Logger logger;
     private com.fluxtion.server.dispatch.RetryPolicy retryPolicy = com.fluxtion.server.dispatch.RetryPolicy.defaultProcessingPolicy();
     private Runnable unsubscribeAction;
+    private EventCycleArena arena;
+    private WorkAccounting workAccounting;
+    private WorkStats workStats;
+    private QueueDoorbell queueDoorbell;
+    private QueueFilter queueFilter;
+    private DispatchLane lane = DispatchLane.DEFAULT;
+    //readers of higher priority lanes in the hosting group, only touched by the group thread
+    private EventQueueToEventProcessor[] higherLanes = NO_LANES;
+    private final Map<StaticEventProcessor, SubscriptionFilter> processorFilters = new ConcurrentHashMap<>();
 
     public EventQueueToEventProcessorAgent(
             OneToOneConcurrentArrayQueue<?> inputQueue,
@@ -48,20 +71,40 @@ public class EventQueueToEventProcessorAgent implements EventQueueToEventProcess
 
     @Override
     public int doWork() {
+        WorkAccounting accounting = workAccounting;
+        if (accounting == null || !accounting.isEnabled()) {
+            return drainQueue();
+        }
+        long start = System.nanoTime();
+        int processed = drainQueue();
+        workStats.record(processed, System.nanoTime() - start);
+        return processed;
+    }
+
+    private int drainQueue() {
         int processed = 0;
-        // Batch up to a fixed number of events per tick to reduce per-event overhead
-        final int batchLimit = 64;
+        // Batch up to the lane budget per tick to reduce per-event overhead, yield to higher lanes
+        final int batchLimit = lane.budget();
+        final EventQueueToEventProcessor[] preemptingLanes = higherLanes;
         Object event;
-        while (processed < batchLimit && (event = inputQueue.poll()) != null) {
-            // Release the per-queue reference as we are now publishing to processors
+        while (processed < batchLimit && !higherLanePending(preemptingLanes) && (event = inputQueue.poll()) != null) {
+            if (event instanceof ProcessorMigration.CutMarker cutMarker) {
+                // a migrating processor reads all later events from its dedicated queue
+                cutMarker.migration().source().subscriptionCut(cutMarker, this);
+                continue;
+            }
             PoolTracker<?> tracker = trackerOf(event);
-            if (tracker != null) {
-                try {
-                    tracker.releaseReference();
-                } catch (Throwable ignored) {
-                }
+            // copy publish stamps before releasing, another consumer may recycle the instance
+            FeedLatencyStats latencyStats = null;
+            long publishNanos = 0;
+            long dequeueNanos = 0;
+            if (tracker != null && tracker.stamps().feedStats() != null) {
+                EventStamps stamps = tracker.stamps();
+                latencyStats = stamps.feedStats();
+                publishNanos = stamps.publishNanos();
+                dequeueNanos = System.nanoTime();
+                stamps.stampDequeue(dequeueNanos);
             }
-
             int attempt = 0;
             boolean done = false;
             Throwable lastError = null;
@@ -69,8 +112,14 @@ public class EventQueueToEventProcessorAgent implements EventQueueToEventProcess
                 try {
                     if (event instanceof ReplayRecord replayRecord) {
                         eventToInvokeStrategy.processEvent(replayRecord.getEvent(), replayRecord.getWallClockTime());
+                    } else if (event instanceof BatchDto batch) {
+                        eventToInvokeStrategy.processBatch(batch);
                     } else if (event instanceof BroadcastEvent broadcastEvent) {
-                        eventToInvokeStrategy.processEvent(broadcastEvent.getEvent());
+                        if (broadcastEvent.getEvent() instanceof BatchDto batch) {
+                            eventToInvokeStrategy.processBatch(batch);
+                        } else {
+                            eventToInvokeStrategy.processEvent(broadcastEvent.getEvent());
+                        }
                     } else {
                         eventToInvokeStrategy.processEvent(event);
                     }
@@ -107,8 +156,20 @@ public class EventQueueToEventProcessorAgent implements EventQueueToEventProcess
                 }
             }
 
-            // After dispatching to all processors attempt to return to pool if no more references remain
+            if (latencyStats != null) {
+                long completeNanos = System.nanoTime();
+                tracker.stamps().stampDispatchComplete(completeNanos);
+                latencyStats.record(publishNanos, dequeueNanos, completeNanos);
+            }
+
+            // Release the per-queue reference held through dispatch, so a handler passing the event
+            // to another thread, such as an async sink, can keep it alive. Return to pool if no
+            // more references remain
             if (tracker != null) {
+                try {
+                    tracker.releaseReference();
+                } catch (Throwable ignored) {
+                }
                 try {
                     tracker.returnToPool();
                 } catch (Throwable ignored) {
@@ -116,12 +177,28 @@ public class EventQueueToEventProcessorAgent implements EventQueueToEventProcess
                 }
             }
 
+            if (arena != null && arena.getResetMode() == EventCycleArena.ResetMode.PER_EVENT) {
+                arena.reset();
+            }
+
             // Count it as processed even if dropped to avoid infinite loops
             processed++;
         }
+        if (processed > 0 && arena != null && arena.getResetMode() == EventCycleArena.ResetMode.PER_BATCH) {
+            arena.reset();
+        }
         return processed;
     }
 
+    private static boolean higherLanePending(EventQueueToEventProcessor[] preemptingLanes) {
+        for (EventQueueToEventProcessor higherLane : preemptingLanes) {
+            if (higherLane.queueSize() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void onClose() {
         logger.info("onClose");
@@ -150,10 +227,87 @@ public class EventQueueToEventProcessorAgent implements EventQueueToEventProcess
         return this;
     }
 
+    /**
+     * Provide the event cycle arena of the hosting agent, reset after each event or batch
+     * according to {@link EventCycleArena#getResetMode()}.
+     */
+    public EventQueueToEventProcessorAgent withArena(EventCycleArena arena) {
+        this.arena = arena;
+        return this;
+    }
+
+    /**
+     * Provide the work accounting of the hosting agent group, records the duty cycle of this reader
+     * and the dispatch time of each processor while accounting is enabled.
+     */
+    public EventQueueToEventProcessorAgent withWorkAccounting(WorkAccounting workAccounting) {
+        this.workAccounting = workAccounting;
+        this.workStats = workAccounting == null ? null : workAccounting.agentStats(name);
+        eventToInvokeStrategy.workAccounting(workAccounting);
+        return this;
+    }
+
+    /**
+     * Provide the doorbell publishers ring after writing to the input queue.
+     */
+    public EventQueueToEventProcessorAgent withQueueDoorbell(QueueDoorbell queueDoorbell) {
+        this.queueDoorbell = queueDoorbell;
+        return this;
+    }
+
+    /**
+     * Wake the hosting agent group through its doorbell when an event is published to the input
+     * queue, null disables waking.
+     */
+    public EventQueueToEventProcessorAgent wakeOnPublish(Doorbell doorbell) {
+        if (queueDoorbell != null) {
+            queueDoorbell.bind(doorbell);
+        }
+        return this;
+    }
+
+    /**
+     * Set the scheduling lane of this reader, the lane budget limits the events read per duty
+     * cycle.
+     */
+    public EventQueueToEventProcessorAgent withLane(DispatchLane lane) {
+        this.lane = lane == null ? DispatchLane.DEFAULT : lane;
+        return this;
+    }
+
+    public DispatchLane lane() {
+        return lane;
+    }
+
+    /**
+     * Readers of higher priority in the hosting group, this reader stops reading while any of them
+     * has a pending event.
+     */
+    void preemptedBy(EventQueueToEventProcessor[] higherLanes) {
+        this.higherLanes = higherLanes == null ? NO_LANES : higherLanes;
+    }
+
+    /**
+     * Provide the filter publishers apply before writing to the input queue, kept as the union of
+     * the subscription filters of the registered processors.
+     */
+    public EventQueueToEventProcessorAgent withQueueFilter(QueueFilter queueFilter) {
+        this.queueFilter = queueFilter;
+        updateQueueFilter();
+        return this;
+    }
+
     @Override
     public int registerProcessor(StaticEventProcessor eventProcessor) {
-        logger.info("registerProcessor: " + eventProcessor);
-        eventToInvokeStrategy.registerProcessor(eventProcessor);
+        return registerProcessor(eventProcessor, null);
+    }
+
+    @Override
+    public int registerProcessor(StaticEventProcessor eventProcessor, SubscriptionFilter filter) {
+        logger.info("registerProcessor: " + eventProcessor + (filter == null ? "" : " filtered"));
+        eventToInvokeStrategy.registerProcessor(eventProcessor, filter);
+        processorFilters.put(eventProcessor, filter == null ? ACCEPT_ALL : filter);
+        updateQueueFilter();
         logger.info("listener count:" + listenerCount());
         return listenerCount();
     }
@@ -162,6 +316,8 @@ public class EventQueueToEventProcessorAgent implements EventQueueToEventProcess
     public int deregisterProcessor(StaticEventProcessor eventProcessor) {
         logger.info("deregisterProcessor: " + eventProcessor);
         eventToInvokeStrategy.deregisterProcessor(eventProcessor);
+        processorFilters.remove(eventProcessor);
+        updateQueueFilter();
         int listeners = listenerCount();
         if (listeners < 1 && unsubscribeAction != null) {
             try {
@@ -173,11 +329,35 @@ public class EventQueueToEventProcessorAgent implements EventQueueToEventProcess
         return listeners;
     }
 
+    @Override
+    public int queueSize() {
+        return inputQueue.size();
+    }
+
     @Override
     public int listenerCount() {
         return eventToInvokeStrategy.listenerCount();
     }
 
+    /**
+     * Publishers write an event if any registered processor accepts it, an unfiltered processor or
+     * no processors at all accept every event.
+     */
+    private void updateQueueFilter() {
+        if (queueFilter == null) {
+            return;
+        }
+        SubscriptionFilter union = null;
+        for (SubscriptionFilter filter : processorFilters.values()) {
+            if (filter == ACCEPT_ALL) {
+                union = null;
+                break;
+            }
+            union = union == null ? filter : union.or(filter);
+        }
+        queueFilter.update(union);
+    }
+
     private PoolTracker<?> trackerOf(Object event) {
         if (event == null) return null;
         Object candidate = event;
@@ -0,0 +1,120 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.server.service.EventSubscriptionKey;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of a live move of one event processor between two {@link ComposingEventProcessorAgent}
+ * groups.
+ * <p>
+ * The source group splits a dedicated queue per subscription from its shared queues, the publisher
+ * writes a {@link CutMarker} into the shared queue at the split. Events before the marker are
+ * delivered from the shared queue, events after it from the dedicated queue, so the processor sees
+ * every event once and in order. When all markers are read on the source group the processor and
+ * its dedicated readers are handed to the target group.
+ */
+final class ProcessorMigration {
+
+    private final String processorName;
+    private final ComposingEventProcessorAgent source;
+    private final ComposingEventProcessorAgent target;
+    private final Map<EventSubscriptionKey<?>, EventQueueToEventProcessor> readers = new LinkedHashMap<>();
+    private final List<EventQueueToEventProcessor> toDetach = new ArrayList<>();
+    private NamedEventProcessor processor;
+    private ProcessorScheduler scheduler;
+    private EventQueueToEventProcessor removing;
+    private int pendingCuts;
+
+    ProcessorMigration(String processorName, ComposingEventProcessorAgent source, ComposingEventProcessorAgent target) {
+        this.processorName = processorName;
+        this.source = source;
+        this.target = target;
+    }
+
+    String processorName() {
+        return processorName;
+    }
+
+    ComposingEventProcessorAgent source() {
+        return source;
+    }
+
+    ComposingEventProcessorAgent target() {
+        return target;
+    }
+
+    NamedEventProcessor processor() {
+        return processor;
+    }
+
+    void processor(NamedEventProcessor processor) {
+        this.processor = processor;
+    }
+
+    /**
+     * Timers of the processor, suspended on the source group and resumed on the target group.
+     */
+    ProcessorScheduler scheduler() {
+        return scheduler;
+    }
+
+    void scheduler(ProcessorScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Dedicated readers keyed by subscription, handed to the target group.
+     */
+    Map<EventSubscriptionKey<?>, EventQueueToEventProcessor> readers() {
+        return readers;
+    }
+
+    /**
+     * Readers running on the source group that must be removed before the hand over.
+     */
+    List<EventQueueToEventProcessor> toDetach() {
+        return toDetach;
+    }
+
+    EventQueueToEventProcessor removing() {
+        return removing;
+    }
+
+    void removing(EventQueueToEventProcessor removing) {
+        this.removing = removing;
+    }
+
+    void addReader(EventSubscriptionKey<?> subscriptionKey, EventQueueToEventProcessor reader) {
+        readers.put(subscriptionKey, reader);
+        toDetach.add(reader);
+    }
+
+    CutMarker newCut(EventSubscriptionKey<?> subscriptionKey) {
+        pendingCuts++;
+        return new CutMarker(this, subscriptionKey);
+    }
+
+    void cutComplete() {
+        pendingCuts--;
+    }
+
+    boolean cutsComplete() {
+        return pendingCuts == 0;
+    }
+
+    /**
+     * Written into a shared subscriber queue at the point the dedicated queue of the migrating
+     * processor starts, read by the shared queue reader on the source group thread.
+     */
+    record CutMarker(ProcessorMigration migration, EventSubscriptionKey<?> subscriptionKey) {
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.server.service.scheduler.SchedulerService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link SchedulerService} of one event processor, scheduling on the scheduler of the group
+ * the processor runs on and tracking the timers the processor has pending.
+ * <p>
+ * When the processor migrates the source group {@link #suspend() suspends} its timers, cancelling
+ * them on the source scheduler, and the target group {@link #resume(SchedulerService) resumes} them
+ * on its own scheduler with the delay that remained. Timer actions always run on the thread that
+ * dispatches events to the processor, and timer ids stay valid across the move. Only accessed from
+ * the thread of the group the processor runs on.
+ */
+final class ProcessorScheduler implements SchedulerService {
+
+    private final Map<Long, Timer> timers = new HashMap<>();
+    private SchedulerService scheduler;
+    private long nextId;
+
+    ProcessorScheduler(SchedulerService scheduler) {
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler is null");
+    }
+
+    @Override
+    public long scheduleAtTime(long expireTime, Runnable expiryAction) {
+        return scheduleAfterDelay(Math.max(0, expireTime - scheduler.milliTime()), TimeUnit.MILLISECONDS, expiryAction);
+    }
+
+    @Override
+    public long scheduleAfterDelay(long waitTime, Runnable expiryAction) {
+        return scheduleAfterDelay(waitTime, TimeUnit.MILLISECONDS, expiryAction);
+    }
+
+    @Override
+    public long scheduleAfterDelay(long delay, TimeUnit unit, Runnable expiryAction) {
+        Timer timer = new Timer(nextId++, expiryAction, 0);
+        timer.deadlineNanos = scheduler.nanoTime() + unit.toNanos(delay);
+        timer.delegateId = scheduler.scheduleAfterDelay(delay, unit, timer);
+        timers.put(timer.id, timer);
+        return timer.id;
+    }
+
+    @Override
+    public long scheduleAtFixedRate(long initialDelay, long period, TimeUnit unit, Runnable action) {
+        Timer timer = new Timer(nextId++, action, unit.toNanos(period));
+        timer.deadlineNanos = scheduler.nanoTime() + unit.toNanos(initialDelay);
+        timer.delegateId = scheduler.scheduleAtFixedRate(initialDelay, period, unit, timer);
+        timers.put(timer.id, timer);
+        return timer.id;
+    }
+
+    @Override
+    public boolean cancel(long timerId) {
+        Timer timer = timers.remove(timerId);
+        return timer != null && scheduler.cancel(timer.delegateId);
+    }
+
+    @Override
+    public long milliTime() {
+        return scheduler.milliTime();
+    }
+
+    @Override
+    public long microTime() {
+        return scheduler.microTime();
+    }
+
+    @Override
+    public long nanoTime() {
+        return scheduler.nanoTime();
+    }
+
+    /**
+     * Number of timers scheduled by the processor and not yet expired or cancelled.
+     */
+    int liveTimerCount() {
+        return timers.size();
+    }
+
+    /**
+     * Cancel the pending timers on the current scheduler, recording the delay left on each. Called
+     * on the thread of the group the processor leaves.
+     */
+    void suspend() {
+        long now = scheduler.nanoTime();
+        for (Timer timer : timers.values()) {
+            scheduler.cancel(timer.delegateId);
+            timer.remainingNanos = Math.max(0, timer.deadlineNanos - now);
+        }
+    }
+
+    /**
+     * Schedule the suspended timers on another scheduler with the delay that remained. Called on the
+     * thread of the group the processor joins.
+     */
+    void resume(SchedulerService target) {
+        scheduler = Objects.requireNonNull(target, "target is null");
+        long now = scheduler.nanoTime();
+        for (Timer timer : timers.values()) {
+            timer.deadlineNanos = now + timer.remainingNanos;
+            timer.delegateId = timer.periodNanos == 0
+                    ? scheduler.scheduleAfterDelay(timer.remainingNanos, TimeUnit.NANOSECONDS, timer)
+                    : scheduler.scheduleAtFixedRate(timer.remainingNanos, timer.periodNanos, TimeUnit.NANOSECONDS, timer);
+        }
+    }
+
+    private final class Timer implements Runnable {
+        private final long id;
+        private final Runnable action;
+        private final long periodNanos;
+        private long deadlineNanos;
+        private long remainingNanos;
+        private long delegateId;
+
+        private Timer(long id, Runnable action, long periodNanos) {
+            this.id = id;
+            this.action = action;
+            this.periodNanos = periodNanos;
+        }
+
+        @Override
+        public void run() {
+            if (periodNanos == 0) {
+                timers.remove(id);
+            } else {
+                deadlineNanos += periodNanos;
+            }
+            action.run();
+        }
+    }
+}
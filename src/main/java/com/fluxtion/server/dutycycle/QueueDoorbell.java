@@ -0,0 +1,31 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.runtime.annotations.feature.Experimental;
+
+/**
+ * The {@link Doorbell} of the agent group currently reading a subscriber queue. Publishers hold
+ * the queue doorbell, the reader binds it to the doorbell of the group it is added to, so the
+ * binding follows the reader when a processor migrates between groups. Unbound, ringing is a null
+ * check.
+ */
+@Experimental
+public final class QueueDoorbell {
+
+    private volatile Doorbell doorbell;
+
+    public void bind(Doorbell doorbell) {
+        this.doorbell = doorbell;
+    }
+
+    public void ring() {
+        Doorbell current = doorbell;
+        if (current != null) {
+            current.ring();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.agrona.ErrorHandler;
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.agrona.concurrent.AgentTerminationException;
+import com.fluxtion.agrona.concurrent.BackoffIdleStrategy;
+import com.fluxtion.agrona.concurrent.IdleStrategy;
+import com.fluxtion.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.server.dispatch.ProcessorContextThread;
+import com.fluxtion.server.service.pool.impl.PoolAffinity;
+import lombok.extern.java.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multiplexes many agent groups onto a fixed pool of worker threads.
+ * <p>
+ * Groups wait in a shared run queue. A worker takes the next group, runs its duty cycle until the
+ * group reports no work or its time slice expires, then returns it to the back of the queue. A
+ * group is in the run queue at most once, so it is only ever run by one worker at a time and its
+ * processors keep single threaded semantics, the queue hand off publishes the state of the group
+ * to the next worker. The time slice of a group is the pool time slice multiplied by its priority,
+ * so a group with priority 4 can run four times longer than a group with priority 1 before
+ * yielding the worker.
+ * <p>
+ * A worker idles with a {@link BackoffIdleStrategy} once it has seen a full round of groups
+ * without work. Group lifecycle callbacks run on a worker: {@link Agent#onStart()} before the
+ * first duty cycle and {@link Agent#onClose()} when the group is removed.
+ */
+@Experimental
+@Log
+public final class SharedAgentPool implements AutoCloseable {
+
+    private static final int MAX_GROUPS = 1024;
+    private final String name;
+    private final int threadCount;
+    private final long timeSliceNanos;
+    private final long maxParkPeriodNanos;
+    private final ErrorHandler errorHandler;
+    private final ManyToManyConcurrentArrayQueue<Slot> runQueue = new ManyToManyConcurrentArrayQueue<>(MAX_GROUPS);
+    private final Map<Agent, Slot> slots = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public SharedAgentPool(String name, int threadCount, long timeSliceNanos, long maxParkPeriodNanos, ErrorHandler errorHandler) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("thread pool '" + name + "' needs at least one thread");
+        }
+        this.name = name;
+        this.threadCount = threadCount;
+        this.timeSliceNanos = timeSliceNanos;
+        this.maxParkPeriodNanos = maxParkPeriodNanos;
+        this.errorHandler = errorHandler;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int threadCount() {
+        return threadCount;
+    }
+
+    public int groupCount() {
+        return slots.size();
+    }
+
+    /**
+     * Schedule an agent group on the pool, starting the worker threads on first use.
+     *
+     * @param agent    the agent group to run
+     * @param priority time slice multiplier, values below 1 are treated as 1
+     */
+    public synchronized void add(Agent agent, int priority) {
+        if (slots.containsKey(agent)) {
+            throw new IllegalArgumentException("agent '" + agent.roleName() + "' already scheduled on thread pool '" + name + "'");
+        }
+        Slot slot = new Slot(agent, Math.max(1, priority));
+        if (!runQueue.offer(slot)) {
+            throw new IllegalStateException("thread pool '" + name + "' is full, maximum groups:" + MAX_GROUPS);
+        }
+        slots.put(agent, slot);
+        log.info("scheduled agent '" + agent.roleName() + "' on thread pool '" + name + "' priority:" + slot.priority);
+        if (!running) {
+            startWorkers();
+        }
+    }
+
+    public boolean contains(Agent agent) {
+        return slots.containsKey(agent);
+    }
+
+    /**
+     * Remove an agent group from the pool, waits for its {@link Agent#onClose()} to complete.
+     */
+    public void remove(Agent agent) {
+        Slot slot = slots.get(agent);
+        if (slot == null) {
+            return;
+        }
+        slot.closeRequested = true;
+        try {
+            if (!running || !slot.closed.await(5, TimeUnit.SECONDS)) {
+                log.warning("agent '" + agent.roleName() + "' did not close on thread pool '" + name + "'");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        slots.remove(agent);
+    }
+
+    /**
+     * Close all scheduled groups and stop the worker threads.
+     */
+    @Override
+    public synchronized void close() {
+        new ArrayList<>(slots.keySet()).forEach(this::remove);
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+    }
+
+    private void startWorkers() {
+        running = true;
+        for (int i = 0; i < threadCount; i++) {
+            Thread worker = new ProcessorContextThread(this::runWorker, name + "-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    private void runWorker() {
+        IdleStrategy idleStrategy = new BackoffIdleStrategy(
+                BackoffIdleStrategy.DEFAULT_MAX_SPINS,
+                BackoffIdleStrategy.DEFAULT_MAX_YIELDS,
+                BackoffIdleStrategy.DEFAULT_MIN_PARK_PERIOD_NS,
+                maxParkPeriodNanos);
+        String laneName = Thread.currentThread().getName();
+        PoolAffinity.bindCurrentThread(laneName, null);
+        int idleSlices = 0;
+        while (running) {
+            Slot slot = runQueue.poll();
+            if (slot == null) {
+                idleStrategy.idle();
+                continue;
+            }
+            int workCount = slot.runSlice();
+            if (slot.lifecycleRan) {
+                // group start and close bind their own pool lane, restore the lane of the worker
+                slot.lifecycleRan = false;
+                PoolAffinity.bindCurrentThread(laneName, null);
+            }
+            if (!slot.isClosed()) {
+                runQueue.offer(slot);
+            }
+            if (workCount > 0) {
+                idleSlices = 0;
+                idleStrategy.reset();
+            } else if (++idleSlices >= runQueue.size() + 1) {
+                idleStrategy.idle();
+            }
+        }
+        PoolAffinity.unbindCurrentThread();
+    }
+
+    /**
+     * Run state of one agent group, only touched by the worker holding it.
+     */
+    private final class Slot {
+        private final Agent agent;
+        private final int priority;
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private volatile boolean closeRequested;
+        private boolean started;
+        private boolean lifecycleRan;
+
+        private Slot(Agent agent, int priority) {
+            this.agent = agent;
+            this.priority = priority;
+        }
+
+        private boolean isClosed() {
+            return closed.getCount() == 0;
+        }
+
+        private int runSlice() {
+            if (closeRequested) {
+                close();
+                return 0;
+            }
+            int workCount = 0;
+            try {
+                if (!started) {
+                    started = true;
+                    lifecycleRan = true;
+                    agent.onStart();
+                }
+                long deadline = System.nanoTime() + timeSliceNanos * priority;
+                int cycleWork;
+                do {
+                    cycleWork = agent.doWork();
+                    workCount += cycleWork;
+                } while (cycleWork > 0 && System.nanoTime() < deadline);
+            } catch (AgentTerminationException e) {
+                errorHandler.onError(e);
+                close();
+            } catch (Throwable t) {
+                errorHandler.onError(t);
+            }
+            return workCount;
+        }
+
+        private void close() {
+            try {
+                if (started) {
+                    lifecycleRan = true;
+                    agent.onClose();
+                }
+            } catch (Throwable t) {
+                errorHandler.onError(t);
+            } finally {
+                closed.countDown();
+            }
+        }
+    }
+}
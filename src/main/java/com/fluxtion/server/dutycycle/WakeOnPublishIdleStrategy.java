@@ -0,0 +1,80 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.agrona.concurrent.IdleStrategy;
+import com.fluxtion.runtime.annotations.feature.Experimental;
+
+/**
+ * Decorates the idle strategy of an agent group so publishers can wake the group through its
+ * {@link Doorbell}. After {@code armAfterIdleCycles} consecutive idle cycles the doorbell is armed
+ * before delegating, it is disarmed on the next busy cycle.
+ * <p>
+ * Only delegates that park with {@link java.util.concurrent.locks.LockSupport}, such as
+ * {@link AdaptiveIdleStrategy}, BackoffIdleStrategy or SleepingIdleStrategy, are woken early. The
+ * threshold should match the cycles the delegate spins and yields before parking. An event
+ * published between the last poll of the group and arming waits for one delegate park period.
+ */
+@Experimental
+public final class WakeOnPublishIdleStrategy implements IdleStrategy {
+
+    public static final String ALIAS = "wakeOnPublish";
+    public static final int DEFAULT_ARM_AFTER_IDLE_CYCLES = 16;
+    private final IdleStrategy delegate;
+    private final Doorbell doorbell;
+    private final int armAfterIdleCycles;
+    private int idleCycles;
+
+    public WakeOnPublishIdleStrategy(IdleStrategy delegate, Doorbell doorbell) {
+        this(delegate, doorbell, DEFAULT_ARM_AFTER_IDLE_CYCLES);
+    }
+
+    public WakeOnPublishIdleStrategy(IdleStrategy delegate, Doorbell doorbell, int armAfterIdleCycles) {
+        this.delegate = delegate;
+        this.doorbell = doorbell;
+        this.armAfterIdleCycles = armAfterIdleCycles;
+    }
+
+    @Override
+    public void idle(int workCount) {
+        if (workCount > 0) {
+            idleCycles = 0;
+            doorbell.disarm();
+        } else if (++idleCycles > armAfterIdleCycles) {
+            doorbell.arm();
+        }
+        delegate.idle(workCount);
+    }
+
+    @Override
+    public void idle() {
+        if (++idleCycles > armAfterIdleCycles) {
+            doorbell.arm();
+        }
+        delegate.idle();
+    }
+
+    @Override
+    public void reset() {
+        idleCycles = 0;
+        doorbell.disarm();
+        delegate.reset();
+    }
+
+    public IdleStrategy delegate() {
+        return delegate;
+    }
+
+    @Override
+    public String alias() {
+        return ALIAS;
+    }
+
+    @Override
+    public String toString() {
+        return "WakeOnPublishIdleStrategy{delegate=" + delegate + ", armAfterIdleCycles=" + armAfterIdleCycles + '}';
+    }
+}
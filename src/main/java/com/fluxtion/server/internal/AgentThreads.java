@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server.internal;
+
+import com.fluxtion.server.config.ExecutionMode;
+import com.fluxtion.server.dispatch.ProcessorContextThread;
+import lombok.extern.java.Log;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads agent groups run on.
+ * <p>
+ * Virtual threads are resolved via reflection so the server still builds and runs on JVMs without
+ * them, where a virtual group falls back to a platform thread and a warning is logged.
+ */
+@Log
+public final class AgentThreads {
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = lookupVirtualThreadFactory();
+    private static final Method IS_VIRTUAL = lookupIsVirtual();
+
+    private AgentThreads() {
+    }
+
+    /**
+     * Thread factory for an agent group running in the supplied mode.
+     */
+    public static ThreadFactory threadFactory(String agentName, ExecutionMode executionMode) {
+        if (executionMode != ExecutionMode.VIRTUAL) {
+            return ProcessorContextThread::new;
+        }
+        if (VIRTUAL_THREAD_FACTORY == null) {
+            log.warning(() -> "virtual threads are not supported by this JVM, agent group '" + agentName
+                    + "' runs on a platform thread");
+            return ProcessorContextThread::new;
+        }
+        return VIRTUAL_THREAD_FACTORY;
+    }
+
+    public static boolean virtualThreadsSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    public static boolean isVirtual(Thread thread) {
+        try {
+            return IS_VIRTUAL != null && (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    private static ThreadFactory lookupVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Method lookupIsVirtual() {
+        try {
+            return Thread.class.getMethod("isVirtual");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
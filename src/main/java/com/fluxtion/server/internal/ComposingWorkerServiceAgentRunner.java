@@ -5,7 +5,11 @@
 package com.fluxtion.server.internal;
 
 import com.fluxtion.agrona.concurrent.AgentRunner;
+import com.fluxtion.server.dispatch.ProcessorContextThread;
 import com.fluxtion.server.dutycycle.ComposingServiceAgent;
+import com.fluxtion.server.dutycycle.SharedAgentPool;
+
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Lightweight holder pairing a {@link com.fluxtion.server.dutycycle.ComposingServiceAgent}
@@ -14,8 +18,50 @@ import com.fluxtion.server.dutycycle.ComposingServiceAgent;
  * Used by MongooseServer to track worker service agent groups and their runners
  * for lifecycle management (start/stop).
  *
- * @param group       the composing worker service agent group
- * @param groupRunner the agent runner executing the group
+ * @param group         the composing worker service agent group
+ * @param groupRunner   the agent runner executing the group
+ * @param threadFactory creates the thread the group runs on
+ * @param threadPool    optional shared thread pool the group runs on instead of its own thread
+ * @param priority      time slice multiplier of the group on the shared thread pool
  */
-public record ComposingWorkerServiceAgentRunner(ComposingServiceAgent group, AgentRunner groupRunner) {
+public record ComposingWorkerServiceAgentRunner(ComposingServiceAgent group, AgentRunner groupRunner, ThreadFactory threadFactory,
+                                                SharedAgentPool threadPool, int priority) {
+
+    public ComposingWorkerServiceAgentRunner(ComposingServiceAgent group, AgentRunner groupRunner) {
+        this(group, groupRunner, ProcessorContextThread::new);
+    }
+
+    public ComposingWorkerServiceAgentRunner(ComposingServiceAgent group, AgentRunner groupRunner, ThreadFactory threadFactory) {
+        this(group, groupRunner, threadFactory, null, 1);
+    }
+
+    public ComposingWorkerServiceAgentRunner(ComposingServiceAgent group, AgentRunner groupRunner, SharedAgentPool threadPool, int priority) {
+        this(group, groupRunner, ProcessorContextThread::new, threadPool, priority);
+    }
+
+    /**
+     * Start the group on the shared thread pool, or on a thread from the thread factory.
+     */
+    public void start() {
+        if (threadPool != null) {
+            threadPool.add(group, priority);
+        } else {
+            AgentRunner.startOnThread(groupRunner, threadFactory);
+        }
+    }
+
+    public boolean isStarted() {
+        return threadPool != null ? threadPool.contains(group) : groupRunner.thread() != null;
+    }
+
+    /**
+     * Stop the group if started, blocks until the group is closed.
+     */
+    public void close() {
+        if (threadPool != null) {
+            threadPool.remove(group);
+        } else if (groupRunner.thread() != null) {
+            groupRunner.close();
+        }
+    }
 }
@@ -5,16 +5,22 @@
 package com.fluxtion.server.internal;
 
 import com.fluxtion.agrona.concurrent.AgentRunner;
-import com.fluxtion.agrona.concurrent.DynamicCompositeAgent;
 import com.fluxtion.runtime.service.Service;
 import com.fluxtion.server.MongooseServer;
 import com.fluxtion.server.dispatch.EventFlowManager;
+import com.fluxtion.server.dispatch.ProcessorContextThread;
 import com.fluxtion.server.service.LifeCycleEventSource;
 import lombok.extern.java.Log;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
 
 /**
  * Encapsulates lifecycle orchestration for MongooseServer.
@@ -70,32 +76,20 @@ public final class LifecycleManager {
         log.info("start agent hosted services");
         composingServiceAgents.forEach((k, v) -> {
             log.info("starting composing service agent " + k);
-            AgentRunner.startOnThread(v.getGroupRunner());
+            v.startRunner();
         });
         // Wait for service agents ACTIVE
-        boolean waiting = true;
         log.info("waiting for agent hosted services to start");
-        while (waiting) {
-            waiting = composingServiceAgents.values().stream()
-                    .anyMatch(f -> f.getGroup().status() != DynamicCompositeAgent.Status.ACTIVE);
-            Thread.sleep(10);
-            log.finer("checking all service agents are started");
-        }
+        awaitActive(composingServiceAgents);
         // Start event processor agents
         log.info("start event processor agent workers");
         composingEventProcessorAgents.forEach((k, v) -> {
             log.info("starting composing event processor agent " + k);
-            AgentRunner.startOnThread(v.getGroupRunner());
+            v.startRunner();
         });
         // Wait for processor agents ACTIVE
-        waiting = true;
         log.info("waiting for event processor agents to start");
-        while (waiting) {
-            waiting = composingEventProcessorAgents.values().stream()
-                    .anyMatch(f -> f.getGroup().status() != DynamicCompositeAgent.Status.ACTIVE);
-            Thread.sleep(10);
-            log.finer("checking all processor agents are started");
-        }
+        awaitActive(composingEventProcessorAgents);
         // Notify start complete on non-agent services
         log.info("calling startup complete on services");
         for (Service<?> service : registeredServices.values()) {
@@ -112,33 +106,102 @@ public final class LifecycleManager {
                      ConcurrentHashMap<String, ? extends GroupRunner> composingEventProcessorAgents,
                      ConcurrentHashMap<String, ? extends GroupRunner> composingServiceAgents,
                      Map<String, Service<?>> registeredServices) {
+        stop(started, composingEventProcessorAgents, composingServiceAgents, registeredServices, null, 0);
+    }
+
+    /**
+     * Stop the server, draining in-flight events first when {@code drainTimeoutMillis} is positive.
+     * <p>
+     * A graceful drain first closes the agent groups hosting event sources and stops publication of
+     * every feed, including sources publishing from their own threads, so no new events reach the
+     * subscriber queues. Each processor group then processes the events left in its queues until
+     * drained or the deadline passes, before the processor groups are closed. The remaining agent
+     * groups and the services are stopped next so sinks flush the output of the drain, and finally
+     * the event sources are stopped so read positions are committed after the events they cover were
+     * processed. Without a drain timeout groups are closed immediately and queued events are dropped.
+     * <p>
+     * A sink sharing an agent group with an event source closes with the source, a sink written to
+     * during the drain needs its own agent group.
+     */
+    public void stop(boolean started,
+                     ConcurrentHashMap<String, ? extends GroupRunner> composingEventProcessorAgents,
+                     ConcurrentHashMap<String, ? extends GroupRunner> composingServiceAgents,
+                     Map<String, Service<?>> registeredServices,
+                     EventFlowManager flowManager,
+                     long drainTimeoutMillis) {
         log.info("stopping server");
         if (!started) {
             log.info("server not started, nothing to stop");
             return;
         }
+        boolean drain = drainTimeoutMillis > 0;
+        if (drain) {
+            log.info("stopping agent hosted event sources before draining");
+            stopGroups(composingServiceAgents, GroupRunner::hostsEventSource);
+            if (flowManager != null) {
+                log.info("stopping publication of event sources");
+                flowManager.stopPublication();
+            }
+            drain(composingEventProcessorAgents, drainTimeoutMillis);
+        }
         log.info("stopping event processor agents");
         composingEventProcessorAgents.forEach((k, v) -> {
             log.info("stopping composing event processor agent " + k);
-            AgentRunner groupRunner = v.getGroupRunner();
-            if (groupRunner.thread() != null) {
-                groupRunner.close();
-            }
+            v.stopRunner();
         });
         log.info("stopping agent hosted services");
-        composingServiceAgents.forEach((k, v) -> {
-            log.info("stopping composing service agent " + k);
-            AgentRunner groupRunner = v.getGroupRunner();
-            if (groupRunner.thread() != null) {
-                groupRunner.close();
-            }
-        });
+        stopGroups(composingServiceAgents, drain ? g -> !g.hostsEventSource() : g -> true);
         log.info("stopping registered services");
         for (Service<?> service : registeredServices.values()) {
             if (!(service.instance() instanceof LifeCycleEventSource)) {
                 service.stop();
             }
         }
+        if (drain && flowManager != null) {
+            log.info("stopping event sources, committing read positions");
+            flowManager.stop();
+        }
+    }
+
+    private static void stopGroups(ConcurrentHashMap<String, ? extends GroupRunner> groups, Predicate<GroupRunner> filter) {
+        groups.forEach((k, v) -> {
+            if (filter.test(v)) {
+                log.info("stopping composing agent " + k);
+                v.stopRunner();
+            }
+        });
+    }
+
+    private static void drain(ConcurrentHashMap<String, ? extends GroupRunner> processorGroups, long drainTimeoutMillis) {
+        log.info("draining event processor agents, timeout:" + drainTimeoutMillis + "ms");
+        Map<String, CompletableFuture<Void>> drained = new HashMap<>();
+        processorGroups.forEach((k, v) -> drained.put(k, v.drain()));
+        try {
+            CompletableFuture.allOf(drained.values().toArray(CompletableFuture[]::new))
+                    .get(drainTimeoutMillis, TimeUnit.MILLISECONDS);
+            log.info("drained event processor agents");
+        } catch (TimeoutException e) {
+            drained.forEach((k, f) -> {
+                if (!f.isDone()) {
+                    log.warning("event processor agent " + k + " not drained after " + drainTimeoutMillis + "ms, queued events are dropped");
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warning("draining event processor agents failed " + e.getCause());
+        }
+    }
+
+    private static void awaitActive(ConcurrentHashMap<String, ? extends GroupRunner> groups) throws InterruptedException {
+        try {
+            CompletableFuture.allOf(groups.values().stream()
+                            .map(GroupRunner::whenActive)
+                            .toArray(CompletableFuture[]::new))
+                    .get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("agent group failed to start", e.getCause());
+        }
     }
 
     /**
@@ -150,5 +213,41 @@ public final class LifecycleManager {
         com.fluxtion.agrona.concurrent.DynamicCompositeAgent getGroup();
 
         default void startCompleteIfSupported() { /* no-op by default */ }
+
+        /**
+         * True if the group hosts an event source, closed before a graceful drain. False by default.
+         */
+        default boolean hostsEventSource() {
+            return false;
+        }
+
+        /**
+         * Completes once the group has started and is active, exceptionally if its start fails.
+         */
+        CompletableFuture<Void> whenActive();
+
+        /**
+         * Completes once the queues of the group are drained, immediately by default.
+         */
+        default CompletableFuture<Void> drain() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        /**
+         * Start the group runner on its thread, a dedicated platform thread by default.
+         */
+        default void startRunner() {
+            AgentRunner.startOnThread(getGroupRunner(), ProcessorContextThread::new);
+        }
+
+        /**
+         * Stop the group runner if started.
+         */
+        default void stopRunner() {
+            AgentRunner groupRunner = getGroupRunner();
+            if (groupRunner.thread() != null) {
+                groupRunner.close();
+            }
+        }
     }
 }
@@ -50,6 +50,11 @@ public final class ServerConfigurator {
         //root server controller
         mongooseServer.registerService(new Service<>(mongooseServer, MongooseServerController.class, MongooseServerController.SERVICE_NAME));
 
+        //object pools, sized and prewarmed before any service can create a pool on injection
+        if (mongooseServerConfig.getPools() != null) {
+            mongooseServerConfig.getPools().forEach(poolConfig -> poolConfig.applyTo(Pools.SHARED));
+        }
+
         //register ObjectPoolService
         mongooseServer.registerService(new Service<>(Pools.SHARED, ObjectPoolsRegistry.class, ObjectPoolsRegistry.SERVICE_NAME));
 
@@ -92,8 +97,8 @@ public final class ServerConfigurator {
             mongooseServerConfig.getEventHandlers().forEach(cfg -> {
                 final EventLogControlEvent.LogLevel defaultLogLevel = cfg.getLogLevel() == null ? EventLogControlEvent.LogLevel.INFO : cfg.getLogLevel();
                 String groupName = cfg.getAgentName();
-                IdleStrategy idleStrategy1 = cfg.getIdleStrategy();
-                IdleStrategy idleStrategy = mongooseServerConfig.lookupIdleStrategyWhenNull(idleStrategy1, cfg.getAgentName());
+                //resolved against the thread config and the server default when the group is created
+                IdleStrategy idleStrategy = cfg.getIdleStrategy();
                 cfg.getEventHandlers().entrySet().forEach(handlerEntry -> {
                     String name = handlerEntry.getKey();
                     try {
@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service;
+
+/**
+ * Scheduling lane of a subscription queue within a processor group, registered with an
+ * {@link EventSubscriptionKey}.
+ * <p>
+ * Queues in a group are read in turn, each reading up to its budget of events per turn, so budgets
+ * weight the round robin between queues of equal priority. A queue with a higher priority is served
+ * strictly first, a lower priority queue stops reading as soon as a higher priority queue in the
+ * group has a pending event. A latency critical feed sharing a group with a bulk feed waits for at
+ * most one bulk event:
+ * <pre>
+ * EventSubscriptionKey.&lt;Order&gt;fromSource("orders").priority(10).build();
+ * EventSubscriptionKey.&lt;RefData&gt;fromSource("refData").budget(16).build();
+ * </pre>
+ * The lane of the first subscription to a queue in a group applies, later subscriptions share it.
+ *
+ * @param priority strict priority, higher values are served first
+ * @param budget   maximum events read from the queue per turn, at least 1
+ */
+public record DispatchLane(int priority, int budget) {
+
+    public static final int DEFAULT_PRIORITY = 0;
+    public static final int DEFAULT_BUDGET = 64;
+    public static final DispatchLane DEFAULT = new DispatchLane(DEFAULT_PRIORITY, DEFAULT_BUDGET);
+
+    public DispatchLane {
+        if (budget < 1) {
+            throw new IllegalArgumentException("lane budget must be at least 1, budget:" + budget);
+        }
+    }
+
+    /**
+     * A copy of this lane with another priority.
+     */
+    public DispatchLane withPriority(int priority) {
+        return new DispatchLane(priority, budget);
+    }
+
+    /**
+     * A copy of this lane with another budget.
+     */
+    public DispatchLane withBudget(int budget) {
+        return new DispatchLane(priority, budget);
+    }
+}
@@ -67,4 +67,49 @@ public interface EventSource<T> {
      */
     default void setDataMapper(Function<T, ?> dataMapper) {
     }
+
+    /**
+     * Enable sequence and latency stamping of pooled events published by this source.
+     *
+     * @param latencyStamping true to stamp pooled events and record per-feed latency histograms
+     */
+    default void setLatencyStamping(boolean latencyStamping) {
+    }
+
+    /**
+     * Partition events across subscriber queues by key, each event is delivered to exactly one
+     * subscriber queue chosen by the hash of its key.
+     *
+     * @param partitionKey key extractor applied to mapped events, null delivers to every subscriber
+     */
+    default void setPartitionKey(Function<?, ?> partitionKey) {
+    }
+
+    /**
+     * Publish events in batches bounded by size and latency, trading latency for throughput.
+     *
+     * @param maxBatchSize    maximum events per batch, below 2 disables batching
+     * @param maxLatencyNanos maximum age of the oldest event in an open batch
+     */
+    default void setMicroBatching(int maxBatchSize, long maxLatencyNanos) {
+    }
+
+    /**
+     * Publish the open batch if it has reached its latency bound, called on the duty cycle of the
+     * agent hosting the source.
+     *
+     * @return the number of events published
+     */
+    default int flushIfDue() {
+        return 0;
+    }
+
+    /**
+     * Publish the open batch now, called when the agent hosting the source closes.
+     *
+     * @return the number of events published
+     */
+    default int flushBatch() {
+        return 0;
+    }
 }
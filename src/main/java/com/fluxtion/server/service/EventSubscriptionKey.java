@@ -5,16 +5,49 @@
 
 package com.fluxtion.server.service;
 
+import java.util.Objects;
+import java.util.function.Function;
+
 /**
  * Represents a unique key for subscribing to events in a system.
  * Combines an event source identifier with a callback type to determine
  * the context of the subscription.
+ * <p>
+ * An optional {@link SubscriptionFilter} restricts the events delivered to the subscriber, it is
+ * evaluated by the publisher. The filter is not part of the key identity, keys for the same source
+ * and callback type are equal whatever their filters.
+ * <p>
+ * An optional conflation key makes the subscriber queue last value wins, a pending event is
+ * replaced by a later event with the same key. Like the filter it is not part of the key identity.
+ * <p>
+ * An optional {@link DispatchLane} sets the priority and per turn budget of the subscriber queue
+ * within its processor group, it is not part of the key identity.
  *
  * @param <T> The type of events associated with the subscription.
  * @param eventSourceKey the event source key to subscribe to
  * @param callBackType   the callback type determining how events are delivered
+ * @param filter         optional publisher side filter, null accepts every event
+ * @param conflationKey  optional key function conflating pending events, null queues every event
+ * @param lane           optional scheduling lane of the subscriber queue, null uses the default lane
  */
-public record EventSubscriptionKey<T>(EventSourceKey<T> eventSourceKey, CallBackType callBackType) {
+public record EventSubscriptionKey<T>(EventSourceKey<T> eventSourceKey,
+                                      CallBackType callBackType,
+                                      SubscriptionFilter filter,
+                                      Function<Object, ?> conflationKey,
+                                      DispatchLane lane) {
+
+    public EventSubscriptionKey(EventSourceKey<T> eventSourceKey, CallBackType callBackType) {
+        this(eventSourceKey, callBackType, (SubscriptionFilter) null);
+    }
+
+    public EventSubscriptionKey(EventSourceKey<T> eventSourceKey, CallBackType callBackType, SubscriptionFilter filter) {
+        this(eventSourceKey, callBackType, filter, null);
+    }
+
+    public EventSubscriptionKey(EventSourceKey<T> eventSourceKey, CallBackType callBackType, SubscriptionFilter filter, Function<Object, ?> conflationKey) {
+        this(eventSourceKey, callBackType, filter, conflationKey, null);
+    }
+
     // Existing constructors (backward compatible)
     public EventSubscriptionKey(EventSourceKey<T> eventSourceKey,
                                 Class<?> callBackClass) {
@@ -22,11 +55,53 @@ public record EventSubscriptionKey<T>(EventSourceKey<T> eventSourceKey, CallBack
     }
 
     /**
-     * Create a subscription key for a specific event source and call back type.
-     * qualifier is ignored (kept for non-breaking backward compatibility).
+     * Create a subscription key for a specific event source and call back type. A qualifier that
+     * is a {@link SubscriptionFilter} filters the subscription, any other qualifier is ignored
+     * (kept for non-breaking backward compatibility).
      */
     public EventSubscriptionKey(EventSourceKey<T> eventSourceKey, CallBackType callBackType, Object qualifier) {
-        this(eventSourceKey, callBackType);
+        this(eventSourceKey, callBackType, qualifier instanceof SubscriptionFilter filter ? filter : null);
+    }
+
+    /**
+     * A copy of this key with a publisher side filter.
+     */
+    public EventSubscriptionKey<T> withFilter(SubscriptionFilter filter) {
+        return new EventSubscriptionKey<>(eventSourceKey, callBackType, filter, conflationKey, lane);
+    }
+
+    /**
+     * A copy of this key conflating pending events by key.
+     */
+    public EventSubscriptionKey<T> withConflationKey(Function<Object, ?> conflationKey) {
+        return new EventSubscriptionKey<>(eventSourceKey, callBackType, filter, conflationKey, lane);
+    }
+
+    /**
+     * A copy of this key read through the given scheduling lane.
+     */
+    public EventSubscriptionKey<T> withLane(DispatchLane lane) {
+        return new EventSubscriptionKey<>(eventSourceKey, callBackType, filter, conflationKey, lane);
+    }
+
+    /**
+     * The scheduling lane of the subscriber queue, the default lane if none is set.
+     */
+    public DispatchLane laneOrDefault() {
+        return lane == null ? DispatchLane.DEFAULT : lane;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o
+                || o instanceof EventSubscriptionKey<?> that
+                && Objects.equals(eventSourceKey, that.eventSourceKey)
+                && Objects.equals(callBackType, that.callBackType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventSourceKey, callBackType);
     }
 
     // -------- Fluent API --------
@@ -74,6 +149,9 @@ public record EventSubscriptionKey<T>(EventSourceKey<T> eventSourceKey, CallBack
     public static final class Builder<T> {
         private final EventSourceKey<T> eventSourceKey;
         private CallBackType callBackType = CallBackType.ON_EVENT_CALL_BACK; // sensible default
+        private SubscriptionFilter filter;
+        private Function<Object, ?> conflationKey;
+        private DispatchLane lane;
 
         private Builder(EventSourceKey<T> eventSourceKey) {
             this.eventSourceKey = eventSourceKey;
@@ -103,11 +181,45 @@ public record EventSubscriptionKey<T>(EventSourceKey<T> eventSourceKey, CallBack
             return this;
         }
 
+        /**
+         * Only deliver events accepted by the filter, evaluated by the publisher.
+         */
+        public Builder<T> filter(SubscriptionFilter filter) {
+            this.filter = filter;
+            return this;
+        }
+
+        /**
+         * Conflate pending events of a type by key, only the latest pending event for a key is
+         * delivered. Events of other types are queued unconflated.
+         */
+        public <E> Builder<T> conflateBy(Class<E> type, Function<? super E, ?> keyFunction) {
+            this.conflationKey = item -> type.isInstance(item) ? keyFunction.apply(type.cast(item)) : null;
+            return this;
+        }
+
+        /**
+         * Serve the subscriber queue strictly before queues of lower priority in its group.
+         */
+        public Builder<T> priority(int priority) {
+            this.lane = (lane == null ? DispatchLane.DEFAULT : lane).withPriority(priority);
+            return this;
+        }
+
+        /**
+         * Read up to this many events from the subscriber queue per turn, weighting the round robin
+         * with queues of equal priority.
+         */
+        public Builder<T> budget(int eventsPerTurn) {
+            this.lane = (lane == null ? DispatchLane.DEFAULT : lane).withBudget(eventsPerTurn);
+            return this;
+        }
+
         /**
          * Build the immutable EventSubscriptionKey.
          */
         public EventSubscriptionKey<T> build() {
-            return new EventSubscriptionKey<>(eventSourceKey, callBackType);
+            return new EventSubscriptionKey<>(eventSourceKey, callBackType, filter, conflationKey, lane);
         }
     }
 }
@@ -6,6 +6,8 @@
 package com.fluxtion.server.service;
 
 import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.server.batch.BatchDto;
+import com.fluxtion.server.service.metrics.WorkAccounting;
 
 /**
  * Defines a strategy for processing events and dispatching them to {@link StaticEventProcessor} instances.
@@ -30,6 +32,18 @@ public interface EventToInvokeStrategy {
      */
     void processEvent(Object event, long time);
 
+    /**
+     * Process the items of a batch read from the queue as one event. Default dispatches each item
+     * through {@link #processEvent(Object)}.
+     *
+     * @param batch the batch to process
+     */
+    default void processBatch(BatchDto batch) {
+        for (int i = 0, size = batch.size(); i < size; i++) {
+            processEvent(batch.get(i));
+        }
+    }
+
     /**
      * Register a processor as a target for dispatched events.
      *
@@ -37,6 +51,17 @@ public interface EventToInvokeStrategy {
      */
     void registerProcessor(StaticEventProcessor eventProcessor);
 
+    /**
+     * Register a processor that only receives events accepted by the filter, a null filter
+     * accepts every event. Default registers the processor unfiltered.
+     *
+     * @param eventProcessor the processor to register
+     * @param filter         the subscription filter of the processor, may be null
+     */
+    default void registerProcessor(StaticEventProcessor eventProcessor, SubscriptionFilter filter) {
+        registerProcessor(eventProcessor);
+    }
+
     /**
      * Deregister a processor so it no longer receives dispatched events.
      *
@@ -50,4 +75,13 @@ public interface EventToInvokeStrategy {
      * @return number of listeners
      */
     int listenerCount();
+
+    /**
+     * Supply the work accounting of the hosting agent group, implementations may record the time
+     * spent dispatching each event to each processor while accounting is enabled. Default is a no-op.
+     *
+     * @param workAccounting the accounting of the hosting group
+     */
+    default void workAccounting(WorkAccounting workAccounting) {
+    }
 }
@@ -0,0 +1,68 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Content based filter registered with an {@link EventSubscriptionKey}, evaluated by the publisher
+ * before an event is written to the queue of a subscriber. Events rejected by every subscription
+ * reading a queue never enter it, so the subscriber pays neither the queue hop nor the dispatch.
+ * <p>
+ * Filters see the published item after data mapping and before any named event wrapping. They run
+ * on the publishing thread for every event, so keep them cheap and free of side effects. Typed
+ * factories reject items of other types:
+ * <pre>
+ * EventSubscriptionKey.&lt;Price&gt;fromSource("prices")
+ *     .filter(SubscriptionFilter.keyIn(Price.class, Price::symbol, Set.of("EURUSD", "GBPUSD")))
+ *     .build();
+ * </pre>
+ */
+@FunctionalInterface
+public interface SubscriptionFilter {
+
+    boolean accept(Object item);
+
+    /**
+     * A filter accepting items accepted by this filter or the other.
+     */
+    default SubscriptionFilter or(SubscriptionFilter other) {
+        return item -> accept(item) || other.accept(item);
+    }
+
+    /**
+     * Accept items of a type that match a predicate.
+     */
+    static <T> SubscriptionFilter typed(Class<T> type, Predicate<? super T> predicate) {
+        return item -> type.isInstance(item) && predicate.test(type.cast(item));
+    }
+
+    /**
+     * Accept items of a type whose key is one of the supplied keys, such as a set of symbols.
+     */
+    static <T, K> SubscriptionFilter keyIn(Class<T> type, Function<? super T, K> keyFunction, Collection<K> keys) {
+        Set<K> keySet = new HashSet<>(keys);
+        return item -> type.isInstance(item) && keySet.contains(keyFunction.apply(type.cast(item)));
+    }
+
+    /**
+     * Accept items of a type whose key is in the range {@code [fromInclusive, toExclusive)}.
+     */
+    static <T> SubscriptionFilter keyRange(Class<T> type, ToLongFunction<? super T> keyFunction, long fromInclusive, long toExclusive) {
+        return item -> {
+            if (!type.isInstance(item)) {
+                return false;
+            }
+            long key = keyFunction.applyAsLong(type.cast(item));
+            return key >= fromInclusive && key < toExclusive;
+        };
+    }
+}
@@ -45,6 +45,7 @@ public class AdminCommandProcessor implements AdminCommandRegistry, LifeCycleEve
             help/?       - this message
             commands     - registered service commands
             eventSources - list event sources
+            latency      - feed latency percentiles, args: [enable|disable <feed|*>] [reset]
             """;
 
     @Override
@@ -65,6 +66,7 @@ public class AdminCommandProcessor implements AdminCommandRegistry, LifeCycleEve
         registerCommand("?", this::printHelp);
         registerCommand("eventSources", this::printQueues);
         registerCommand("commands", this::registeredCommands);
+        registerCommand("latency", this::feedLatency);
     }
 
     @Override
@@ -118,6 +120,29 @@ public class AdminCommandProcessor implements AdminCommandRegistry, LifeCycleEve
         out.accept(sb.toString());
     }
 
+    private void feedLatency(List<String> args, Consumer<String> out, Consumer<String> err) {
+        String action = args.size() > 1 ? args.get(1) : "";
+        switch (action) {
+            case "enable", "disable" -> {
+                if (args.size() < 3) {
+                    err.accept("usage: latency " + action + " <feed|*>");
+                    return;
+                }
+                int updated = eventFlowManager.setLatencyStamping(args.get(2), action.equals("enable"));
+                out.accept("latency stamping " + action + "d for " + updated + " feed(s)");
+            }
+            case "reset" -> {
+                eventFlowManager.resetLatencyStats();
+                out.accept("latency stats reset");
+            }
+            default -> {
+                StringBuilder sb = new StringBuilder();
+                eventFlowManager.appendLatencyInformation(sb);
+                out.accept(sb.toString());
+            }
+        }
+    }
+
     private void registeredCommands(List<String> args, Consumer<String> out, Consumer<String> err) {
         String commandsString = registeredCommandMap.keySet().stream()
                 .sorted()
@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.arena;
+
+import com.fluxtion.runtime.annotations.feature.Experimental;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Scoped allocation for temporaries created while handling an event. Each agent group owns one
+ * arena, objects handed out are reused and bulk reset by the hosting agent at the end of the
+ * event cycle, so handlers allocate freely without per-object release calls or reference counting.
+ * <p>
+ * Register a slab once, when the handler starts, and allocate from it on the hot path:
+ * <pre>{@code
+ * @ServiceRegistered
+ * public void arena(EventCycleArena arena) {
+ *     orderSlab = arena.slab(OrderBuilder.class, OrderBuilder::new, OrderBuilder::reset);
+ * }
+ *
+ * public boolean onPrice(Price price) {
+ *     OrderBuilder builder = orderSlab.allocate();
+ *     ...
+ * }
+ * }</pre>
+ * Instances must not be retained past the event cycle, after the reset they are handed out again.
+ * The arena is confined to the agent thread that hosts the processor and is not thread safe.
+ */
+@Experimental
+public interface EventCycleArena {
+
+    /**
+     * When the hosting agent resets the arena.
+     */
+    enum ResetMode {
+        /**
+         * Reset after each event is dispatched to the processors of a subscription
+         */
+        PER_EVENT,
+        /**
+         * Reset after each batch of events read from a subscription queue in a single duty cycle
+         */
+        PER_BATCH
+    }
+
+    /**
+     * Find or create the slab for a type. The reset hook is applied to every instance handed out
+     * during the cycle when the arena is reset.
+     *
+     * @param type    the slab key
+     * @param factory creates instances when the slab grows
+     * @param reset   optional reset hook, may be null
+     * @return the slab for the type
+     */
+    <T> Slab<T> slab(Class<T> type, Supplier<T> factory, Consumer<T> reset);
+
+    /**
+     * Allocate from the slab registered for a type, prefer holding a {@link Slab} reference on the hot path.
+     *
+     * @throws IllegalStateException if no slab is registered for the type
+     */
+    <T> T allocate(Class<T> type);
+
+    /**
+     * An empty StringBuilder valid for the current cycle.
+     */
+    StringBuilder stringBuilder();
+
+    /**
+     * A cleared heap ByteBuffer with at least {@code minCapacity} bytes, valid for the current cycle.
+     */
+    ByteBuffer byteBuffer(int minCapacity);
+
+    /**
+     * Reset all instances handed out since the last reset, making them available for reuse.
+     */
+    void reset();
+
+    /**
+     * Number of instances handed out since the last reset.
+     */
+    int allocatedCount();
+
+    ResetMode getResetMode();
+
+    void setResetMode(ResetMode resetMode);
+
+    /**
+     * Typed allocator for a single type within the arena.
+     */
+    interface Slab<T> {
+        T allocate();
+    }
+}
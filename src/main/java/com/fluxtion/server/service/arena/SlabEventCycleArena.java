@@ -0,0 +1,146 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.arena;
+
+import com.fluxtion.runtime.annotations.feature.Experimental;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link EventCycleArena} backed by a growable slab per type. Each slab bump allocates from an
+ * array of retained instances, slabs used in a cycle record themselves in a dirty list so a reset
+ * only touches the instances handed out. After warm up no allocation takes place.
+ */
+@Experimental
+public class SlabEventCycleArena implements EventCycleArena {
+
+    private static final int MIN_BUFFER_CAPACITY = 256;
+    private final Map<Class<?>, TypeSlab<?>> slabs = new IdentityHashMap<>();
+    private final TypeSlab<StringBuilder> stringBuilders = new TypeSlab<>(StringBuilder::new, sb -> sb.setLength(0));
+    private TypeSlab<?>[] dirtySlabs = new TypeSlab<?>[16];
+    private int dirtyCount;
+    private ByteBuffer[] buffers = new ByteBuffer[8];
+    private int buffersUsed;
+    private ResetMode resetMode = ResetMode.PER_EVENT;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Slab<T> slab(Class<T> type, Supplier<T> factory, Consumer<T> reset) {
+        Objects.requireNonNull(type, "type");
+        Objects.requireNonNull(factory, "factory");
+        return (Slab<T>) slabs.computeIfAbsent(type, k -> new TypeSlab<>(factory, reset));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T allocate(Class<T> type) {
+        TypeSlab<T> slab = (TypeSlab<T>) slabs.get(type);
+        if (slab == null) {
+            throw new IllegalStateException("no arena slab registered for type:" + type.getName());
+        }
+        return slab.allocate();
+    }
+
+    @Override
+    public StringBuilder stringBuilder() {
+        return stringBuilders.allocate();
+    }
+
+    @Override
+    public ByteBuffer byteBuffer(int minCapacity) {
+        if (buffersUsed == buffers.length) {
+            buffers = Arrays.copyOf(buffers, buffers.length << 1);
+        }
+        ByteBuffer buffer = buffers[buffersUsed];
+        if (buffer == null || buffer.capacity() < minCapacity) {
+            buffer = ByteBuffer.allocate(Math.max(minCapacity, MIN_BUFFER_CAPACITY));
+            buffers[buffersUsed] = buffer;
+        }
+        buffersUsed++;
+        return buffer.clear();
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < dirtyCount; i++) {
+            dirtySlabs[i].reset();
+            dirtySlabs[i] = null;
+        }
+        dirtyCount = 0;
+        buffersUsed = 0;
+    }
+
+    @Override
+    public int allocatedCount() {
+        int count = buffersUsed;
+        for (int i = 0; i < dirtyCount; i++) {
+            count += dirtySlabs[i].used;
+        }
+        return count;
+    }
+
+    @Override
+    public ResetMode getResetMode() {
+        return resetMode;
+    }
+
+    @Override
+    public void setResetMode(ResetMode resetMode) {
+        this.resetMode = Objects.requireNonNull(resetMode, "resetMode");
+    }
+
+    private void markDirty(TypeSlab<?> slab) {
+        if (dirtyCount == dirtySlabs.length) {
+            dirtySlabs = Arrays.copyOf(dirtySlabs, dirtyCount << 1);
+        }
+        dirtySlabs[dirtyCount++] = slab;
+    }
+
+    private final class TypeSlab<T> implements Slab<T> {
+        private final Supplier<T> factory;
+        private final Consumer<T> resetHook;
+        private Object[] instances = new Object[16];
+        private int used;
+
+        private TypeSlab(Supplier<T> factory, Consumer<T> resetHook) {
+            this.factory = factory;
+            this.resetHook = resetHook;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T allocate() {
+            if (used == 0) {
+                markDirty(this);
+            } else if (used == instances.length) {
+                instances = Arrays.copyOf(instances, used << 1);
+            }
+            Object instance = instances[used];
+            if (instance == null) {
+                instance = factory.get();
+                instances[used] = instance;
+            }
+            used++;
+            return (T) instance;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void reset() {
+            if (resetHook != null) {
+                for (int i = 0; i < used; i++) {
+                    resetHook.accept((T) instances[i]);
+                }
+            }
+            used = 0;
+        }
+    }
+}
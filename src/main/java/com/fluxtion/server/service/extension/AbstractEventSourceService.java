@@ -81,6 +81,10 @@ public abstract class AbstractEventSourceService<T>
     private EventSource.SlowConsumerStrategy slowConsumerStrategy = SlowConsumerStrategy.BACKOFF;
     @Getter(AccessLevel.PROTECTED)
     private Function<T, ?> dataMapper = Function.identity();
+    private boolean latencyStamping = false;
+    private Function<?, ?> partitionKey;
+    private int microBatchSize;
+    private long microBatchLatencyNanos;
 
     /**
      * Construct an event source with default ON_EVENT callback type.
@@ -123,6 +127,9 @@ public abstract class AbstractEventSourceService<T>
         output = eventFlowManager.registerEventSource(serviceName, this);
         output.setEventWrapStrategy(eventWrapStrategy);
         output.setDataMapper(dataMapper);
+        output.setLatencyStamping(latencyStamping);
+        output.setPartitionKey(partitionKey);
+        output.setMicroBatching(microBatchSize, microBatchLatencyNanos);
         subscriptionKey = new EventSubscriptionKey<>(
                 new EventSourceKey<>(serviceName),
                 eventToInvokeType
@@ -219,4 +226,39 @@ public abstract class AbstractEventSourceService<T>
             output.setDataMapper(dataMapper);
         }
     }
+
+    @Override
+    public void setLatencyStamping(boolean latencyStamping) {
+        this.latencyStamping = latencyStamping;
+        if (output != null) {
+            output.setLatencyStamping(latencyStamping);
+        }
+    }
+
+    @Override
+    public void setPartitionKey(Function<?, ?> partitionKey) {
+        this.partitionKey = partitionKey;
+        if (output != null) {
+            output.setPartitionKey(partitionKey);
+        }
+    }
+
+    @Override
+    public void setMicroBatching(int maxBatchSize, long maxLatencyNanos) {
+        this.microBatchSize = maxBatchSize;
+        this.microBatchLatencyNanos = maxLatencyNanos;
+        if (output != null) {
+            output.setMicroBatching(maxBatchSize, maxLatencyNanos);
+        }
+    }
+
+    @Override
+    public int flushIfDue() {
+        return output == null ? 0 : output.flushIfDue();
+    }
+
+    @Override
+    public int flushBatch() {
+        return output == null ? 0 : output.flushBatch();
+    }
 }
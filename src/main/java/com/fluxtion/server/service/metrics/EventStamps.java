@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.metrics;
+
+/**
+ * Framework managed timing stamps carried by every pooled event through its
+ * {@link com.fluxtion.server.service.pool.impl.PoolTracker}.
+ * <p>
+ * Stamps are written only when latency stamping is enabled for the publishing feed. The publisher
+ * writes the sequence number and publish time before the event is offered to subscriber queues,
+ * consuming agents write the dequeue and dispatch complete times. With several subscribers the
+ * consumer stamps hold the values of the last consumer to write them. All times are
+ * {@link System#nanoTime()} values. Stamping writes primitive fields only and does not allocate.
+ */
+public final class EventStamps {
+
+    private volatile FeedLatencyStats feedStats;
+    private long sequenceNumber;
+    private long publishNanos;
+    private long dequeueNanos;
+    private long dispatchCompleteNanos;
+
+    /**
+     * Clear all stamps, called when the owning instance is acquired from its pool.
+     */
+    public void clear() {
+        feedStats = null;
+        sequenceNumber = 0;
+        publishNanos = 0;
+        dequeueNanos = 0;
+        dispatchCompleteNanos = 0;
+    }
+
+    /**
+     * Stamp the publish side, called by the publisher before the event is written to any queue.
+     */
+    public void stampPublish(FeedLatencyStats feedStats, long sequenceNumber, long publishNanos) {
+        this.sequenceNumber = sequenceNumber;
+        this.publishNanos = publishNanos;
+        this.dequeueNanos = 0;
+        this.dispatchCompleteNanos = 0;
+        // volatile write publishes the stamps above to consumer threads
+        this.feedStats = feedStats;
+    }
+
+    public void stampDequeue(long dequeueNanos) {
+        this.dequeueNanos = dequeueNanos;
+    }
+
+    public void stampDispatchComplete(long dispatchCompleteNanos) {
+        this.dispatchCompleteNanos = dispatchCompleteNanos;
+    }
+
+    /**
+     * The latency stats of the feed that stamped this event, or null if the event was not stamped.
+     */
+    public FeedLatencyStats feedStats() {
+        return feedStats;
+    }
+
+    public long sequenceNumber() {
+        return sequenceNumber;
+    }
+
+    public long publishNanos() {
+        return publishNanos;
+    }
+
+    public long dequeueNanos() {
+        return dequeueNanos;
+    }
+
+    public long dispatchCompleteNanos() {
+        return dispatchCompleteNanos;
+    }
+}
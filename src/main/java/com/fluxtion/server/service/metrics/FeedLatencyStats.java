@@ -0,0 +1,116 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-feed latency histograms recorded from {@link EventStamps}.
+ * <p>
+ * Three intervals are recorded in nanoseconds for each stamped event a consumer dispatches:
+ * <ul>
+ *     <li>queue: publish to dequeue by the consuming agent</li>
+ *     <li>dispatch: dequeue to dispatch complete</li>
+ *     <li>endToEnd: publish to dispatch complete</li>
+ * </ul>
+ * Histograms have a fixed range and two significant digits, so recording never resizes or
+ * allocates and is safe from many consumer agents concurrently. Values above the range are
+ * clamped to the highest trackable value.
+ */
+public final class FeedLatencyStats {
+
+    public static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private final String feedName;
+    private final ConcurrentHistogram queue = newHistogram();
+    private final ConcurrentHistogram dispatch = newHistogram();
+    private final ConcurrentHistogram endToEnd = newHistogram();
+
+    public FeedLatencyStats(String feedName) {
+        this.feedName = feedName;
+    }
+
+    /**
+     * Record the intervals for a dispatched event.
+     *
+     * @param publishNanos          publish time stamped by the feed
+     * @param dequeueNanos          time the consumer removed the event from its queue
+     * @param dispatchCompleteNanos time the consumer finished dispatching the event
+     */
+    public void record(long publishNanos, long dequeueNanos, long dispatchCompleteNanos) {
+        recordClamped(queue, dequeueNanos - publishNanos);
+        recordClamped(dispatch, dispatchCompleteNanos - dequeueNanos);
+        recordClamped(endToEnd, dispatchCompleteNanos - publishNanos);
+    }
+
+    public String feedName() {
+        return feedName;
+    }
+
+    public Histogram queueHistogram() {
+        return queue.copy();
+    }
+
+    public Histogram dispatchHistogram() {
+        return dispatch.copy();
+    }
+
+    public Histogram endToEndHistogram() {
+        return endToEnd.copy();
+    }
+
+    public long count() {
+        return endToEnd.getTotalCount();
+    }
+
+    public void reset() {
+        queue.reset();
+        dispatch.reset();
+        endToEnd.reset();
+    }
+
+    /**
+     * Append a one line per interval summary in microseconds.
+     */
+    public void appendSummary(Appendable appendable) throws IOException {
+        appendable.append("feed:").append(feedName).append(" count:").append(Long.toString(count())).append('\n');
+        appendInterval(appendable, "queue", queue.copy());
+        appendInterval(appendable, "dispatch", dispatch.copy());
+        appendInterval(appendable, "endToEnd", endToEnd.copy());
+    }
+
+    @Override
+    public String toString() {
+        return "FeedLatencyStats{feedName='" + feedName + "', count=" + count() + '}';
+    }
+
+    private static void appendInterval(Appendable appendable, String name, Histogram histogram) throws IOException {
+        appendable.append('\t').append(name)
+                .append(" us p50:").append(micros(histogram.getValueAtPercentile(50)))
+                .append(" p99:").append(micros(histogram.getValueAtPercentile(99)))
+                .append(" p99.9:").append(micros(histogram.getValueAtPercentile(99.9)))
+                .append(" max:").append(micros(histogram.getMaxValue()))
+                .append('\n');
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.3f", nanos / 1_000.0);
+    }
+
+    private static void recordClamped(ConcurrentHistogram histogram, long value) {
+        histogram.recordValue(Math.max(0, Math.min(value, HIGHEST_TRACKABLE_NANOS)));
+    }
+
+    private static ConcurrentHistogram newHistogram() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        histogram.setAutoResize(false);
+        return histogram;
+    }
+}
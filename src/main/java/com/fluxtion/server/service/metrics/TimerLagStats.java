@@ -0,0 +1,91 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer expiry statistics for a scheduler.
+ * <p>
+ * Lag is the actual fire time minus the scheduled deadline in nanoseconds, it includes the wheel
+ * tick granularity and any time a due timer waited because an earlier duty cycle ran out of
+ * budget. Deferred cycles count the duty cycles that stopped with due timers still pending and
+ * carried them over to the next cycle. Recording is single writer and does not allocate, readers
+ * on other threads see a consistent copy.
+ */
+public final class TimerLagStats {
+
+    public static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private final String name;
+    private final ConcurrentHistogram lag;
+    private volatile long deferredCycles;
+
+    public TimerLagStats(String name) {
+        this.name = name;
+        this.lag = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        this.lag.setAutoResize(false);
+    }
+
+    public void recordLag(long lagNanos) {
+        lag.recordValue(Math.max(0, Math.min(lagNanos, HIGHEST_TRACKABLE_NANOS)));
+    }
+
+    public void recordDeferredCycle() {
+        deferredCycles++;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Number of expired timers recorded.
+     */
+    public long count() {
+        return lag.getTotalCount();
+    }
+
+    public long deferredCycles() {
+        return deferredCycles;
+    }
+
+    public Histogram lagHistogram() {
+        return lag.copy();
+    }
+
+    public void reset() {
+        lag.reset();
+        deferredCycles = 0;
+    }
+
+    /**
+     * Append a single line summary with lag percentiles in microseconds.
+     */
+    public void appendSummary(Appendable appendable) throws IOException {
+        Histogram histogram = lag.copy();
+        appendable.append("timers:").append(name)
+                .append(" expired:").append(Long.toString(histogram.getTotalCount()))
+                .append(" deferredCycles:").append(Long.toString(deferredCycles))
+                .append(" lag us p50:").append(micros(histogram.getValueAtPercentile(50)))
+                .append(" p99:").append(micros(histogram.getValueAtPercentile(99)))
+                .append(" max:").append(micros(histogram.getMaxValue()))
+                .append('\n');
+    }
+
+    @Override
+    public String toString() {
+        return "TimerLagStats{name='" + name + "', count=" + count() + ", deferredCycles=" + deferredCycles + '}';
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.3f", nanos / 1_000.0);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.metrics;
+
+import com.fluxtion.runtime.StaticEventProcessor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional per agent and per event processor work accounting for an agent group.
+ * <p>
+ * When enabled the group records its whole duty cycle, each sub-agent records its own duty cycle
+ * and each registered event processor records the time spent dispatching every event to it, one
+ * dispatched event counts as one cycle. When disabled recording is skipped after a single flag
+ * check. Stats are looked up without allocation on the group thread and can be read or reset from
+ * any thread. The summary also reports the expiry lag of the group scheduler when supplied.
+ */
+public final class WorkAccounting {
+
+    private final String groupName;
+    private final WorkStats groupStats;
+    private final Map<String, WorkStats> agentStats = new ConcurrentHashMap<>();
+    private final Map<StaticEventProcessor, WorkStats> processorStats = new ConcurrentHashMap<>();
+    private final TimerLagStats timerLagStats;
+    private volatile boolean enabled;
+
+    public WorkAccounting(String groupName) {
+        this(groupName, null);
+    }
+
+    public WorkAccounting(String groupName, TimerLagStats timerLagStats) {
+        this.groupName = groupName;
+        this.groupStats = new WorkStats(groupName);
+        this.timerLagStats = timerLagStats;
+    }
+
+    public String groupName() {
+        return groupName;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Expiry statistics of the group scheduler, may be null.
+     */
+    public TimerLagStats timerLagStats() {
+        return timerLagStats;
+    }
+
+    public WorkStats groupStats() {
+        return groupStats;
+    }
+
+    /**
+     * Stats for a sub-agent of the group, created on first use.
+     */
+    public WorkStats agentStats(String agentName) {
+        return agentStats.computeIfAbsent(agentName, WorkStats::new);
+    }
+
+    public void registerProcessor(String processorName, StaticEventProcessor eventProcessor) {
+        processorStats.putIfAbsent(eventProcessor, new WorkStats(processorName));
+    }
+
+    public void deregisterProcessor(StaticEventProcessor eventProcessor) {
+        processorStats.remove(eventProcessor);
+    }
+
+    /**
+     * Record the time spent dispatching one event to a processor, ignored for processors not
+     * registered with this group.
+     */
+    public void recordProcessor(StaticEventProcessor eventProcessor, long nanos) {
+        WorkStats stats = processorStats.get(eventProcessor);
+        if (stats != null) {
+            stats.record(1, nanos);
+        }
+    }
+
+    public void reset() {
+        groupStats.reset();
+        agentStats.values().forEach(WorkStats::reset);
+        processorStats.values().forEach(WorkStats::reset);
+    }
+
+    public Snapshot snapshot() {
+        List<WorkStats.Snapshot> agents = new ArrayList<>();
+        agentStats.values().forEach(s -> agents.add(s.snapshot()));
+        List<WorkStats.Snapshot> processors = new ArrayList<>();
+        processorStats.values().forEach(s -> processors.add(s.snapshot()));
+        return new Snapshot(groupName, enabled, groupStats.snapshot(), agents, processors);
+    }
+
+    /**
+     * Append a multi line summary of the group, its agents and processors.
+     */
+    public void appendSummary(Appendable appendable) throws IOException {
+        appendable.append("group:").append(groupName).append(enabled ? "" : " (accounting disabled)").append('\n');
+        appendable.append("\t");
+        groupStats.appendSummary(appendable);
+        for (WorkStats stats : agentStats.values()) {
+            appendable.append("\tagent:");
+            stats.appendSummary(appendable);
+        }
+        for (WorkStats stats : processorStats.values()) {
+            appendable.append("\tprocessor:");
+            stats.appendSummary(appendable);
+        }
+        if (timerLagStats != null) {
+            appendable.append("\t");
+            timerLagStats.appendSummary(appendable);
+        }
+    }
+
+    /**
+     * Point in time copy of the accounting for a group.
+     */
+    public record Snapshot(String groupName,
+                           boolean enabled,
+                           WorkStats.Snapshot group,
+                           List<WorkStats.Snapshot> agents,
+                           List<WorkStats.Snapshot> processors) {
+    }
+}
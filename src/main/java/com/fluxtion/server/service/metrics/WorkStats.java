@@ -0,0 +1,126 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work accounting for one agent or event processor in an agent group.
+ * <p>
+ * Only cycles that performed work are recorded: the number of busy cycles, the total work count
+ * reported, the nanoseconds spent and a histogram of busy cycle times. Recording is single writer
+ * and does not allocate, readers on other threads see a consistent copy of the histogram and
+ * counters that may lag by a cycle.
+ */
+public final class WorkStats {
+
+    public static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private final String name;
+    private final ConcurrentHistogram cycleTime;
+    private volatile long cycles;
+    private volatile long workCount;
+    private volatile long busyNanos;
+
+    public WorkStats(String name) {
+        this.name = name;
+        this.cycleTime = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        this.cycleTime.setAutoResize(false);
+    }
+
+    /**
+     * Record a cycle, cycles with no work are ignored.
+     *
+     * @param work  work count reported by the cycle
+     * @param nanos time spent in the cycle
+     */
+    public void record(int work, long nanos) {
+        if (work > 0) {
+            cycles++;
+            workCount += work;
+            busyNanos += nanos;
+            cycleTime.recordValue(Math.max(1, Math.min(nanos, HIGHEST_TRACKABLE_NANOS)));
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Number of cycles that performed work.
+     */
+    public long cycles() {
+        return cycles;
+    }
+
+    public long workCount() {
+        return workCount;
+    }
+
+    public long busyNanos() {
+        return busyNanos;
+    }
+
+    public Histogram cycleTimeHistogram() {
+        return cycleTime.copy();
+    }
+
+    public void reset() {
+        cycleTime.reset();
+        cycles = 0;
+        workCount = 0;
+        busyNanos = 0;
+    }
+
+    public Snapshot snapshot() {
+        Histogram histogram = cycleTime.copy();
+        return new Snapshot(name, cycles, workCount, busyNanos,
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99),
+                histogram.getMaxValue());
+    }
+
+    /**
+     * Append a single line summary with cycle times in microseconds.
+     */
+    public void appendSummary(Appendable appendable) throws IOException {
+        Snapshot snapshot = snapshot();
+        appendable.append(name)
+                .append(" cycles:").append(Long.toString(snapshot.cycles()))
+                .append(" work:").append(Long.toString(snapshot.workCount()))
+                .append(" busy ms:").append(String.format("%.3f", snapshot.busyNanos() / 1_000_000.0))
+                .append(" cycle us p50:").append(micros(snapshot.p50CycleNanos()))
+                .append(" p99:").append(micros(snapshot.p99CycleNanos()))
+                .append(" max:").append(micros(snapshot.maxCycleNanos()))
+                .append('\n');
+    }
+
+    @Override
+    public String toString() {
+        return "WorkStats{name='" + name + "', cycles=" + cycles + ", workCount=" + workCount + ", busyNanos=" + busyNanos + '}';
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.3f", nanos / 1_000.0);
+    }
+
+    /**
+     * Point in time copy of a {@link WorkStats}.
+     */
+    public record Snapshot(String name,
+                           long cycles,
+                           long workCount,
+                           long busyNanos,
+                           long p50CycleNanos,
+                           long p99CycleNanos,
+                           long maxCycleNanos) {
+    }
+}
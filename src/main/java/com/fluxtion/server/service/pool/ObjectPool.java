@@ -12,6 +12,17 @@ import java.util.function.Consumer;
  */
 public interface ObjectPool<T extends PoolAware> {
 
+    /**
+     * Behaviour of {@link #acquire()} when the pool has created {@code capacity} instances
+     * and none are free.
+     * <ul>
+     *   <li>WAIT - spin/yield until an instance is returned (default)</li>
+     *   <li>ALLOCATE - create an overflow instance; overflow instances are dropped on release if the free list is full</li>
+     *   <li>FAIL - throw an {@link IllegalStateException} after a brief bounded spin</li>
+     * </ul>
+     */
+    enum ExhaustionPolicy {WAIT, ALLOCATE, FAIL}
+
     /**
      * Acquire an instance from the pool (creating up to capacity).
      */
@@ -34,4 +45,15 @@ public interface ObjectPool<T extends PoolAware> {
      * instance will no longer be returned to the pool.
      */
     void removeFromPool(T t);
+
+    /**
+     * Eagerly create up to {@code count} instances and stage them on the free list, so the
+     * first acquires after boot do not construct objects on the hot path. Bounded by capacity.
+     *
+     * @param count number of instances to pre-create
+     * @return number of instances actually created
+     */
+    default int prewarm(int count) {
+        return 0;
+    }
 }
@@ -38,6 +38,24 @@ public interface ObjectPoolsRegistry {
         return getOrCreate(type, factory, reset, capacity);
     }
 
+    /**
+     * Declare the sizing for a type's pool ahead of first use. Configured values take precedence over
+     * the capacity and partitions passed by whichever caller first invokes {@code getOrCreate}.
+     * Values {@code <= 0} fall back to the caller supplied (or default) values.
+     * <p>
+     * When {@code prewarm > 0} the pool is created and filled immediately if the type has an accessible
+     * no-arg constructor, otherwise prewarming happens when the pool is first created by {@code getOrCreate}.
+     *
+     * @param type             the pooled type
+     * @param capacity         maximum number of pooled instances
+     * @param partitions       number of free-list partitions
+     * @param prewarm          number of instances to create eagerly
+     * @param exhaustionPolicy behaviour when the pool is exhausted, null for {@link ObjectPool.ExhaustionPolicy#WAIT}
+     */
+    default void configure(Class<? extends PoolAware> type, int capacity, int partitions, int prewarm, ObjectPool.ExhaustionPolicy exhaustionPolicy) {
+        // default interface method for backward compat; implementors can override
+    }
+
     /**
      * Remove a pool for maintenance/testing.
      */
@@ -7,7 +7,9 @@ package com.fluxtion.server.service.pool.impl;
 import com.fluxtion.server.service.pool.ObjectPool;
 import com.fluxtion.server.service.pool.ObjectPoolsRegistry;
 import com.fluxtion.server.service.pool.PoolAware;
+import lombok.extern.java.Log;
 
+import java.lang.reflect.Constructor;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -17,10 +19,15 @@ import java.util.function.Supplier;
 /**
  * Shared registry of {@link ObjectPoolManager} instances, one per class.
  * Instance-based to support dependency injection and testing.
+ * <p>
+ * Sizing supplied through {@link #configure} takes precedence over the arguments of the
+ * first {@code getOrCreate} call, later callers always receive the existing pool.
  */
+@Log
 final class GlobalObjectPool implements ObjectPoolsRegistry {
 
     private final Map<Class<?>, ObjectPool<?>> pools = new ConcurrentHashMap<>();
+    private final Map<Class<?>, PoolSettings> settings = new ConcurrentHashMap<>();
 
     public GlobalObjectPool() {
     }
@@ -68,9 +75,7 @@ final class GlobalObjectPool implements ObjectPoolsRegistry {
         Objects.requireNonNull(type, "type");
         Objects.requireNonNull(factory, "factory");
         if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
-        @SuppressWarnings("unchecked")
-        ObjectPool<T> pool = (ObjectPool<T>) pools.computeIfAbsent(type, k -> new ObjectPoolManager<>(factory, reset, capacity));
-        return pool;
+        return lookupOrCreate(type, factory, reset, capacity, ObjectPoolManager.defaultPartitions());
     }
 
     /**
@@ -90,9 +95,40 @@ final class GlobalObjectPool implements ObjectPoolsRegistry {
         Objects.requireNonNull(factory, "factory");
         if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
         if (partitions <= 0) throw new IllegalArgumentException("partitions must be > 0");
-        @SuppressWarnings("unchecked")
-        ObjectPool<T> pool = (ObjectPool<T>) pools.computeIfAbsent(type, k -> new ObjectPoolManager<>(factory, reset, capacity, partitions));
-        return pool;
+        return lookupOrCreate(type, factory, reset, capacity, partitions);
+    }
+
+    /**
+     * Declare pool sizing for a type ahead of first use, configured values override the values passed
+     * by the first {@code getOrCreate} caller. If {@code prewarm > 0} and the type has an accessible
+     * no-arg constructor the pool is created and filled immediately, the first application call to
+     * {@code getOrCreate} then supplies the factory and reset hook used from that point on.
+     *
+     * @param type             the pooled type. Must not be null.
+     * @param capacity         maximum number of pooled instances, {@code <= 0} to use the caller value
+     * @param partitions       number of free-list partitions, {@code <= 0} to use the caller value
+     * @param prewarm          number of instances to create eagerly
+     * @param exhaustionPolicy behaviour when exhausted, null for WAIT
+     */
+    @Override
+    public void configure(Class<? extends PoolAware> type, int capacity, int partitions, int prewarm, ObjectPool.ExhaustionPolicy exhaustionPolicy) {
+        Objects.requireNonNull(type, "type");
+        PoolSettings poolSettings = new PoolSettings(capacity, partitions, prewarm, exhaustionPolicy);
+        settings.put(type, poolSettings);
+        ObjectPool<?> existing = pools.get(type);
+        if (existing != null) {
+            log.warning("pool for " + type.getName() + " already created, only prewarm applied from configuration:" + poolSettings);
+            existing.prewarm(prewarm);
+            return;
+        }
+        if (prewarm > 0) {
+            Supplier<? extends PoolAware> defaultFactory = noArgFactory(type);
+            if (defaultFactory == null) {
+                log.info("no accessible no-arg constructor for " + type.getName() + ", prewarm deferred until pool is first created");
+                return;
+            }
+            pools.computeIfAbsent(type, k -> createPool(poolSettings, defaultFactory, null, capacity, partitions).provisional());
+        }
     }
 
     /**
@@ -101,5 +137,55 @@ final class GlobalObjectPool implements ObjectPoolsRegistry {
     @Override
     public void remove(Class<?> type) {
         pools.remove(type);
+        settings.remove(type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends PoolAware> ObjectPool<T> lookupOrCreate(Class<T> type, Supplier<T> factory, Consumer<T> reset, int capacity, int partitions) {
+        PoolSettings poolSettings = settings.get(type);
+        ObjectPool<T> pool = (ObjectPool<T>) pools.computeIfAbsent(type, k -> poolSettings == null
+                ? new ObjectPoolManager<>(factory, reset, capacity, partitions)
+                : createPool(poolSettings, factory, reset, capacity, partitions));
+        if (pool instanceof ObjectPoolManager<T> manager && manager.isProvisional()) {
+            manager.bind(factory, reset);
+        }
+        return pool;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends PoolAware> ObjectPoolManager<T> createPool(
+            PoolSettings poolSettings, Supplier<? extends PoolAware> factory, Consumer<T> reset, int capacity, int partitions) {
+        ObjectPoolManager<T> manager = new ObjectPoolManager<>(
+                (Supplier<T>) factory,
+                reset,
+                poolSettings.capacity() > 0 ? poolSettings.capacity() : capacity,
+                poolSettings.partitions() > 0 ? poolSettings.partitions() : partitions,
+                poolSettings.exhaustionPolicy());
+        if (poolSettings.prewarm() > 0) {
+            manager.prewarm(poolSettings.prewarm());
+        }
+        return manager;
+    }
+
+    private static Supplier<? extends PoolAware> noArgFactory(Class<? extends PoolAware> type) {
+        try {
+            Constructor<? extends PoolAware> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return () -> {
+                try {
+                    return constructor.newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("unable to create pooled instance of " + type.getName(), e);
+                }
+            };
+        } catch (NoSuchMethodException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Pool sizing declared through configuration, applied when the pool is created.
+     */
+    private record PoolSettings(int capacity, int partitions, int prewarm, ObjectPool.ExhaustionPolicy exhaustionPolicy) {
     }
 }
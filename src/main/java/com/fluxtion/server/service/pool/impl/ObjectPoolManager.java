@@ -6,6 +6,7 @@ package com.fluxtion.server.service.pool.impl;
 
 import com.fluxtion.agrona.concurrent.ManyToManyConcurrentArrayQueue;
 import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.ObjectPool.ExhaustionPolicy;
 import com.fluxtion.server.service.pool.PoolAware;
 
 import java.util.Objects;
@@ -20,20 +21,28 @@ import java.util.function.Supplier;
  * <p>
  * This implementation uses a bounded MPMC free-list ({@link ManyToManyConcurrentArrayQueue})
  * with a fixed capacity. Instances are created on demand up to the configured capacity.
- * When the capacity is reached and no free instances are available, acquire() will spin-wait
- * briefly for a previously checked-in instance to become available.
+ * When the capacity is reached and no free instances are available, acquire() applies the
+ * configured {@link ExhaustionPolicy}, by default spin-waiting for a previously checked-in
+ * instance to become available.
+ * <p>
+ * The home partition of an acquiring thread is chosen from its {@link PoolAffinity} lane when the
+ * thread is an agent bound to a lane. An instance is released to the partition it was acquired
+ * from, so producer and consumer agents recycle through a dedicated free list.
  */
 final class ObjectPoolManager<T extends PoolAware> implements ObjectPool<T> {
 
     public static final int DEFAULT_CAPACITY = 256;
 
-    private final Supplier<T> factory;
-    private final Consumer<T> resetHook;
+    private volatile Supplier<T> factory;
+    private volatile Consumer<T> resetHook;
     private final ManyToManyConcurrentArrayQueue<T>[] freePartitions;
     private final int capacity;
     private final int partitions;
     private final int mask; // if partitions is power of two
+    private final ExhaustionPolicy exhaustionPolicy;
     private final AtomicInteger created = new AtomicInteger();
+    // true while the pool runs on a config supplied factory, waiting for the application factory
+    private volatile boolean provisional;
 
     public ObjectPoolManager(Supplier<T> factory, Consumer<T> resetHook) {
         this(factory, resetHook, DEFAULT_CAPACITY);
@@ -44,6 +53,10 @@ final class ObjectPoolManager<T extends PoolAware> implements ObjectPool<T> {
     }
 
     public ObjectPoolManager(Supplier<T> factory, Consumer<T> resetHook, int capacity, int partitions) {
+        this(factory, resetHook, capacity, partitions, ExhaustionPolicy.WAIT);
+    }
+
+    public ObjectPoolManager(Supplier<T> factory, Consumer<T> resetHook, int capacity, int partitions, ExhaustionPolicy exhaustionPolicy) {
         this.factory = Objects.requireNonNull(factory, "factory");
         this.resetHook = resetHook;
         if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
@@ -54,6 +67,7 @@ final class ObjectPoolManager<T extends PoolAware> implements ObjectPool<T> {
         this.partitions = p2;
         this.mask = p2 - 1;
         this.capacity = capacity;
+        this.exhaustionPolicy = exhaustionPolicy == null ? ExhaustionPolicy.WAIT : exhaustionPolicy;
         // Distribute capacity across partitions (first few get +1 if remainder)
         @SuppressWarnings("unchecked")
         ManyToManyConcurrentArrayQueue<T>[] arr = new ManyToManyConcurrentArrayQueue[this.partitions];
@@ -82,6 +96,13 @@ final class ObjectPoolManager<T extends PoolAware> implements ObjectPool<T> {
                         t = factory.get();
                         break;
                     }
+                } else if (exhaustionPolicy == ExhaustionPolicy.ALLOCATE) {
+                    // capacity reached, steal once then overflow with an unpooled-on-release instance
+                    t = stealFromPartitions(home);
+                    if (t == null) {
+                        t = factory.get();
+                    }
+                    break;
                 } else {
                     // capacity reached, try to steal from other partitions with brief spin/yield
                     long start = System.nanoTime();
@@ -97,11 +118,10 @@ final class ObjectPoolManager<T extends PoolAware> implements ObjectPool<T> {
                     } while (System.nanoTime() - start < TimeUnit.MICROSECONDS.toNanos(200));
                     if (t == null) {
                         Thread.yield();
-                        for (int i = 0; i < partitions; i++) {
-                            int idx = (home + i) & mask;
-                            t = freePartitions[idx].poll();
-                            if (t != null) break;
-                        }
+                        t = stealFromPartitions(home);
+                    }
+                    if (t == null && exhaustionPolicy == ExhaustionPolicy.FAIL) {
+                        throw new IllegalStateException("object pool exhausted capacity:" + capacity + " policy:" + exhaustionPolicy);
                     }
                     if (t == null) {
                         // continue loop until an item appears
@@ -114,6 +134,7 @@ final class ObjectPoolManager<T extends PoolAware> implements ObjectPool<T> {
         @SuppressWarnings("unchecked")
         PoolTracker<T> tracker = (PoolTracker<T>) t.getPoolTracker();
         tracker.init(this, t, resetHook);
+        tracker.lane(home);
         return t;
     }
 
@@ -127,7 +148,16 @@ final class ObjectPoolManager<T extends PoolAware> implements ObjectPool<T> {
             } catch (Throwable ignored) {
             }
         }
-        int idx = partitionForObject(t);
+        int idx = partitionForRelease(t);
+        if (exhaustionPolicy == ExhaustionPolicy.ALLOCATE) {
+            // overflow instances may exceed capacity, drop rather than spin when every partition is full
+            for (int i = 0; i < partitions; i++) {
+                if (freePartitions[(idx + i) & mask].offer(t)) {
+                    return;
+                }
+            }
+            return;
+        }
         // offer should succeed as we never exceed capacity (sum across partitions)
         while (!freePartitions[idx].offer(t)) {
             // in unlikely full partition case, try next partition to avoid stall
@@ -165,7 +195,88 @@ final class ObjectPoolManager<T extends PoolAware> implements ObjectPool<T> {
         // outside pool management and may be retained elsewhere (e.g., cache).
     }
 
+    /**
+     * Create up to {@code count} instances within capacity and stage them round-robin
+     * across the partition free lists.
+     */
+    @Override
+    public int prewarm(int count) {
+        int added = 0;
+        int idx = 0;
+        while (added < count) {
+            int current = created.get();
+            if (current >= capacity) {
+                break;
+            }
+            if (!created.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            T t = factory.get();
+            boolean staged = false;
+            for (int i = 0; i < partitions && !staged; i++) {
+                staged = freePartitions[(idx + i) & mask].offer(t);
+            }
+            if (!staged) {
+                created.decrementAndGet();
+                break;
+            }
+            idx = (idx + 1) & mask;
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * Mark this pool as running on a configuration supplied factory, the first application
+     * call to {@link #bind(Supplier, Consumer)} replaces the factory and reset hook.
+     */
+    ObjectPoolManager<T> provisional() {
+        this.provisional = true;
+        return this;
+    }
+
+    boolean isProvisional() {
+        return provisional;
+    }
+
+    /**
+     * Adopt the application factory and reset hook for a pool that was created from configuration.
+     */
+    synchronized void bind(Supplier<T> factory, Consumer<T> resetHook) {
+        if (provisional) {
+            this.factory = Objects.requireNonNull(factory, "factory");
+            this.resetHook = resetHook;
+            this.provisional = false;
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    int partitions() {
+        return partitions;
+    }
+
+    ExhaustionPolicy exhaustionPolicy() {
+        return exhaustionPolicy;
+    }
+
+    private T stealFromPartitions(int home) {
+        for (int i = 0; i < partitions; i++) {
+            T t = freePartitions[(home + i) & mask].poll();
+            if (t != null) {
+                return t;
+            }
+        }
+        return null;
+    }
+
     private int homePartitionForCurrentThread() {
+        int laneKey = PoolAffinity.currentLaneKey();
+        if (laneKey >= 0) {
+            return laneKey & mask;
+        }
         long tid = Thread.currentThread().getId();
         int h = (int) (tid ^ (tid >>> 21) ^ (tid >>> 7));
         return h & mask;
@@ -178,11 +289,17 @@ final class ObjectPoolManager<T extends PoolAware> implements ObjectPool<T> {
         return h & mask;
     }
 
+    private int partitionForRelease(T t) {
+        PoolTracker<?> tracker = t.getPoolTracker();
+        int lane = tracker == null ? -1 : tracker.lane();
+        return lane >= 0 ? lane & mask : partitionForObject(t);
+    }
+
     private T pollFromPartition(int idx) {
         return freePartitions[idx].poll();
     }
 
-    private static int defaultPartitions() {
+    static int defaultPartitions() {
         int cores = Math.max(1, Runtime.getRuntime().availableProcessors());
         // limit to 8 by default to balance memory and contention
         int target = Math.min(8, cores);
@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.pool.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Binds agent threads to object pool lanes so pooled instances recycle through a partition
+ * dedicated to the producing agent.
+ * <p>
+ * A pool partition is selected from the lane key of the acquiring thread, and the instance is
+ * released back to that same partition by whichever consumer drops the last reference. Each
+ * producer–consumer pair therefore cycles instances through one free list instead of scattering
+ * them across partitions by identity hash. Lane keys are allocated densely in bind order from one
+ * sequence, one per configured {@code coreId} so agents pinned to the same core share a lane, and
+ * one per agent name for agents that are not pinned. A pool with as many partitions as lanes gives
+ * each lane its own partition, pinned and unpinned agents do not alias until the lanes outnumber
+ * the partitions. Threads that are not bound fall back to hashing the thread id.
+ */
+public final class PoolAffinity {
+
+    private static final ThreadLocal<Lane> CURRENT = new ThreadLocal<>();
+    private static final ConcurrentHashMap<LaneId, Integer> LANE_KEYS = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_LANE = new AtomicInteger();
+
+    private PoolAffinity() {
+    }
+
+    /**
+     * Bind the current thread to the lane for an agent.
+     *
+     * @param agentName the agent role name
+     * @param coreId    the configured core of the agent thread, may be null
+     * @return the lane key bound to the thread
+     */
+    public static int bindCurrentThread(String agentName, Integer coreId) {
+        LaneId laneId = coreId != null && coreId >= 0
+                ? new LaneId(coreId, null)
+                : new LaneId(-1, String.valueOf(agentName));
+        int key = LANE_KEYS.computeIfAbsent(laneId, k -> NEXT_LANE.getAndIncrement());
+        CURRENT.set(new Lane(agentName, key));
+        return key;
+    }
+
+    /**
+     * Remove any lane binding from the current thread.
+     */
+    public static void unbindCurrentThread() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The lane key bound to the current thread, or -1 if unbound.
+     */
+    public static int currentLaneKey() {
+        Lane lane = CURRENT.get();
+        return lane == null ? -1 : lane.key();
+    }
+
+    /**
+     * The agent name bound to the current thread, or null if unbound.
+     */
+    public static String currentAgentName() {
+        Lane lane = CURRENT.get();
+        return lane == null ? null : lane.agentName();
+    }
+
+    private record Lane(String agentName, int key) {
+    }
+
+    private record LaneId(int coreId, String agentName) {
+    }
+}
@@ -4,6 +4,7 @@
  */
 package com.fluxtion.server.service.pool.impl;
 
+import com.fluxtion.server.service.metrics.EventStamps;
 import com.fluxtion.server.service.pool.ObjectPool;
 import com.fluxtion.server.service.pool.PoolAware;
 import lombok.ToString;
@@ -31,6 +32,11 @@ public final class PoolTracker<T extends PoolAware> {
      * Optional reset invoked when returning to pool.
      */
     private volatile Consumer<T> onReturn;
+    /**
+     * Partition of the originating pool the owner was acquired from, the owner is released back to it.
+     */
+    private volatile int lane = -1;
+    private final EventStamps stamps = new EventStamps();
 
     public PoolTracker() {
     }
@@ -52,6 +58,7 @@ public final class PoolTracker<T extends PoolAware> {
         // Always use the latest reset hook (optional), allows pool config changes to take effect.
         this.onReturn = onReturn;
         // Reactivate lifecycle
+        stamps.clear();
         refCount.set(1);
         returned.set(false);
     }
@@ -135,6 +142,22 @@ public final class PoolTracker<T extends PoolAware> {
         }
     }
 
+    /**
+     * Sequence and latency stamps for the owner, written by the framework when the publishing
+     * feed has latency stamping enabled.
+     */
+    public EventStamps stamps() {
+        return stamps;
+    }
+
+    int lane() {
+        return lane;
+    }
+
+    void lane(int lane) {
+        this.lane = lane;
+    }
+
     /**
      * For testing/metrics.
      */
@@ -0,0 +1,308 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.pool.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A pooled, mutable text payload for zero-GC text feeds.
+ * <p>
+ * Text is held in a growable char array exposed as a {@link CharSequence}, so data mappers can
+ * parse fields in place with {@link #indexOf(char, int)}, {@link #parseInt(int, int)} and
+ * {@link #parseLong(int, int)} without creating intermediate Strings. UTF-8 encoded bytes are
+ * available through {@link #byteBuffer()} for sinks that write bytes, and raw bytes can be decoded
+ * into the payload with {@link #appendUtf8(ByteBuffer)}. Internal buffers grow on demand and are
+ * reused across pool cycles, in steady state no allocation takes place.
+ * <p>
+ * Typical use with an object pool:
+ * <pre>{@code
+ * ObjectPool<PooledText> pool = registry.getOrCreate(PooledText.class, PooledText::new, PooledText::clear);
+ * PooledText text = pool.acquire();
+ * text.append("EURUSD,").append(1.0842);
+ * output.publish(text);
+ * }</pre>
+ * The same ownership rules apply as any other pooled event: receivers must not retain the
+ * instance beyond the event cycle, call {@link #toString()} to take a detached copy.
+ */
+public class PooledText extends BaseAutoCloseablePoolAware implements CharSequence, Appendable {
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private char[] chars;
+    private int length;
+    private CharBuffer charView;
+    private byte[] bytes;
+    private ByteBuffer byteView;
+    private int encodedLength = -1;
+    private CharsetEncoder encoder;
+    private CharsetDecoder decoder;
+
+    public PooledText() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public PooledText(int initialCapacity) {
+        chars = new char[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Reset the content to empty, retaining allocated buffers. Suitable as a pool reset hook.
+     */
+    public PooledText clear() {
+        length = 0;
+        encodedLength = -1;
+        return this;
+    }
+
+    @Override
+    public PooledText append(CharSequence csq) {
+        if (csq == null) {
+            return append("null", 0, 4);
+        }
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public PooledText append(CharSequence csq, int start, int end) {
+        if (csq == null) {
+            return append("null", 0, 4);
+        }
+        Objects.checkFromToIndex(start, end, csq.length());
+        int count = end - start;
+        ensureCapacity(length + count);
+        if (csq instanceof String s) {
+            s.getChars(start, end, chars, length);
+        } else if (csq instanceof PooledText other) {
+            System.arraycopy(other.chars, start, chars, length, count);
+        } else {
+            for (int i = start; i < end; i++) {
+                chars[length + i - start] = csq.charAt(i);
+            }
+        }
+        length += count;
+        encodedLength = -1;
+        return this;
+    }
+
+    @Override
+    public PooledText append(char c) {
+        ensureCapacity(length + 1);
+        chars[length++] = c;
+        encodedLength = -1;
+        return this;
+    }
+
+    public PooledText append(char[] src, int offset, int count) {
+        ensureCapacity(length + count);
+        System.arraycopy(src, offset, chars, length, count);
+        length += count;
+        encodedLength = -1;
+        return this;
+    }
+
+    public PooledText append(long value) {
+        if (value == Long.MIN_VALUE) {
+            return append("-9223372036854775808");
+        }
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensureCapacity(length + digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
+        length += digits;
+        encodedLength = -1;
+        return this;
+    }
+
+    public PooledText append(int value) {
+        return append((long) value);
+    }
+
+    /**
+     * Appends the decimal representation of a double, this path allocates and is intended for
+     * diagnostics rather than the hot path.
+     */
+    public PooledText append(double value) {
+        return append(Double.toString(value));
+    }
+
+    /**
+     * Decode UTF-8 bytes from the buffer's position to its limit and append them. The buffer
+     * position is advanced to the limit.
+     */
+    public PooledText appendUtf8(ByteBuffer src) {
+        if (decoder == null) {
+            decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        decoder.reset();
+        ensureCapacity(length + (int) (src.remaining() * (double) decoder.maxCharsPerByte()));
+        CharBuffer out = charView();
+        out.limit(chars.length).position(length);
+        decoder.decode(src, out, true);
+        decoder.flush(out);
+        length = out.position();
+        encodedLength = -1;
+        return this;
+    }
+
+    /**
+     * Decode UTF-8 bytes from the array region and append them.
+     */
+    public PooledText appendUtf8(byte[] src, int offset, int count) {
+        return appendUtf8(ByteBuffer.wrap(src, offset, count));
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index:" + index + " length:" + length);
+        }
+        return chars[index];
+    }
+
+    /**
+     * Returns a String copy of the range, allocates.
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return new String(chars, start, end - start);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    /**
+     * Index of the first occurrence of {@code c} at or after {@code fromIndex}, or -1.
+     */
+    public int indexOf(char c, int fromIndex) {
+        for (int i = Math.max(0, fromIndex); i < length; i++) {
+            if (chars[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Parse a signed decimal int from the range {@code [start, end)} without allocation.
+     */
+    public int parseInt(int start, int end) {
+        return Integer.parseInt(this, start, end, 10);
+    }
+
+    /**
+     * Parse a signed decimal long from the range {@code [start, end)} without allocation.
+     */
+    public long parseLong(int start, int end) {
+        return Long.parseLong(this, start, end, 10);
+    }
+
+    /**
+     * Compare content with another character sequence.
+     */
+    public boolean contentEquals(CharSequence other) {
+        if (other == null || other.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[i] != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A read-only view of the current content, position 0 and limit {@link #length()}. The view
+     * is reused and is invalidated by any later mutation.
+     */
+    public CharBuffer asCharBuffer() {
+        CharBuffer view = charView();
+        view.limit(length).position(0);
+        return view.asReadOnlyBuffer();
+    }
+
+    /**
+     * A view of the UTF-8 encoded content, position 0 and limit the encoded length. The view is
+     * array backed, the array and view are reused and invalidated by any later mutation.
+     */
+    public ByteBuffer byteBuffer() {
+        if (encodedLength < 0) {
+            encode();
+        }
+        byteView.limit(encodedLength).position(0);
+        return byteView;
+    }
+
+    /**
+     * Allocates a detached String copy of the content.
+     */
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+
+    private void encode() {
+        if (encoder == null) {
+            encoder = StandardCharsets.UTF_8.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        int required = (int) (length * (double) encoder.maxBytesPerChar());
+        if (bytes == null || bytes.length < required) {
+            bytes = new byte[Math.max(required, 64)];
+            byteView = ByteBuffer.wrap(bytes);
+        }
+        CharBuffer in = charView();
+        in.limit(length).position(0);
+        byteView.clear();
+        encoder.reset();
+        CoderResult result = encoder.encode(in, byteView, true);
+        if (!result.isUnderflow()) {
+            throw new IllegalStateException("unable to encode text:" + result);
+        }
+        encoder.flush(byteView);
+        encodedLength = byteView.position();
+    }
+
+    private CharBuffer charView() {
+        if (charView == null || charView.array() != chars) {
+            charView = CharBuffer.wrap(chars);
+        }
+        return charView;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > chars.length) {
+            char[] grown = new char[Math.max(required, chars.length << 1)];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+    }
+}
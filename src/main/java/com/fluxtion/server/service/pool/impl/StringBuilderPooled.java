@@ -8,6 +8,24 @@ package com.fluxtion.server.service.pool.impl;
 public class StringBuilderPooled extends BasePoolAware implements CharSequence{
     private final StringBuilder sb = new StringBuilder();
 
+    public StringBuilderPooled append(CharSequence csq) {
+        sb.append(csq);
+        return this;
+    }
+
+    public StringBuilderPooled append(char c) {
+        sb.append(c);
+        return this;
+    }
+
+    /**
+     * Reset the content to empty, suitable as a pool reset hook.
+     */
+    public StringBuilderPooled clear() {
+        sb.setLength(0);
+        return this;
+    }
+
     @Override
     public int length() {
         return sb.length();
@@ -22,4 +40,9 @@ public class StringBuilderPooled extends BasePoolAware implements CharSequence{
     public CharSequence subSequence(int start, int end) {
         return sb.subSequence(start, end);
     }
+
+    @Override
+    public String toString() {
+        return sb.toString();
+    }
 }
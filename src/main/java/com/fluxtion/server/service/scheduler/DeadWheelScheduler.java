@@ -8,46 +8,191 @@ package com.fluxtion.server.service.scheduler;
 
 import com.fluxtion.agrona.DeadlineTimerWheel;
 import com.fluxtion.agrona.collections.Long2ObjectHashMap;
-import com.fluxtion.agrona.concurrent.Agent;
 import com.fluxtion.agrona.concurrent.EpochNanoClock;
 import com.fluxtion.agrona.concurrent.OffsetEpochNanoClock;
 import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.server.service.metrics.TimerLagStats;
 
+import java.util.ArrayDeque;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * {@link SchedulerService} backed by a {@link DeadlineTimerWheel}, driven as an agent on the
+ * thread of the hosting agent group.
+ * <p>
+ * The wheel resolution is milliseconds by default, or microseconds for groups that need
+ * sub-millisecond timers. Timer ids are unique for the lifetime of the scheduler, so a stale id
+ * never cancels another timer. Timer bookkeeping objects are recycled and periodic timers keep
+ * their id and action across expiries, so in steady state scheduling, expiry and rescheduling do
+ * not allocate.
+ * <p>
+ * Expiry actions run inline on the agent group thread, so each duty cycle is bounded by an expiry
+ * budget and an optional time budget. When either is exhausted the remaining due timers stay in
+ * the wheel and fire first on the next cycle, letting a mass expiry share the duty cycle with the
+ * event queues of the group. At least one timer fires per cycle so timers always make progress.
+ * Timer lag, actual fire time minus scheduled time, is recorded in {@link #timerLagStats()}.
+ */
 @Experimental
-public class DeadWheelScheduler implements SchedulerService, Agent {
+public class DeadWheelScheduler implements SchedulerAgent {
 
-    protected final DeadlineTimerWheel timerWheel = new DeadlineTimerWheel(TimeUnit.MILLISECONDS, System.currentTimeMillis(), 1024, 1);
-    protected final Long2ObjectHashMap<Runnable> expiryActions = new Long2ObjectHashMap<>();
+    public static final int DEFAULT_EXPIRY_BUDGET = 100;
+    protected final DeadlineTimerWheel timerWheel;
     protected final EpochNanoClock clock;
+    private final TimeUnit resolution;
+    private final Long2ObjectHashMap<TimerTask> tasksById = new Long2ObjectHashMap<>();
+    private final Long2ObjectHashMap<TimerTask> tasksByWheelId = new Long2ObjectHashMap<>();
+    private final ArrayDeque<TimerTask> freeTasks = new ArrayDeque<>();
+    private final DeadlineTimerWheel.TimerHandler expiryHandler = this::onTimerExpiry;
+    private final TimerLagStats timerLagStats = new TimerLagStats(roleName());
+    private long nextTimerId = 1;
+    private TimerTask firingTask;
+    private int expiryBudget = DEFAULT_EXPIRY_BUDGET;
+    private long timeBudgetNanos;
+    private long cycleStartNanos;
+    private int cycleFired;
+    private boolean timeBudgetExhausted;
 
     public DeadWheelScheduler() {
         this(new OffsetEpochNanoClock());
     }
 
     public DeadWheelScheduler(EpochNanoClock clock) {
-        this.clock = clock;
-        timerWheel.currentTickTime(clock.nanoTime());
+        this(clock, TimeUnit.MILLISECONDS);
+    }
+
+    public DeadWheelScheduler(TimeUnit resolution) {
+        this(new OffsetEpochNanoClock(), resolution);
+    }
+
+    /**
+     * Create a scheduler with the given wheel resolution.
+     *
+     * @param clock      the clock driving timer expiry
+     * @param resolution {@link TimeUnit#MILLISECONDS} or {@link TimeUnit#MICROSECONDS}
+     */
+    public DeadWheelScheduler(EpochNanoClock clock, TimeUnit resolution) {
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.resolution = Objects.requireNonNull(resolution, "resolution");
+        long startTime = resolution.convert(clock.nanoTime(), TimeUnit.NANOSECONDS);
+        timerWheel = switch (resolution) {
+            // 1ms ticks, one second per rotation
+            case MILLISECONDS -> new DeadlineTimerWheel(TimeUnit.MILLISECONDS, startTime, 1, 1024);
+            // 64us ticks, ~262ms per rotation
+            case MICROSECONDS -> new DeadlineTimerWheel(TimeUnit.MICROSECONDS, startTime, 64, 4096);
+            default -> throw new IllegalArgumentException("unsupported timer resolution:" + resolution);
+        };
     }
 
     @Override
     public long scheduleAtTime(long expireTIme, Runnable expiryAction) {
-        long id = timerWheel.scheduleTimer(expireTIme);
-        expiryActions.put(id, expiryAction);
-        return id;
+        return schedule(resolution.convert(expireTIme, TimeUnit.MILLISECONDS), 0, expiryAction);
     }
 
     @Override
     public long scheduleAfterDelay(long waitTime, Runnable expiryAction) {
-        long id = timerWheel.scheduleTimer(milliTime() + waitTime);
-        expiryActions.put(id, expiryAction);
-        return id;
+        return scheduleAfterDelay(waitTime, TimeUnit.MILLISECONDS, expiryAction);
+    }
+
+    @Override
+    public long scheduleAfterDelay(long delay, TimeUnit unit, Runnable expiryAction) {
+        return schedule(wheelTime() + toWheelDuration(delay, unit), 0, expiryAction);
+    }
+
+    @Override
+    public long scheduleAtFixedRate(long initialDelay, long period, TimeUnit unit, Runnable action) {
+        long wheelPeriod = toWheelDuration(period, unit);
+        if (wheelPeriod <= 0) {
+            throw new IllegalArgumentException("period must be > 0");
+        }
+        return schedule(wheelTime() + toWheelDuration(initialDelay, unit), wheelPeriod, action);
+    }
+
+    @Override
+    public boolean cancel(long timerId) {
+        TimerTask task = tasksById.remove(timerId);
+        if (task == null) {
+            return false;
+        }
+        if (task == firingTask) {
+            // cancelled from its own action, recycled once the action returns
+            task.cancelled = true;
+            return true;
+        }
+        timerWheel.cancelTimer(task.wheelId);
+        tasksByWheelId.remove(task.wheelId);
+        recycle(task);
+        return true;
+    }
+
+    @Override
+    public int liveTimerCount() {
+        return tasksById.size();
+    }
+
+    public TimeUnit timerResolution() {
+        return resolution;
+    }
+
+    @Override
+    public int getExpiryBudget() {
+        return expiryBudget;
+    }
+
+    /**
+     * Maximum number of timers expired in a single duty cycle, defaults to {@link #DEFAULT_EXPIRY_BUDGET}.
+     */
+    @Override
+    public void setExpiryBudget(int expiryBudget) {
+        if (expiryBudget < 1) {
+            throw new IllegalArgumentException("expiryBudget must be > 0");
+        }
+        this.expiryBudget = expiryBudget;
+    }
+
+    @Override
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    @Override
+    public void setTimeBudgetNanos(long timeBudgetNanos) {
+        this.timeBudgetNanos = Math.max(0, timeBudgetNanos);
+    }
+
+    @Override
+    public TimerLagStats timerLagStats() {
+        return timerLagStats;
     }
 
     @Override
     public int doWork() {
-        return timerWheel.poll(milliTime(), this::onTimerExpiry, 100);
+        long nowNanos = clock.nanoTime();
+        long now = resolution.convert(nowNanos, TimeUnit.NANOSECONDS);
+        if (timerWheel.timerCount() == 0) {
+            // nothing to expire, jump the wheel forward rather than ticking through empty spokes
+            timerWheel.currentTickTime(now);
+            return 0;
+        }
+        // poll advances at most one tick per call, keep polling while the wheel moves forward so a
+        // late agent catches up in one duty cycle
+        cycleStartNanos = nowNanos;
+        cycleFired = 0;
+        timeBudgetExhausted = false;
+        int expired = 0;
+        long tickTime;
+        do {
+            tickTime = timerWheel.currentTickTime();
+            expired += timerWheel.poll(now, expiryHandler, expiryBudget - expired);
+        } while (!timeBudgetExhausted
+                && expired < expiryBudget
+                && timerWheel.timerCount() > 0
+                && timerWheel.currentTickTime() != tickTime);
+        if (timeBudgetExhausted || expired >= expiryBudget) {
+            // remaining due timers are carried over, the wheel resumes from the same slot next cycle
+            timerLagStats.recordDeferredCycle();
+        }
+        return expired;
     }
 
     @Override
@@ -55,11 +200,76 @@ public class DeadWheelScheduler implements SchedulerService, Agent {
         return "deadWheelScheduler";
     }
 
-    private boolean onTimerExpiry(TimeUnit timeUnit, long now, long timerId) {
-        expiryActions.remove(timerId).run();
+    private boolean onTimerExpiry(TimeUnit timeUnit, long now, long wheelId) {
+        TimerTask task = tasksByWheelId.get(wheelId);
+        if (task == null) {
+            return true;
+        }
+        long fireNanos = clock.nanoTime();
+        if (timeBudgetNanos > 0 && cycleFired > 0 && fireNanos - cycleStartNanos >= timeBudgetNanos) {
+            // leave the timer in the wheel, it fires first on the next cycle
+            timeBudgetExhausted = true;
+            return false;
+        }
+        tasksByWheelId.remove(wheelId);
+        cycleFired++;
+        timerLagStats.recordLag(fireNanos - resolution.toNanos(task.deadline));
+        firingTask = task;
+        try {
+            task.action.run();
+        } finally {
+            firingTask = null;
+            if (task.period > 0 && !task.cancelled) {
+                // fixed rate without drift, missed periods are skipped rather than replayed
+                long deadline = task.deadline + task.period;
+                if (deadline <= now) {
+                    deadline += ((now - deadline) / task.period + 1) * task.period;
+                }
+                task.deadline = deadline;
+                task.wheelId = timerWheel.scheduleTimer(deadline);
+                tasksByWheelId.put(task.wheelId, task);
+            } else {
+                if (!task.cancelled) {
+                    tasksById.remove(task.id);
+                }
+                recycle(task);
+            }
+        }
         return true;
     }
 
+    private long schedule(long deadline, long period, Runnable action) {
+        Objects.requireNonNull(action, "action");
+        TimerTask task = freeTasks.pollFirst();
+        if (task == null) {
+            task = new TimerTask();
+        }
+        task.id = nextTimerId++;
+        task.action = action;
+        task.period = period;
+        task.deadline = deadline;
+        task.cancelled = false;
+        task.wheelId = timerWheel.scheduleTimer(deadline);
+        tasksById.put(task.id, task);
+        tasksByWheelId.put(task.wheelId, task);
+        return task.id;
+    }
+
+    private void recycle(TimerTask task) {
+        task.action = null;
+        freeTasks.addFirst(task);
+    }
+
+    private long wheelTime() {
+        return resolution.convert(clock.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    private long toWheelDuration(long duration, TimeUnit unit) {
+        long wheelDuration = resolution.convert(duration, unit);
+        // round up so a timer never fires before its requested delay
+        return resolution.toNanos(wheelDuration) < unit.toNanos(duration) ? wheelDuration + 1 : wheelDuration;
+    }
+
     @Override
     public long milliTime() {
         long millisToNanos = clock.nanoTime() / 1_000_000;//TimeUnit.NANOSECONDS.toMillis(clock.nanoTime());
@@ -79,4 +289,13 @@ public class DeadWheelScheduler implements SchedulerService, Agent {
     public void setcurrentTickTime(long now) {
         timerWheel.currentTickTime(now);
     }
+
+    private static final class TimerTask {
+        private long id;
+        private long wheelId;
+        private long deadline;
+        private long period;
+        private boolean cancelled;
+        private Runnable action;
+    }
 }
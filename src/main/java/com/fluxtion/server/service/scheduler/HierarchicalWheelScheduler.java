@@ -0,0 +1,389 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.scheduler;
+
+import com.fluxtion.agrona.collections.Long2ObjectHashMap;
+import com.fluxtion.agrona.concurrent.EpochNanoClock;
+import com.fluxtion.agrona.concurrent.OffsetEpochNanoClock;
+import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.server.service.metrics.TimerLagStats;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SchedulerService} backed by a hierarchical timer wheel, for schedules that range from
+ * microseconds to days ahead.
+ * <p>
+ * The wheel has {@value #LEVELS} levels of 64 slots, each level covering 64 times the span of
+ * the level below. A timer is placed in the level that covers its distance from the current tick
+ * and moves down a level each time the wheel reaches its slot, so insert and cancel are constant
+ * cost at any horizon and each timer is handled at most once per level. Slots are intrusive
+ * linked lists and every level keeps an occupancy bitmap, the wheel jumps straight to the next
+ * tick with work rather than stepping through empty ticks. Timers beyond the horizon of the top
+ * level, 2<sup>42</sup> ticks, are parked in the top level and re-placed when it is reached.
+ * <p>
+ * Ticks are one unit of the resolution, milliseconds by default or microseconds. Ids, cancel,
+ * fixed rate timers, expiry budgets and timer lag metrics behave as in {@link DeadWheelScheduler}.
+ */
+@Experimental
+public class HierarchicalWheelScheduler implements SchedulerAgent {
+
+    public static final int DEFAULT_EXPIRY_BUDGET = 100;
+    public static final int LEVELS = 7;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final long HORIZON_TICKS = 1L << (SLOT_BITS * LEVELS);
+    private final EpochNanoClock clock;
+    private final TimeUnit resolution;
+    private final long tickNanos;
+    private final TimerTask[] slots = new TimerTask[LEVELS * SLOTS];
+    private final long[] occupied = new long[LEVELS];
+    private final Long2ObjectHashMap<TimerTask> tasksById = new Long2ObjectHashMap<>();
+    private final ArrayDeque<TimerTask> freeTasks = new ArrayDeque<>();
+    private final TimerLagStats timerLagStats = new TimerLagStats(roleName());
+    private long currentTick;
+    private long nowTick;
+    private boolean drainPending;
+    private long nextTimerId = 1;
+    private TimerTask firingTask;
+    private int expiryBudget = DEFAULT_EXPIRY_BUDGET;
+    private long timeBudgetNanos;
+    private long cycleStartNanos;
+    private int cycleFired;
+    private boolean timeBudgetExhausted;
+
+    public HierarchicalWheelScheduler() {
+        this(new OffsetEpochNanoClock());
+    }
+
+    public HierarchicalWheelScheduler(EpochNanoClock clock) {
+        this(clock, TimeUnit.MILLISECONDS);
+    }
+
+    public HierarchicalWheelScheduler(TimeUnit resolution) {
+        this(new OffsetEpochNanoClock(), resolution);
+    }
+
+    /**
+     * Create a scheduler with the given tick resolution.
+     *
+     * @param clock      the clock driving timer expiry
+     * @param resolution {@link TimeUnit#MILLISECONDS} or {@link TimeUnit#MICROSECONDS}
+     */
+    public HierarchicalWheelScheduler(EpochNanoClock clock, TimeUnit resolution) {
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.resolution = Objects.requireNonNull(resolution, "resolution");
+        if (resolution != TimeUnit.MILLISECONDS && resolution != TimeUnit.MICROSECONDS) {
+            throw new IllegalArgumentException("unsupported timer resolution:" + resolution);
+        }
+        this.tickNanos = resolution.toNanos(1);
+        this.currentTick = clock.nanoTime() / tickNanos;
+        this.nowTick = currentTick;
+    }
+
+    @Override
+    public long scheduleAtTime(long expireTIme, Runnable expiryAction) {
+        return schedule(resolution.convert(expireTIme, TimeUnit.MILLISECONDS), 0, expiryAction);
+    }
+
+    @Override
+    public long scheduleAfterDelay(long waitTime, Runnable expiryAction) {
+        return scheduleAfterDelay(waitTime, TimeUnit.MILLISECONDS, expiryAction);
+    }
+
+    @Override
+    public long scheduleAfterDelay(long delay, TimeUnit unit, Runnable expiryAction) {
+        return schedule(wheelTime() + toTicks(delay, unit), 0, expiryAction);
+    }
+
+    @Override
+    public long scheduleAtFixedRate(long initialDelay, long period, TimeUnit unit, Runnable action) {
+        long periodTicks = toTicks(period, unit);
+        if (periodTicks <= 0) {
+            throw new IllegalArgumentException("period must be > 0");
+        }
+        return schedule(wheelTime() + toTicks(initialDelay, unit), periodTicks, action);
+    }
+
+    @Override
+    public boolean cancel(long timerId) {
+        TimerTask task = tasksById.remove(timerId);
+        if (task == null) {
+            return false;
+        }
+        if (task == firingTask) {
+            task.cancelled = true;
+            return true;
+        }
+        unlink(task);
+        recycle(task);
+        return true;
+    }
+
+    @Override
+    public int liveTimerCount() {
+        return tasksById.size();
+    }
+
+    public TimeUnit timerResolution() {
+        return resolution;
+    }
+
+    @Override
+    public int getExpiryBudget() {
+        return expiryBudget;
+    }
+
+    @Override
+    public void setExpiryBudget(int expiryBudget) {
+        if (expiryBudget < 1) {
+            throw new IllegalArgumentException("expiryBudget must be > 0");
+        }
+        this.expiryBudget = expiryBudget;
+    }
+
+    @Override
+    public long getTimeBudgetNanos() {
+        return timeBudgetNanos;
+    }
+
+    @Override
+    public void setTimeBudgetNanos(long timeBudgetNanos) {
+        this.timeBudgetNanos = Math.max(0, timeBudgetNanos);
+    }
+
+    @Override
+    public TimerLagStats timerLagStats() {
+        return timerLagStats;
+    }
+
+    @Override
+    public int doWork() {
+        long nowNanos = clock.nanoTime();
+        nowTick = Math.max(currentTick, nowNanos / tickNanos);
+        cycleStartNanos = nowNanos;
+        cycleFired = 0;
+        timeBudgetExhausted = false;
+        int fired = drainPending ? drainCurrentTick(expiryBudget) : 0;
+        while (!drainPending) {
+            long tick = nextEventTick();
+            if (tick > nowTick) {
+                // nothing due, jump straight to now
+                currentTick = nowTick;
+                break;
+            }
+            advanceTo(tick);
+            fired += drainCurrentTick(expiryBudget - fired);
+        }
+        if (drainPending) {
+            // due timers left in the current slot fire first on the next cycle
+            timerLagStats.recordDeferredCycle();
+        }
+        return fired;
+    }
+
+    @Override
+    public String roleName() {
+        return "hierarchicalWheelScheduler";
+    }
+
+    /**
+     * The earliest tick after the current tick at which a slot on any level is due.
+     */
+    private long nextEventTick() {
+        long next = Long.MAX_VALUE;
+        long base = currentTick + 1;
+        for (int level = 0; level < LEVELS; level++) {
+            long mask = occupied[level];
+            if (mask == 0) {
+                continue;
+            }
+            int shift = level * SLOT_BITS;
+            long boundary = (base + (1L << shift) - 1) >>> shift;
+            int distance = Long.numberOfTrailingZeros(Long.rotateRight(mask, (int) (boundary & SLOT_MASK)));
+            next = Math.min(next, (boundary + distance) << shift);
+        }
+        return next;
+    }
+
+    /**
+     * Move to tick, cascading every higher level slot that starts at this tick down the wheel.
+     */
+    private void advanceTo(long tick) {
+        currentTick = tick;
+        for (int level = LEVELS - 1; level > 0; level--) {
+            int shift = level * SLOT_BITS;
+            if ((tick & ((1L << shift) - 1)) != 0) {
+                continue;
+            }
+            int slotIndex = (level << SLOT_BITS) + (int) ((tick >>> shift) & SLOT_MASK);
+            TimerTask task = slots[slotIndex];
+            if (task == null) {
+                continue;
+            }
+            slots[slotIndex] = null;
+            occupied[level] &= ~(1L << (slotIndex & SLOT_MASK));
+            while (task != null) {
+                TimerTask next = task.next;
+                task.prev = null;
+                task.next = null;
+                insert(task, tick);
+                task = next;
+            }
+        }
+        drainPending = true;
+    }
+
+    private int drainCurrentTick(int budget) {
+        int slotIndex = (int) (currentTick & SLOT_MASK);
+        int fired = 0;
+        while (true) {
+            TimerTask task = slots[slotIndex];
+            if (task == null) {
+                drainPending = false;
+                return fired;
+            }
+            if (fired >= budget) {
+                return fired;
+            }
+            long fireNanos = clock.nanoTime();
+            if (timeBudgetNanos > 0 && cycleFired > 0 && fireNanos - cycleStartNanos >= timeBudgetNanos) {
+                timeBudgetExhausted = true;
+                return fired;
+            }
+            unlink(task);
+            fired++;
+            fire(task, fireNanos);
+        }
+    }
+
+    private void fire(TimerTask task, long fireNanos) {
+        cycleFired++;
+        timerLagStats.recordLag(fireNanos - task.deadline * tickNanos);
+        firingTask = task;
+        try {
+            task.action.run();
+        } finally {
+            firingTask = null;
+            if (task.period > 0 && !task.cancelled) {
+                // fixed rate without drift, missed periods are skipped rather than replayed
+                long deadline = task.deadline + task.period;
+                if (deadline <= nowTick) {
+                    deadline += ((nowTick - deadline) / task.period + 1) * task.period;
+                }
+                task.deadline = deadline;
+                insert(task, currentTick + 1);
+            } else {
+                if (!task.cancelled) {
+                    tasksById.remove(task.id);
+                }
+                recycle(task);
+            }
+        }
+    }
+
+    private long schedule(long deadline, long period, Runnable action) {
+        Objects.requireNonNull(action, "action");
+        TimerTask task = freeTasks.pollFirst();
+        if (task == null) {
+            task = new TimerTask();
+        }
+        task.id = nextTimerId++;
+        task.action = action;
+        task.period = period;
+        task.deadline = deadline;
+        task.cancelled = false;
+        insert(task, currentTick + 1);
+        tasksById.put(task.id, task);
+        return task.id;
+    }
+
+    /**
+     * Place a timer in the level covering its distance from the current tick, a timer due before
+     * earliestTick is placed at earliestTick.
+     */
+    private void insert(TimerTask task, long earliestTick) {
+        long slotTick = Math.max(task.deadline, earliestTick);
+        long delta = slotTick - currentTick;
+        if (delta >= HORIZON_TICKS) {
+            // parked in the top level, re-placed by its real deadline when the slot is reached
+            delta = HORIZON_TICKS - 1;
+            slotTick = currentTick + delta;
+        }
+        int level = delta < SLOTS ? 0 : (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+        int slot = (int) ((slotTick >>> (level * SLOT_BITS)) & SLOT_MASK);
+        int slotIndex = (level << SLOT_BITS) + slot;
+        TimerTask head = slots[slotIndex];
+        task.next = head;
+        if (head != null) {
+            head.prev = task;
+        }
+        slots[slotIndex] = task;
+        task.slotIndex = slotIndex;
+        occupied[level] |= 1L << slot;
+    }
+
+    private void unlink(TimerTask task) {
+        int slotIndex = task.slotIndex;
+        if (task.prev != null) {
+            task.prev.next = task.next;
+        } else {
+            slots[slotIndex] = task.next;
+        }
+        if (task.next != null) {
+            task.next.prev = task.prev;
+        }
+        if (slots[slotIndex] == null) {
+            occupied[slotIndex >>> SLOT_BITS] &= ~(1L << (slotIndex & SLOT_MASK));
+        }
+        task.prev = null;
+        task.next = null;
+    }
+
+    private void recycle(TimerTask task) {
+        task.action = null;
+        freeTasks.addFirst(task);
+    }
+
+    private long wheelTime() {
+        return clock.nanoTime() / tickNanos;
+    }
+
+    private long toTicks(long duration, TimeUnit unit) {
+        long ticks = resolution.convert(duration, unit);
+        // round up so a timer never fires before its requested delay
+        return resolution.toNanos(ticks) < unit.toNanos(duration) ? ticks + 1 : ticks;
+    }
+
+    @Override
+    public long milliTime() {
+        return TimeUnit.NANOSECONDS.toMillis(clock.nanoTime());
+    }
+
+    @Override
+    public long microTime() {
+        return TimeUnit.NANOSECONDS.toMicros(clock.nanoTime());
+    }
+
+    @Override
+    public long nanoTime() {
+        return clock.nanoTime();
+    }
+
+    private static final class TimerTask {
+        private long id;
+        private long deadline;
+        private long period;
+        private boolean cancelled;
+        private int slotIndex;
+        private Runnable action;
+        private TimerTask prev;
+        private TimerTask next;
+    }
+}
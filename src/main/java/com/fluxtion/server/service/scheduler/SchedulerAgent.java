@@ -0,0 +1,40 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.scheduler;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.runtime.annotations.feature.Experimental;
+import com.fluxtion.server.service.metrics.TimerLagStats;
+
+/**
+ * A {@link SchedulerService} that expires its timers as an {@link Agent} on the thread of the
+ * hosting agent group. Expiry work in each duty cycle is bounded by an expiry budget and an
+ * optional time budget, due timers over budget carry over to the next cycle.
+ */
+@Experimental
+public interface SchedulerAgent extends SchedulerService, Agent {
+
+    /**
+     * Maximum number of timers expired in a single duty cycle.
+     */
+    void setExpiryBudget(int expiryBudget);
+
+    int getExpiryBudget();
+
+    /**
+     * Maximum time spent running expiry actions in a single duty cycle, 0 is unbounded.
+     */
+    void setTimeBudgetNanos(long timeBudgetNanos);
+
+    long getTimeBudgetNanos();
+
+    /**
+     * Number of timers scheduled and not yet expired or cancelled.
+     */
+    int liveTimerCount();
+
+    TimerLagStats timerLagStats();
+}
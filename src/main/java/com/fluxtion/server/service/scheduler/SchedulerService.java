@@ -7,6 +7,8 @@ package com.fluxtion.server.service.scheduler;
 
 import com.fluxtion.runtime.annotations.feature.Experimental;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Provides a scheduling service for executing actions at specified times or after delays. The
  * {@code SchedulerService} interface includes methods for scheduling tasks based on different
@@ -35,9 +37,80 @@ public interface SchedulerService {
      */
     long scheduleAfterDelay(long waitTime, Runnable expiryAction);
 
+    /**
+     * Schedules a task to execute after a delay expressed in any time unit. Delays finer than the
+     * resolution of the implementation are rounded up.
+     *
+     * @param delay        the delay before the task is executed
+     * @param unit         the unit of the delay
+     * @param expiryAction the action to be executed after the delay
+     * @return a unique identifier for the scheduled task
+     */
+    default long scheduleAfterDelay(long delay, TimeUnit unit, Runnable expiryAction) {
+        return scheduleAfterDelay(toMillisRoundedUp(delay, unit), expiryAction);
+    }
+
+    /**
+     * Schedules a task to execute repeatedly at a fixed rate. The task keeps the returned
+     * identifier for its lifetime, use {@link #cancel(long)} to stop it.
+     * <p>
+     * The default implementation reschedules the task through the millisecond methods after each
+     * execution, measuring each period from the previous expiry so the rate does not drift. Its
+     * periodic tasks can only be stopped by implementations that override {@link #cancel(long)}.
+     *
+     * @param initialDelay the delay before the first execution
+     * @param period       the period between executions
+     * @param unit         the unit of the delay and period
+     * @param action       the action to be executed each period
+     * @return a unique identifier for the periodic task
+     */
+    default long scheduleAtFixedRate(long initialDelay, long period, TimeUnit unit, Runnable action) {
+        long periodMillis = toMillisRoundedUp(period, unit);
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("period must be > 0");
+        }
+        class FixedRateTask implements Runnable {
+            private long expiry = milliTime() + toMillisRoundedUp(initialDelay, unit);
+
+            @Override
+            public void run() {
+                action.run();
+                expiry += periodMillis;
+                scheduleAfterDelay(Math.max(0, expiry - milliTime()), this);
+            }
+        }
+        FixedRateTask task = new FixedRateTask();
+        return scheduleAfterDelay(Math.max(0, task.expiry - milliTime()), task);
+    }
+
+    /**
+     * Schedules a task to execute repeatedly at a fixed rate in milliseconds.
+     *
+     * @see #scheduleAtFixedRate(long, long, TimeUnit, Runnable)
+     */
+    default long scheduleAtFixedRate(long initialDelay, long period, Runnable action) {
+        return scheduleAtFixedRate(initialDelay, period, TimeUnit.MILLISECONDS, action);
+    }
+
+    /**
+     * Cancels a scheduled task.
+     *
+     * @param timerId the identifier returned when the task was scheduled
+     * @return true if a live task was cancelled, false if it had already expired or was unknown,
+     * the default implementation cannot cancel and always returns false
+     */
+    default boolean cancel(long timerId) {
+        return false;
+    }
+
     long milliTime();
 
     long microTime();
 
     long nanoTime();
+
+    private static long toMillisRoundedUp(long duration, TimeUnit unit) {
+        long millis = unit.toMillis(duration);
+        return unit.convert(millis, TimeUnit.MILLISECONDS) < duration ? millis + 1 : millis;
+    }
 }
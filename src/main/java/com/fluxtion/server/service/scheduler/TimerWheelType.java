@@ -0,0 +1,21 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.scheduler;
+
+/**
+ * Timer wheel implementation backing the scheduler of an agent group.
+ */
+public enum TimerWheelType {
+    /**
+     * Single level {@link DeadWheelScheduler}, best for short delays within a wheel rotation.
+     */
+    DEADLINE,
+    /**
+     * Multi level {@link HierarchicalWheelScheduler}, constant cost insert and cancel for
+     * horizons from microseconds to days.
+     */
+    HIERARCHICAL
+}
@@ -8,9 +8,12 @@ package com.fluxtion.server.service.servercontrol;
 import com.fluxtion.runtime.annotations.runtime.ServiceRegistered;
 import com.fluxtion.runtime.lifecycle.Lifecycle;
 import com.fluxtion.server.service.admin.AdminCommandRegistry;
+import com.fluxtion.server.service.metrics.WorkAccounting;
 import lombok.extern.java.Log;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -76,6 +79,12 @@ public class MongooseServerAdmin implements Lifecycle {
 
         registry.registerCommand("server.processors.list", this::listProcessors);
         registry.registerCommand("server.processors.stop", this::stopProcessors);
+        registry.registerCommand("server.processors.migrate", this::migrateProcessors);
+
+        registry.registerCommand("server.accounting", this::printAccounting);
+        registry.registerCommand("server.accounting.enable", this::enableAccounting);
+        registry.registerCommand("server.accounting.disable", this::disableAccounting);
+        registry.registerCommand("server.accounting.reset", this::resetAccounting);
     }
 
     @Override
@@ -123,4 +132,73 @@ public class MongooseServerAdmin implements Lifecycle {
         String[] splitArgs = arg.split("/");
         serverController.stopProcessor(splitArgs[0], splitArgs[1]);
     }
+
+    private void migrateProcessors(List<String> args, Consumer<String> out, Consumer<String> err) {
+        if (args.size() < 3) {
+            err.accept("usage: server.processors.migrate <group/processor> <targetGroup>");
+            return;
+        }
+        String arg = args.get(1);
+        String[] splitArgs = arg.split("/");
+        if (splitArgs.length != 2) {
+            err.accept("usage: server.processors.migrate <group/processor> <targetGroup>");
+            return;
+        }
+        try {
+            serverController.migrateProcessor(splitArgs[0], splitArgs[1], args.get(2));
+            out.accept("migrating processor:" + arg + " to group:" + args.get(2));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            err.accept(e.getMessage());
+        }
+    }
+
+    private void printAccounting(List<String> args, Consumer<String> out, Consumer<String> err) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            for (WorkAccounting accounting : selectAccounting(args, err).values()) {
+                accounting.appendSummary(sb);
+            }
+        } catch (IOException e) {
+            err.accept(e.getMessage());
+        }
+        out.accept(sb.toString());
+    }
+
+    private void enableAccounting(List<String> args, Consumer<String> out, Consumer<String> err) {
+        setAccountingEnabled(args, out, err, true);
+    }
+
+    private void disableAccounting(List<String> args, Consumer<String> out, Consumer<String> err) {
+        setAccountingEnabled(args, out, err, false);
+    }
+
+    private void setAccountingEnabled(List<String> args, Consumer<String> out, Consumer<String> err, boolean enabled) {
+        selectAccounting(args, err).forEach((groupName, accounting) -> {
+            accounting.setEnabled(enabled);
+            out.accept((enabled ? "enabled" : "disabled") + " accounting for group:" + groupName);
+        });
+    }
+
+    private void resetAccounting(List<String> args, Consumer<String> out, Consumer<String> err) {
+        selectAccounting(args, err).forEach((groupName, accounting) -> {
+            accounting.reset();
+            out.accept("reset accounting for group:" + groupName);
+        });
+    }
+
+    /**
+     * All groups, or the single group named by the optional first argument.
+     */
+    private Map<String, WorkAccounting> selectAccounting(List<String> args, Consumer<String> err) {
+        Map<String, WorkAccounting> accounting = serverController.workAccounting();
+        if (args.size() < 2) {
+            return accounting;
+        }
+        String groupName = args.get(1);
+        if (!accounting.containsKey(groupName)) {
+            err.accept("no processor group " + groupName);
+            return Map.of();
+        }
+        return Map.of(groupName, accounting.get(groupName));
+    }
 }
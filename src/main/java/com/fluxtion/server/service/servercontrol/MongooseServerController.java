@@ -9,6 +9,7 @@ import com.fluxtion.agrona.concurrent.IdleStrategy;
 import com.fluxtion.runtime.StaticEventProcessor;
 import com.fluxtion.runtime.service.Service;
 import com.fluxtion.server.dutycycle.NamedEventProcessor;
+import com.fluxtion.server.service.metrics.WorkAccounting;
 
 import java.util.Collection;
 import java.util.Map;
@@ -90,4 +91,23 @@ public interface MongooseServerController {
      * @param processorName the name of the processor to be stopped
      */
     void stopProcessor(String groupName, String processorName);
+
+    /**
+     * Moves a running event processor to another processor group without losing or reordering
+     * events. The move completes asynchronously once every feed the processor subscribes to has
+     * published a further event. Timers the processor has pending move with it.
+     *
+     * @param groupName       the name of the group the processor currently runs in
+     * @param processorName   the name of the processor to move
+     * @param targetGroupName the name of the group to run the processor in
+     */
+    void migrateProcessor(String groupName, String processorName, String targetGroupName);
+
+    /**
+     * Retrieves the work accounting of each processor group, used to find the agents and
+     * processors consuming the duty cycle of a group.
+     *
+     * @return a map keyed by processor group name
+     */
+    Map<String, WorkAccounting> workAccounting();
 }
@@ -0,0 +1,241 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server;
+
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
+import com.fluxtion.runtime.annotations.runtime.ServiceRegistered;
+import com.fluxtion.runtime.lifecycle.Lifecycle;
+import com.fluxtion.runtime.node.ObjectEventHandlerNode;
+import com.fluxtion.runtime.output.MessageSink;
+import com.fluxtion.server.config.EventFeedConfig;
+import com.fluxtion.server.config.EventProcessorConfig;
+import com.fluxtion.server.config.EventProcessorGroupConfig;
+import com.fluxtion.server.config.EventSinkConfig;
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ServiceConfig;
+import com.fluxtion.server.config.ThreadConfig;
+import com.fluxtion.server.connector.memory.InMemoryEventSource;
+import com.fluxtion.server.connector.memory.InMemoryMessageSink;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates a graceful stop processes the events queued for a processor before the group closes
+ * and services stop.
+ */
+public class GracefulShutdownTest {
+
+    private static final int EVENT_COUNT = 200;
+
+    @Test
+    void stopDrainsQueuedEvents() throws Exception {
+        InMemoryEventSource<Integer> feed = new InMemoryEventSource<>();
+        SlowHandler handler = new SlowHandler();
+        StopRecordingService sink = new StopRecordingService(handler.count);
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("slow")
+                        .put("slowHandler", new EventProcessorConfig(handler))
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("slow")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(feed)
+                        .name("orders")
+                        .agent("orders-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .addService(ServiceConfig.builder()
+                        .service(sink)
+                        .serviceClass(Lifecycle.class)
+                        .name("sink")
+                        .build())
+                .shutdownDrainTimeoutMillis(TimeUnit.SECONDS.toMillis(20))
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            feed.offer(i);
+        }
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (handler.count.get() == 0 && System.nanoTime() < end) {
+            Thread.sleep(1);
+        }
+        // let the feed agent publish the rest of its buffer
+        Thread.sleep(50);
+        assertTrue(handler.count.get() < EVENT_COUNT, "events processed before stop");
+
+        server.stop();
+        assertEquals(EVENT_COUNT, handler.count.get());
+        assertEquals(EVENT_COUNT, sink.processedAtStop, "services stop after the drain");
+    }
+
+    @Test
+    void agentHostedSinkReceivesDrainOutput() throws Exception {
+        InMemoryEventSource<Integer> feed = new InMemoryEventSource<>();
+        SlowForwarder handler = new SlowForwarder();
+        InMemoryMessageSink memSink = new InMemoryMessageSink();
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("slow")
+                        .put("slowForwarder", new EventProcessorConfig(handler))
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("slow")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(feed)
+                        .name("orders")
+                        .agent("orders-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .addEventSink(EventSinkConfig.<MessageSink<?>>builder()
+                        .instance(memSink)
+                        .name("memSink")
+                        .async(256, 16)
+                        .agent("sink-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .shutdownDrainTimeoutMillis(TimeUnit.SECONDS.toMillis(20))
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            feed.offer(i);
+        }
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (handler.count.get() == 0 && System.nanoTime() < end) {
+            Thread.sleep(1);
+        }
+        Thread.sleep(50);
+        assertTrue(handler.count.get() < EVENT_COUNT, "events processed before stop");
+
+        server.stop();
+        assertEquals(EVENT_COUNT, handler.count.get());
+        assertEquals(EVENT_COUNT, memSink.getMessages().size(), "sink agent closes after the drain");
+    }
+
+    @Test
+    void sourceWithoutAgentStopsPublishingBeforeDrain() throws Exception {
+        InMemoryEventSource<Integer> feed = new InMemoryEventSource<>();
+        SlowHandler handler = new SlowHandler();
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("slow")
+                        .put("slowHandler", new EventProcessorConfig(handler))
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("slow")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(feed)
+                        .name("orders")
+                        .build())
+                .shutdownDrainTimeoutMillis(TimeUnit.SECONDS.toMillis(20))
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        // publishes from its own thread faster than the handler processes
+        AtomicBoolean publishing = new AtomicBoolean(true);
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; publishing.get(); i++) {
+                feed.publishNow(i);
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(500));
+            }
+        });
+        publisher.start();
+        try {
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (handler.count.get() < 100 && System.nanoTime() < end) {
+                Thread.sleep(1);
+            }
+
+            long start = System.nanoTime();
+            server.stop();
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10), "drain finished without waiting for the publisher");
+            int processed = handler.count.get();
+            Thread.sleep(50);
+            assertEquals(processed, handler.count.get(), "no events processed after stop");
+        } finally {
+            publishing.set(false);
+            publisher.join();
+        }
+    }
+
+    public static class SlowForwarder extends SlowHandler {
+        private MessageSink<Object> sink;
+
+        @ServiceRegistered
+        public void sink(MessageSink<Object> sink, String name) {
+            this.sink = sink;
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            super.handleEvent(event);
+            if (sink != null && event instanceof Integer) {
+                sink.accept(event);
+            }
+            return true;
+        }
+    }
+
+    public static class SlowHandler extends ObjectEventHandlerNode {
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void start() {
+            getContext().subscribeToNamedFeed("orders");
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            if (event instanceof Integer) {
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                count.incrementAndGet();
+            }
+            return true;
+        }
+    }
+
+    public static class StopRecordingService implements Lifecycle {
+        private final AtomicInteger processed;
+        volatile int processedAtStop = -1;
+
+        public StopRecordingService(AtomicInteger processed) {
+            this.processed = processed;
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void stop() {
+            processedAtStop = processed.get();
+        }
+
+        @Override
+        public void tearDown() {
+        }
+    }
+}
@@ -4,15 +4,19 @@
  */
 package com.fluxtion.server;
 
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
 import com.fluxtion.runtime.lifecycle.Lifecycle;
 import com.fluxtion.runtime.service.Service;
 import com.fluxtion.server.config.MongooseServerConfig;
 import com.fluxtion.server.dispatch.EventFlowManager;
+import com.fluxtion.server.dutycycle.ServiceAgent;
 import com.fluxtion.server.service.EventSubscriptionKey;
 import com.fluxtion.server.service.LifeCycleEventSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -59,7 +63,45 @@ public class MongooseServerLifecycleTest {
         server.stop();
     }
 
+    @Test
+    void failedAgentGroupStartFailsServerStart() {
+        FailingStartAgent agent = new FailingStartAgent();
+        server.registerWorkerService(new ServiceAgent<>(
+                "failing-agent", new SleepingMillisIdleStrategy(), new Service<>(agent, Lifecycle.class, "failingService"), agent));
+        server.init();
+        assertThrows(IllegalStateException.class, server::start, "start fails rather than waiting for the group");
+    }
+
     // Test fixtures
+    public static class FailingStartAgent implements Agent, Lifecycle {
+        @Override
+        public int doWork() {
+            return 0;
+        }
+
+        @Override
+        public String roleName() {
+            return "failingService";
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void start() {
+            throw new IllegalArgumentException("service start failed");
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void tearDown() {
+        }
+    }
+
     public static class TestService implements Lifecycle {
         boolean initialized;
         boolean started;
@@ -11,9 +11,12 @@ import com.fluxtion.runtime.audit.LogRecord;
 import com.fluxtion.runtime.audit.LogRecordListener;
 import com.fluxtion.runtime.lifecycle.Lifecycle;
 import com.fluxtion.runtime.service.Service;
+import com.fluxtion.server.config.ExecutionMode;
 import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ThreadConfig;
 import com.fluxtion.server.dispatch.EventFlowManager;
 import com.fluxtion.server.dispatch.EventToQueuePublisher;
+import com.fluxtion.server.dutycycle.AdaptiveIdleStrategy;
 import com.fluxtion.server.dutycycle.NamedEventProcessor;
 import com.fluxtion.server.service.EventFlowService;
 import com.fluxtion.server.service.EventSource;
@@ -166,6 +169,20 @@ public class MongooseServerTest {
         // But we can verify that the method doesn't throw an exception
     }
 
+    @Test
+    void testUnconfiguredVirtualGroupParks() {
+        mongooseServerConfig.setAgentThreads(List.of(
+                ThreadConfig.builder().agentName("virtualGroup").executionMode(ExecutionMode.VIRTUAL).build(),
+                ThreadConfig.builder().agentName("platformGroup").build(),
+                ThreadConfig.builder().agentName("configuredGroup").executionMode(ExecutionMode.VIRTUAL)
+                        .idleStrategy(testIdleStrategy).build()));
+
+        assertInstanceOf(AdaptiveIdleStrategy.class, mongooseServer.groupIdleStrategy("virtualGroup", null));
+        assertSame(mongooseServerConfig.getIdleStrategy(), mongooseServer.groupIdleStrategy("platformGroup", null));
+        assertSame(testIdleStrategy, mongooseServer.groupIdleStrategy("configuredGroup", null));
+        assertSame(testIdleStrategy, mongooseServer.groupIdleStrategy("virtualGroup", testIdleStrategy));
+    }
+
     // Test implementations
 
     private static class TestLogRecordListener implements LogRecordListener {
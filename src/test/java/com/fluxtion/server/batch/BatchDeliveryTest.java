@@ -0,0 +1,201 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.batch;
+
+import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.server.dispatch.AbstractEventToInvocationStrategy;
+import com.fluxtion.server.dispatch.EventToOnEventInvokeStrategy;
+import com.fluxtion.server.dispatch.EventToQueuePublisher;
+import com.fluxtion.server.dispatch.QueueFilter;
+import com.fluxtion.server.dutycycle.EventQueueToEventProcessorAgent;
+import com.fluxtion.server.service.SubscriptionFilter;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.impl.Pools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates a pooled batch crosses the queue as one item, is unwrapped per item for plain
+ * processors, delivered whole to batch processors and recycled after dispatch.
+ */
+public class BatchDeliveryTest {
+
+    @AfterEach
+    void cleanup() {
+        Pools.SHARED.remove(PooledBatchDto.class);
+    }
+
+    @Test
+    void batchIsOneQueueItem() {
+        ObjectPool<PooledBatchDto> pool = Pools.SHARED.getOrCreate(PooledBatchDto.class, PooledBatchDto::new, PooledBatchDto::clear);
+        EventToQueuePublisher<BatchDto> publisher = new EventToQueuePublisher<>("prices");
+        OneToOneConcurrentArrayQueue<Object> queue = new OneToOneConcurrentArrayQueue<>(16);
+        publisher.addTargetQueue(queue, "consumer");
+        EventQueueToEventProcessorAgent agent = new EventQueueToEventProcessorAgent(queue, new EventToOnEventInvokeStrategy(), "batchTest");
+        RecordingProcessor items = new RecordingProcessor();
+        RecordingBatchProcessor batches = new RecordingBatchProcessor();
+        agent.registerProcessor(items);
+        agent.registerProcessor(batches);
+
+        PooledBatchDto batch = pool.acquire();
+        int available = pool.availableCount();
+        for (int i = 0; i < 40; i++) {
+            batch.addBatchItem(i);
+        }
+        publisher.publish(batch);
+        assertEquals(1, queue.size());
+        assertEquals(1, agent.doWork());
+
+        assertEquals(40, items.events.size());
+        assertEquals(List.of(0, 1, 2), items.events.subList(0, 3));
+        assertEquals(List.of(40), batches.batchSizes);
+        assertEquals(available + 1, pool.availableCount(), "batch returned to pool");
+        assertTrue(batch.isEmpty(), "batch cleared on return");
+    }
+
+    @Test
+    void filtersApplyToItems() {
+        EventToQueuePublisher<BatchDto> publisher = new EventToQueuePublisher<>("prices");
+        OneToOneConcurrentArrayQueue<Object> queue = new OneToOneConcurrentArrayQueue<>(16);
+        QueueFilter queueFilter = new QueueFilter();
+        publisher.addTargetQueue(queue, "consumer", null, queueFilter);
+        EventQueueToEventProcessorAgent agent = new EventQueueToEventProcessorAgent(queue, new EventToOnEventInvokeStrategy(), "batchTest")
+                .withQueueFilter(queueFilter);
+        RecordingProcessor evens = new RecordingProcessor();
+        agent.registerProcessor(evens, SubscriptionFilter.typed(Integer.class, i -> i % 2 == 0));
+
+        BatchDto odds = new BatchDto();
+        odds.addBatchItem(1);
+        odds.addBatchItem(3);
+        publisher.publish(odds);
+        assertTrue(queue.isEmpty(), "batch without accepted items is not written");
+
+        BatchDto mixed = new BatchDto();
+        for (int i = 0; i < 5; i++) {
+            mixed.addBatchItem(i);
+        }
+        publisher.publish(mixed);
+        agent.doWork();
+        assertEquals(List.of(0, 2, 4), evens.events);
+    }
+
+    @Test
+    void filteredBatchProcessorReceivesAcceptedItems() {
+        EventToOnEventInvokeStrategy strategy = new EventToOnEventInvokeStrategy();
+        RecordingBatchProcessor evens = new RecordingBatchProcessor();
+        RecordingBatchProcessor all = new RecordingBatchProcessor();
+        strategy.registerProcessor(evens, SubscriptionFilter.typed(Integer.class, i -> i % 2 == 0));
+        strategy.registerProcessor(all);
+
+        BatchDto mixed = new BatchDto();
+        for (int i = 0; i < 5; i++) {
+            mixed.addBatchItem(i);
+        }
+        strategy.processBatch(mixed);
+        assertEquals(List.of(3), evens.batchSizes);
+        assertEquals(List.of(0, 2, 4), evens.items);
+        assertEquals(List.of(5), all.batchSizes);
+
+        BatchDto odds = new BatchDto();
+        odds.addBatchItem(1);
+        odds.addBatchItem(3);
+        strategy.processBatch(odds);
+        assertEquals(List.of(3), evens.batchSizes, "no batch without accepted items");
+        assertEquals(List.of(5, 2), all.batchSizes);
+        assertEquals(5, mixed.size(), "delivered batch is not modified");
+    }
+
+    @Test
+    void mappingStrategyDispatchesItemsToBatchProcessor() {
+        CallbackStrategy strategy = new CallbackStrategy();
+        CallbackBatchProcessor processor = new CallbackBatchProcessor();
+        strategy.registerProcessor(processor, SubscriptionFilter.typed(Integer.class, i -> i > 0));
+
+        BatchDto batch = new BatchDto();
+        for (int i = 0; i < 3; i++) {
+            batch.addBatchItem(i);
+        }
+        strategy.processBatch(batch);
+        assertEquals(List.of(1, 2), processor.callbacks);
+        assertEquals(List.of(), processor.batchSizes, "batch not delivered through onEvent");
+    }
+
+    @Test
+    void batchDataIsMutableAndValueEqual() {
+        BatchDto batch = new BatchDto();
+        batch.getBatchData().add("a");
+        batch.addBatchItem("b");
+        assertEquals(List.of("a", "b"), batch.getBatchData());
+
+        PooledBatchDto pooled = new PooledBatchDto(1);
+        pooled.addBatchItem("b");
+        pooled.getBatchData().add(0, "a");
+        assertEquals(batch, pooled);
+        assertEquals(batch.hashCode(), pooled.hashCode());
+
+        pooled.getBatchData().set(1, "c");
+        pooled.getBatchData().remove("a");
+        assertEquals(List.of("c"), pooled.getBatchData());
+        assertEquals("c", pooled.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> pooled.get(1));
+        assertNotEquals(batch, pooled);
+    }
+
+    static class RecordingProcessor implements StaticEventProcessor {
+        final List<Object> events = new ArrayList<>();
+
+        @Override
+        public void onEvent(Object event) {
+            events.add(event);
+        }
+    }
+
+    static class RecordingBatchProcessor implements BatchEventProcessor {
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<Object> items = new ArrayList<>();
+
+        @Override
+        public void onEvent(Object event) {
+            if (event instanceof BatchDto batch) {
+                batchSizes.add(batch.size());
+                items.addAll(batch.getBatchData());
+            }
+        }
+    }
+
+    public interface IntCallback {
+        void onInt(Integer value);
+    }
+
+    static class CallbackBatchProcessor extends RecordingBatchProcessor implements IntCallback {
+        final List<Integer> callbacks = new ArrayList<>();
+
+        @Override
+        public void onInt(Integer value) {
+            callbacks.add(value);
+        }
+    }
+
+    static class CallbackStrategy extends AbstractEventToInvocationStrategy {
+        @Override
+        protected void dispatchEvent(Object event, StaticEventProcessor eventProcessor) {
+            if (event instanceof Integer value) {
+                ((IntCallback) eventProcessor).onInt(value);
+            }
+        }
+
+        @Override
+        protected boolean isValidTarget(StaticEventProcessor eventProcessor) {
+            return eventProcessor instanceof IntCallback;
+        }
+    }
+}
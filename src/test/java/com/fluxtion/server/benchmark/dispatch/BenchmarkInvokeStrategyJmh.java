@@ -0,0 +1,308 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server.benchmark.dispatch;
+
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.server.batch.BatchDto;
+import com.fluxtion.server.dispatch.AbstractEventToInvocationStrategy;
+import com.fluxtion.server.dispatch.GeneratedEventToInvokeStrategy;
+import com.fluxtion.server.service.EventToInvokeStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of dispatching to typed callbacks through an invocation strategy:
+ * <ul>
+ *     <li>handWritten: a strategy class per callback interface casting to it, the baseline</li>
+ *     <li>reflective: a strategy calling the callback with {@link Method#invoke}</li>
+ *     <li>generated: {@link GeneratedEventToInvokeStrategy#factory(Class)}, a strategy class and
+ *     invoker generated per callback interface</li>
+ * </ul>
+ * A server runs several strategies, the setup first exercises strategies of three callback types,
+ * each with a processor of its own, so call sites shared between strategy classes see more than one
+ * type as they do in a server.
+ * Each benchmark dispatches a single event or a batch of {@link #BATCH_SIZE} events, the mixed
+ * benchmarks dispatch a batch of each of the three callback types in turn as a server with three
+ * feeds does.
+ * <p>
+ * Run via main(): for example
+ * BenchmarkInvokeStrategyJmh -p processors=1,4
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkInvokeStrategyJmh {
+
+    static final int BATCH_SIZE = 16;
+    private static final int POLLUTE_COUNT = 20_000;
+
+    public interface TradeListener {
+        void onTrade(Trade trade);
+    }
+
+    public interface QuoteListener {
+        void onQuote(Quote quote);
+    }
+
+    public interface OrderListener {
+        void onOrder(Order order);
+    }
+
+    public record Trade(String symbol, long quantity) {
+    }
+
+    public record Quote(String symbol, double price) {
+    }
+
+    public record Order(String symbol, long quantity) {
+    }
+
+    @Param({"1", "4"})
+    public int processors;
+
+    private final Trade trade = new Trade("EURUSD", 100);
+    private final BatchDto batch = new BatchDto();
+    private final BatchDto quoteBatch = new BatchDto();
+    private final BatchDto orderBatch = new BatchDto();
+    private EventToInvokeStrategy handWritten;
+    private EventToInvokeStrategy reflective;
+    private EventToInvokeStrategy generated;
+    private EventToInvokeStrategy quoteHandWritten;
+    private EventToInvokeStrategy orderHandWritten;
+    private EventToInvokeStrategy quoteGenerated;
+    private EventToInvokeStrategy orderGenerated;
+    private TradeProcessor[] targets;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        handWritten = new TradeStrategy();
+        reflective = new ReflectiveStrategy(TradeListener.class.getMethod("onTrade", Trade.class));
+        generated = GeneratedEventToInvokeStrategy.factory(TradeListener.class).get();
+        targets = new TradeProcessor[processors];
+        for (int i = 0; i < processors; i++) {
+            targets[i] = new TradeProcessor();
+            handWritten.registerProcessor(targets[i]);
+            reflective.registerProcessor(targets[i]);
+            generated.registerProcessor(targets[i]);
+        }
+        Quote quote = new Quote("EURUSD", 1.1);
+        Order order = new Order("EURUSD", 10);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.addBatchItem(trade);
+            quoteBatch.addBatchItem(quote);
+            orderBatch.addBatchItem(order);
+        }
+        quoteHandWritten = new QuoteStrategy();
+        orderHandWritten = new OrderStrategy();
+        quoteGenerated = GeneratedEventToInvokeStrategy.factory(QuoteListener.class).get();
+        orderGenerated = GeneratedEventToInvokeStrategy.factory(OrderListener.class).get();
+        for (int i = 0; i < processors; i++) {
+            QuoteProcessor quoteProcessor = new QuoteProcessor();
+            quoteHandWritten.registerProcessor(quoteProcessor);
+            quoteGenerated.registerProcessor(quoteProcessor);
+            OrderProcessor orderProcessor = new OrderProcessor();
+            orderHandWritten.registerProcessor(orderProcessor);
+            orderGenerated.registerProcessor(orderProcessor);
+        }
+        pollute(quoteHandWritten, quoteGenerated, quote);
+        pollute(orderHandWritten, orderGenerated, order);
+        pollute(handWritten, generated, trade);
+    }
+
+    @Benchmark
+    public long handWritten() {
+        handWritten.processEvent(trade);
+        return targets[0].volume;
+    }
+
+    @Benchmark
+    public long reflective() {
+        reflective.processEvent(trade);
+        return targets[0].volume;
+    }
+
+    @Benchmark
+    public long generated() {
+        generated.processEvent(trade);
+        return targets[0].volume;
+    }
+
+    @Benchmark
+    public long handWrittenBatch() {
+        handWritten.processBatch(batch);
+        return targets[0].volume;
+    }
+
+    @Benchmark
+    public long reflectiveBatch() {
+        reflective.processBatch(batch);
+        return targets[0].volume;
+    }
+
+    @Benchmark
+    public long generatedBatch() {
+        generated.processBatch(batch);
+        return targets[0].volume;
+    }
+
+    @Benchmark
+    public long handWrittenMixed() {
+        handWritten.processBatch(batch);
+        quoteHandWritten.processBatch(quoteBatch);
+        orderHandWritten.processBatch(orderBatch);
+        return targets[0].volume;
+    }
+
+    @Benchmark
+    public long generatedMixed() {
+        generated.processBatch(batch);
+        quoteGenerated.processBatch(quoteBatch);
+        orderGenerated.processBatch(orderBatch);
+        return targets[0].volume;
+    }
+
+    private static void pollute(EventToInvokeStrategy handWritten, EventToInvokeStrategy generated, Object event) {
+        StaticEventProcessor processor = event instanceof Trade ? new TradeProcessor()
+                : event instanceof Quote ? new QuoteProcessor() : new OrderProcessor();
+        handWritten.registerProcessor(processor);
+        generated.registerProcessor(processor);
+        BatchDto batch = new BatchDto();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.addBatchItem(event);
+        }
+        for (int i = 0; i < POLLUTE_COUNT; i++) {
+            handWritten.processEvent(event);
+            generated.processEvent(event);
+            handWritten.processBatch(batch);
+            generated.processBatch(batch);
+        }
+        handWritten.deregisterProcessor(processor);
+        generated.deregisterProcessor(processor);
+    }
+
+    public static class TradeProcessor implements StaticEventProcessor, TradeListener {
+        long volume;
+
+        @Override
+        public void onTrade(Trade trade) {
+            volume += trade.quantity();
+        }
+
+        @Override
+        public void onEvent(Object event) {
+        }
+    }
+
+    public static class QuoteProcessor implements StaticEventProcessor, QuoteListener {
+        double total;
+
+        @Override
+        public void onQuote(Quote quote) {
+            total += quote.price();
+        }
+
+        @Override
+        public void onEvent(Object event) {
+        }
+    }
+
+    public static class OrderProcessor implements StaticEventProcessor, OrderListener {
+        long volume;
+
+        @Override
+        public void onOrder(Order order) {
+            volume += order.quantity();
+        }
+
+        @Override
+        public void onEvent(Object event) {
+        }
+    }
+
+    private static class TradeStrategy extends AbstractEventToInvocationStrategy {
+        @Override
+        protected void dispatchEvent(Object event, StaticEventProcessor eventProcessor) {
+            if (event instanceof Trade trade) {
+                ((TradeListener) eventProcessor).onTrade(trade);
+            }
+        }
+
+        @Override
+        protected boolean isValidTarget(StaticEventProcessor eventProcessor) {
+            return eventProcessor instanceof TradeListener;
+        }
+    }
+
+    private static class QuoteStrategy extends AbstractEventToInvocationStrategy {
+        @Override
+        protected void dispatchEvent(Object event, StaticEventProcessor eventProcessor) {
+            if (event instanceof Quote quote) {
+                ((QuoteListener) eventProcessor).onQuote(quote);
+            }
+        }
+
+        @Override
+        protected boolean isValidTarget(StaticEventProcessor eventProcessor) {
+            return eventProcessor instanceof QuoteListener;
+        }
+    }
+
+    private static class OrderStrategy extends AbstractEventToInvocationStrategy {
+        @Override
+        protected void dispatchEvent(Object event, StaticEventProcessor eventProcessor) {
+            if (event instanceof Order order) {
+                ((OrderListener) eventProcessor).onOrder(order);
+            }
+        }
+
+        @Override
+        protected boolean isValidTarget(StaticEventProcessor eventProcessor) {
+            return eventProcessor instanceof OrderListener;
+        }
+    }
+
+    private static class ReflectiveStrategy extends AbstractEventToInvocationStrategy {
+        private final Method method;
+
+        private ReflectiveStrategy(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        protected void dispatchEvent(Object event, StaticEventProcessor eventProcessor) {
+            try {
+                method.invoke(eventProcessor, event);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        protected boolean isValidTarget(StaticEventProcessor eventProcessor) {
+            return eventProcessor instanceof TradeListener;
+        }
+    }
+
+    /**
+     * Launches JMH using its standard main.
+     */
+    public static void main(String[] args) throws Exception {
+        try {
+            org.openjdk.jmh.Main.main(args);
+        } catch (RuntimeException e) {
+            String msg = String.valueOf(e.getMessage());
+            if (msg.contains("META-INF/BenchmarkList")) {
+                System.err.println("[INFO] JMH benchmark metadata not found. Ensure annotation processing for tests ran.\n" +
+                        "Try: mvn -q test-compile (or enable Annotation Processing for test sources in your IDE) then run again.");
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server.benchmark.scheduler;
+
+import com.fluxtion.server.service.scheduler.DeadWheelScheduler;
+import com.fluxtion.server.service.scheduler.HierarchicalWheelScheduler;
+import com.fluxtion.server.service.scheduler.SchedulerAgent;
+import com.fluxtion.server.service.scheduler.TimerWheelType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the single level and hierarchical timer wheels with one million live
+ * timers spread over a long horizon.
+ * <p>
+ * The scheduler clock is driven by the benchmark so the wheels are measured without wall clock
+ * noise:
+ * <ul>
+ *     <li>scheduleAndCancel: insert and cancel one timer into the populated wheel</li>
+ *     <li>advanceOneTick: move the clock one millisecond and expire due timers, the expired
+ *     timers are periodic so the live population stays constant</li>
+ * </ul>
+ * Run via main(): for example
+ * BenchmarkTimerWheelJmh -p horizonMillis=3600000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BenchmarkTimerWheelJmh {
+
+    @Param({"DEADLINE", "HIERARCHICAL"})
+    public TimerWheelType wheelType;
+
+    @Param({"1000000"})
+    public int liveTimers;
+
+    @Param({"1000", "3600000"})
+    public long horizonMillis;
+
+    private final Runnable action = () -> {
+    };
+    private SchedulerAgent scheduler;
+    private SplittableRandom random;
+    private long nanoTime;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        nanoTime = TimeUnit.DAYS.toNanos(20_000);
+        scheduler = wheelType == TimerWheelType.HIERARCHICAL
+                ? new HierarchicalWheelScheduler(() -> nanoTime)
+                : new DeadWheelScheduler(() -> nanoTime);
+        scheduler.setExpiryBudget(Integer.MAX_VALUE);
+        random = new SplittableRandom(42);
+        for (int i = 0; i < liveTimers; i++) {
+            long delay = 1 + random.nextLong(horizonMillis);
+            scheduler.scheduleAtFixedRate(delay, horizonMillis, TimeUnit.MILLISECONDS, action);
+        }
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel() {
+        long id = scheduler.scheduleAfterDelay(1 + random.nextLong(horizonMillis), action);
+        return scheduler.cancel(id);
+    }
+
+    @Benchmark
+    public void advanceOneTick(Blackhole bh) throws Exception {
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(1);
+        bh.consume(scheduler.doWork());
+    }
+
+    /**
+     * Launches JMH using its standard main.
+     */
+    public static void main(String[] args) throws Exception {
+        try {
+            org.openjdk.jmh.Main.main(args);
+        } catch (RuntimeException e) {
+            String msg = String.valueOf(e.getMessage());
+            if (msg.contains("META-INF/BenchmarkList")) {
+                System.err.println("[INFO] JMH benchmark metadata not found. Ensure annotation processing for tests ran.\n" +
+                        "Try: mvn -q test-compile (or enable Annotation Processing for test sources in your IDE) then run again.");
+            }
+            throw e;
+        }
+    }
+}
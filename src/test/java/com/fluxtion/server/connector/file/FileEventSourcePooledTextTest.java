@@ -0,0 +1,131 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.connector.file;
+
+import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import com.fluxtion.server.config.ReadStrategy;
+import com.fluxtion.server.connector.memory.InMemoryMessageSink;
+import com.fluxtion.server.dispatch.EventToQueuePublisher;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.impl.PooledText;
+import com.fluxtion.server.service.pool.impl.Pools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Validates pooled text flowing end-to-end: file source emits {@link PooledText}, consumers parse
+ * in place and the instances are recycled, sinks write the encoded bytes.
+ */
+class FileEventSourcePooledTextTest {
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void cleanup() {
+        Pools.SHARED.remove(PooledText.class);
+    }
+
+    @Test
+    void publishesPooledTextAndRecycles() throws IOException {
+        Path dataFile = tempDir.resolve("prices.txt");
+        Files.writeString(dataFile, "EURUSD,101\nGBPUSD,-202\n");
+
+        FileEventSource fileEventSource = new FileEventSource();
+        fileEventSource.setFilename(dataFile.toString());
+        fileEventSource.setReadStrategy(ReadStrategy.EARLIEST);
+        fileEventSource.setPooledText(true);
+
+        EventToQueuePublisher<CharSequence> eventToQueue = new EventToQueuePublisher<>("fileEventFeed");
+        OneToOneConcurrentArrayQueue<Object> targetQueue = new OneToOneConcurrentArrayQueue<>(128);
+        eventToQueue.addTargetQueue(targetQueue, "outputQueue");
+        fileEventSource.setOutput(eventToQueue);
+
+        fileEventSource.onStart();
+        fileEventSource.start();
+        fileEventSource.startComplete();
+        fileEventSource.doWork();
+
+        List<Object> actual = new ArrayList<>();
+        targetQueue.drainTo(actual, 100);
+        Assertions.assertEquals(2, actual.size());
+
+        ObjectPool<PooledText> pool = Pools.SHARED.getOrCreate(PooledText.class, PooledText::new, PooledText::clear);
+        int availableBefore = pool.availableCount();
+        long sum = 0;
+        for (Object item : actual) {
+            PooledText text = Assertions.assertInstanceOf(PooledText.class, item);
+            int comma = text.indexOf(',', 0);
+            sum += text.parseLong(comma + 1, text.length());
+            // consumer side of the lifecycle: release queue reference, return at end of cycle
+            text.getPoolTracker().releaseReference();
+            text.getPoolTracker().returnToPool();
+        }
+        Assertions.assertEquals(-101, sum);
+        Assertions.assertEquals(availableBefore + 2, pool.availableCount());
+
+        fileEventSource.stop();
+    }
+
+    @Test
+    void sinksWritePooledTextWithoutRetainingInstance() throws IOException {
+        ObjectPool<PooledText> pool = Pools.SHARED.getOrCreate(PooledText.class, PooledText::new, PooledText::clear);
+        PooledText text = pool.acquire().append("café ").append(42L);
+
+        Path outputFile = tempDir.resolve("out.log");
+        FileMessageSinkTest.TestableFileMessageSink fileSink = new FileMessageSinkTest.TestableFileMessageSink();
+        fileSink.setFilename(outputFile.toString());
+        fileSink.start();
+        fileSink.write(text);
+        fileSink.stop();
+        Assertions.assertEquals(List.of("café 42"), Files.readAllLines(outputFile, StandardCharsets.UTF_8));
+
+        InMemoryMessageSink memorySink = new InMemoryMessageSink();
+        memorySink.accept(text);
+        text.getPoolTracker().releaseReference();
+        text.getPoolTracker().returnToPool();
+        Assertions.assertEquals(List.of("café 42"), memorySink.getMessages());
+        Assertions.assertEquals(0, text.length());
+    }
+
+    @Test
+    void pooledTextAppendDecodeAndReuse() {
+        PooledText text = new PooledText(16);
+        text.appendUtf8(ByteBuffer.wrap("ticker=ÅBC;qty=".getBytes(StandardCharsets.UTF_8))).append(-1234567890123L);
+        Assertions.assertTrue(text.contentEquals("ticker=ÅBC;qty=-1234567890123"));
+        Assertions.assertEquals(-1234567890123L, text.parseLong(text.indexOf('=', 8) + 1, text.length()));
+
+        ByteBuffer encoded = text.byteBuffer();
+        Assertions.assertEquals("ticker=ÅBC;qty=-1234567890123", StandardCharsets.UTF_8.decode(encoded.duplicate()).toString());
+
+        text.clear().append("x");
+        Assertions.assertSame(encoded, text.byteBuffer(), "byte view should be reused across cycles");
+        Assertions.assertEquals(1, text.byteBuffer().limit());
+    }
+
+    @Test
+    void pooledTextAppendRangeIsBoundsChecked() {
+        PooledText source = new PooledText(32);
+        source.append("stale contents").clear().append("abc");
+        PooledText text = new PooledText();
+        text.append(source, 1, 3);
+        Assertions.assertTrue(text.contentEquals("bc"));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> text.append(source, 0, 8));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> text.append(source, 2, 1));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> text.append("abc", -1, 2));
+        Assertions.assertTrue(text.contentEquals("bc"), "failed appends leave the text unchanged");
+    }
+}
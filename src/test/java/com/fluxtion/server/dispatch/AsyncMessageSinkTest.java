@@ -0,0 +1,200 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
+import com.fluxtion.runtime.annotations.runtime.ServiceRegistered;
+import com.fluxtion.runtime.node.ObjectEventHandlerNode;
+import com.fluxtion.runtime.output.MessageSink;
+import com.fluxtion.server.MongooseServer;
+import com.fluxtion.server.config.EventFeedConfig;
+import com.fluxtion.server.config.EventProcessorConfig;
+import com.fluxtion.server.config.EventProcessorGroupConfig;
+import com.fluxtion.server.config.EventSinkConfig;
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ThreadConfig;
+import com.fluxtion.server.connector.memory.InMemoryEventSource;
+import com.fluxtion.server.connector.memory.InMemoryMessageSink;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.impl.PooledText;
+import com.fluxtion.server.service.pool.impl.Pools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Flushable;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates the async sink transport writes on the sink agent in drained batches, holds pooled
+ * messages until written, drops when full and drains on close.
+ */
+public class AsyncMessageSinkTest {
+
+    @AfterEach
+    void cleanup() {
+        Pools.SHARED.remove(PooledText.class);
+    }
+
+    @Test
+    void drainsInBatchesOnSinkAgent() throws Exception {
+        FlushCountingSink delegate = new FlushCountingSink();
+        AsyncMessageSink<Object> sink = new AsyncMessageSink<>(delegate, "out", 64, 4);
+        for (int i = 0; i < 10; i++) {
+            sink.accept(i);
+        }
+        assertTrue(delegate.getMessages().isEmpty(), "nothing written on the processor thread");
+        assertEquals(4, sink.doWork());
+        assertEquals(List.of(0, 1, 2, 3), delegate.getMessages());
+        assertEquals(1, delegate.flushCount);
+
+        sink.onClose();
+        assertEquals(10, delegate.getMessages().size());
+        assertEquals(3, delegate.flushCount);
+    }
+
+    @Test
+    void pooledMessageHeldUntilWritten() throws Exception {
+        ObjectPool<PooledText> pool = Pools.SHARED.getOrCreate(PooledText.class, PooledText::new, PooledText::clear);
+        InMemoryMessageSink delegate = new InMemoryMessageSink();
+        AsyncMessageSink<Object> sink = new AsyncMessageSink<>(delegate, "out");
+
+        PooledText text = pool.acquire();
+        text.append("EURUSD");
+        int available = pool.availableCount();
+        sink.accept(text);
+        // end of the event cycle, the reader releases its reference and returns the event
+        text.getPoolTracker().releaseReference();
+        text.getPoolTracker().returnToPool();
+        assertEquals(available, pool.availableCount(), "queued message is not recycled");
+
+        sink.doWork();
+        assertEquals(List.of("EURUSD"), delegate.getMessages());
+        assertEquals(available + 1, pool.availableCount());
+    }
+
+    @Test
+    void acceptAfterCloseDropsAndRecycles() {
+        ObjectPool<PooledText> pool = Pools.SHARED.getOrCreate(PooledText.class, PooledText::new, PooledText::clear);
+        InMemoryMessageSink delegate = new InMemoryMessageSink();
+        AsyncMessageSink<Object> sink = new AsyncMessageSink<>(delegate, "out");
+        sink.accept("before close");
+        sink.onClose();
+        assertTrue(sink.isClosed());
+        assertEquals(List.of("before close"), delegate.getMessages());
+
+        PooledText text = pool.acquire();
+        text.append("late");
+        int available = pool.availableCount();
+        sink.accept(text);
+        sink.accept("late plain");
+        // end of the event cycle, the dropped message holds no sink reference
+        text.getPoolTracker().releaseReference();
+        text.getPoolTracker().returnToPool();
+        assertEquals(0, sink.queueSize(), "nothing is stranded in the queue");
+        assertEquals(2, sink.droppedCount());
+        assertEquals(available + 1, pool.availableCount(), "late pooled message returned to its pool");
+        assertEquals(List.of("before close"), delegate.getMessages());
+    }
+
+    @Test
+    void fullQueueDrops() {
+        AsyncMessageSink<Object> sink = new AsyncMessageSink<>(new InMemoryMessageSink(), "out", 2, 8);
+        int offered = 0;
+        while (sink.droppedCount() == 0) {
+            sink.accept(offered++);
+        }
+        assertEquals(offered - 1, sink.queueSize());
+    }
+
+    @Test
+    void asyncSinkConfiguredOnServer() throws Exception {
+        InMemoryEventSource<String> prices = new InMemoryEventSource<>();
+        ThreadRecordingSink memSink = new ThreadRecordingSink();
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("processor-agent")
+                        .put("forwarder", new EventProcessorConfig(new SinkForwarder()))
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("processor-agent")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(prices)
+                        .name("prices")
+                        .agent("prices-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .addEventSink(EventSinkConfig.<MessageSink<?>>builder()
+                        .instance(memSink)
+                        .name("memSink")
+                        .async(128, 16)
+                        .agent("sink-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        try {
+            for (int i = 0; i < 20; i++) {
+                prices.offer("px" + i);
+            }
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (memSink.getMessages().size() < 20 && System.nanoTime() < end) {
+                Thread.sleep(10);
+            }
+            assertEquals(20, memSink.getMessages().size());
+            assertEquals(Set.of("sink-agent"), memSink.threads);
+        } finally {
+            server.stop();
+        }
+    }
+
+    static class FlushCountingSink extends InMemoryMessageSink implements Flushable {
+        int flushCount;
+
+        @Override
+        public void flush() {
+            flushCount++;
+        }
+    }
+
+    static class ThreadRecordingSink extends InMemoryMessageSink {
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        @Override
+        protected void sendToSink(Object value) {
+            threads.add(Thread.currentThread().getName());
+            super.sendToSink(value);
+        }
+    }
+
+    public static class SinkForwarder extends ObjectEventHandlerNode {
+        private MessageSink<Object> sink;
+
+        @ServiceRegistered
+        public void sink(MessageSink<Object> sink, String name) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void start() {
+            getContext().subscribeToNamedFeed("prices");
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            if (sink != null && event instanceof String) {
+                sink.accept(event);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.server.service.EventSource;
+import com.fluxtion.server.service.EventSubscriptionKey;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.PoolAware;
+import com.fluxtion.server.service.pool.impl.PoolTracker;
+import com.fluxtion.server.service.pool.impl.Pools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates a conflating queue keeps the latest pending item per key in first arrival order,
+ * queues unkeyed items unconflated, returns superseded pooled items to their pool and warns when
+ * a subscription sharing a queue conflates differently.
+ */
+public class ConflatingQueueTest {
+
+    @AfterEach
+    void cleanup() {
+        Pools.SHARED.remove(PooledPrice.class);
+    }
+
+    @Test
+    void latestValuePerKeyInArrivalOrder() {
+        Function<Object, ?> keyFunction = EventSubscriptionKey.fromSource("prices")
+                .conflateBy(Price.class, Price::symbol)
+                .build()
+                .conflationKey();
+        ConflatingQueue queue = new ConflatingQueue(16, keyFunction);
+        queue.offer(new Price("EURUSD", 1));
+        queue.offer(new Price("GBPUSD", 2));
+        queue.offer("marker");
+        queue.offer(new Price("EURUSD", 3));
+        queue.offer(new Price("EURUSD", 4));
+        assertEquals(3, queue.size());
+        assertEquals(2, queue.conflatedCount());
+
+        assertEquals(new Price("EURUSD", 4), queue.peek());
+        assertEquals(new Price("EURUSD", 4), queue.poll());
+        // a key offered after its slot is taken is queued again
+        queue.offer(new Price("EURUSD", 5));
+        assertEquals(new Price("GBPUSD", 2), queue.poll());
+        assertEquals("marker", queue.poll());
+        assertEquals(new Price("EURUSD", 5), queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void supersededPooledItemReturnedToPool() {
+        ObjectPool<PooledPrice> pool = Pools.SHARED.getOrCreate(PooledPrice.class, PooledPrice::new, p -> p.price = 0, 4);
+        EventToQueuePublisher<Object> publisher = new EventToQueuePublisher<>("prices");
+        ConflatingQueue queue = new ConflatingQueue(16, item -> item instanceof PooledPrice ? "EURUSD" : null);
+        publisher.addTargetQueue(queue, "conflated");
+
+        PooledPrice first = pool.acquire();
+        first.price = 1;
+        publisher.publish(first);
+        PooledPrice second = pool.acquire();
+        second.price = 2;
+        publisher.publish(second);
+        assertEquals(1, queue.size());
+        assertEquals(1, pool.availableCount(), "superseded price should be back in the pool");
+
+        PooledPrice latest = (PooledPrice) queue.poll();
+        assertSame(second, latest);
+        assertEquals(2, latest.price);
+        latest.getPoolTracker().releaseReference();
+        latest.getPoolTracker().returnToPool();
+        assertEquals(2, pool.availableCount());
+    }
+
+    @Test
+    void mismatchedConflationKeyWarns() {
+        EventFlowManager eventFlowManager = new EventFlowManager();
+        eventFlowManager.registerEventSource("prices", new PriceSource());
+        eventFlowManager.registerEventSource("orders", new PriceSource());
+        EventSubscriptionKey<Price> conflated = EventSubscriptionKey.<Price>fromSource("prices")
+                .conflateBy(Price.class, Price::symbol)
+                .build();
+        EventSubscriptionKey<Price> unconflated = EventSubscriptionKey.<Price>fromSource("prices").build();
+        Agent group = new TestAgent("group");
+
+        List<String> warnings = new ArrayList<>();
+        Logger logger = Logger.getLogger(EventFlowManager.class.getName());
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel() == Level.WARNING) {
+                    warnings.add(record.getMessage());
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        logger.addHandler(handler);
+        try {
+            eventFlowManager.getMappingAgent(conflated, group);
+            eventFlowManager.getMappingAgent(conflated, group);
+            assertEquals(List.of(), warnings, "same key shares the queue silently");
+
+            eventFlowManager.getMappingAgent(unconflated, group);
+            assertEquals(1, warnings.size());
+            assertTrue(warnings.get(0).contains("subscriber:group to source:prices is conflated"), warnings.get(0));
+
+            EventSubscriptionKey<Price> otherKey = EventSubscriptionKey.<Price>fromSource("prices")
+                    .conflateBy(Price.class, Price::symbol)
+                    .build();
+            eventFlowManager.getMappingAgent(otherKey, group);
+            assertEquals(2, warnings.size());
+            assertTrue(warnings.get(1).contains("conflates by the key of its first subscription"), warnings.get(1));
+
+            EventSubscriptionKey<Price> conflatedOrders = EventSubscriptionKey.<Price>fromSource("orders")
+                    .conflateBy(Price.class, Price::symbol)
+                    .build();
+            eventFlowManager.getMappingAgent(EventSubscriptionKey.<Price>fromSource("orders").build(), group);
+            eventFlowManager.getMappingAgent(conflatedOrders, group);
+            assertEquals(3, warnings.size());
+            assertTrue(warnings.get(2).contains("source:orders is not conflated"), warnings.get(2));
+        } finally {
+            logger.removeHandler(handler);
+        }
+    }
+
+    public record Price(String symbol, long price) {
+    }
+
+    static class PooledPrice implements PoolAware {
+        private final PoolTracker<PooledPrice> tracker = new PoolTracker<>();
+        long price;
+
+        @Override
+        public PoolTracker<PooledPrice> getPoolTracker() {
+            return tracker;
+        }
+    }
+
+    private static class PriceSource implements EventSource<Price> {
+        @Override
+        public void subscribe(EventSubscriptionKey<Price> eventSourceKey) {
+        }
+
+        @Override
+        public void unSubscribe(EventSubscriptionKey<Price> eventSourceKey) {
+        }
+
+        @Override
+        public void setEventToQueuePublisher(EventToQueuePublisher<Price> targetQueue) {
+        }
+    }
+
+    private record TestAgent(String roleName) implements Agent {
+        @Override
+        public int doWork() {
+            return 0;
+        }
+    }
+}
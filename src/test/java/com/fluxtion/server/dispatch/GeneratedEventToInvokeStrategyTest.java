@@ -0,0 +1,176 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.runtime.event.NamedFeedEventImpl;
+import com.fluxtion.server.batch.BatchDto;
+import com.fluxtion.server.dutycycle.EventQueueToEventProcessor;
+import com.fluxtion.server.service.CallBackType;
+import com.fluxtion.server.service.EventSource;
+import com.fluxtion.server.service.EventSubscriptionKey;
+import com.fluxtion.server.service.EventToInvokeStrategy;
+import com.fluxtion.server.service.SubscriptionFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates the generated invoker calls the typed callback of a package private interface, sets
+ * the processor context and ignores events of other types. Strategies are specialised per callback
+ * interface and deliver batches through the typed callback.
+ */
+public class GeneratedEventToInvokeStrategyTest {
+
+    interface PriceListener {
+        void onPrice(Double price);
+    }
+
+    interface QuantityListener {
+        void onQuantity(long quantity);
+    }
+
+    interface NotACallback {
+        void first(String s);
+
+        void second(String s);
+    }
+
+    @Test
+    void invokesTypedCallbackThroughQueue() throws Exception {
+        EventFlowManager flow = new EventFlowManager();
+        flow.registerGeneratedInvoker(PriceListener.class);
+        TestSource source = new TestSource();
+        EventToQueuePublisher<Object> publisher = flow.registerEventSource("prices", source);
+
+        EventQueueToEventProcessor reader = flow.getMappingAgent(
+                EventSubscriptionKey.fromSource("prices").callback(PriceListener.class).build(), new TestAgent());
+        PriceProcessor listening = new PriceProcessor();
+        reader.registerProcessor(listening);
+        reader.registerProcessor(new PlainProcessor());
+        assertEquals(1, reader.listenerCount());
+
+        publisher.publish(1.5);
+        publisher.publish("not a price");
+        publisher.publish(new NamedFeedEventImpl<>("prices").data(2.5));
+        reader.doWork();
+
+        assertEquals(List.of(1.5, 2.5), listening.prices);
+        assertTrue(listening.onEvents.isEmpty());
+        assertSame(listening, listening.seenContext);
+    }
+
+    @Test
+    void strategyClassGeneratedPerCallback() {
+        EventToInvokeStrategy prices = GeneratedEventToInvokeStrategy.factory(PriceListener.class).get();
+        EventToInvokeStrategy quantities = GeneratedEventToInvokeStrategy.factory(QuantityListener.class).get();
+        assertTrue(prices.getClass().isHidden());
+        assertInstanceOf(AbstractEventToInvocationStrategy.class, prices);
+        assertNotSame(prices.getClass(), quantities.getClass());
+        assertSame(prices.getClass(), GeneratedEventToInvokeStrategy.factory(PriceListener.class).get().getClass());
+
+        PriceProcessor processor = new PriceProcessor();
+        prices.registerProcessor(processor);
+        prices.processEvent(3.5);
+        assertEquals(List.of(3.5), processor.prices);
+        assertSame(processor, processor.seenContext);
+        assertNull(ProcessorContext.currentProcessor(), "context cleared after dispatch");
+    }
+
+    @Test
+    void batchDeliveredThroughTypedCallback() {
+        EventToInvokeStrategy strategy = GeneratedEventToInvokeStrategy.factory(PriceListener.class).get();
+        PriceProcessor all = new PriceProcessor();
+        PriceProcessor filtered = new PriceProcessor();
+        strategy.registerProcessor(all);
+        strategy.registerProcessor(filtered, SubscriptionFilter.typed(Double.class, price -> price > 2));
+        BatchDto batch = new BatchDto();
+        batch.addBatchItem(1.5);
+        batch.addBatchItem("not a price");
+        batch.addBatchItem(new NamedFeedEventImpl<>("prices").data(2.5));
+
+        strategy.processBatch(batch);
+
+        assertEquals(List.of(1.5, 2.5), all.prices);
+        assertEquals(List.of(2.5), filtered.prices);
+        assertTrue(all.onEvents.isEmpty());
+        assertSame(filtered, filtered.seenContext);
+        assertNull(ProcessorContext.currentProcessor(), "context cleared after the batch");
+    }
+
+    @Test
+    void primitiveParameterUnboxed() {
+        List<Long> received = new ArrayList<>();
+        QuantityListener listener = received::add;
+        GeneratedEventToInvokeStrategy.invoker(QuantityListener.class).invoke(listener, 42L);
+        assertEquals(List.of(42L), received);
+        assertSame(GeneratedEventToInvokeStrategy.invoker(QuantityListener.class),
+                GeneratedEventToInvokeStrategy.invoker(QuantityListener.class));
+    }
+
+    @Test
+    void rejectsUnsuitableCallback() {
+        EventFlowManager flow = new EventFlowManager();
+        assertThrows(IllegalArgumentException.class, () -> flow.registerGeneratedInvoker(NotACallback.class));
+        assertThrows(IllegalArgumentException.class, () -> flow.registerGeneratedInvoker(PriceProcessor.class));
+        assertThrows(NullPointerException.class, () -> flow.getMappingAgent(
+                new com.fluxtion.server.service.EventSourceKey<>("prices"), CallBackType.forClass(NotACallback.class), new TestAgent()));
+    }
+
+    static class PriceProcessor implements StaticEventProcessor, PriceListener {
+        final List<Double> prices = new ArrayList<>();
+        final List<Object> onEvents = new ArrayList<>();
+        StaticEventProcessor seenContext;
+
+        @Override
+        public void onPrice(Double price) {
+            seenContext = ProcessorContext.currentProcessor();
+            prices.add(price);
+        }
+
+        @Override
+        public void onEvent(Object event) {
+            onEvents.add(event);
+        }
+    }
+
+    static class PlainProcessor implements StaticEventProcessor {
+        @Override
+        public void onEvent(Object event) {
+            fail("not a target:" + event);
+        }
+    }
+
+    static class TestSource implements EventSource<Object> {
+        @Override
+        public void subscribe(EventSubscriptionKey<Object> eventSourceKey) {
+        }
+
+        @Override
+        public void unSubscribe(EventSubscriptionKey<Object> eventSourceKey) {
+        }
+
+        @Override
+        public void setEventToQueuePublisher(EventToQueuePublisher<Object> targetQueue) {
+        }
+    }
+
+    static class TestAgent implements Agent {
+        @Override
+        public int doWork() {
+            return 0;
+        }
+
+        @Override
+        public String roleName() {
+            return "generated-agent";
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.runtime.event.ReplayRecord;
+import com.fluxtion.server.batch.BatchDto;
+import com.fluxtion.server.config.EventFeedConfig;
+import com.fluxtion.server.connector.memory.InMemoryEventSource;
+import com.fluxtion.server.dutycycle.BatchFlushingAgent;
+import com.fluxtion.server.dutycycle.EventQueueToEventProcessorAgent;
+import com.fluxtion.server.service.EventSource;
+import com.fluxtion.server.service.EventSubscriptionKey;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.impl.BasePoolAware;
+import com.fluxtion.server.service.pool.impl.Pools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates the micro-batching publisher batches bursts up to the adaptive target size, flushes
+ * on the latency bound, publishes a quiet feed directly, recycles pooled items and publishes the
+ * open batch on close, replay and cache.
+ */
+public class MicroBatchingPublisherTest {
+
+    private final EventToQueuePublisher<Object> publisher = new EventToQueuePublisher<>("prices");
+    private final OneToOneConcurrentArrayQueue<Object> queue = new OneToOneConcurrentArrayQueue<>(1024);
+    private final EventQueueToEventProcessorAgent reader = new EventQueueToEventProcessorAgent(queue, new EventToOnEventInvokeStrategy(), "reader");
+    private final List<Object> received = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        Pools.SHARED.remove(PooledPrice.class);
+    }
+
+    @Test
+    void burstIsBatched() {
+        publisher.addTargetQueue(queue, "reader");
+        reader.registerProcessor((StaticEventProcessor) received::add);
+        publisher.setMicroBatching(32, TimeUnit.SECONDS.toNanos(1));
+
+        for (int i = 0; i < 1_000; i++) {
+            publisher.publish(i);
+        }
+        publisher.flushBatch();
+        int queued = queue.size();
+        assertTrue(queued < 100, "queued items " + queued);
+        while (reader.doWork() > 0) {
+        }
+        assertEquals(1_000, received.size());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, received.get(i));
+        }
+    }
+
+    @Test
+    void openBatchFlushedOnLatencyBound() throws Exception {
+        publisher.addTargetQueue(queue, "reader");
+        publisher.setMicroBatching(1_000, TimeUnit.MILLISECONDS.toNanos(50));
+        for (int i = 0; i < 200; i++) {
+            publisher.publish(i);
+        }
+        int queued = queue.size();
+        assertEquals(0, publisher.flushIfDue(), "batch not yet due");
+        Thread.sleep(60);
+        int flushed = publisher.flushIfDue();
+        assertTrue(flushed > 0);
+        assertEquals(queued + 1, queue.size());
+        assertEquals(0, publisher.flushIfDue());
+    }
+
+    @Test
+    void quietFeedPublishesDirectly() throws Exception {
+        publisher.addTargetQueue(queue, "reader");
+        publisher.setMicroBatching(64, TimeUnit.MICROSECONDS.toNanos(20));
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(i);
+            Thread.sleep(1);
+        }
+        assertEquals(5, queue.size());
+        queue.drain(item -> assertFalse(item instanceof BatchDto));
+    }
+
+    @Test
+    void pooledItemsRecycledWithBatch() {
+        ObjectPool<PooledPrice> pool = Pools.SHARED.getOrCreate(PooledPrice.class, PooledPrice::new);
+        publisher.addTargetQueue(queue, "reader");
+        reader.registerProcessor((StaticEventProcessor) received::add);
+        publisher.setMicroBatching(16, TimeUnit.SECONDS.toNanos(1));
+
+        List<PooledPrice> prices = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            PooledPrice price = pool.acquire();
+            prices.add(price);
+            publisher.publish(price);
+        }
+        publisher.flushBatch();
+        int available = pool.availableCount();
+        while (reader.doWork() > 0) {
+        }
+        assertEquals(100, received.size());
+        assertEquals(available + 100, pool.availableCount(), "items returned with their batches");
+    }
+
+    @Test
+    void feedAgentFlushesOnDutyCycle() {
+        EventFeedConfig<Object> config = EventFeedConfig.builder()
+                .instance(new InMemoryEventSource<>())
+                .name("prices")
+                .microBatch(64, 20, TimeUnit.MICROSECONDS)
+                .agent("prices-agent", new SleepingMillisIdleStrategy())
+                .build();
+        assertInstanceOf(BatchFlushingAgent.class, config.toServiceAgent().delegate());
+        assertEquals(20_000, config.getMicroBatchLatencyNanos());
+    }
+
+    @Test
+    void openBatchPublishedWhenFeedAgentCloses() throws Exception {
+        ObjectPool<PooledPrice> pool = Pools.SHARED.getOrCreate(PooledPrice.class, PooledPrice::new);
+        publisher.addTargetQueue(queue, "reader");
+        reader.registerProcessor((StaticEventProcessor) received::add);
+        publisher.setMicroBatching(1_000, TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 50; i++) {
+            publisher.publish(pool.acquire());
+        }
+        int available = pool.availableCount();
+        assertTrue(queue.size() < 50, "items waiting in the open batch");
+
+        List<String> closed = new ArrayList<>();
+        Agent feedAgent = new Agent() {
+            @Override
+            public int doWork() {
+                return 0;
+            }
+
+            @Override
+            public void onClose() {
+                closed.add("feed closed, queued:" + queue.size());
+            }
+
+            @Override
+            public String roleName() {
+                return "prices-agent";
+            }
+        };
+        int queuedBeforeClose = queue.size();
+        new BatchFlushingAgent(feedAgent, new PublisherSource(publisher)).onClose();
+        assertEquals(List.of("feed closed, queued:" + (queuedBeforeClose + 1)), closed, "batch published before the feed closes");
+
+        while (reader.doWork() > 0) {
+        }
+        assertEquals(50, received.size());
+        assertEquals(available + 50, pool.availableCount(), "pooled items returned to their pools");
+    }
+
+    @Test
+    void replayAndCacheFlushOpenBatch() {
+        publisher.addTargetQueue(queue, "reader");
+        publisher.setMicroBatching(1_000, TimeUnit.SECONDS.toNanos(10));
+        for (int i = 0; i < 50; i++) {
+            publisher.publish(i);
+        }
+        ReplayRecord replayRecord = new ReplayRecord();
+        replayRecord.setEvent("replayed");
+        replayRecord.setWallClockTime(1L);
+        publisher.publishReplay(replayRecord);
+        Object last = null;
+        for (Object item; (item = queue.poll()) != null; ) {
+            assertNotSame(replayRecord, last, "replay record published after the batched items");
+            last = item;
+        }
+        assertSame(replayRecord, last);
+
+        publisher.publish(50);
+        publisher.cache(51);
+        assertFalse(queue.isEmpty(), "cache publishes the open batch first");
+    }
+
+    @Test
+    void microBatchingNeedsFeedAgent() {
+        EventFeedConfig<Object> config = EventFeedConfig.builder()
+                .instance(new InMemoryEventSource<>())
+                .name("prices")
+                .microBatch(64, 20, TimeUnit.MICROSECONDS)
+                .build();
+        assertThrows(IllegalArgumentException.class, config::toService);
+    }
+
+    public static class PooledPrice extends BasePoolAware {
+    }
+
+    private record PublisherSource(EventToQueuePublisher<Object> publisher) implements EventSource<Object> {
+
+        @Override
+        public void subscribe(EventSubscriptionKey<Object> eventSourceKey) {
+        }
+
+        @Override
+        public void unSubscribe(EventSubscriptionKey<Object> eventSourceKey) {
+        }
+
+        @Override
+        public void setEventToQueuePublisher(EventToQueuePublisher<Object> targetQueue) {
+        }
+
+        @Override
+        public int flushBatch() {
+            return publisher.flushBatch();
+        }
+    }
+}
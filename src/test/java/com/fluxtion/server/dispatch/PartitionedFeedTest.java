@@ -0,0 +1,113 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
+import com.fluxtion.runtime.node.ObjectEventHandlerNode;
+import com.fluxtion.server.MongooseServer;
+import com.fluxtion.server.config.EventFeedConfig;
+import com.fluxtion.server.config.EventProcessorConfig;
+import com.fluxtion.server.config.EventProcessorGroupConfig;
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ThreadConfig;
+import com.fluxtion.server.connector.memory.InMemoryEventSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates a partitioned feed delivers each event to exactly one subscriber group, all events for
+ * a key reach the same group in publish order.
+ */
+public class PartitionedFeedTest {
+
+    private static final int GROUPS = 3;
+    private static final int SYMBOLS = 12;
+    private static final int EVENT_COUNT = 240;
+
+    @Test
+    void eachKeyOwnedByOneGroupInOrder() throws Exception {
+        InMemoryEventSource<Tick> ticks = new InMemoryEventSource<>();
+        MongooseServerConfig.Builder builder = MongooseServerConfig.builder()
+                .addEventFeed(EventFeedConfig.<Tick>builder()
+                        .instance(ticks)
+                        .name("ticks")
+                        .partitionKey(Tick::symbol)
+                        .agent("ticks-agent", new SleepingMillisIdleStrategy())
+                        .build());
+        List<TickHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < GROUPS; i++) {
+            TickHandler handler = new TickHandler();
+            handlers.add(handler);
+            builder.addProcessorGroup(EventProcessorGroupConfig.builder()
+                            .agentName("partition-" + i)
+                            .put("handler-" + i, new EventProcessorConfig(handler))
+                            .build())
+                    .addThread(ThreadConfig.builder()
+                            .agentName("partition-" + i)
+                            .idleStrategy(new SleepingMillisIdleStrategy())
+                            .build());
+        }
+
+        MongooseServer server = MongooseServer.bootServer(builder.build(), rec -> {
+        });
+        try {
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                ticks.offer(new Tick("SYM" + (i % SYMBOLS), i));
+            }
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (handlers.stream().mapToInt(h -> h.count.get()).sum() < EVENT_COUNT && System.nanoTime() < end) {
+                Thread.sleep(10);
+            }
+            assertEquals(EVENT_COUNT, handlers.stream().mapToInt(h -> h.count.get()).sum());
+
+            Map<String, TickHandler> owners = new HashMap<>();
+            for (TickHandler handler : handlers) {
+                handler.sequences.forEach((symbol, sequences) -> {
+                    assertNull(owners.put(symbol, handler), "symbol delivered to two groups:" + symbol);
+                    assertEquals(EVENT_COUNT / SYMBOLS, sequences.size());
+                    for (int i = 1; i < sequences.size(); i++) {
+                        assertTrue(sequences.get(i - 1) < sequences.get(i), "out of order " + symbol + " " + sequences);
+                    }
+                });
+            }
+            assertEquals(SYMBOLS, owners.size());
+            assertTrue(handlers.stream().filter(h -> h.count.get() > 0).count() > 1, "all symbols on one group");
+        } finally {
+            server.stop();
+        }
+    }
+
+    public record Tick(String symbol, int sequence) {
+    }
+
+    public static class TickHandler extends ObjectEventHandlerNode {
+        final AtomicInteger count = new AtomicInteger();
+        final Map<String, List<Integer>> sequences = new ConcurrentHashMap<>();
+
+        @Override
+        public void start() {
+            getContext().subscribeToNamedFeed("ticks");
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            if (event instanceof Tick tick) {
+                sequences.computeIfAbsent(tick.symbol(), s -> new ArrayList<>()).add(tick.sequence());
+                count.incrementAndGet();
+            }
+            return true;
+        }
+    }
+}
@@ -8,12 +8,15 @@ package com.fluxtion.server.dispatch;
 import com.fluxtion.runtime.EventProcessor;
 import com.fluxtion.runtime.StaticEventProcessor;
 import com.fluxtion.runtime.input.EventFeed;
+import com.fluxtion.server.config.ExecutionMode;
+import com.fluxtion.server.internal.AgentThreads;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -76,6 +79,45 @@ public class ProcessorContextTest {
         ProcessorContext.removeCurrentProcessor();
     }
 
+    @Test
+    void agentThreadHoldsContextInField() throws Exception {
+        Thread thread = AgentThreads.threadFactory("test", ExecutionMode.PLATFORM).newThread(() -> {
+        });
+        assertInstanceOf(ProcessorContextThread.class, thread);
+
+        DummyProcessor processor = new DummyProcessor();
+        AtomicReference<StaticEventProcessor> seen = new AtomicReference<>();
+        AtomicReference<StaticEventProcessor> cleared = new AtomicReference<>(processor);
+        ProcessorContextThread contextThread = new ProcessorContextThread(() -> {
+            ProcessorContext.setCurrentProcessor(processor);
+            seen.set(ProcessorContext.currentProcessor());
+            ProcessorContext.removeCurrentProcessor();
+            cleared.set(ProcessorContext.currentProcessor());
+        });
+        contextThread.start();
+        contextThread.join();
+        assertSame(processor, seen.get());
+        assertNull(cleared.get());
+        assertNull(contextThread.currentProcessor);
+    }
+
+    @Test
+    void agentThreadContextIsolatedFromForeignThreads() throws Exception {
+        DummyProcessor mainProcessor = new DummyProcessor();
+        ProcessorContext.setCurrentProcessor(mainProcessor);
+        try {
+            AtomicReference<StaticEventProcessor> seenOnAgentThread = new AtomicReference<>(mainProcessor);
+            ProcessorContextThread contextThread = new ProcessorContextThread(
+                    () -> seenOnAgentThread.set(ProcessorContext.currentProcessor()));
+            contextThread.start();
+            contextThread.join();
+            assertNull(seenOnAgentThread.get(), "agent thread should not see the fallback context of another thread");
+            assertSame(mainProcessor, ProcessorContext.currentProcessor());
+        } finally {
+            ProcessorContext.removeCurrentProcessor();
+        }
+    }
+
     /**
      * Minimal StaticEventProcessor for testing ProcessorContext.
      */
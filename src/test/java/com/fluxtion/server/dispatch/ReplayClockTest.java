@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.runtime.time.ClockStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates replayed events drive a synthetic clock per processor, shared by the strategies of
+ * every feed the processor replays and released when the processor is deregistered.
+ */
+public class ReplayClockTest {
+
+    @Test
+    void replayTimeSharedAcrossFeedsAndReleased() {
+        EventToOnEventInvokeStrategy prices = new EventToOnEventInvokeStrategy();
+        EventToOnEventInvokeStrategy orders = new EventToOnEventInvokeStrategy();
+        ClockRecordingProcessor processor = new ClockRecordingProcessor();
+        prices.registerProcessor(processor);
+        orders.registerProcessor(processor);
+
+        processor.processEvent(prices, "p1", 1_000);
+        assertEquals(List.of(1_000L), processor.timesSeen);
+        processor.processEvent(orders, "o1", 2_000);
+        processor.processEvent(prices, "p2", 3_000);
+        assertEquals(List.of(1_000L, 2_000L, 3_000L), processor.timesSeen);
+        assertEquals(1, processor.clockStrategies.size(), "one clock installed for both feeds");
+
+        // live events leave the replay clock untouched
+        prices.processEvent("live");
+        assertEquals(3_000L, processor.clock().getWallClockTime());
+
+        prices.deregisterProcessor(processor);
+        assertTrue(AbstractEventToInvocationStrategy.hasReplayClock(processor), "clock held while registered with orders");
+        orders.deregisterProcessor(processor);
+        assertFalse(AbstractEventToInvocationStrategy.hasReplayClock(processor), "clock released with the last registration");
+        prices.registerProcessor(processor);
+        processor.processEvent(prices, "p3", 4_000);
+        assertEquals(2, processor.clockStrategies.size(), "released clock replaced on re-registration");
+        assertEquals(4_000L, processor.clock().getWallClockTime());
+        prices.deregisterProcessor(processor);
+        assertFalse(AbstractEventToInvocationStrategy.hasReplayClock(processor));
+    }
+
+    @Test
+    void deregisterFromEveryStrategyReleasesClock() {
+        EventToOnEventInvokeStrategy prices = new EventToOnEventInvokeStrategy();
+        EventToOnEventInvokeStrategy orders = new EventToOnEventInvokeStrategy();
+        EventToOnEventInvokeStrategy trades = new EventToOnEventInvokeStrategy();
+        List<ClockRecordingProcessor> processors = List.of(new ClockRecordingProcessor(), new ClockRecordingProcessor());
+        for (ClockRecordingProcessor processor : processors) {
+            prices.registerProcessor(processor);
+            orders.registerProcessor(processor);
+            trades.registerProcessor(processor);
+        }
+        prices.processEvent("p1", 1_000);
+        processors.forEach(p -> assertTrue(AbstractEventToInvocationStrategy.hasReplayClock(p)));
+
+        // a repeated deregistration does not release the clock held for another strategy
+        prices.deregisterProcessor(processors.get(0));
+        prices.deregisterProcessor(processors.get(0));
+        trades.deregisterProcessor(processors.get(0));
+        assertTrue(AbstractEventToInvocationStrategy.hasReplayClock(processors.get(0)));
+        orders.deregisterProcessor(processors.get(0));
+        assertFalse(AbstractEventToInvocationStrategy.hasReplayClock(processors.get(0)));
+        assertTrue(AbstractEventToInvocationStrategy.hasReplayClock(processors.get(1)), "other processor keeps its clock");
+
+        for (EventToOnEventInvokeStrategy strategy : List.of(prices, orders, trades)) {
+            strategy.deregisterProcessor(processors.get(1));
+        }
+        assertFalse(AbstractEventToInvocationStrategy.hasReplayClock(processors.get(1)));
+    }
+
+    static class ClockRecordingProcessor implements StaticEventProcessor {
+        final List<ClockStrategy> clockStrategies = new ArrayList<>();
+        final List<Long> timesSeen = new ArrayList<>();
+
+        @Override
+        public void setClockStrategy(ClockStrategy clockStrategy) {
+            clockStrategies.add(clockStrategy);
+        }
+
+        ClockStrategy clock() {
+            return clockStrategies.get(clockStrategies.size() - 1);
+        }
+
+        void processEvent(EventToOnEventInvokeStrategy strategy, Object event, long time) {
+            strategy.processEvent(event, time);
+        }
+
+        @Override
+        public void onEvent(Object event) {
+            if (event instanceof String) {
+                timesSeen.add(clock().getWallClockTime());
+            }
+        }
+    }
+}
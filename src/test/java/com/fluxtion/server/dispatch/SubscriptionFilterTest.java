@@ -0,0 +1,128 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dispatch;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.server.dutycycle.EventQueueToEventProcessor;
+import com.fluxtion.server.service.EventSource;
+import com.fluxtion.server.service.EventSubscriptionKey;
+import com.fluxtion.server.service.SubscriptionFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates subscription filters are applied by the publisher, rejected events never enter the
+ * subscriber queue, and per processor filters on a shared queue.
+ */
+public class SubscriptionFilterTest {
+
+    @Test
+    void keyIsEqualWhateverFilter() {
+        EventSubscriptionKey<Object> unfiltered = EventSubscriptionKey.onEvent("prices");
+        EventSubscriptionKey<Object> filtered = EventSubscriptionKey.fromSource("prices")
+                .filter(SubscriptionFilter.typed(Price.class, p -> p.qty() > 0))
+                .build();
+        assertEquals(unfiltered, filtered);
+        assertEquals(unfiltered.hashCode(), filtered.hashCode());
+        assertNotNull(filtered.filter());
+        assertNull(unfiltered.filter());
+    }
+
+    @Test
+    void factoryFilters() {
+        SubscriptionFilter symbols = SubscriptionFilter.keyIn(Price.class, Price::symbol, Set.of("EURUSD"));
+        assertTrue(symbols.accept(new Price("EURUSD", 1)));
+        assertFalse(symbols.accept(new Price("GBPUSD", 1)));
+        assertFalse(symbols.accept("EURUSD"));
+
+        SubscriptionFilter range = SubscriptionFilter.keyRange(Price.class, Price::qty, 10, 20);
+        assertTrue(range.accept(new Price("EURUSD", 10)));
+        assertFalse(range.accept(new Price("EURUSD", 20)));
+        assertTrue(range.or(symbols).accept(new Price("EURUSD", 50)));
+    }
+
+    @Test
+    void publisherSkipsRejectedEvents() throws Exception {
+        EventFlowManager eventFlowManager = new EventFlowManager();
+        TestSource source = new TestSource();
+        eventFlowManager.registerEventSource("prices", source);
+
+        EventSubscriptionKey<Price> key = EventSubscriptionKey.<Price>fromSource("prices")
+                .filter(SubscriptionFilter.keyIn(Price.class, Price::symbol, Set.of("EURUSD")))
+                .build();
+        EventQueueToEventProcessor reader = eventFlowManager.getMappingAgent(key, new TestAgent("group"));
+        RecordingProcessor eurProcessor = new RecordingProcessor();
+        reader.registerProcessor(eurProcessor, key.filter());
+
+        source.publisher.publish(new Price("EURUSD", 1));
+        source.publisher.publish(new Price("GBPUSD", 2));
+        source.publisher.publish(new Price("EURUSD", 3));
+        assertEquals(2, reader.queueSize());
+        reader.doWork();
+        assertEquals(List.of(1L, 3L), eurProcessor.quantities());
+
+        // an unfiltered processor on the same queue widens the queue filter to every event
+        RecordingProcessor allProcessor = new RecordingProcessor();
+        reader.registerProcessor(allProcessor);
+        source.publisher.publish(new Price("GBPUSD", 4));
+        source.publisher.publish(new Price("EURUSD", 5));
+        assertEquals(2, reader.queueSize());
+        reader.doWork();
+        assertEquals(List.of(1L, 3L, 5L), eurProcessor.quantities());
+        assertEquals(List.of(4L, 5L), allProcessor.quantities());
+
+        // back to the filtered processor only
+        reader.deregisterProcessor(allProcessor);
+        source.publisher.publish(new Price("GBPUSD", 6));
+        assertEquals(0, reader.queueSize());
+    }
+
+    public record Price(String symbol, long qty) {
+    }
+
+    private static class TestSource implements EventSource<Price> {
+        private EventToQueuePublisher<Price> publisher;
+
+        @Override
+        public void subscribe(EventSubscriptionKey<Price> eventSourceKey) {
+        }
+
+        @Override
+        public void unSubscribe(EventSubscriptionKey<Price> eventSourceKey) {
+        }
+
+        @Override
+        public void setEventToQueuePublisher(EventToQueuePublisher<Price> targetQueue) {
+            this.publisher = targetQueue;
+        }
+    }
+
+    private record TestAgent(String roleName) implements Agent {
+        @Override
+        public int doWork() {
+            return 0;
+        }
+    }
+
+    private static class RecordingProcessor implements StaticEventProcessor {
+        private final List<Price> received = new ArrayList<>();
+
+        @Override
+        public void onEvent(Object event) {
+            received.add((Price) event);
+        }
+
+        List<Long> quantities() {
+            return received.stream().map(Price::qty).toList();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ThreadConfig;
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveIdleStrategyTest {
+
+    @Test
+    void degradesFromSpinToYieldToParkAndSnapsBack() {
+        AdaptiveIdleStrategy strategy = new AdaptiveIdleStrategy(10, 1_000, 5, 1_000, 4_000);
+        idle(strategy, 10);
+        assertEquals(AdaptiveIdleStrategy.State.SPINNING, strategy.getState());
+        idle(strategy, 1);
+        assertEquals(AdaptiveIdleStrategy.State.YIELDING, strategy.getState());
+        idle(strategy, 4);
+        assertEquals(AdaptiveIdleStrategy.State.YIELDING, strategy.getState());
+        idle(strategy, 3);
+        assertEquals(AdaptiveIdleStrategy.State.PARKING, strategy.getState());
+
+        strategy.idle(1);
+        assertEquals(AdaptiveIdleStrategy.State.SPINNING, strategy.getState());
+        idle(strategy, 1);
+        assertEquals(AdaptiveIdleStrategy.State.SPINNING, strategy.getState());
+    }
+
+    @Test
+    void spinPhaseFollowsLoad() {
+        AdaptiveIdleStrategy strategy = new AdaptiveIdleStrategy(10, 1_000, 5, 1_000, 4_000);
+        // busy: work arrives every 200 idle cycles, spinning covers the gap
+        for (int i = 0; i < 50; i++) {
+            strategy.idle(1);
+            idle(strategy, 200);
+        }
+        assertEquals(AdaptiveIdleStrategy.State.SPINNING, strategy.getState());
+        assertTrue(strategy.spinLimit() > 200, "spin limit " + strategy.spinLimit());
+
+        // quiet: each gap reaches parking, spinning no longer pays off
+        for (int i = 0; i < 50; i++) {
+            strategy.idle(1);
+            idle(strategy, strategy.spinLimit() + 10);
+        }
+        strategy.idle(1);
+        assertEquals(10, strategy.spinLimit());
+    }
+
+    @Test
+    void configuredFromYaml() {
+        String yaml = """
+                agentThreads:
+                  - agentName: processor-agent
+                    idleStrategy: !!com.fluxtion.server.dutycycle.AdaptiveIdleStrategy { minSpins: 50, maxSpins: 5000, maxParkPeriodNs: 500000 }
+                """;
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setTagInspector(tag -> true);
+        MongooseServerConfig config = new Yaml(loaderOptions).loadAs(yaml, MongooseServerConfig.class);
+        ThreadConfig threadConfig = config.getAgentThreads().get(0);
+        AdaptiveIdleStrategy strategy = assertInstanceOf(AdaptiveIdleStrategy.class, threadConfig.getIdleStrategy());
+        assertEquals(50, strategy.spinLimit());
+        assertEquals(5_000, strategy.getMaxSpins());
+        assertEquals(500_000, strategy.getMaxParkPeriodNs());
+        assertEquals(AdaptiveIdleStrategy.ALIAS, strategy.alias());
+    }
+
+    private static void idle(AdaptiveIdleStrategy strategy, long cycles) {
+        for (long i = 0; i < cycles; i++) {
+            strategy.idle(0);
+        }
+    }
+}
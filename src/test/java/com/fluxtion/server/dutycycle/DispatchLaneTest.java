@@ -0,0 +1,155 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.server.dispatch.EventFlowManager;
+import com.fluxtion.server.dispatch.EventToOnEventInvokeStrategy;
+import com.fluxtion.server.service.DispatchLane;
+import com.fluxtion.server.service.EventSubscriptionKey;
+import com.fluxtion.server.service.scheduler.DeadWheelScheduler;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates queue readers honour the budget of their lane and yield to higher priority lanes, and
+ * that a processor group wires lanes from the subscription keys.
+ */
+public class DispatchLaneTest {
+
+    @Test
+    void budgetLimitsEventsPerTurn() {
+        OneToOneConcurrentArrayQueue<Object> queue = filledQueue(100);
+        EventQueueToEventProcessorAgent reader = new EventQueueToEventProcessorAgent(queue, new EventToOnEventInvokeStrategy(), "bulk")
+                .withLane(DispatchLane.DEFAULT.withBudget(16));
+        RecordingProcessor processor = new RecordingProcessor();
+        reader.registerProcessor(processor);
+
+        assertEquals(16, reader.doWork());
+        assertEquals(16, reader.doWork());
+        assertEquals(32, processor.events.size());
+        assertEquals(DispatchLane.DEFAULT_BUDGET, new EventQueueToEventProcessorAgent(queue, new EventToOnEventInvokeStrategy(), "default").doWork());
+        assertThrows(IllegalArgumentException.class, () -> DispatchLane.DEFAULT.withBudget(0));
+    }
+
+    @Test
+    void lowerLaneYieldsToPendingHigherLane() {
+        OneToOneConcurrentArrayQueue<Object> bulkQueue = filledQueue(100);
+        OneToOneConcurrentArrayQueue<Object> criticalQueue = new OneToOneConcurrentArrayQueue<>(16);
+        EventQueueToEventProcessorAgent bulk = new EventQueueToEventProcessorAgent(bulkQueue, new EventToOnEventInvokeStrategy(), "bulk");
+        EventQueueToEventProcessorAgent critical = new EventQueueToEventProcessorAgent(criticalQueue, new EventToOnEventInvokeStrategy(), "critical")
+                .withLane(DispatchLane.DEFAULT.withPriority(10));
+        bulk.preemptedBy(new EventQueueToEventProcessor[]{critical});
+        bulk.registerProcessor(new RecordingProcessor());
+        critical.registerProcessor(new RecordingProcessor());
+
+        criticalQueue.offer("order");
+        assertEquals(0, bulk.doWork(), "bulk yields while an order is pending");
+        assertEquals(1, critical.doWork());
+        assertEquals(DispatchLane.DEFAULT_BUDGET, bulk.doWork());
+    }
+
+    @Test
+    void groupServesCriticalFeedFirst() throws Exception {
+        LaneFlowManager flowManager = new LaneFlowManager();
+        ComposingEventProcessorAgent group = new ComposingEventProcessorAgent(
+                "laneGroup", flowManager, null, new DeadWheelScheduler(), new ConcurrentHashMap<>());
+        RecordingProcessor processor = new RecordingProcessor();
+        group.onStart();
+        group.subscribe(processor, EventSubscriptionKey.fromSource("refData").build());
+        group.subscribe(processor, EventSubscriptionKey.fromSource("orders").priority(10).budget(8).build());
+        // readers join the composite one per duty cycle
+        for (int i = 0; i < 4; i++) {
+            group.doWork();
+        }
+
+        OneToOneConcurrentArrayQueue<Object> refData = flowManager.queues.get("refData");
+        for (int i = 0; i < 200; i++) {
+            refData.offer(i);
+        }
+        flowManager.queues.get("orders").offer("order");
+        group.doWork();
+
+        assertEquals("order", processor.events.get(0), "order dispatched before any reference data");
+        for (int i = 0; i < 10; i++) {
+            group.doWork();
+        }
+        assertEquals(201, processor.events.size());
+        group.onClose();
+    }
+
+    @Test
+    void unsubscribedReaderLeavesItsLane() throws Exception {
+        LaneFlowManager flowManager = new LaneFlowManager();
+        ComposingEventProcessorAgent group = new ComposingEventProcessorAgent(
+                "laneGroup", flowManager, null, new DeadWheelScheduler(), new ConcurrentHashMap<>());
+        RecordingProcessor processor = new RecordingProcessor();
+        EventSubscriptionKey<Object> ordersKey = EventSubscriptionKey.fromSource("orders").priority(10).build();
+        group.onStart();
+        group.subscribe(processor, EventSubscriptionKey.fromSource("refData").build());
+        group.subscribe(processor, ordersKey);
+        for (int i = 0; i < 4; i++) {
+            group.doWork();
+        }
+        group.unSubscribe(processor, ordersKey);
+
+        OneToOneConcurrentArrayQueue<Object> refData = flowManager.queues.get("refData");
+        for (int i = 0; i < 100; i++) {
+            refData.offer(i);
+        }
+        flowManager.queues.get("orders").offer("stale order");
+        group.doWork();
+
+        assertEquals(DispatchLane.DEFAULT_BUDGET, processor.events.size(), "reference data no longer yields to the removed lane");
+        group.onClose();
+    }
+
+    private static OneToOneConcurrentArrayQueue<Object> filledQueue(int count) {
+        OneToOneConcurrentArrayQueue<Object> queue = new OneToOneConcurrentArrayQueue<>(256);
+        for (int i = 0; i < count; i++) {
+            queue.offer(i);
+        }
+        return queue;
+    }
+
+    private static class LaneFlowManager extends EventFlowManager {
+        private final Map<String, OneToOneConcurrentArrayQueue<Object>> queues = new HashMap<>();
+
+        @Override
+        public void subscribe(EventSubscriptionKey<?> subscriptionKey) {
+        }
+
+        @Override
+        public void unSubscribe(EventSubscriptionKey<?> subscriptionKey) {
+        }
+
+        @Override
+        public <T> EventQueueToEventProcessor getMappingAgent(EventSubscriptionKey<T> subscriptionKey, Agent subscriber) {
+            String source = subscriptionKey.eventSourceKey().sourceName();
+            OneToOneConcurrentArrayQueue<Object> queue = new OneToOneConcurrentArrayQueue<>(256);
+            queues.put(source, queue);
+            return new EventQueueToEventProcessorAgent(queue, new EventToOnEventInvokeStrategy(), source);
+        }
+    }
+
+    private static class RecordingProcessor implements StaticEventProcessor {
+        private final List<Object> events = new ArrayList<>();
+
+        @Override
+        public void onEvent(Object event) {
+            events.add(event);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
+import com.fluxtion.runtime.annotations.runtime.ServiceRegistered;
+import com.fluxtion.runtime.node.ObjectEventHandlerNode;
+import com.fluxtion.server.MongooseServer;
+import com.fluxtion.server.config.EventFeedConfig;
+import com.fluxtion.server.config.EventProcessorConfig;
+import com.fluxtion.server.config.EventProcessorGroupConfig;
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.connector.memory.InMemoryEventSource;
+import com.fluxtion.server.service.scheduler.SchedulerService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Moves a processor between groups while its feed is publishing, the moved processor and a
+ * processor sharing its queue must each see every event once and in order. Pending timers move with
+ * the processor.
+ */
+public class ProcessorMigrationTest {
+
+    private static final int EVENT_COUNT = 10_000;
+
+    @Test
+    void migrateProcessorWhilePublishing() throws Exception {
+        InMemoryEventSource<Integer> prices = new InMemoryEventSource<>();
+        RecordingHandler mover = new RecordingHandler();
+        RecordingHandler stayer = new RecordingHandler();
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("group-a")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .put("mover", new EventProcessorConfig(mover))
+                        .put("stayer", new EventProcessorConfig(stayer))
+                        .build())
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("group-b")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .put("resident", new EventProcessorConfig(new RecordingHandler()))
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(prices)
+                        .name("prices")
+                        .agent("prices-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        try {
+            // publish in paced batches so the bounded subscriber queues never fill
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                if (i == EVENT_COUNT / 2) {
+                    server.migrateProcessor("group-a", "mover", "group-b");
+                }
+                prices.offer(i);
+                if (i % 100 == 99) {
+                    int published = i + 1;
+                    waitFor(() -> stayer.values.size() >= published);
+                }
+            }
+
+            waitFor(() -> mover.values.size() >= EVENT_COUNT && stayer.values.size() >= EVENT_COUNT);
+            assertEquals(expected(), mover.values);
+            assertEquals(expected(), stayer.values);
+
+            assertTrue(server.registeredProcessors().get("group-b").stream().anyMatch(p -> p.name().equals("mover")));
+            assertTrue(server.registeredProcessors().get("group-a").stream().noneMatch(p -> p.name().equals("mover")));
+            assertEquals("group-a", mover.threads.get(0));
+            assertEquals("group-b", mover.threads.get(mover.threads.size() - 1));
+            assertTrue(stayer.threads.stream().allMatch("group-a"::equals));
+
+            // the moved processor keeps receiving on its new group
+            prices.offer(EVENT_COUNT);
+            waitFor(() -> mover.values.size() > EVENT_COUNT && stayer.values.size() > EVENT_COUNT);
+            assertEquals(EVENT_COUNT, mover.values.get(EVENT_COUNT));
+            assertEquals("group-b", mover.threads.get(EVENT_COUNT));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void pendingTimersMoveWithProcessor() throws Exception {
+        InMemoryEventSource<Integer> prices = new InMemoryEventSource<>();
+        TimerHandler mover = new TimerHandler();
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("group-a")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .put("mover", new EventProcessorConfig(mover))
+                        .build())
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("group-b")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .put("resident", new EventProcessorConfig(new RecordingHandler()))
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(prices)
+                        .name("prices")
+                        .agent("prices-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        try {
+            waitFor(() -> !mover.ticks.isEmpty());
+            server.migrateProcessor("group-a", "mover", "group-b");
+            // each event on the feed lets the migration progress until the processor reaches group-b
+            waitFor(() -> {
+                prices.offer(0);
+                return server.registeredProcessors().get("group-b").stream().anyMatch(p -> p.name().equals("mover"));
+            });
+            waitFor(() -> mover.expiredOn != null);
+
+            assertEquals("group-b", mover.expiredOn, "one shot timer expires on the target group");
+            assertTrue(mover.periodicCancelled, "timer ids stay valid after the move");
+            List<String> ticks = new ArrayList<>(mover.ticks);
+            assertEquals("group-a", ticks.get(0));
+            assertEquals("group-b", ticks.get(ticks.size() - 1));
+            assertTrue(ticks.subList(ticks.indexOf("group-b"), ticks.size()).stream().allMatch("group-b"::equals),
+                    "periodic timer no longer expires on the source group " + ticks);
+            int tickCount = mover.ticks.size();
+            Thread.sleep(100);
+            assertEquals(tickCount, mover.ticks.size(), "cancelled periodic timer stops");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void processorOnPartitionedFeedIsNotMigrated() throws Exception {
+        InMemoryEventSource<Integer> prices = new InMemoryEventSource<>();
+        RecordingHandler mover = new RecordingHandler();
+        RecordingHandler resident = new RecordingHandler();
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("group-a")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .put("mover", new EventProcessorConfig(mover))
+                        .build())
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("group-b")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .put("resident", new EventProcessorConfig(resident))
+                        .build())
+                .addEventFeed(EventFeedConfig.<Integer>builder()
+                        .instance(prices)
+                        .name("prices")
+                        .partitionKey((Integer value) -> value % 8)
+                        .agent("prices-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        try {
+            int eventCount = 1_000;
+            for (int i = 0; i < eventCount; i++) {
+                if (i == eventCount / 2) {
+                    server.migrateProcessor("group-a", "mover", "group-b");
+                }
+                prices.offer(i);
+                if (i % 100 == 99) {
+                    int published = i + 1;
+                    waitFor(() -> mover.values.size() + resident.values.size() >= published);
+                }
+            }
+
+            waitFor(() -> mover.values.size() + resident.values.size() >= eventCount);
+            assertTrue(server.registeredProcessors().get("group-a").stream().anyMatch(p -> p.name().equals("mover")));
+            assertTrue(server.registeredProcessors().get("group-b").stream().noneMatch(p -> p.name().equals("mover")));
+            assertTrue(mover.threads.stream().allMatch("group-a"::equals));
+            // key ownership is unchanged, every event reaches one group once
+            List<Integer> received = new ArrayList<>(mover.values);
+            received.addAll(resident.values);
+            Collections.sort(received);
+            assertEquals(IntStream.range(0, eventCount).boxed().collect(Collectors.toList()), received);
+            assertTrue(mover.values.stream().map(value -> value % 8).noneMatch(key -> resident.values.stream().anyMatch(v -> v % 8 == key)),
+                    "partition key delivered to both groups");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    void migrateUnknownProcessorOrGroupFails() {
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("group-a")
+                        .put("mover", new EventProcessorConfig(new RecordingHandler()))
+                        .build())
+                .build();
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        try {
+            assertThrows(IllegalArgumentException.class, () -> server.migrateProcessor("group-a", "missing", "group-a"));
+            assertThrows(IllegalArgumentException.class, () -> server.migrateProcessor("group-a", "mover", "group-x"));
+            assertThrows(IllegalArgumentException.class, () -> server.migrateProcessor("group-a", "mover", "group-a"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static List<Integer> expected() {
+        return IntStream.range(0, EVENT_COUNT).boxed().collect(Collectors.toList());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < end) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean(), "timed out waiting for events");
+    }
+
+    public static class TimerHandler extends ObjectEventHandlerNode {
+        final List<String> ticks = Collections.synchronizedList(new ArrayList<>());
+        volatile String expiredOn;
+        volatile boolean periodicCancelled;
+        private SchedulerService scheduler;
+        private long periodicId;
+
+        @ServiceRegistered
+        public void scheduler(SchedulerService scheduler, String name) {
+            this.scheduler = scheduler;
+        }
+
+        @Override
+        public void start() {
+            getContext().subscribeToNamedFeed("prices");
+            periodicId = scheduler.scheduleAtFixedRate(0, 10, () -> ticks.add(Thread.currentThread().getName()));
+            scheduler.scheduleAfterDelay(2_000, () -> {
+                periodicCancelled = scheduler.cancel(periodicId);
+                expiredOn = Thread.currentThread().getName();
+            });
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            return true;
+        }
+    }
+
+    public static class RecordingHandler extends ObjectEventHandlerNode {
+        final List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void start() {
+            getContext().subscribeToNamedFeed("prices");
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            if (event instanceof Integer value) {
+                values.add(value);
+                threads.add(Thread.currentThread().getName());
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.agrona.concurrent.Agent;
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
+import com.fluxtion.runtime.node.ObjectEventHandlerNode;
+import com.fluxtion.server.MongooseServer;
+import com.fluxtion.server.config.EventFeedConfig;
+import com.fluxtion.server.config.EventProcessorConfig;
+import com.fluxtion.server.config.EventProcessorGroupConfig;
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ThreadConfig;
+import com.fluxtion.server.config.ThreadPoolConfig;
+import com.fluxtion.server.connector.memory.InMemoryEventSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates agent groups multiplexed on a shared thread pool stay single threaded, share the
+ * workers by priority and run their lifecycle callbacks once.
+ */
+public class SharedAgentPoolTest {
+
+    @Test
+    void groupsRunSingleThreaded() throws Exception {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        SharedAgentPool pool = new SharedAgentPool("pool", 2, TimeUnit.MICROSECONDS.toNanos(50), TimeUnit.MILLISECONDS.toNanos(1), error::set);
+        List<BusyAgent> agents = List.of(new BusyAgent("a"), new BusyAgent("b"), new BusyAgent("c"), new BusyAgent("d"));
+        agents.forEach(a -> pool.add(a, 1));
+        Thread.sleep(200);
+        agents.forEach(pool::remove);
+        pool.close();
+
+        assertNull(error.get());
+        for (BusyAgent agent : agents) {
+            assertEquals(1, agent.starts.get(), agent.roleName());
+            assertEquals(1, agent.closes.get(), agent.roleName());
+            assertTrue(agent.cycles.get() > 0, agent.roleName());
+            assertFalse(agent.overlapped.get(), "concurrent duty cycles " + agent.roleName());
+        }
+        assertEquals(0, pool.groupCount());
+    }
+
+    @Test
+    void priorityWeightsTimeSlices() throws Exception {
+        SharedAgentPool pool = new SharedAgentPool("pool", 1, TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(1), Throwable::printStackTrace);
+        BusyAgent high = new BusyAgent("high");
+        BusyAgent low = new BusyAgent("low");
+        pool.add(high, 4);
+        pool.add(low, 1);
+        Thread.sleep(500);
+        pool.close();
+
+        double ratio = (double) high.busyNanos.get() / low.busyNanos.get();
+        assertTrue(ratio > 2, "high/low busy ratio " + ratio);
+    }
+
+    @Test
+    void processorGroupsShareThreadPool() throws Exception {
+        InMemoryEventSource<Integer> feed = new InMemoryEventSource<>();
+        ThreadRecordingHandler refData = new ThreadRecordingHandler();
+        ThreadRecordingHandler admin = new ThreadRecordingHandler();
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("reference-data")
+                        .put("refData", new EventProcessorConfig(refData))
+                        .build())
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("admin")
+                        .put("admin", new EventProcessorConfig(admin))
+                        .build())
+                .addThreadPool(ThreadPoolConfig.builder()
+                        .name("background")
+                        .threads(1)
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("reference-data")
+                        .threadPool("background")
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("admin")
+                        .threadPool("background")
+                        .priority(2)
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(feed)
+                        .name("reference")
+                        .agent("reference-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        try {
+            int eventCount = 100;
+            for (int i = 0; i < eventCount; i++) {
+                feed.offer(i);
+                if (i % 10 == 0) {
+                    Thread.sleep(1);
+                }
+            }
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((refData.count.get() < eventCount || admin.count.get() < eventCount) && System.nanoTime() < end) {
+                Thread.sleep(1);
+            }
+            assertEquals(eventCount, refData.count.get());
+            assertEquals(eventCount, admin.count.get());
+            assertSame(refData.thread.get(), admin.thread.get());
+            assertEquals("background-0", refData.thread.get().getName());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static class BusyAgent implements Agent {
+        private final String name;
+        final AtomicInteger starts = new AtomicInteger();
+        final AtomicInteger closes = new AtomicInteger();
+        final AtomicLong cycles = new AtomicLong();
+        final AtomicLong busyNanos = new AtomicLong();
+        final AtomicBoolean running = new AtomicBoolean();
+        final AtomicBoolean overlapped = new AtomicBoolean();
+
+        BusyAgent(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onStart() {
+            starts.incrementAndGet();
+        }
+
+        @Override
+        public int doWork() {
+            if (!running.compareAndSet(false, true)) {
+                overlapped.set(true);
+            }
+            long start = System.nanoTime();
+            while (System.nanoTime() - start < 10_000) {
+                Thread.onSpinWait();
+            }
+            busyNanos.addAndGet(System.nanoTime() - start);
+            cycles.incrementAndGet();
+            running.set(false);
+            return 1;
+        }
+
+        @Override
+        public void onClose() {
+            closes.incrementAndGet();
+        }
+
+        @Override
+        public String roleName() {
+            return name;
+        }
+    }
+
+    public static class ThreadRecordingHandler extends ObjectEventHandlerNode {
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+
+        @Override
+        public void start() {
+            getContext().subscribeToNamedFeed("reference");
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            if (event instanceof Integer) {
+                thread.set(Thread.currentThread());
+                count.incrementAndGet();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.dutycycle;
+
+import com.fluxtion.agrona.concurrent.BackoffIdleStrategy;
+import com.fluxtion.agrona.concurrent.NoOpIdleStrategy;
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
+import com.fluxtion.runtime.node.ObjectEventHandlerNode;
+import com.fluxtion.server.MongooseServer;
+import com.fluxtion.server.config.EventFeedConfig;
+import com.fluxtion.server.config.EventProcessorConfig;
+import com.fluxtion.server.config.EventProcessorGroupConfig;
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ThreadConfig;
+import com.fluxtion.server.connector.memory.InMemoryEventSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates a parked processor group is woken by a publisher rather than waiting out its park
+ * period.
+ */
+public class WakeOnPublishIdleStrategyTest {
+
+    private static final long MAX_PARK_NS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void armsAfterIdleCyclesAndDisarmsOnWork() {
+        Doorbell doorbell = new Doorbell("group");
+        WakeOnPublishIdleStrategy strategy = new WakeOnPublishIdleStrategy(new NoOpIdleStrategy(), doorbell, 3);
+        for (int i = 0; i < 3; i++) {
+            strategy.idle(0);
+        }
+        assertFalse(doorbell.isArmed());
+        strategy.idle(0);
+        assertTrue(doorbell.isArmed());
+
+        strategy.idle(1);
+        assertFalse(doorbell.isArmed());
+
+        for (int i = 0; i < 4; i++) {
+            strategy.idle(0);
+        }
+        doorbell.ring();
+        assertFalse(doorbell.isArmed(), "ringing disarms");
+    }
+
+    @Test
+    void publishWakesParkedGroup() throws Exception {
+        InMemoryEventSource<Long> feed = new InMemoryEventSource<>();
+        LatencyHandler handler = new LatencyHandler();
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("parked")
+                        .put("latency", new EventProcessorConfig(handler))
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("parked")
+                        .idleStrategy(new BackoffIdleStrategy(1, 1, MAX_PARK_NS, MAX_PARK_NS))
+                        .wakeOnPublish(true)
+                        .wakeOnPublishIdleCycles(2)
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(feed)
+                        .name("ticks")
+                        .agent("ticks-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        try {
+            int wokenEarly = 0;
+            int events = 5;
+            for (int i = 0; i < events; i++) {
+                // let the group settle into its long park
+                Thread.sleep(200);
+                handler.latencyNanos.set(-1);
+                feed.offer(System.nanoTime());
+                long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (handler.latencyNanos.get() < 0 && System.nanoTime() < end) {
+                    Thread.sleep(1);
+                }
+                long latency = handler.latencyNanos.get();
+                assertTrue(latency >= 0, "event not delivered");
+                if (latency < MAX_PARK_NS / 5) {
+                    wokenEarly++;
+                }
+            }
+            // an event racing the group arming its doorbell waits out one park
+            assertTrue(wokenEarly >= events - 1, "woken early " + wokenEarly + " of " + events);
+        } finally {
+            server.stop();
+        }
+    }
+
+    public static class LatencyHandler extends ObjectEventHandlerNode {
+        final AtomicLong latencyNanos = new AtomicLong(-1);
+
+        @Override
+        public void start() {
+            getContext().subscribeToNamedFeed("ticks");
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            if (event instanceof Long sent) {
+                latencyNanos.set(System.nanoTime() - sent);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server.internal;
+
+import com.fluxtion.agrona.concurrent.BackoffIdleStrategy;
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
+import com.fluxtion.runtime.node.ObjectEventHandlerNode;
+import com.fluxtion.server.MongooseServer;
+import com.fluxtion.server.config.EventFeedConfig;
+import com.fluxtion.server.config.EventProcessorConfig;
+import com.fluxtion.server.config.EventProcessorGroupConfig;
+import com.fluxtion.server.config.ExecutionMode;
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ThreadConfig;
+import com.fluxtion.server.connector.memory.InMemoryEventSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates processor groups run on a virtual thread where supported, on a platform thread
+ * otherwise, and are woken by publishers while parked.
+ */
+public class AgentThreadsTest {
+
+    private static final int EVENT_COUNT = 50;
+
+    @Test
+    void platformModeUsesPlatformThreads() throws Exception {
+        Thread thread = AgentThreads.threadFactory("test", ExecutionMode.PLATFORM).newThread(() -> {
+        });
+        assertFalse(AgentThreads.isVirtual(thread));
+    }
+
+    @Test
+    void virtualGroupDeliversEvents() throws Exception {
+        InMemoryEventSource<Integer> feed = new InMemoryEventSource<>();
+        ThreadRecordingHandler handler = new ThreadRecordingHandler();
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("reference-data")
+                        .put("recorder", new EventProcessorConfig(handler))
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("reference-data")
+                        .idleStrategy(new BackoffIdleStrategy(1, 1, 1_000, TimeUnit.MILLISECONDS.toNanos(500)))
+                        .executionMode(ExecutionMode.VIRTUAL)
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(feed)
+                        .name("reference")
+                        .agent("reference-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                feed.offer(i);
+                Thread.sleep(2);
+            }
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (handler.count.get() < EVENT_COUNT && System.nanoTime() < end) {
+                Thread.sleep(1);
+            }
+            assertEquals(EVENT_COUNT, handler.count.get());
+            // the parked group is woken on publish rather than waiting out its 500ms park
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "events delayed by parking");
+
+            Thread groupThread = handler.thread.get();
+            assertEquals("reference-data", groupThread.getName());
+            assertEquals(AgentThreads.virtualThreadsSupported(), AgentThreads.isVirtual(groupThread));
+        } finally {
+            server.stop();
+        }
+    }
+
+    public static class ThreadRecordingHandler extends ObjectEventHandlerNode {
+        final AtomicInteger count = new AtomicInteger();
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+
+        @Override
+        public void start() {
+            getContext().subscribeToNamedFeed("reference");
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            if (event instanceof Integer) {
+                thread.set(Thread.currentThread());
+                count.incrementAndGet();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server.pool;
+
+import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.server.dispatch.EventToQueuePublisher;
+import com.fluxtion.server.dutycycle.EventQueueToEventProcessorAgent;
+import com.fluxtion.server.service.EventToInvokeStrategy;
+import com.fluxtion.server.service.metrics.EventStamps;
+import com.fluxtion.server.service.metrics.FeedLatencyStats;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.impl.Pools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates framework managed sequence and latency stamps on pooled events and per-feed histograms.
+ */
+public class EventLatencyStampingTest {
+
+    @AfterEach
+    void cleanup() {
+        Pools.SHARED.remove(PooledMessage.class);
+    }
+
+    @Test
+    public void stampsPooledEventsAndRecordsFeedHistograms() throws Exception {
+        Pools.SHARED.remove(PooledMessage.class);
+        ObjectPool<PooledMessage> pool = Pools.SHARED.getOrCreate(PooledMessage.class, PooledMessage::new, pm -> pm.value = null);
+
+        EventToQueuePublisher<PooledMessage> publisher = new EventToQueuePublisher<>("prices");
+        OneToOneConcurrentArrayQueue<Object> queue = new OneToOneConcurrentArrayQueue<>(16);
+        publisher.addTargetQueue(queue, "consumer");
+        publisher.setLatencyStamping(true);
+
+        List<long[]> seen = new ArrayList<>();
+        EventQueueToEventProcessorAgent agent = new EventQueueToEventProcessorAgent(queue, new StampCapture(seen), "stampTest");
+
+        for (int i = 0; i < 2; i++) {
+            PooledMessage msg = pool.acquire();
+            msg.value = "px" + i;
+            publisher.publish(msg);
+        }
+        agent.doWork();
+
+        assertEquals(2, seen.size());
+        assertEquals(1, seen.get(0)[0]);
+        assertEquals(2, seen.get(1)[0]);
+        seen.forEach(stamp -> assertTrue(stamp[2] >= stamp[1], "dequeue stamped after publish"));
+        assertEquals(2, pool.availableCount(), "stamped events are still recycled");
+
+        FeedLatencyStats stats = publisher.getLatencyStats();
+        assertEquals(2, stats.count());
+        StringBuilder summary = new StringBuilder();
+        stats.appendSummary(summary);
+        assertTrue(summary.toString().startsWith("feed:prices count:2"), summary.toString());
+
+        // stamps are cleared on reacquire, unstamped feeds do not record
+        PooledMessage reused = pool.acquire();
+        assertNull(reused.getPoolTracker().stamps().feedStats());
+        publisher.setLatencyStamping(false);
+        publisher.publish(reused);
+        agent.doWork();
+        assertEquals(2, stats.count());
+    }
+
+    private record StampCapture(List<long[]> seen) implements EventToInvokeStrategy {
+        @Override
+        public void processEvent(Object event) {
+            if (event instanceof PooledMessage msg && msg.getPoolTracker().stamps().feedStats() != null) {
+                EventStamps stamps = msg.getPoolTracker().stamps();
+                seen.add(new long[]{stamps.sequenceNumber(), stamps.publishNanos(), stamps.dequeueNanos()});
+            }
+        }
+
+        @Override
+        public void processEvent(Object event, long time) {
+            processEvent(event);
+        }
+
+        @Override
+        public void registerProcessor(StaticEventProcessor eventProcessor) {
+        }
+
+        @Override
+        public void deregisterProcessor(StaticEventProcessor eventProcessor) {
+        }
+
+        @Override
+        public int listenerCount() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server.pool;
+
+import com.fluxtion.server.MongooseServer;
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.PoolConfig;
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.impl.Pools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates per-type pool configuration: prewarming, configured sizing taking precedence over
+ * the first caller, and exhaustion policies.
+ */
+public class ObjectPoolConfigTest {
+
+    private MongooseServer server;
+
+    @AfterEach
+    void cleanup() {
+        if (server != null) {
+            server.stop();
+        }
+        Pools.SHARED.remove(PooledMessage.class);
+    }
+
+    @Test
+    public void prewarmAndConfiguredCapacityOverrideCaller() {
+        Pools.SHARED.remove(PooledMessage.class);
+        Pools.SHARED.configure(PooledMessage.class, 16, 2, 16, ObjectPool.ExhaustionPolicy.FAIL);
+
+        // first caller asks for capacity 4, configuration wins and instances are already staged
+        ObjectPool<PooledMessage> pool = Pools.SHARED.getOrCreate(PooledMessage.class, PooledMessage::new, pm -> pm.value = null, 4);
+        assertEquals(16, pool.availableCount());
+
+        List<PooledMessage> acquired = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            acquired.add(pool.acquire());
+        }
+        assertEquals(0, pool.availableCount());
+        assertThrows(IllegalStateException.class, pool::acquire);
+
+        // reset hook from the application caller is bound to prewarmed instances
+        PooledMessage msg = acquired.get(0);
+        msg.value = "used";
+        msg.getPoolTracker().releaseReference();
+        msg.getPoolTracker().returnToPool();
+        assertEquals(1, pool.availableCount());
+        assertNull(msg.value);
+    }
+
+    @Test
+    public void allocatePolicyOverflowsAndDropsOnRelease() {
+        Pools.SHARED.remove(PooledMessage.class);
+        Pools.SHARED.configure(PooledMessage.class, 2, 1, 0, ObjectPool.ExhaustionPolicy.ALLOCATE);
+        ObjectPool<PooledMessage> pool = Pools.SHARED.getOrCreate(PooledMessage.class, PooledMessage::new);
+
+        List<PooledMessage> acquired = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            acquired.add(pool.acquire());
+        }
+        acquired.forEach(m -> {
+            m.getPoolTracker().releaseReference();
+            m.getPoolTracker().returnToPool();
+        });
+        assertTrue(pool.availableCount() <= 2, "overflow instances should not grow the free list past its capacity");
+    }
+
+    @Test
+    public void yamlPoolsSectionPrewarmsAtBoot() {
+        Pools.SHARED.remove(PooledMessage.class);
+        String yaml = """
+                pools:
+                  - type: com.fluxtion.server.pool.PooledMessage
+                    capacity: 32
+                    partitions: 2
+                    prewarm: 32
+                    exhaustionPolicy: FAIL
+                """;
+        server = MongooseServer.bootServer(new StringReader(yaml), rec -> {
+        });
+
+        ObjectPool<PooledMessage> pool = Pools.SHARED.getOrCreate(PooledMessage.class, PooledMessage::new);
+        assertEquals(32, pool.availableCount());
+    }
+
+    @Test
+    public void builderAddsPoolConfig() {
+        MongooseServerConfig cfg = MongooseServerConfig.builder()
+                .addPool(PoolConfig.builder()
+                        .type(PooledMessage.class)
+                        .capacity(8)
+                        .prewarm(4)
+                        .build())
+                .build();
+
+        assertEquals(1, cfg.getPools().size());
+        PoolConfig poolConfig = cfg.getPools().get(0);
+        assertEquals(PooledMessage.class.getName(), poolConfig.getType());
+        assertEquals(ObjectPool.ExhaustionPolicy.WAIT, poolConfig.getExhaustionPolicy());
+    }
+}
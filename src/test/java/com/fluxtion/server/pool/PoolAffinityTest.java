@@ -0,0 +1,118 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server.pool;
+
+import com.fluxtion.server.service.pool.ObjectPool;
+import com.fluxtion.server.service.pool.impl.PoolAffinity;
+import com.fluxtion.server.service.pool.impl.Pools;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates lane affinity: instances acquired by a bound agent thread and released on another
+ * thread return to the producer's partition and are reused by the producer.
+ */
+public class PoolAffinityTest {
+
+    @AfterEach
+    void cleanup() {
+        Pools.SHARED.remove(PooledMessage.class);
+    }
+
+    @Test
+    void agentNamesWithoutCoreGetStableLanes() {
+        int lane = PoolAffinity.bindCurrentThread("affinityAgentA", null);
+        assertEquals(lane, PoolAffinity.bindCurrentThread("affinityAgentA", null));
+        assertNotEquals(lane, PoolAffinity.bindCurrentThread("affinityAgentB", null));
+        int coreLane = PoolAffinity.bindCurrentThread("affinityAgentC", 5);
+        assertEquals("affinityAgentC", PoolAffinity.currentAgentName());
+        assertEquals(coreLane, PoolAffinity.bindCurrentThread("affinityAgentD", 5), "agents pinned to one core share a lane");
+        assertNotEquals(lane, coreLane);
+        PoolAffinity.unbindCurrentThread();
+        assertEquals(-1, PoolAffinity.currentLaneKey());
+    }
+
+    @Test
+    void pinnedAndUnpinnedAgentsDoNotAlias() throws Exception {
+        Pools.SHARED.remove(PooledMessage.class);
+        ObjectPool<PooledMessage> pool = Pools.SHARED.getOrCreate(PooledMessage.class, PooledMessage::new, null, 64, 2);
+        ExecutorService pinned = Executors.newSingleThreadExecutor();
+        ExecutorService unpinned = Executors.newSingleThreadExecutor();
+        try {
+            // lanes bound one after the other own different partitions whatever the partition count
+            int pinnedLane = pinned.submit(() -> PoolAffinity.bindCurrentThread("pinnedAgent", 4242)).get();
+            int unpinnedLane = unpinned.submit(() -> PoolAffinity.bindCurrentThread("unpinnedAgent", null)).get();
+            assertEquals(pinnedLane + 1, unpinnedLane);
+
+            List<PooledMessage> pinnedMessages = pinned.submit(() -> acquireAndRelease(pool)).get();
+            List<PooledMessage> unpinnedMessages = unpinned.submit(() -> acquireAndRelease(pool)).get();
+            Set<PooledMessage> pinnedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            pinnedSet.addAll(pinnedMessages);
+            unpinnedMessages.forEach(m -> assertFalse(pinnedSet.contains(m), "unpinned agent reused the pinned lane"));
+        } finally {
+            pinned.shutdownNow();
+            unpinned.shutdownNow();
+        }
+    }
+
+    private static List<PooledMessage> acquireAndRelease(ObjectPool<PooledMessage> pool) {
+        List<PooledMessage> acquired = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            acquired.add(pool.acquire());
+        }
+        acquired.forEach(m -> {
+            m.getPoolTracker().releaseReference();
+            m.getPoolTracker().returnToPool();
+        });
+        return acquired;
+    }
+
+    @Test
+    void releasedOnConsumerThreadReturnsToProducerLane() throws Exception {
+        Pools.SHARED.remove(PooledMessage.class);
+        ObjectPool<PooledMessage> pool = Pools.SHARED.getOrCreate(PooledMessage.class, PooledMessage::new, null, 64, 8);
+        ExecutorService producer = Executors.newSingleThreadExecutor();
+        try {
+            List<PooledMessage> first = producer.submit(() -> {
+                PoolAffinity.bindCurrentThread("producerAgent", 3);
+                List<PooledMessage> acquired = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    acquired.add(pool.acquire());
+                }
+                return acquired;
+            }).get();
+
+            // consumer thread releases, instances go back to the producer lane not an identity hashed partition
+            first.forEach(m -> {
+                m.getPoolTracker().releaseReference();
+                m.getPoolTracker().returnToPool();
+            });
+
+            List<PooledMessage> second = producer.submit(() -> {
+                List<PooledMessage> acquired = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    acquired.add(pool.acquire());
+                }
+                return acquired;
+            }).get();
+
+            Set<PooledMessage> firstSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            firstSet.addAll(first);
+            second.forEach(m -> assertTrue(firstSet.contains(m), "producer should reuse instances from its own lane"));
+        } finally {
+            producer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.arena;
+
+import com.fluxtion.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import com.fluxtion.runtime.StaticEventProcessor;
+import com.fluxtion.server.dutycycle.EventQueueToEventProcessorAgent;
+import com.fluxtion.server.service.EventToInvokeStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventCycleArenaTest {
+
+    static class Scratch {
+        int value;
+    }
+
+    @Test
+    void slabReusesInstancesAfterReset() {
+        SlabEventCycleArena arena = new SlabEventCycleArena();
+        EventCycleArena.Slab<Scratch> slab = arena.slab(Scratch.class, Scratch::new, s -> s.value = 0);
+        assertSame(slab, arena.slab(Scratch.class, Scratch::new, null));
+
+        List<Scratch> first = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Scratch scratch = slab.allocate();
+            scratch.value = i + 1;
+            first.add(scratch);
+        }
+        StringBuilder sb = arena.stringBuilder().append("temp");
+        ByteBuffer buffer = arena.byteBuffer(1024).putLong(42);
+        assertEquals(42, arena.allocatedCount());
+
+        arena.reset();
+        assertEquals(0, arena.allocatedCount());
+        first.forEach(s -> assertEquals(0, s.value));
+        assertSame(first.get(0), slab.allocate());
+        assertSame(first.get(1), arena.allocate(Scratch.class));
+        assertSame(sb, arena.stringBuilder());
+        assertEquals(0, sb.length());
+        ByteBuffer reused = arena.byteBuffer(512);
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+    }
+
+    @Test
+    void allocateUnregisteredTypeFails() {
+        assertThrows(IllegalStateException.class, () -> new SlabEventCycleArena().allocate(Scratch.class));
+    }
+
+    @Test
+    void queueAgentResetsPerEventAndPerBatch() {
+        SlabEventCycleArena arena = new SlabEventCycleArena();
+        EventCycleArena.Slab<Scratch> slab = arena.slab(Scratch.class, Scratch::new, null);
+        List<Integer> countsSeen = new ArrayList<>();
+        OneToOneConcurrentArrayQueue<Object> queue = new OneToOneConcurrentArrayQueue<>(16);
+        EventQueueToEventProcessorAgent agent = new EventQueueToEventProcessorAgent(queue, new ArenaStrategy(() -> {
+            slab.allocate();
+            countsSeen.add(arena.allocatedCount());
+        }), "arenaTest").withArena(arena);
+
+        queue.offer("a");
+        queue.offer("b");
+        agent.doWork();
+        assertEquals(List.of(1, 1), countsSeen);
+        assertEquals(0, arena.allocatedCount());
+
+        countsSeen.clear();
+        arena.setResetMode(EventCycleArena.ResetMode.PER_BATCH);
+        queue.offer("a");
+        queue.offer("b");
+        agent.doWork();
+        assertEquals(List.of(1, 2), countsSeen);
+        assertEquals(0, arena.allocatedCount());
+    }
+
+    private record ArenaStrategy(Runnable onEvent) implements EventToInvokeStrategy {
+        @Override
+        public void processEvent(Object event) {
+            onEvent.run();
+        }
+
+        @Override
+        public void processEvent(Object event, long time) {
+            onEvent.run();
+        }
+
+        @Override
+        public void registerProcessor(StaticEventProcessor eventProcessor) {
+        }
+
+        @Override
+        public void deregisterProcessor(StaticEventProcessor eventProcessor) {
+        }
+
+        @Override
+        public int listenerCount() {
+            return 1;
+        }
+    }
+}
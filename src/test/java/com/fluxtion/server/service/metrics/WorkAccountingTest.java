@@ -0,0 +1,134 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+
+package com.fluxtion.server.service.metrics;
+
+import com.fluxtion.agrona.concurrent.SleepingMillisIdleStrategy;
+import com.fluxtion.runtime.node.ObjectEventHandlerNode;
+import com.fluxtion.server.MongooseServer;
+import com.fluxtion.server.config.EventFeedConfig;
+import com.fluxtion.server.config.EventProcessorConfig;
+import com.fluxtion.server.config.EventProcessorGroupConfig;
+import com.fluxtion.server.config.MongooseServerConfig;
+import com.fluxtion.server.config.ThreadConfig;
+import com.fluxtion.server.connector.memory.InMemoryEventSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates per agent and per processor work accounting is recorded only for groups with
+ * accounting enabled.
+ */
+public class WorkAccountingTest {
+
+    private static final int EVENT_COUNT = 200;
+
+    @Test
+    void idleCyclesAreIgnored() {
+        WorkStats stats = new WorkStats("reader");
+        stats.record(0, 1_000);
+        stats.record(3, 2_000);
+        stats.record(1, 500);
+        assertEquals(2, stats.cycles());
+        assertEquals(4, stats.workCount());
+        assertEquals(2_500, stats.busyNanos());
+        assertEquals(2_000, stats.snapshot().maxCycleNanos(), 20);
+
+        stats.reset();
+        assertEquals(0, stats.cycles());
+        assertEquals(0, stats.cycleTimeHistogram().getTotalCount());
+    }
+
+    @Test
+    void accountsEnabledGroupOnly() throws Exception {
+        InMemoryEventSource<Integer> prices = new InMemoryEventSource<>();
+        CountingHandler hot = new CountingHandler();
+        CountingHandler cold = new CountingHandler();
+
+        MongooseServerConfig config = MongooseServerConfig.builder()
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("accounted")
+                        .put("hot", new EventProcessorConfig(hot))
+                        .build())
+                .addProcessorGroup(EventProcessorGroupConfig.builder()
+                        .agentName("unaccounted")
+                        .put("cold", new EventProcessorConfig(cold))
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("accounted")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .workAccounting(true)
+                        .build())
+                .addThread(ThreadConfig.builder()
+                        .agentName("unaccounted")
+                        .idleStrategy(new SleepingMillisIdleStrategy())
+                        .build())
+                .addEventFeed(EventFeedConfig.builder()
+                        .instance(prices)
+                        .name("prices")
+                        .agent("prices-agent", new SleepingMillisIdleStrategy())
+                        .build())
+                .build();
+
+        MongooseServer server = MongooseServer.bootServer(config, rec -> {
+        });
+        try {
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                prices.offer(i);
+            }
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while ((hot.count.get() < EVENT_COUNT || cold.count.get() < EVENT_COUNT) && System.nanoTime() < end) {
+                Thread.sleep(10);
+            }
+            assertEquals(EVENT_COUNT, hot.count.get());
+            assertEquals(EVENT_COUNT, cold.count.get());
+
+            WorkAccounting.Snapshot accounted = server.workAccounting().get("accounted").snapshot();
+            assertTrue(accounted.enabled());
+            assertTrue(accounted.group().workCount() >= EVENT_COUNT);
+            WorkStats.Snapshot hotStats = accounted.processors().stream()
+                    .filter(s -> s.name().equals("hot"))
+                    .findFirst().orElseThrow();
+            assertEquals(EVENT_COUNT, hotStats.cycles());
+            assertTrue(hotStats.busyNanos() > 0);
+            WorkStats.Snapshot readerStats = accounted.agents().stream()
+                    .filter(s -> s.name().contains("prices"))
+                    .findFirst().orElseThrow();
+            assertEquals(EVENT_COUNT, readerStats.workCount());
+
+            WorkAccounting.Snapshot unaccounted = server.workAccounting().get("unaccounted").snapshot();
+            assertFalse(unaccounted.enabled());
+            assertEquals(0, unaccounted.group().cycles());
+            assertTrue(unaccounted.processors().stream().allMatch(s -> s.cycles() == 0));
+
+            StringBuilder summary = new StringBuilder();
+            server.workAccounting().get("accounted").appendSummary(summary);
+            assertTrue(summary.toString().contains("processor:hot"), summary.toString());
+        } finally {
+            server.stop();
+        }
+    }
+
+    public static class CountingHandler extends ObjectEventHandlerNode {
+        final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public void start() {
+            getContext().subscribeToNamedFeed("prices");
+        }
+
+        @Override
+        protected boolean handleEvent(Object event) {
+            if (event instanceof Integer) {
+                count.incrementAndGet();
+            }
+            return true;
+        }
+    }
+}
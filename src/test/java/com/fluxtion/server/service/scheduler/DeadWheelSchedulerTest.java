@@ -0,0 +1,203 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server.service.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates cancellation, fixed rate, microsecond timers and expiry budgets driven by a controlled clock.
+ */
+public class DeadWheelSchedulerTest {
+
+    private long nanoTime = TimeUnit.SECONDS.toNanos(1);
+
+    private void advance(long duration, TimeUnit unit) {
+        nanoTime += unit.toNanos(duration);
+    }
+
+    @Test
+    void cancelledTimerDoesNotFire() {
+        DeadWheelScheduler scheduler = new DeadWheelScheduler(() -> nanoTime);
+        AtomicInteger fired = new AtomicInteger();
+        long id = scheduler.scheduleAfterDelay(10, fired::incrementAndGet);
+        long other = scheduler.scheduleAfterDelay(10, fired::incrementAndGet);
+        assertNotEquals(id, other);
+
+        assertTrue(scheduler.cancel(id));
+        assertFalse(scheduler.cancel(id), "second cancel is a no-op");
+        advance(20, TimeUnit.MILLISECONDS);
+        scheduler.doWork();
+
+        assertEquals(1, fired.get());
+        assertFalse(scheduler.cancel(other), "expired id cannot be cancelled");
+        assertEquals(0, scheduler.liveTimerCount());
+    }
+
+    @Test
+    void fixedRateFiresEachPeriodWithStableId() {
+        DeadWheelScheduler scheduler = new DeadWheelScheduler(() -> nanoTime);
+        AtomicInteger fired = new AtomicInteger();
+        long id = scheduler.scheduleAtFixedRate(5, 5, fired::incrementAndGet);
+
+        for (int i = 0; i < 4; i++) {
+            advance(5, TimeUnit.MILLISECONDS);
+            scheduler.doWork();
+        }
+        assertEquals(4, fired.get());
+        assertEquals(1, scheduler.liveTimerCount());
+
+        // falling behind skips missed periods rather than replaying them
+        advance(50, TimeUnit.MILLISECONDS);
+        scheduler.doWork();
+        assertEquals(5, fired.get());
+
+        assertTrue(scheduler.cancel(id));
+        advance(20, TimeUnit.MILLISECONDS);
+        scheduler.doWork();
+        assertEquals(5, fired.get());
+        assertEquals(0, scheduler.liveTimerCount());
+    }
+
+    @Test
+    void periodicActionCanCancelItself() {
+        DeadWheelScheduler scheduler = new DeadWheelScheduler(() -> nanoTime);
+        AtomicInteger fired = new AtomicInteger();
+        long[] id = new long[1];
+        id[0] = scheduler.scheduleAtFixedRate(1, 1, TimeUnit.MILLISECONDS, () -> {
+            if (fired.incrementAndGet() == 2) {
+                assertTrue(scheduler.cancel(id[0]));
+            }
+        });
+        for (int i = 0; i < 5; i++) {
+            advance(1, TimeUnit.MILLISECONDS);
+            scheduler.doWork();
+        }
+        assertEquals(2, fired.get());
+        assertEquals(0, scheduler.liveTimerCount());
+    }
+
+    @Test
+    void microsecondWheelFiresSubMillisecondTimers() {
+        DeadWheelScheduler scheduler = new DeadWheelScheduler(() -> nanoTime, TimeUnit.MICROSECONDS);
+        assertEquals(TimeUnit.MICROSECONDS, scheduler.timerResolution());
+        AtomicInteger fired = new AtomicInteger();
+        scheduler.scheduleAfterDelay(200, TimeUnit.MICROSECONDS, fired::incrementAndGet);
+
+        advance(150, TimeUnit.MICROSECONDS);
+        scheduler.doWork();
+        assertEquals(0, fired.get(), "timer must not fire early");
+
+        advance(150, TimeUnit.MICROSECONDS);
+        scheduler.doWork();
+        assertEquals(1, fired.get());
+    }
+
+    @Test
+    void expiryBudgetCarriesOverDueTimers() {
+        DeadWheelScheduler scheduler = new DeadWheelScheduler(() -> nanoTime);
+        scheduler.setExpiryBudget(10);
+        AtomicInteger fired = new AtomicInteger();
+        for (int i = 0; i < 25; i++) {
+            scheduler.scheduleAfterDelay(5, fired::incrementAndGet);
+        }
+        advance(5, TimeUnit.MILLISECONDS);
+
+        assertEquals(10, scheduler.doWork());
+        assertEquals(10, scheduler.doWork());
+        assertEquals(5, scheduler.doWork());
+        assertEquals(25, fired.get());
+        assertEquals(2, scheduler.timerLagStats().deferredCycles());
+        assertEquals(25, scheduler.timerLagStats().count());
+    }
+
+    @Test
+    void timeBudgetCarriesOverAndRecordsLag() {
+        DeadWheelScheduler scheduler = new DeadWheelScheduler(() -> nanoTime);
+        scheduler.setTimeBudgetNanos(TimeUnit.MICROSECONDS.toNanos(250));
+        AtomicInteger fired = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            // each action takes 100us of clock time
+            scheduler.scheduleAfterDelay(2, () -> {
+                fired.incrementAndGet();
+                advance(100, TimeUnit.MICROSECONDS);
+            });
+        }
+        advance(2, TimeUnit.MILLISECONDS);
+
+        assertEquals(3, scheduler.doWork(), "budget exhausted after 300us");
+        assertEquals(3, fired.get());
+        assertEquals(1, scheduler.timerLagStats().deferredCycles());
+        assertEquals(1, scheduler.doWork());
+        assertEquals(4, fired.get());
+
+        // the last timer waited a cycle, its lag includes the time spent on the others
+        assertTrue(scheduler.timerLagStats().lagHistogram().getMaxValue() >= TimeUnit.MICROSECONDS.toNanos(290));
+    }
+
+    @Test
+    void unsupportedResolutionRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new DeadWheelScheduler(() -> nanoTime, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void defaultMethodsScheduleThroughMillisecondMethods() {
+        MillisecondScheduler scheduler = new MillisecondScheduler();
+        AtomicInteger fired = new AtomicInteger();
+        scheduler.scheduleAfterDelay(1500, TimeUnit.MICROSECONDS, fired::incrementAndGet);
+        assertEquals(List.of(2L), scheduler.delays, "sub millisecond delays round up");
+
+        scheduler.delays.clear();
+        scheduler.scheduleAtFixedRate(5, 10, TimeUnit.MILLISECONDS, fired::incrementAndGet);
+        scheduler.millis = 8;
+        scheduler.fireNext();
+        assertEquals(List.of(5L, 7L), scheduler.delays, "next period measured from the previous expiry");
+        assertFalse(scheduler.cancel(1), "default cancel is unsupported and returns false");
+        assertThrows(IllegalArgumentException.class, () -> scheduler.scheduleAtFixedRate(0, 0, TimeUnit.MILLISECONDS, fired::incrementAndGet));
+    }
+
+    private static class MillisecondScheduler implements SchedulerService {
+        private final List<Long> delays = new ArrayList<>();
+        private final List<Runnable> actions = new ArrayList<>();
+        private long millis;
+
+        private void fireNext() {
+            actions.remove(actions.size() - 1).run();
+        }
+
+        @Override
+        public long scheduleAtTime(long expireTime, Runnable expiryAction) {
+            return scheduleAfterDelay(expireTime - millis, expiryAction);
+        }
+
+        @Override
+        public long scheduleAfterDelay(long waitTime, Runnable expiryAction) {
+            delays.add(waitTime);
+            actions.add(expiryAction);
+            return actions.size();
+        }
+
+        @Override
+        public long milliTime() {
+            return millis;
+        }
+
+        @Override
+        public long microTime() {
+            return TimeUnit.MILLISECONDS.toMicros(millis);
+        }
+
+        @Override
+        public long nanoTime() {
+            return TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+    }
+}
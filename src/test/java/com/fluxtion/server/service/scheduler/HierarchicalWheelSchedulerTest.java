@@ -0,0 +1,131 @@
+/*
+ * SPDX-FileCopyrightText: © 2025 Gregory Higgins <greg.higgins@v12technology.com>
+ * SPDX-License-Identifier: AGPL-3.0-only
+ */
+package com.fluxtion.server.service.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validates the hierarchical wheel fires timers from microseconds to days ahead on time, never
+ * early, with cancel, fixed rate and expiry budgets, driven by a controlled clock.
+ */
+public class HierarchicalWheelSchedulerTest {
+
+    private long nanoTime = TimeUnit.DAYS.toNanos(20_000);
+
+    private void advance(long duration, TimeUnit unit) {
+        nanoTime += unit.toNanos(duration);
+    }
+
+    @Test
+    void longHorizonTimerFiresAfterCascading() {
+        HierarchicalWheelScheduler scheduler = new HierarchicalWheelScheduler(() -> nanoTime, TimeUnit.MICROSECONDS);
+        AtomicInteger fired = new AtomicInteger();
+        scheduler.scheduleAfterDelay(3, TimeUnit.DAYS, fired::incrementAndGet);
+        scheduler.scheduleAfterDelay(250, TimeUnit.MICROSECONDS, fired::incrementAndGet);
+
+        advance(249, TimeUnit.MICROSECONDS);
+        scheduler.doWork();
+        assertEquals(0, fired.get());
+        advance(1, TimeUnit.MICROSECONDS);
+        scheduler.doWork();
+        assertEquals(1, fired.get());
+
+        advance(3, TimeUnit.DAYS);
+        advance(-251, TimeUnit.MICROSECONDS);
+        scheduler.doWork();
+        assertEquals(1, fired.get(), "day timer must not fire early");
+        advance(1, TimeUnit.MICROSECONDS);
+        scheduler.doWork();
+        assertEquals(2, fired.get());
+        assertEquals(0, scheduler.liveTimerCount());
+    }
+
+    @Test
+    void randomTimersFireOnFirstCycleAtOrAfterDeadline() {
+        HierarchicalWheelScheduler scheduler = new HierarchicalWheelScheduler(() -> nanoTime, TimeUnit.MICROSECONDS);
+        scheduler.setExpiryBudget(Integer.MAX_VALUE);
+        Random random = new Random(42);
+        long start = nanoTime;
+        long[] previousCycle = new long[1];
+        int timerCount = 20_000;
+        AtomicInteger fired = new AtomicInteger();
+        for (int i = 0; i < timerCount; i++) {
+            long delayMicros = switch (i % 4) {
+                case 0 -> 1 + random.nextInt(1_000);
+                case 1 -> 1 + random.nextInt(1_000_000);
+                case 2 -> 1 + (long) (random.nextDouble() * TimeUnit.HOURS.toMicros(6));
+                default -> 1 + (long) (random.nextDouble() * TimeUnit.DAYS.toMicros(4));
+            };
+            long deadline = start + TimeUnit.MICROSECONDS.toNanos(delayMicros);
+            scheduler.scheduleAfterDelay(delayMicros, TimeUnit.MICROSECONDS, () -> {
+                assertTrue(nanoTime >= deadline, "fired early");
+                assertTrue(previousCycle[0] < deadline, "fired late");
+                fired.incrementAndGet();
+            });
+        }
+        assertEquals(timerCount, scheduler.liveTimerCount());
+
+        long end = start + TimeUnit.DAYS.toNanos(5);
+        while (nanoTime < end) {
+            previousCycle[0] = nanoTime;
+            // steps from a microsecond to several minutes
+            advance(1 + (long) (Math.pow(random.nextDouble(), 4) * 300_000_000), TimeUnit.MICROSECONDS);
+            scheduler.doWork();
+        }
+        assertEquals(timerCount, fired.get());
+        assertEquals(0, scheduler.liveTimerCount());
+    }
+
+    @Test
+    void cancelAndFixedRate() {
+        HierarchicalWheelScheduler scheduler = new HierarchicalWheelScheduler(() -> nanoTime);
+        AtomicInteger oneShot = new AtomicInteger();
+        AtomicInteger periodic = new AtomicInteger();
+        long cancelled = scheduler.scheduleAfterDelay(TimeUnit.HOURS.toMillis(2), oneShot::incrementAndGet);
+        long rate = scheduler.scheduleAtFixedRate(10, 10, periodic::incrementAndGet);
+        assertTrue(scheduler.cancel(cancelled));
+        assertFalse(scheduler.cancel(cancelled));
+
+        for (int i = 0; i < 5; i++) {
+            advance(10, TimeUnit.MILLISECONDS);
+            scheduler.doWork();
+        }
+        assertEquals(5, periodic.get());
+
+        // missed periods are skipped
+        advance(3, TimeUnit.HOURS);
+        scheduler.doWork();
+        assertEquals(6, periodic.get());
+        assertEquals(0, oneShot.get());
+
+        assertTrue(scheduler.cancel(rate));
+        advance(1, TimeUnit.SECONDS);
+        scheduler.doWork();
+        assertEquals(6, periodic.get());
+        assertEquals(0, scheduler.liveTimerCount());
+    }
+
+    @Test
+    void expiryBudgetCarriesOver() {
+        HierarchicalWheelScheduler scheduler = new HierarchicalWheelScheduler(() -> nanoTime);
+        scheduler.setExpiryBudget(4);
+        AtomicInteger fired = new AtomicInteger();
+        for (int i = 0; i < 10; i++) {
+            scheduler.scheduleAfterDelay(TimeUnit.MINUTES.toMillis(30), fired::incrementAndGet);
+        }
+        advance(30, TimeUnit.MINUTES);
+        assertEquals(4, scheduler.doWork());
+        assertEquals(4, scheduler.doWork());
+        assertEquals(2, scheduler.doWork());
+        assertEquals(10, fired.get());
+        assertEquals(2, scheduler.timerLagStats().deferredCycles());
+    }
+}